@@ -0,0 +1,82 @@
+package dao;
+
+import util.SampleDataGenerator;
+import util.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+/**
+ * The embedded database the benchmarks run against: an in-memory H2 database in MySQL mode,
+ * created and filled once per benchmark JVM with about one school's worth of data by SampleDataGenerator.
+ * The sizes can be changed with -Dsms.bench.* properties; the random seed is fixed
+ * (-Dsms.bench.seed), so every run of a build sees the same rows.
+ */
+final class BenchmarkDatabase {
+    static final String URL = "jdbc:h2:mem:sms_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,YEAR;DB_CLOSE_DELAY=-1";
+
+    static final int CLASSES = Integer.getInteger("sms.bench.classes", 40);
+    static final int STUDENTS_PER_CLASS = Integer.getInteger("sms.bench.studentsPerClass", 25);
+    static final int GRADES_PER_STUDENT = Integer.getInteger("sms.bench.gradesPerStudent", 40);
+    static final int ABSENCES_PER_STUDENT = Integer.getInteger("sms.bench.absencesPerStudent", 10);
+    static final int HOMEWORK_PER_CLASS = Integer.getInteger("sms.bench.homeworkPerClass", 80);
+    static final long SEED = Long.getLong("sms.bench.seed", 42L);
+
+    static final String[] SUBJECTS = SampleDataGenerator.SUBJECTS.toArray(new String[0]);
+
+    private static final int TERM_DAYS = 180;
+
+    private static boolean started;
+
+    // Private constructor to prevent instantiation
+    private BenchmarkDatabase() {}
+
+    /**
+     * Points the DAOs at the embedded database and seeds it, once per JVM.
+     * Must run before anything touches DatabaseConnection or the DAO caches.
+     *
+     * @throws SQLException If the schema or the data cannot be created
+     */
+    static synchronized void start() throws SQLException {
+        if (started) {
+            return;
+        }
+        System.setProperty("sms.db.url", URL);
+        System.setProperty("sms.db.user", "sa");
+        System.setProperty("sms.db.password", "");
+        // Measure the database path, not the read-through caches
+        System.setProperty("sms.cache.enabled", "false");
+
+        // Loaded outside the pool, so the load does not show up in the query statistics
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            SampleDataGenerator.createSchema(connection);
+            // The migrations' indexes, so the plans match production
+            for (String ddl : SchemaMigrator.getIndexStatements()) {
+                stmt.execute(ddl);
+            }
+            new SampleDataGenerator(CLASSES, studentCount(), studentCount() * GRADES_PER_STUDENT,
+                    studentCount() * ABSENCES_PER_STUDENT, CLASSES * HOMEWORK_PER_CLASS, SEED, termStart())
+                    .generate(connection);
+        }
+        started = true;
+    }
+
+    /**
+     * @return the number of seeded students; their IDs are 1 to this number
+     */
+    static int studentCount() {
+        return CLASSES * STUDENTS_PER_CLASS;
+    }
+
+    /**
+     * @return the first day of the seeded term; grades and absences fall between it and today
+     */
+    static LocalDate termStart() {
+        return LocalDate.now().minusDays(TERM_DAYS);
+    }
+}
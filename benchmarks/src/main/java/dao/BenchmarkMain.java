@@ -0,0 +1,30 @@
+package dao;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks. Takes the usual JMH command line (e.g. a benchmark name pattern, -f, -wi, -i)
+ * and, unless -rf or -rff is given, writes the results as JSON to target/jmh-results.json,
+ * so two builds can be compared by diffing or with a JMH visualizer.
+ */
+public class BenchmarkMain {
+    static final String DEFAULT_RESULTS_FILE = "target/jmh-results.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULTS_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package dao;
+
+import model.Absence;
+import model.Grade;
+import model.Homework;
+import org.openjdk.jmh.annotations.*;
+import util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the DAO insert paths: single rows as added from the dialogs, and whole-class
+ * batches as added by a test score or a roll call. A roll call is measured both one absence
+ * at a time, as AbsenceForm used to save it, and as one upsertAbsences transaction.
+ * The inserted rows carry a marker and are deleted after every iteration, so the tables stay
+ * at their seeded size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertPathBenchmark {
+    private static final String MARKER = "Benchmark insert";
+
+    private GradeDAO gradeDAO;
+    private AbsenceDAO absenceDAO;
+    private HomeworkDAO homeworkDAO;
+
+    private Grade grade;
+    private Absence absence;
+    private Homework homework;
+    private List<Grade> classGrades;
+    private List<Absence> rollCall;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        BenchmarkDatabase.start();
+        gradeDAO = new GradeDAO();
+        absenceDAO = new AbsenceDAO();
+        homeworkDAO = new HomeworkDAO();
+
+        Date today = new Date();
+        grade = new Grade('B', "Mathematics", 1, today, MARKER, 1);
+        absence = new Absence(1, today, MARKER, false);
+        homework = new Homework(today, new Date(today.getTime() + TimeUnit.DAYS.toMillis(7)), 1, MARKER, false);
+
+        // The first class: students 1 to STUDENTS_PER_CLASS, taught by teacher 1
+        classGrades = new ArrayList<>();
+        rollCall = new ArrayList<>();
+        for (int studentId = 1; studentId <= BenchmarkDatabase.STUDENTS_PER_CLASS; studentId++) {
+            classGrades.add(new Grade('B', "Mathematics", studentId, today, MARKER, 1));
+            rollCall.add(new Absence(studentId, today, MARKER, false));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedRows() throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement grades = connection.prepareStatement("DELETE FROM grade WHERE comment = ?");
+             PreparedStatement absences = connection.prepareStatement("DELETE FROM absence WHERE description = ?");
+             PreparedStatement homeworkRows = connection.prepareStatement("DELETE FROM homework WHERE description = ?")) {
+            for (PreparedStatement ps : new PreparedStatement[]{grades, absences, homeworkRows}) {
+                ps.setString(1, MARKER);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    @Benchmark
+    public int addGrade() throws SQLException {
+        return gradeDAO.addGrade(grade);
+    }
+
+    @Benchmark
+    public List<Integer> addGradesForClass() throws SQLException {
+        return gradeDAO.addGrades(classGrades);
+    }
+
+    @Benchmark
+    public int addAbsence() throws SQLException {
+        return absenceDAO.addAbsence(absence);
+    }
+
+    @Benchmark
+    public List<Integer> rollCallPerRow() throws SQLException {
+        List<Integer> ids = new ArrayList<>(rollCall.size());
+        for (Absence absent : rollCall) {
+            ids.add(absenceDAO.addAbsence(absent));
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Integer> rollCallUpsert() throws SQLException {
+        return absenceDAO.upsertAbsences(rollCall, Collections.emptyList());
+    }
+
+    @Benchmark
+    public int addHomework() throws SQLException {
+        return homeworkDAO.addHomework(homework);
+    }
+}
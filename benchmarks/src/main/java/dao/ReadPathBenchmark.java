@@ -0,0 +1,114 @@
+package dao;
+
+import model.Absence;
+import model.Grade;
+import model.Homework;
+import model.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the DAO read paths the dashboards use, from the query to the mapped list.
+ * Each call reads a different student, class or subject, walking through the seeded data,
+ * so the numbers are not those of one hot row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReadPathBenchmark {
+    private GradeDAO gradeDAO;
+    private AbsenceDAO absenceDAO;
+    private HomeworkDAO homeworkDAO;
+    private StudentDAO studentDAO;
+    private Date[] termDays;
+
+    private int nextStudent;
+    private int nextClass;
+    private int nextSubject;
+    private int nextDay;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        BenchmarkDatabase.start();
+        gradeDAO = new GradeDAO();
+        absenceDAO = new AbsenceDAO();
+        homeworkDAO = new HomeworkDAO();
+        studentDAO = new StudentDAO();
+
+        LocalDate termStart = BenchmarkDatabase.termStart();
+        termDays = new Date[(int) ChronoUnit.DAYS.between(termStart, LocalDate.now()) + 1];
+        for (int i = 0; i < termDays.length; i++) {
+            termDays[i] = java.sql.Date.valueOf(termStart.plusDays(i));
+        }
+    }
+
+    private int nextStudentId() {
+        nextStudent = nextStudent % BenchmarkDatabase.studentCount() + 1;
+        return nextStudent;
+    }
+
+    // Class and teacher IDs are the same in the seeded data
+    private int nextClassId() {
+        nextClass = nextClass % BenchmarkDatabase.CLASSES + 1;
+        return nextClass;
+    }
+
+    private String nextSubject() {
+        nextSubject = (nextSubject + 1) % BenchmarkDatabase.SUBJECTS.length;
+        return BenchmarkDatabase.SUBJECTS[nextSubject];
+    }
+
+    private Date nextDay() {
+        nextDay = (nextDay + 1) % termDays.length;
+        return termDays[nextDay];
+    }
+
+    @Benchmark
+    public List<Grade> getGradesByStudent() {
+        return gradeDAO.getGradesByStudent(nextStudentId());
+    }
+
+    @Benchmark
+    public List<Grade> getGradesByTeacher() {
+        return gradeDAO.getGradesByTeacher(nextClassId());
+    }
+
+    @Benchmark
+    public List<Grade> getGradesBySubject() {
+        return gradeDAO.getGradesBySubject(nextSubject());
+    }
+
+    @Benchmark
+    public double getAverageGradeForStudent() {
+        return gradeDAO.getAverageGradeForStudent(nextStudentId());
+    }
+
+    @Benchmark
+    public List<Absence> getAbsencesByStudent() {
+        return absenceDAO.getAbsencesByStudent(nextStudentId());
+    }
+
+    @Benchmark
+    public List<Absence> getAbsencesByClassAndDate() {
+        return absenceDAO.getAbsencesByClassAndDate(nextClassId(), nextDay());
+    }
+
+    @Benchmark
+    public List<Homework> getHomeworkByClass() {
+        return homeworkDAO.getHomeworkByClass(nextClassId());
+    }
+
+    @Benchmark
+    public List<Student> getStudentsByClass() {
+        return studentDAO.getStudentsByClass(nextClassId());
+    }
+}
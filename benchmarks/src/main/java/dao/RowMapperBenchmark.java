@@ -0,0 +1,107 @@
+package dao;
+
+import model.Absence;
+import model.Grade;
+import model.Homework;
+import model.Student;
+import org.openjdk.jmh.annotations.*;
+import util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the DAOs' row mappers on their own, without the query.
+ * Each result set is read once during setup and rewound before every call, which maps
+ * one class's worth of rows into a list the way the DAO read methods do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+    private static final String CLASS_STUDENTS = "SELECT student_id FROM student WHERE class_id = 1";
+
+    private final GradeDAO gradeDAO = new GradeDAO();
+    private final AbsenceDAO absenceDAO = new AbsenceDAO();
+    private final HomeworkDAO homeworkDAO = new HomeworkDAO();
+    private final StudentDAO studentDAO = new StudentDAO();
+
+    private Connection connection;
+    private final List<PreparedStatement> statements = new ArrayList<>();
+    private ResultSet grades;
+    private ResultSet absences;
+    private ResultSet homework;
+    private ResultSet students;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        BenchmarkDatabase.start();
+        connection = DatabaseConnection.getConnection();
+        grades = open("SELECT * FROM grade WHERE student_id IN (" + CLASS_STUDENTS + ")");
+        absences = open("SELECT * FROM absence WHERE student_id IN (" + CLASS_STUDENTS + ")");
+        homework = open("SELECT * FROM homework WHERE class_id = 1");
+        students = open("SELECT * FROM student WHERE class_id = 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        for (PreparedStatement ps : statements) {
+            ps.close(); // Also closes its result set
+        }
+        connection.close();
+    }
+
+    private ResultSet open(String sql) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        statements.add(ps);
+        return ps.executeQuery();
+    }
+
+    @Benchmark
+    public List<Grade> mapGrades() throws SQLException {
+        List<Grade> list = new ArrayList<>();
+        grades.beforeFirst();
+        while (grades.next()) {
+            list.add(gradeDAO.mapResultSetToGrade(grades));
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<Absence> mapAbsences() throws SQLException {
+        List<Absence> list = new ArrayList<>();
+        absences.beforeFirst();
+        while (absences.next()) {
+            list.add(absenceDAO.mapResultSetToAbsence(absences));
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<Homework> mapHomework() throws SQLException {
+        List<Homework> list = new ArrayList<>();
+        homework.beforeFirst();
+        while (homework.next()) {
+            list.add(homeworkDAO.mapResultSetToHomework(homework));
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<Student> mapStudents() throws SQLException {
+        List<Student> list = new ArrayList<>();
+        students.beforeFirst();
+        while (students.next()) {
+            list.add(studentDAO.mapResultSetToStudent(students));
+        }
+        return list;
+    }
+}
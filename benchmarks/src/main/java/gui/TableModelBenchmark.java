@@ -0,0 +1,77 @@
+package gui;
+
+import model.Grade;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.table.DefaultTableModel;
+import java.sql.Date;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filling a grade table row by row, as the dashboards used to with DefaultTableModel,
+ * with swapping in a snapshot. The snapshot formats cells when they are read, so it is also
+ * measured with every cell read once, as a table showing all rows would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TableModelBenchmark {
+    @Param({"100", "10000"})
+    public int rows;
+
+    private List<Grade> grades;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        grades = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            grades.add(new Grade(i, (char) ('A' + i % 5), "Subject " + i % 12, i % 500,
+                    Date.valueOf("2024-03-01"), "Comment " + i, 1));
+        }
+    }
+
+    @Benchmark
+    public DefaultTableModel defaultTableModelAddRow() {
+        DefaultTableModel model = new DefaultTableModel(new String[]{"Subject", "Grade", "Date", "Comments"}, 0);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        for (Grade grade : grades) {
+            model.addRow(new Object[]{
+                    grade.getSubject(),
+                    String.valueOf(grade.getMark()),
+                    dateFormat.format(grade.getGradeDate()),
+                    grade.getComment()
+            });
+        }
+        return model;
+    }
+
+    @Benchmark
+    public GradeTableModel snapshotSetRows() {
+        GradeTableModel model = newSnapshotModel();
+        model.setRows(grades);
+        return model;
+    }
+
+    @Benchmark
+    public void snapshotSetRowsAndReadAllCells(Blackhole blackhole) {
+        GradeTableModel model = newSnapshotModel();
+        model.setRows(grades);
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                blackhole.consume(model.getValueAt(row, column));
+            }
+        }
+    }
+
+    private static GradeTableModel newSnapshotModel() {
+        return new GradeTableModel(GradeTableModel.SUBJECT, GradeTableModel.MARK,
+                GradeTableModel.DATE, GradeTableModel.COMMENT);
+    }
+}
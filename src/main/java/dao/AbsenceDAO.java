@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Absence entities.
@@ -18,11 +19,17 @@ public class AbsenceDAO {
     private static final String INSERT_SQL = "INSERT INTO absence (student_id, absence_date, description, status) VALUES (?, ?, ?, ?)";
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM absence WHERE absence_id = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM absence";
-    private static final String SELECT_BY_STUDENT_SQL = "SELECT * FROM absence WHERE student_id = ?";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM absence WHERE absence_id > ? ORDER BY absence_id LIMIT ?";
+    private static final String SELECT_ALL_ORDERED_SQL = "SELECT * FROM absence ORDER BY absence_id";
+    static final String SELECT_BY_STUDENT_SQL = "SELECT * FROM absence WHERE student_id = ?";
     private static final String SELECT_BY_STATUS_SQL = "SELECT * FROM absence WHERE status = ?";
+    private static final String SELECT_BY_CLASS_AND_DATE_SQL =
+            "SELECT a.* FROM absence a JOIN Student s ON a.student_id = s.student_id " +
+                    "WHERE s.class_id = ? AND a.absence_date = ?";
     private static final String UPDATE_SQL = "UPDATE absence SET student_id = ?, absence_date = ?, description = ?, status = ? WHERE absence_id = ?";
     private static final String UPDATE_STATUS_SQL = "UPDATE absence SET status = ? WHERE absence_id = ?";
     private static final String DELETE_SQL = "DELETE FROM absence WHERE absence_id = ?";
+    private static final String DELETE_EXCUSES_SQL = "DELETE FROM excuse WHERE absence_id = ?";
     private static final String COUNT_BY_STUDENT_SQL = "SELECT COUNT(*) FROM absence WHERE student_id = ?";
 
     /**
@@ -36,16 +43,15 @@ public class AbsenceDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            ps.setInt(1, absence.getStudentId());
-            ps.setDate(2, new java.sql.Date(absence.getAbsenceDate().getTime()));
-            ps.setString(3, absence.getDescription());
-            ps.setBoolean(4, absence.isStatus());
+            setAbsenceParameters(ps, absence);
 
             int affectedRows = ps.executeUpdate();
             if (affectedRows == 0) {
                 throw new SQLException("Creating absence failed, no rows affected.");
             }
 
+            DashboardStatsDAO.invalidate();
+
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
                     return rs.getInt(1);
@@ -56,6 +62,32 @@ public class AbsenceDAO {
         }
     }
 
+    /**
+     * Creates several absences in one transaction using batched inserts,
+     * e.g. a roll call for a whole class.
+     *
+     * @param absences The absences to be added to the database
+     * @return The generated absence IDs, in the same order as the input list
+     * @throws SQLException If a database access error occurs; no absence is added in that case
+     */
+    public List<Integer> addAbsences(List<Absence> absences) throws SQLException {
+        return addAbsences(absences, BatchSupport.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates several absences in one transaction using batched inserts.
+     *
+     * @param absences The absences to be added to the database
+     * @param chunkSize The number of rows sent per batch
+     * @return The generated absence IDs, in the same order as the input list
+     * @throws SQLException If a database access error occurs; no absence is added in that case
+     */
+    public List<Integer> addAbsences(List<Absence> absences, int chunkSize) throws SQLException {
+        List<Integer> ids = BatchSupport.insertAll(INSERT_SQL, absences, chunkSize, this::setAbsenceParameters, "absence");
+        DashboardStatsDAO.invalidate();
+        return ids;
+    }
+
     /**
      * Retrieves an absence by its ID.
      *
@@ -81,6 +113,7 @@ public class AbsenceDAO {
 
     /**
      * Retrieves all absences from the database.
+     * Loads the whole table into memory; use {@link #getAbsencesPage} or {@link #streamAllAbsences} for large tables.
      *
      * @return A list of all absences
      */
@@ -101,6 +134,34 @@ public class AbsenceDAO {
         return absences;
     }
 
+    /**
+     * Retrieves one page of absences in ID order, using keyset pagination.
+     * Pass 0 for the first page and the last ID of the previous page after that.
+     *
+     * @param afterAbsenceId Only absences with a greater ID are returned
+     * @param limit The maximum number of absences to return
+     * @return The page of absences; fewer than limit entries means there are no more
+     */
+    public List<Absence> getAbsencesPage(int afterAbsenceId, int limit) {
+        try {
+            return CursorSupport.page(SELECT_PAGE_SQL, afterAbsenceId, limit, this::mapResultSetToAbsence);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving absences page after ID " + afterAbsenceId + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all absences in ID order without loading the table into memory.
+     * The stream holds a database connection until it is closed, so use it in try-with-resources.
+     *
+     * @return A stream of all absences
+     * @throws SQLException If the query cannot be started
+     */
+    public Stream<Absence> streamAllAbsences() throws SQLException {
+        return CursorSupport.stream(SELECT_ALL_ORDERED_SQL, this::mapResultSetToAbsence, "absence");
+    }
+
     /**
      * Retrieves absences for a specific student.
      *
@@ -153,6 +214,90 @@ public class AbsenceDAO {
         return absences;
     }
 
+    /**
+     * Retrieves the absences recorded for a class on a given day.
+     *
+     * @param classId The ID of the class
+     * @param date The day of the roll call
+     * @return A list of absences of students in the class on that day
+     */
+    public List<Absence> getAbsencesByClassAndDate(int classId, Date date) {
+        List<Absence> absences = new ArrayList<>();
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SELECT_BY_CLASS_AND_DATE_SQL)) {
+
+            ps.setInt(1, classId);
+            ps.setDate(2, new java.sql.Date(date.getTime()));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    absences.add(mapResultSetToAbsence(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving absences for class ID " + classId + ": " + e.getMessage());
+        }
+
+        return absences;
+    }
+
+    /**
+     * Saves a set of absence changes in one transaction, e.g. the result of a roll call.
+     * Absences without an ID are inserted, absences with an ID are updated, and the
+     * removed IDs are deleted together with the excuses submitted for them; each kind of
+     * change goes out as one batch.
+     *
+     * @param absences The absences to insert or update
+     * @param removedAbsenceIds The IDs of absences to delete
+     * @return The IDs of the saved absences, in the same order as the input list
+     * @throws SQLException If a database access error occurs; nothing is changed in that case
+     */
+    public List<Integer> upsertAbsences(List<Absence> absences, List<Integer> removedAbsenceIds) throws SQLException {
+        List<Absence> inserts = new ArrayList<>();
+        List<Absence> updates = new ArrayList<>();
+        for (Absence absence : absences) {
+            if (absence.getAbsenceId() > 0) {
+                updates.add(absence);
+            } else {
+                inserts.add(absence);
+            }
+        }
+
+        boolean ownTransaction = !DatabaseConnection.isInTransaction();
+        if (ownTransaction) {
+            DatabaseConnection.beginTransaction();
+        }
+        try {
+            List<Integer> newIds = BatchSupport.insertAll(INSERT_SQL, inserts,
+                    BatchSupport.DEFAULT_CHUNK_SIZE, this::setAbsenceParameters, "absence");
+            BatchSupport.executeAll(UPDATE_SQL, updates, BatchSupport.DEFAULT_CHUNK_SIZE, (ps, absence) -> {
+                setAbsenceParameters(ps, absence);
+                ps.setInt(5, absence.getAbsenceId());
+            });
+            BatchSupport.executeAll(DELETE_EXCUSES_SQL, removedAbsenceIds, BatchSupport.DEFAULT_CHUNK_SIZE,
+                    (ps, absenceId) -> ps.setInt(1, absenceId));
+            BatchSupport.executeAll(DELETE_SQL, removedAbsenceIds, BatchSupport.DEFAULT_CHUNK_SIZE,
+                    (ps, absenceId) -> ps.setInt(1, absenceId));
+            if (ownTransaction) {
+                DatabaseConnection.commitTransaction();
+            }
+            DashboardStatsDAO.invalidate();
+
+            List<Integer> ids = new ArrayList<>(absences.size());
+            int next = 0;
+            for (Absence absence : absences) {
+                ids.add(absence.getAbsenceId() > 0 ? absence.getAbsenceId() : newIds.get(next++));
+            }
+            return ids;
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction) {
+                DatabaseConnection.rollbackTransaction();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Updates an existing absence record.
      *
@@ -169,7 +314,9 @@ public class AbsenceDAO {
             ps.setBoolean(4, absence.isStatus());
             ps.setInt(5, absence.getAbsenceId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            DashboardStatsDAO.invalidate();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating absence with ID " + absence.getAbsenceId() + ": " + e.getMessage());
             return false;
@@ -195,6 +342,7 @@ public class AbsenceDAO {
             statement.setInt(2, absenceId);
 
             int rowsAffected = statement.executeUpdate();
+            DashboardStatsDAO.invalidate();
             return rowsAffected > 0;
         }
     }
@@ -211,7 +359,9 @@ public class AbsenceDAO {
 
             ps.setInt(1, absenceId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            DashboardStatsDAO.invalidate();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting absence with ID " + absenceId + ": " + e.getMessage());
             return false;
@@ -248,7 +398,7 @@ public class AbsenceDAO {
      * @return An Absence object populated with data from the ResultSet
      * @throws SQLException If a database access error occurs
      */
-    private Absence mapResultSetToAbsence(ResultSet rs) throws SQLException {
+    Absence mapResultSetToAbsence(ResultSet rs) throws SQLException {
         return new Absence(
                 rs.getInt("absence_id"),
                 rs.getInt("student_id"),
@@ -257,4 +407,18 @@ public class AbsenceDAO {
                 rs.getBoolean("status")
         );
     }
+
+    /**
+     * Helper method to set insert parameters in a PreparedStatement.
+     *
+     * @param ps The PreparedStatement to set parameters for
+     * @param absence The Absence object containing the parameter values
+     * @throws SQLException If a database access error occurs
+     */
+    private void setAbsenceParameters(PreparedStatement ps, Absence absence) throws SQLException {
+        ps.setInt(1, absence.getStudentId());
+        ps.setDate(2, new java.sql.Date(absence.getAbsenceDate().getTime()));
+        ps.setString(3, absence.getDescription());
+        ps.setBoolean(4, absence.isStatus());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package dao;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs DAO calls off the calling thread and returns their results as CompletableFutures.
+ * Calls run on a bounded pool of daemon worker threads, sized to the connection pool
+ * (-Dsms.async.threads, default -Dsms.pool.maxSize), so parallel loads never wait on each
+ * other for a connection. Independent loads can be fanned out and combined:
+ * <pre>
+ *     CompletableFuture&lt;List&lt;Student&gt;&gt; students = AsyncDAO.supply(() -&gt; studentDAO.getStudentsByClass(classId));
+ *     CompletableFuture&lt;List&lt;Homework&gt;&gt; homework = AsyncDAO.supply(() -&gt; homeworkDAO.getHomeworkByClass(classId));
+ * </pre>
+ * Callbacks that touch Swing components must run on the EDT, e.g. with
+ * {@code thenAcceptAsync(action, SwingUtilities::invokeLater)}.
+ * Each call runs on a worker thread and so outside any transaction the caller has open.
+ */
+public final class AsyncDAO {
+    private static final int THREADS =
+            Integer.getInteger("sms.async.threads", Integer.getInteger("sms.pool.maxSize", 10));
+    // Default time limit for a call, overridable with -Dsms.async.timeoutMs; 0 disables it
+    private static final long DEFAULT_TIMEOUT_MS = Long.getLong("sms.async.timeoutMs", 30_000L);
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    // Private constructor to prevent instantiation
+    private AsyncDAO() {}
+
+    /**
+     * Runs a DAO call on a worker thread with the default timeout.
+     *
+     * @param call The DAO call
+     * @param <T> The result type
+     * @return A future completed with the call's result or exception
+     * @see #supply(Callable, long, TimeUnit)
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call) {
+        return supply(call, DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a DAO call on a worker thread.
+     * Cancelling the future, or the timeout expiring, removes a call that has not started yet
+     * and interrupts one that is running. A statement the database is already executing runs
+     * to completion and its result is discarded.
+     *
+     * @param call The DAO call
+     * @param timeout The maximum time to wait for the result, or 0 for no limit
+     * @param unit The unit of the timeout
+     * @param <T> The result type
+     * @return A future completed with the call's result or exception, or with a
+     *         TimeoutException if the call takes longer than the timeout
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call, long timeout, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return; // cancelled or timed out while queued
+            }
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true); // no-op if the call itself failed
+            }
+        });
+        return timeout > 0 ? result.orTimeout(timeout, unit) : result;
+    }
+
+    /**
+     * Runs a DAO call that returns nothing on a worker thread with the default timeout.
+     *
+     * @param call The DAO call
+     * @return A future completed when the call finishes
+     */
+    public static CompletableFuture<Void> run(ThrowingRunnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the number of calls currently running.
+     *
+     * @return The active worker count
+     */
+    public static int getActiveCount() {
+        return EXECUTOR.getActiveCount();
+    }
+
+    /**
+     * Gets the number of calls waiting for a worker.
+     *
+     * @return The queue length
+     */
+    public static int getQueuedCount() {
+        return EXECUTOR.getQueue().size();
+    }
+
+    /**
+     * Gets the maximum number of calls that run at the same time.
+     *
+     * @return The worker pool size
+     */
+    public static int getMaxConcurrency() {
+        return THREADS;
+    }
+
+    /**
+     * A DAO call without a result.
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "dao-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Idle workers exit, so an application that never uses the facade keeps no threads
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,151 @@
+package dao;
+
+import util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared helper for the DAOs' batch insert methods.
+ * Rows are sent with JDBC batching in chunks, inside a single transaction, and the
+ * generated keys of every row are collected in input order.
+ */
+final class BatchSupport {
+    // Default number of rows sent per executeBatch() call, overridable with -Dsms.batch.size
+    static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("sms.batch.size", 500);
+
+    /**
+     * Sets the insert parameters for one row.
+     *
+     * @param <T> The entity type
+     */
+    @FunctionalInterface
+    interface ParameterSetter<T> {
+        void setParameters(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    // Private constructor to prevent instantiation
+    private BatchSupport() {}
+
+    /**
+     * Inserts all items with batched statements and returns their generated IDs.
+     * Joins the caller's transaction if one is active, otherwise runs in its own.
+     *
+     * @param sql The single-row INSERT statement
+     * @param items The items to insert
+     * @param chunkSize The number of rows per batch
+     * @param setter Binds one item's values to the statement
+     * @param entityName Name used in error messages
+     * @param <T> The entity type
+     * @return The generated IDs, in the same order as the items
+     * @throws SQLException If a database access error occurs; nothing is inserted in that case
+     */
+    static <T> List<Integer> insertAll(String sql, List<T> items, int chunkSize,
+                                       ParameterSetter<T> setter, String entityName) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<Integer> ids = new ArrayList<>(items.size());
+        if (items.isEmpty()) {
+            return ids;
+        }
+
+        boolean ownTransaction = !DatabaseConnection.isInTransaction();
+        if (ownTransaction) {
+            DatabaseConnection.beginTransaction();
+        }
+        try {
+            try (Connection connection = DatabaseConnection.getConnection();
+                 PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                for (int start = 0; start < items.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, items.size());
+                    for (T item : items.subList(start, end)) {
+                        setter.setParameters(ps, item);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(1));
+                        }
+                    }
+                    if (ids.size() != end) {
+                        throw new SQLException("Creating " + entityName + " batch failed, expected "
+                                + end + " IDs but obtained " + ids.size() + ".");
+                    }
+                }
+            }
+            if (ownTransaction) {
+                DatabaseConnection.commitTransaction();
+            }
+            return ids;
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction) {
+                DatabaseConnection.rollbackTransaction();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an UPDATE or DELETE once per item with batched statements.
+     * Joins the caller's transaction if one is active, otherwise runs in its own.
+     *
+     * @param sql The single-row statement
+     * @param items The items to apply the statement to
+     * @param chunkSize The number of rows per batch
+     * @param setter Binds one item's values to the statement
+     * @param <T> The item type
+     * @return The total number of affected rows, or Statement.SUCCESS_NO_INFO if the driver did not
+     *         report the count of every statement
+     * @throws SQLException If a database access error occurs; nothing is changed in that case
+     */
+    static <T> int executeAll(String sql, List<T> items, int chunkSize, ParameterSetter<T> setter) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        boolean ownTransaction = !DatabaseConnection.isInTransaction();
+        if (ownTransaction) {
+            DatabaseConnection.beginTransaction();
+        }
+        try {
+            int affected = 0;
+            boolean counted = true;
+            try (Connection connection = DatabaseConnection.getConnection();
+                 PreparedStatement ps = connection.prepareStatement(sql)) {
+
+                for (int start = 0; start < items.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, items.size());
+                    for (T item : items.subList(start, end)) {
+                        setter.setParameters(ps, item);
+                        ps.addBatch();
+                    }
+                    for (int count : ps.executeBatch()) {
+                        // SUCCESS_NO_INFO says the statement ran, not how many rows it changed
+                        if (count == Statement.SUCCESS_NO_INFO) {
+                            counted = false;
+                        } else {
+                            affected += Math.max(count, 0);
+                        }
+                    }
+                }
+            }
+            if (ownTransaction) {
+                DatabaseConnection.commitTransaction();
+            }
+            return counted ? affected : Statement.SUCCESS_NO_INFO;
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction) {
+                DatabaseConnection.rollbackTransaction();
+            }
+            throw e;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dao;
 
 import model.ClassGroup;
 import util.DatabaseConnection;
+import util.EntityCache;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -23,6 +24,9 @@ public class ClassGroupDAO {
     private static final String DELETE_SQL = "DELETE FROM class_group WHERE class_id = ?";
     private static final String COUNT_CLASSES_SQL = "SELECT COUNT(*) FROM class_group";
 
+    // Read-through cache shared by all instances; the write methods invalidate it
+    private static final EntityCache<Integer, ClassGroup> BY_ID_CACHE = new EntityCache<>("classGroup", 1000, 5 * 60_000L);
+
     /**
      * Creates a new class in the database.
      *
@@ -61,6 +65,16 @@ public class ClassGroupDAO {
      * @return An Optional containing the class if found, or empty if not found
      */
     public Optional<ClassGroup> getClassById(int classId) {
+        return Optional.ofNullable(BY_ID_CACHE.get(classId, this::loadClassById)).map(ClassGroupDAO::copy);
+    }
+
+    /**
+     * Loads a class by ID from the database.
+     *
+     * @param classId The ID of the class to load
+     * @return The class, or null if not found
+     */
+    private ClassGroup loadClassById(int classId) {
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(SELECT_BY_ID_SQL)) {
 
@@ -68,13 +82,13 @@ public class ClassGroupDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToClass(rs));
+                    return mapResultSetToClass(rs);
                 }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving class with ID " + classId + ": " + e.getMessage());
         }
-        return Optional.empty();
+        return null;
     }
 
     /**
@@ -141,7 +155,9 @@ public class ClassGroupDAO {
             ps.setInt(4, classGroup.getTeacherId());
             ps.setInt(5, classGroup.getClassId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(classGroup.getClassId());
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating class with ID " + classGroup.getClassId() + ": " + e.getMessage());
             return false;
@@ -162,7 +178,9 @@ public class ClassGroupDAO {
             ps.setInt(1, teacherId);
             ps.setInt(2, classId);
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(classId);
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating teacher for class ID " + classId + ": " + e.getMessage());
             return false;
@@ -181,7 +199,9 @@ public class ClassGroupDAO {
 
             ps.setInt(1, classId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(classId);
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting class with ID " + classId + ": " + e.getMessage());
             return false;
@@ -207,6 +227,17 @@ public class ClassGroupDAO {
         return 0;
     }
 
+    /**
+     * Helper method to copy a cached class, so callers cannot change the cached instance.
+     *
+     * @param classGroup The class to copy
+     * @return A new ClassGroup with the same values
+     */
+    private static ClassGroup copy(ClassGroup classGroup) {
+        return new ClassGroup(classGroup.getClassId(), classGroup.getSize(), classGroup.getYear(),
+                classGroup.getRoomNumber(), classGroup.getTeacherId());
+    }
+
     /**
      * Helper method to map ResultSet to ClassGroup object.
      *
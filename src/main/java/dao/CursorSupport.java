@@ -0,0 +1,131 @@
+package dao;
+
+import util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared helper for the DAOs' paged and streaming reads of whole tables.
+ * Pages use keyset pagination (WHERE id > ? ORDER BY id LIMIT ?), so each page costs the same
+ * no matter how deep into the table it is. Streams read through a forward-only, read-only cursor
+ * with a fetch size, so only one fetch worth of rows is held in memory at a time.
+ */
+final class CursorSupport {
+    // Rows fetched from the server per round trip while streaming, overridable with -Dsms.stream.fetchSize
+    static final int DEFAULT_FETCH_SIZE = Integer.getInteger("sms.stream.fetchSize", 1000);
+
+    /**
+     * Maps the current row of a ResultSet to an entity.
+     *
+     * @param <T> The entity type
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // Private constructor to prevent instantiation
+    private CursorSupport() {}
+
+    /**
+     * Reads one keyset page.
+     *
+     * @param sql A query of the form "... WHERE id > ? ORDER BY id LIMIT ?"
+     * @param afterId The last ID of the previous page, or 0 for the first page
+     * @param limit The maximum number of rows to return
+     * @param mapper Maps one row to an entity
+     * @param <T> The entity type
+     * @return The rows of the page in ID order; fewer than limit rows means this was the last page
+     * @throws SQLException If a database access error occurs
+     */
+    static <T> List<T> page(String sql, int afterId, int limit, RowMapper<T> mapper) throws SQLException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        List<T> rows = new ArrayList<>(Math.min(limit, 1000));
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Opens a lazily populated stream over all rows of a query.
+     * The stream holds a pooled connection until it is closed, so callers must use
+     * try-with-resources. A database error while reading is thrown as an IllegalStateException
+     * with the SQLException as its cause.
+     *
+     * @param sql The query to stream
+     * @param mapper Maps one row to an entity
+     * @param entityName Name used in error messages
+     * @param <T> The entity type
+     * @return A sequential stream that releases its connection when closed
+     * @throws SQLException If the query cannot be started
+     */
+    static <T> Stream<T> stream(String sql, RowMapper<T> mapper, String entityName) throws SQLException {
+        Connection connection = DatabaseConnection.getConnection();
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            // Not the cached prepareStatement(String): the fetch size must not stick to a shared statement
+            ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(DEFAULT_FETCH_SIZE);
+            rs = ps.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(rs, ps, connection);
+            throw e;
+        }
+
+        ResultSet cursor = rs;
+        PreparedStatement statement = ps;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Error streaming " + entityName + " rows: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false)
+                .onClose(() -> closeQuietly(cursor, statement, connection));
+    }
+
+    /**
+     * Closes the cursor resources in reverse order of opening, reporting but not throwing errors.
+     */
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                System.err.println("Error closing cursor: " + e.getMessage());
+            }
+        }
+    }
+}
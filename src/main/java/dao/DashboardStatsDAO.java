@@ -0,0 +1,112 @@
+package dao;
+
+import model.DashboardStatsDTO;
+import util.DatabaseConnection;
+import util.EntityCache;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Data Access Object for the numbers on the dashboards' home cards.
+ * All numbers for a teacher's class or a parent's children come from one query, and the
+ * result is cached for a short time. The grade, absence, excuse, homework and student
+ * writes invalidate the cache, so a change shows up on the next load.
+ */
+public class DashboardStatsDAO {
+    /** Number of days, counting today, whose grades are counted as recent. */
+    public static final int RECENT_DAYS = 7;
+
+    // One row of counts; %1$s selects the students (alias s), %2$s the homework (alias h)
+    private static final String STATS_SQL =
+            "SELECT (SELECT COUNT(*) FROM student s WHERE %1$s) AS students, " +
+                    "(SELECT COUNT(*) FROM homework h WHERE %2$s AND h.status = false AND h.due_date >= ?) AS active_homework, " +
+                    "(SELECT COUNT(*) FROM homework h WHERE %2$s AND h.status = false AND h.due_date < ?) AS overdue_homework, " +
+                    "(SELECT COUNT(*) FROM absence a JOIN student s ON a.student_id = s.student_id " +
+                    "WHERE %1$s AND a.status = false) AS unexcused_absences, " +
+                    "(SELECT COUNT(*) FROM grade g JOIN student s ON g.student_id = s.student_id " +
+                    "WHERE %1$s AND g.grade_date >= ?) AS recent_grades";
+    static final String CLASS_STATS_SQL = String.format(STATS_SQL, "s.class_id = ?", "h.class_id = ?");
+    // A parent sees the homework of every class one of their children is in; the optimizer
+    // materializes the children's classes from idx_student_parent and looks up their homework by class
+    static final String PARENT_STATS_SQL = String.format(STATS_SQL, "s.parent_id = ?",
+            "h.class_id IN (SELECT c.class_id FROM student c WHERE c.parent_id = ?)");
+
+    // Short-lived, since the homework counts also change when a due date passes
+    private static final EntityCache<Integer, DashboardStatsDTO> BY_CLASS_CACHE =
+            new EntityCache<>("dashboardStats.byClass", 500, 30_000L);
+    private static final EntityCache<Integer, DashboardStatsDTO> BY_PARENT_CACHE =
+            new EntityCache<>("dashboardStats.byParent", 2000, 30_000L);
+
+    /**
+     * Retrieves the home-card numbers for a teacher's class.
+     *
+     * @param classId The ID of the class
+     * @return An Optional containing the numbers, or empty if they could not be loaded
+     */
+    public Optional<DashboardStatsDTO> getClassStats(int classId) {
+        return Optional.ofNullable(BY_CLASS_CACHE.get(classId, id -> loadStats(CLASS_STATS_SQL, "class", id)));
+    }
+
+    /**
+     * Retrieves the home-card numbers for a parent's children.
+     *
+     * @param parentId The ID of the parent
+     * @return An Optional containing the numbers, or empty if they could not be loaded
+     */
+    public Optional<DashboardStatsDTO> getParentStats(int parentId) {
+        return Optional.ofNullable(BY_PARENT_CACHE.get(parentId, id -> loadStats(PARENT_STATS_SQL, "parent", id)));
+    }
+
+    /**
+     * Drops all cached numbers after a write that may change them.
+     * Inside a transaction the caches are cleared again when it ends (see EntityCache#invalidateAll).
+     */
+    static void invalidate() {
+        BY_CLASS_CACHE.invalidateAll();
+        BY_PARENT_CACHE.invalidateAll();
+    }
+
+    /**
+     * Helper method to run one of the stats queries.
+     *
+     * @param sql CLASS_STATS_SQL or PARENT_STATS_SQL
+     * @param owner "class" or "parent", for the error message
+     * @param id The class or parent ID
+     * @return The numbers, or null if a database access error occurs
+     */
+    private DashboardStatsDTO loadStats(String sql, String owner, int id) {
+        LocalDate today = LocalDate.now();
+        Date todayDate = Date.valueOf(today);
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            ps.setInt(1, id);
+            ps.setInt(2, id);
+            ps.setDate(3, todayDate);
+            ps.setInt(4, id);
+            ps.setDate(5, todayDate);
+            ps.setInt(6, id);
+            ps.setInt(7, id);
+            ps.setDate(8, Date.valueOf(today.minusDays(RECENT_DAYS - 1)));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new DashboardStatsDTO(
+                            rs.getInt("students"),
+                            rs.getInt("active_homework"),
+                            rs.getInt("overdue_homework"),
+                            rs.getInt("unexcused_absences"),
+                            rs.getInt("recent_grades"),
+                            RECENT_DAYS
+                    );
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving dashboard stats for " + owner + " ID " + id + ": " + e.getMessage());
+        }
+        return null;
+    }
+}
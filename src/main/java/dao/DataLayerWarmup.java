@@ -0,0 +1,99 @@
+package dao;
+
+import util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prepares the data layer at startup, so the first login does not pay for it:
+ * loads the JDBC driver, opens the pool's idle connections and prepares the statements
+ * used by the login and the first screen of each dashboard on every one of them.
+ * The statements stay in each connection's statement cache, so the first real queries
+ * skip parsing on the client and, with server-side prepared statements, on the server.
+ */
+public final class DataLayerWarmup {
+    private static final String DRIVER_CLASS = "com.mysql.cj.jdbc.Driver";
+
+    // Login, then the teacher and parent dashboards' first loads
+    private static final List<String> HOT_STATEMENTS = List.of(
+            UserDAO.SELECT_USER_BY_EMAIL,
+            TeacherDAO.SELECT_BY_USER_ID_SQL,
+            ParentDAO.SELECT_BY_USER_ID_SQL,
+            StudentDAO.SELECT_BY_ID_SQL,
+            StudentDAO.SELECT_BY_CLASS_SQL,
+            StudentDAO.SELECT_BY_PARENT_SQL,
+            GradeDAO.SELECT_BY_STUDENT_SQL,
+            AbsenceDAO.SELECT_BY_STUDENT_SQL,
+            HomeworkDAO.SELECT_BY_CLASS_SQL,
+            DashboardStatsDAO.CLASS_STATS_SQL,
+            DashboardStatsDAO.PARENT_STATS_SQL
+    );
+
+    // Private constructor to prevent instantiation
+    private DataLayerWarmup() {}
+
+    /**
+     * Loads the JDBC driver class, so DriverManager does not scan for it on the first connection.
+     *
+     * @return true if the driver was found
+     */
+    public static boolean loadDriver() {
+        try {
+            Class.forName(DRIVER_CLASS);
+            return true;
+        } catch (ClassNotFoundException e) {
+            System.err.println("JDBC driver " + DRIVER_CLASS + " not found: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Opens the connection pool and prepares the hot statements on each idle connection.
+     * Errors are reported but not thrown, so the application still starts without a database.
+     *
+     * @return The number of statements prepared
+     */
+    public static int warmUp() {
+        try {
+            return warmUpOrThrow();
+        } catch (SQLException e) {
+            System.err.println("Error warming up the data layer: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Opens the connection pool and prepares the hot statements on each idle connection.
+     *
+     * @return The number of statements prepared
+     * @throws SQLException If a connection cannot be opened or a statement cannot be prepared
+     */
+    public static int warmUpOrThrow() throws SQLException {
+        // Creating the pool opens its minimum number of idle connections
+        int idle = DatabaseConnection.getPool().getIdleCount();
+
+        // Borrow all of them at once, so each one gets its own copy of the statements
+        List<Connection> connections = new ArrayList<>(idle);
+        int prepared = 0;
+        try {
+            for (int i = 0; i < Math.max(1, idle); i++) {
+                connections.add(DatabaseConnection.getConnection());
+            }
+            for (Connection connection : connections) {
+                for (String sql : HOT_STATEMENTS) {
+                    // Closing a pooled statement parks it in the connection's statement cache
+                    connection.prepareStatement(sql).close();
+                    prepared++;
+                }
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        return prepared;
+    }
+}
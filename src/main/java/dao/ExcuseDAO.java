@@ -0,0 +1,203 @@
+package dao;
+
+import model.Excuse;
+import util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object for Excuse entities.
+ * Submitting an excuse stores its text in the excuse table and marks the absence as excused
+ * in the same transaction, so an absence is never excused without a stored reason.
+ */
+public class ExcuseDAO {
+    // SQL Queries
+    private static final String INSERT_SQL = "INSERT INTO excuse (e_date, description, student_id, absence_id) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_BY_ABSENCE_SQL = "SELECT * FROM excuse WHERE absence_id = ? ORDER BY excuse_id DESC LIMIT 1";
+    private static final String SELECT_BY_STUDENT_SQL = "SELECT * FROM excuse WHERE student_id = ? ORDER BY e_date DESC, excuse_id DESC";
+    // Only an unexcused absence of the same student can be excused
+    private static final String EXCUSE_ABSENCE_SQL =
+            "UPDATE absence SET status = true WHERE absence_id = ? AND student_id = ? AND status = false";
+
+    /**
+     * Submits an excuse: stores it and marks its absence as excused, in one transaction.
+     *
+     * @param excuse The excuse, addressed by absence ID
+     * @return The generated excuse ID
+     * @throws SQLException If the absence does not exist, belongs to another student or is already
+     *                      excused, or if a database access error occurs; nothing is changed in that case
+     */
+    public int submitExcuse(Excuse excuse) throws SQLException {
+        boolean ownTransaction = !DatabaseConnection.isInTransaction();
+        if (ownTransaction) {
+            DatabaseConnection.beginTransaction();
+        }
+        try {
+            int excuseId;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                try (PreparedStatement ps = conn.prepareStatement(EXCUSE_ABSENCE_SQL)) {
+                    ps.setInt(1, excuse.getAbsenceId());
+                    ps.setInt(2, excuse.getStudentId());
+                    if (ps.executeUpdate() == 0) {
+                        throw new SQLException("Submitting excuse failed, absence " + excuse.getAbsenceId()
+                                + " was not found or is already excused.");
+                    }
+                }
+
+                try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    setExcuseParameters(ps, excuse);
+                    ps.executeUpdate();
+
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Submitting excuse failed, no ID obtained.");
+                        }
+                        excuseId = rs.getInt(1);
+                    }
+                }
+            }
+            if (ownTransaction) {
+                DatabaseConnection.commitTransaction();
+            }
+            DashboardStatsDAO.invalidate();
+            return excuseId;
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction) {
+                DatabaseConnection.rollbackTransaction();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submits several excuses in one transaction, e.g. one reason for a week of absences.
+     * The absences are marked as excused with one batch and the excuses inserted with another.
+     *
+     * @param excuses The excuses, addressed by absence ID
+     * @return The generated excuse IDs, in the same order as the input list
+     * @throws SQLException If any absence does not exist, belongs to another student or is already
+     *                      excused, or if a database access error occurs; nothing is changed in that case
+     */
+    public List<Integer> submitExcuses(List<Excuse> excuses) throws SQLException {
+        if (excuses.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        boolean ownTransaction = !DatabaseConnection.isInTransaction();
+        if (ownTransaction) {
+            DatabaseConnection.beginTransaction();
+        }
+        try {
+            int excused = BatchSupport.executeAll(EXCUSE_ABSENCE_SQL, excuses, BatchSupport.DEFAULT_CHUNK_SIZE,
+                    (ps, excuse) -> {
+                        ps.setInt(1, excuse.getAbsenceId());
+                        ps.setInt(2, excuse.getStudentId());
+                    });
+            if (excused == Statement.SUCCESS_NO_INFO) {
+                // Without the count there is no proof that every absence was still unexcused
+                throw new SQLException("Submitting excuses failed, the database did not report how many absences were excused.");
+            }
+            if (excused != excuses.size()) {
+                throw new SQLException("Submitting excuses failed, " + (excuses.size() - excused)
+                        + " of the absences were not found or are already excused.");
+            }
+
+            List<Integer> ids = BatchSupport.insertAll(INSERT_SQL, excuses, BatchSupport.DEFAULT_CHUNK_SIZE,
+                    this::setExcuseParameters, "excuse");
+            if (ownTransaction) {
+                DatabaseConnection.commitTransaction();
+            }
+            DashboardStatsDAO.invalidate();
+            return ids;
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction) {
+                DatabaseConnection.rollbackTransaction();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the latest excuse submitted for an absence.
+     *
+     * @param absenceId The ID of the absence
+     * @return An Optional containing the excuse if found, or empty if not found
+     */
+    public Optional<Excuse> getExcuseByAbsence(int absenceId) {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SELECT_BY_ABSENCE_SQL)) {
+
+            ps.setInt(1, absenceId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToExcuse(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving excuse for absence ID " + absenceId + ": " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves all excuses submitted for a student, newest first.
+     *
+     * @param studentId The ID of the student
+     * @return A list of excuses for the specified student
+     */
+    public List<Excuse> getExcusesByStudent(int studentId) {
+        List<Excuse> excuses = new ArrayList<>();
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SELECT_BY_STUDENT_SQL)) {
+
+            ps.setInt(1, studentId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    excuses.add(mapResultSetToExcuse(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving excuses for student ID " + studentId + ": " + e.getMessage());
+        }
+
+        return excuses;
+    }
+
+    /**
+     * Helper method to map ResultSet to Excuse object.
+     *
+     * @param rs The ResultSet containing excuse data
+     * @return An Excuse object populated with data from the ResultSet
+     * @throws SQLException If a database access error occurs
+     */
+    private Excuse mapResultSetToExcuse(ResultSet rs) throws SQLException {
+        return new Excuse(
+                rs.getInt("excuse_id"),
+                new Date(rs.getDate("e_date").getTime()),
+                rs.getString("description"),
+                rs.getInt("student_id"),
+                rs.getInt("absence_id")
+        );
+    }
+
+    /**
+     * Helper method to set insert parameters in a PreparedStatement.
+     *
+     * @param ps The PreparedStatement to set parameters for
+     * @param excuse The Excuse object containing the parameter values
+     * @throws SQLException If a database access error occurs
+     */
+    private void setExcuseParameters(PreparedStatement ps, Excuse excuse) throws SQLException {
+        ps.setDate(1, new java.sql.Date(excuse.getExcuseDate().getTime()));
+        ps.setString(2, excuse.getDescription());
+        ps.setInt(3, excuse.getStudentId());
+        ps.setInt(4, excuse.getAbsenceId());
+    }
+}
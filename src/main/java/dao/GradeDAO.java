@@ -6,8 +6,11 @@ import util.DatabaseConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Grade entities.
@@ -18,11 +21,29 @@ public class GradeDAO {
     private static final String INSERT_SQL = "INSERT INTO Grade (mark, subject, student_id, grade_date, comment, teacher_id) VALUES (?, ?, ?, ?, ?, ?)";
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM Grade WHERE grade_id = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM Grade";
-    private static final String SELECT_BY_STUDENT_SQL = "SELECT * FROM Grade WHERE student_id = ?";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM Grade WHERE grade_id > ? ORDER BY grade_id LIMIT ?";
+    private static final String SELECT_ALL_ORDERED_SQL = "SELECT * FROM Grade ORDER BY grade_id";
+    static final String SELECT_BY_STUDENT_SQL = "SELECT * FROM Grade WHERE student_id = ?";
     private static final String SELECT_BY_TEACHER_SQL = "SELECT * FROM Grade WHERE teacher_id = ?";
     private static final String SELECT_BY_SUBJECT_SQL = "SELECT * FROM Grade WHERE subject = ?";
     private static final String UPDATE_SQL = "UPDATE Grade SET mark = ?, subject = ?, student_id = ?, grade_date = ?, comment = ?, teacher_id = ? WHERE grade_id = ?";
     private static final String DELETE_SQL = "DELETE FROM Grade WHERE grade_id = ?";
+    private static final String UPDATE_MARK_SQL = "UPDATE Grade SET mark = ? WHERE grade_id = ?";
+
+    // Letter marks as points (A=5 ... F=1); anything else maps to NULL and is ignored by AVG.
+    // Package-private so other DAOs averaging grades aliased as g use the same scale
+    static final String MARK_POINTS_SQL =
+            "CASE g.mark WHEN 'A' THEN 5 WHEN 'B' THEN 4 WHEN 'C' THEN 3 WHEN 'D' THEN 2 WHEN 'F' THEN 1 END";
+    private static final String AVERAGE_BY_STUDENT_SQL =
+            "SELECT AVG(" + MARK_POINTS_SQL + ") FROM Grade g WHERE g.student_id = ?";
+    private static final String AVERAGES_BY_CLASS_SQL =
+            "SELECT g.student_id, AVG(" + MARK_POINTS_SQL + ") AS average FROM Grade g " +
+                    "JOIN Student s ON g.student_id = s.student_id WHERE s.class_id = ? GROUP BY g.student_id";
+    private static final String AVERAGES_BY_SUBJECT_SQL =
+            "SELECT g.subject, AVG(" + MARK_POINTS_SQL + ") AS average FROM Grade g " +
+                    "JOIN Student s ON g.student_id = s.student_id WHERE s.class_id = ? GROUP BY g.subject ORDER BY g.subject";
+    private static final String AVERAGES_BY_TEACHER_SQL =
+            "SELECT g.teacher_id, AVG(" + MARK_POINTS_SQL + ") AS average FROM Grade g GROUP BY g.teacher_id";
 
     /**
      * Creates a new grade in the database.
@@ -42,6 +63,8 @@ public class GradeDAO {
                 throw new SQLException("Creating grade failed, no rows affected.");
             }
 
+            DashboardStatsDAO.invalidate();
+
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
                     return rs.getInt(1);
@@ -52,6 +75,32 @@ public class GradeDAO {
         }
     }
 
+    /**
+     * Creates several grades in one transaction using batched inserts,
+     * e.g. a test score for a whole class.
+     *
+     * @param grades The grades to be added to the database
+     * @return The generated grade IDs, in the same order as the input list
+     * @throws SQLException If a database access error occurs; no grade is added in that case
+     */
+    public List<Integer> addGrades(List<Grade> grades) throws SQLException {
+        return addGrades(grades, BatchSupport.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates several grades in one transaction using batched inserts.
+     *
+     * @param grades The grades to be added to the database
+     * @param chunkSize The number of rows sent per batch
+     * @return The generated grade IDs, in the same order as the input list
+     * @throws SQLException If a database access error occurs; no grade is added in that case
+     */
+    public List<Integer> addGrades(List<Grade> grades, int chunkSize) throws SQLException {
+        List<Integer> ids = BatchSupport.insertAll(INSERT_SQL, grades, chunkSize, this::setGradeParameters, "grade");
+        DashboardStatsDAO.invalidate();
+        return ids;
+    }
+
     /**
      * Retrieves a grade by its ID.
      *
@@ -77,6 +126,7 @@ public class GradeDAO {
 
     /**
      * Retrieves all grades from the database.
+     * Loads the whole table into memory; use {@link #getGradesPage} or {@link #streamAllGrades} for large tables.
      *
      * @return A list of all grades
      */
@@ -97,6 +147,34 @@ public class GradeDAO {
         return grades;
     }
 
+    /**
+     * Retrieves one page of grades in ID order, using keyset pagination.
+     * Pass 0 for the first page and the last ID of the previous page after that.
+     *
+     * @param afterGradeId Only grades with a greater ID are returned
+     * @param limit The maximum number of grades to return
+     * @return The page of grades; fewer than limit entries means there are no more
+     */
+    public List<Grade> getGradesPage(int afterGradeId, int limit) {
+        try {
+            return CursorSupport.page(SELECT_PAGE_SQL, afterGradeId, limit, this::mapResultSetToGrade);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving grades page after ID " + afterGradeId + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all grades in ID order without loading the table into memory.
+     * The stream holds a database connection until it is closed, so use it in try-with-resources.
+     *
+     * @return A stream of all grades
+     * @throws SQLException If the query cannot be started
+     */
+    public Stream<Grade> streamAllGrades() throws SQLException {
+        return CursorSupport.stream(SELECT_ALL_ORDERED_SQL, this::mapResultSetToGrade, "grade");
+    }
+
     /**
      * Retrieves grades for a specific student.
      *
@@ -195,6 +273,7 @@ public class GradeDAO {
             statement.setInt(3, gradeId);
 
             int rowsAffected = statement.executeUpdate();
+            DashboardStatsDAO.invalidate();
             return rowsAffected > 0;
         }
     }
@@ -211,13 +290,48 @@ public class GradeDAO {
 
             ps.setInt(1, gradeId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            DashboardStatsDAO.invalidate();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting grade with ID " + gradeId + ": " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Deletes several grades in one transaction using a batched statement,
+     * e.g. the rows a teacher selected in the grades table.
+     *
+     * @param gradeIds The IDs of the grades to delete
+     * @return The number of grades deleted, or Statement.SUCCESS_NO_INFO if the driver did not report it
+     * @throws SQLException If a database access error occurs; no grade is deleted in that case
+     */
+    public int deleteGrades(List<Integer> gradeIds) throws SQLException {
+        int deleted = BatchSupport.executeAll(DELETE_SQL, gradeIds, BatchSupport.DEFAULT_CHUNK_SIZE,
+                (ps, gradeId) -> ps.setInt(1, gradeId));
+        DashboardStatsDAO.invalidate();
+        return deleted;
+    }
+
+    /**
+     * Sets the same mark on several grades in one transaction using a batched statement.
+     * Comments are left unchanged.
+     *
+     * @param gradeIds The IDs of the grades to update
+     * @param mark The new mark for every grade
+     * @return The number of grades updated, or Statement.SUCCESS_NO_INFO if the driver did not report it
+     * @throws SQLException If a database access error occurs; no grade is updated in that case
+     */
+    public int updateMarks(List<Integer> gradeIds, char mark) throws SQLException {
+        int updated = BatchSupport.executeAll(UPDATE_MARK_SQL, gradeIds, BatchSupport.DEFAULT_CHUNK_SIZE, (ps, gradeId) -> {
+            ps.setString(1, String.valueOf(mark));
+            ps.setInt(2, gradeId);
+        });
+        DashboardStatsDAO.invalidate();
+        return updated;
+    }
+
     /**
      * Validates a grade mark.
      *
@@ -230,42 +344,117 @@ public class GradeDAO {
 
     /**
      * Gets the average grade for a student.
+     * The average is computed in the database, so no grade rows are transferred.
      *
      * @param studentId The ID of the student
      * @return The average grade value (1-5 where A=5, F=1) or 0 if no grades exist
      */
     public double getAverageGradeForStudent(int studentId) {
-        List<Grade> grades = getGradesByStudent(studentId);
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(AVERAGE_BY_STUDENT_SQL)) {
+
+            ps.setInt(1, studentId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    // AVG over no valid grades is NULL, which getDouble reports as 0
+                    return rs.getDouble(1);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error calculating average grade for student ID " + studentId + ": " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the average grade of every student in a class with a single grouped query.
+     *
+     * @param classId The ID of the class
+     * @return A map of student ID to average grade (1-5); students without valid grades are omitted
+     */
+    public Map<Integer, Double> getAverageGradesByClass(int classId) {
+        Map<Integer, Double> averages = new LinkedHashMap<>();
 
-        // Return 0 if there are no grades
-        if (grades.isEmpty()) {
-            return 0;
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(AVERAGES_BY_CLASS_SQL)) {
+
+            ps.setInt(1, classId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    putAverage(averages, rs.getInt("student_id"), rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error calculating averages for class ID " + classId + ": " + e.getMessage());
         }
 
-        double total = 0;
-        int validGrades = 0;
+        return averages;
+    }
+
+    /**
+     * Gets the average grade per subject for a class with a single grouped query.
+     *
+     * @param classId The ID of the class
+     * @return A map of subject to average grade (1-5), ordered by subject
+     */
+    public Map<String, Double> getAverageGradesBySubject(int classId) {
+        Map<String, Double> averages = new LinkedHashMap<>();
 
-        for (Grade grade : grades) {
-            char mark = grade.getMark();
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(AVERAGES_BY_SUBJECT_SQL)) {
 
-            // Validate the grade is in range A-F
-            if (mark >= 'A' && mark <= 'F' && mark != 'E') {
-                // Convert letter grade to numeric value (A=5, B=4, C=3, D=2, F=1)
-                // Using character arithmetic: 'F' (70) - 'A' (65) = 5, so A = 5 + 1 - 5 = 5
-                // Similarly, F = 5 + 1 - 0 = 1
-                double numericValue = 5 - (mark - 'A');
+            ps.setInt(1, classId);
 
-                total += numericValue;
-                validGrades++;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    putAverage(averages, rs.getString("subject"), rs);
+                }
             }
+        } catch (SQLException e) {
+            System.err.println("Error calculating subject averages for class ID " + classId + ": " + e.getMessage());
         }
 
-        // Avoid division by zero if no valid grades
-        if (validGrades == 0) {
-            return 0;
+        return averages;
+    }
+
+    /**
+     * Gets the average of the grades each teacher has given, with a single grouped query.
+     *
+     * @return A map of teacher ID to average grade (1-5)
+     */
+    public Map<Integer, Double> getAverageGradesByTeacher() {
+        Map<Integer, Double> averages = new LinkedHashMap<>();
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(AVERAGES_BY_TEACHER_SQL);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                putAverage(averages, rs.getInt("teacher_id"), rs);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error calculating teacher averages: " + e.getMessage());
         }
 
-        return total / validGrades;
+        return averages;
+    }
+
+    /**
+     * Helper method to add an aggregated average to a result map, skipping NULL averages.
+     *
+     * @param averages The map to add to
+     * @param key The group key
+     * @param rs The ResultSet positioned on the group row
+     * @param <K> The key type
+     * @throws SQLException If a database access error occurs
+     */
+    private <K> void putAverage(Map<K, Double> averages, K key, ResultSet rs) throws SQLException {
+        double average = rs.getDouble("average");
+        if (!rs.wasNull()) {
+            averages.put(key, average);
+        }
     }
 
     /**
@@ -275,7 +464,7 @@ public class GradeDAO {
      * @return A Grade object populated with data from the ResultSet
      * @throws SQLException If a database access error occurs
      */
-    private Grade mapResultSetToGrade(ResultSet rs) throws SQLException {
+    Grade mapResultSetToGrade(ResultSet rs) throws SQLException {
         return new Grade(
                 rs.getInt("grade_id"),
                 rs.getString("mark").charAt(0),
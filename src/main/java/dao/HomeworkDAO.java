@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Homework entities.
@@ -18,7 +19,9 @@ public class HomeworkDAO {
     private static final String INSERT_SQL = "INSERT INTO homework (assignment_date, due_date, class_id, description, status) VALUES (?, ?, ?, ?, ?)";
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM homework WHERE homework_id = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM homework";
-    private static final String SELECT_BY_CLASS_SQL = "SELECT * FROM homework WHERE class_id = ?";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM homework WHERE homework_id > ? ORDER BY homework_id LIMIT ?";
+    private static final String SELECT_ALL_ORDERED_SQL = "SELECT * FROM homework ORDER BY homework_id";
+    static final String SELECT_BY_CLASS_SQL = "SELECT * FROM homework WHERE class_id = ?";
     private static final String SELECT_BY_STATUS_SQL = "SELECT * FROM homework WHERE status = ?";
     private static final String SELECT_OVERDUE_SQL = "SELECT * FROM homework WHERE due_date < ? AND status = false";
     private static final String UPDATE_SQL = "UPDATE homework SET assignment_date = ?, due_date = ?, class_id = ?, description = ?, status = ? WHERE homework_id = ?";
@@ -36,17 +39,15 @@ public class HomeworkDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            ps.setDate(1, new java.sql.Date(homework.getAssignmentDate().getTime()));
-            ps.setDate(2, new java.sql.Date(homework.getDueDate().getTime()));
-            ps.setInt(3, homework.getClassId());
-            ps.setString(4, homework.getDescription());
-            ps.setBoolean(5, homework.isStatus());
+            setHomeworkParameters(ps, homework);
 
             int affectedRows = ps.executeUpdate();
             if (affectedRows == 0) {
                 throw new SQLException("Creating homework failed, no rows affected.");
             }
 
+            DashboardStatsDAO.invalidate();
+
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
                     return rs.getInt(1);
@@ -57,6 +58,31 @@ public class HomeworkDAO {
         }
     }
 
+    /**
+     * Creates several homework assignments in one transaction using batched inserts.
+     *
+     * @param homework The homework assignments to be added to the database
+     * @return The generated homework IDs, in the same order as the input list
+     * @throws SQLException If a database access error occurs; nothing is added in that case
+     */
+    public List<Integer> addHomework(List<Homework> homework) throws SQLException {
+        return addHomework(homework, BatchSupport.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates several homework assignments in one transaction using batched inserts.
+     *
+     * @param homework The homework assignments to be added to the database
+     * @param chunkSize The number of rows sent per batch
+     * @return The generated homework IDs, in the same order as the input list
+     * @throws SQLException If a database access error occurs; nothing is added in that case
+     */
+    public List<Integer> addHomework(List<Homework> homework, int chunkSize) throws SQLException {
+        List<Integer> ids = BatchSupport.insertAll(INSERT_SQL, homework, chunkSize, this::setHomeworkParameters, "homework");
+        DashboardStatsDAO.invalidate();
+        return ids;
+    }
+
     /**
      * Retrieves a homework assignment by its ID.
      *
@@ -82,6 +108,7 @@ public class HomeworkDAO {
 
     /**
      * Retrieves all homework assignments from the database.
+     * Loads the whole table into memory; use {@link #getHomeworkPage} or {@link #streamAllHomework} for large tables.
      *
      * @return A list of all homework assignments
      */
@@ -102,6 +129,34 @@ public class HomeworkDAO {
         return homeworks;
     }
 
+    /**
+     * Retrieves one page of homework in ID order, using keyset pagination.
+     * Pass 0 for the first page and the last ID of the previous page after that.
+     *
+     * @param afterHomeworkId Only homework with a greater ID are returned
+     * @param limit The maximum number of homework to return
+     * @return The page of homework; fewer than limit entries means there are no more
+     */
+    public List<Homework> getHomeworkPage(int afterHomeworkId, int limit) {
+        try {
+            return CursorSupport.page(SELECT_PAGE_SQL, afterHomeworkId, limit, this::mapResultSetToHomework);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving homework page after ID " + afterHomeworkId + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all homework in ID order without loading the table into memory.
+     * The stream holds a database connection until it is closed, so use it in try-with-resources.
+     *
+     * @return A stream of all homework
+     * @throws SQLException If the query cannot be started
+     */
+    public Stream<Homework> streamAllHomework() throws SQLException {
+        return CursorSupport.stream(SELECT_ALL_ORDERED_SQL, this::mapResultSetToHomework, "homework");
+    }
+
     /**
      * Retrieves homework assignments for a specific class.
      *
@@ -196,7 +251,9 @@ public class HomeworkDAO {
             ps.setBoolean(5, homework.isStatus());
             ps.setInt(6, homework.getHomeworkId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            DashboardStatsDAO.invalidate();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating homework with ID " + homework.getHomeworkId() + ": " + e.getMessage());
             return false;
@@ -217,7 +274,9 @@ public class HomeworkDAO {
             ps.setBoolean(1, status);
             ps.setInt(2, homeworkId);
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            DashboardStatsDAO.invalidate();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating homework status for ID " + homeworkId + ": " + e.getMessage());
             return false;
@@ -236,7 +295,9 @@ public class HomeworkDAO {
 
             ps.setInt(1, homeworkId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            DashboardStatsDAO.invalidate();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting homework with ID " + homeworkId + ": " + e.getMessage());
             return false;
@@ -250,7 +311,7 @@ public class HomeworkDAO {
      * @return A Homework object populated with data from the ResultSet
      * @throws SQLException If a database access error occurs
      */
-    private Homework mapResultSetToHomework(ResultSet rs) throws SQLException {
+    Homework mapResultSetToHomework(ResultSet rs) throws SQLException {
         return new Homework(
                 rs.getInt("homework_id"),
                 new Date(rs.getDate("assignment_date").getTime()),
@@ -260,4 +321,19 @@ public class HomeworkDAO {
                 rs.getBoolean("status")
         );
     }
+
+    /**
+     * Helper method to set insert parameters in a PreparedStatement.
+     *
+     * @param ps The PreparedStatement to set parameters for
+     * @param homework The Homework object containing the parameter values
+     * @throws SQLException If a database access error occurs
+     */
+    private void setHomeworkParameters(PreparedStatement ps, Homework homework) throws SQLException {
+        ps.setDate(1, new java.sql.Date(homework.getAssignmentDate().getTime()));
+        ps.setDate(2, new java.sql.Date(homework.getDueDate().getTime()));
+        ps.setInt(3, homework.getClassId());
+        ps.setString(4, homework.getDescription());
+        ps.setBoolean(5, homework.isStatus());
+    }
 }
\ No newline at end of file
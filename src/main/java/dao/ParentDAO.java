@@ -18,7 +18,7 @@ public class ParentDAO {
     // SQL Queries
     private static final String INSERT_SQL = "INSERT INTO Parent (user_id, no_children) VALUES (?, ?)";
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM Parent WHERE parent_id = ?";
-    private static final String SELECT_BY_USER_ID_SQL = "SELECT * FROM Parent WHERE user_id = ?";
+    static final String SELECT_BY_USER_ID_SQL = "SELECT * FROM Parent WHERE user_id = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM Parent";
     private static final String UPDATE_SQL = "UPDATE Parent SET user_id = ?, no_children = ? WHERE parent_id = ?";
     private static final String DELETE_SQL = "DELETE FROM Parent WHERE parent_id = ?";
@@ -2,11 +2,13 @@ package dao;
 
 import model.Student;
 import util.DatabaseConnection;
+import util.EntityCache;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Student entities.
@@ -15,14 +17,21 @@ import java.util.Optional;
 public class StudentDAO {
     // SQL Queries
     private static final String INSERT_SQL = "INSERT INTO Student (class_id, f_name, l_name, address, parent_id) VALUES (?, ?, ?, ?, ?)";
-    private static final String SELECT_BY_ID_SQL = "SELECT * FROM Student WHERE student_id = ?";
+    static final String SELECT_BY_ID_SQL = "SELECT * FROM Student WHERE student_id = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM Student";
-    private static final String SELECT_BY_CLASS_SQL = "SELECT * FROM Student WHERE class_id = ?";
-    private static final String SELECT_BY_PARENT_SQL = "SELECT * FROM Student WHERE parent_id = ?";
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM Student WHERE student_id > ? ORDER BY student_id LIMIT ?";
+    private static final String SELECT_ALL_ORDERED_SQL = "SELECT * FROM Student ORDER BY student_id";
+    static final String SELECT_BY_CLASS_SQL = "SELECT * FROM Student WHERE class_id = ?";
+    static final String SELECT_BY_PARENT_SQL = "SELECT * FROM Student WHERE parent_id = ?";
     private static final String UPDATE_SQL = "UPDATE Student SET class_id = ?, f_name = ?, l_name = ?, address = ?, parent_id = ? WHERE student_id = ?";
     private static final String DELETE_SQL = "DELETE FROM Student WHERE student_id = ?";
     private static final String COUNT_STUDENTS_SQL = "SELECT COUNT(*) FROM Student";
 
+    // Read-through caches shared by all instances; the write methods invalidate them
+    private static final EntityCache<Integer, Student> BY_ID_CACHE = new EntityCache<>("student", 5000, 5 * 60_000L);
+    private static final EntityCache<Integer, List<Student>> BY_CLASS_CACHE = new EntityCache<>("student.byClass", 500, 60_000L);
+    private static final EntityCache<Integer, List<Student>> BY_PARENT_CACHE = new EntityCache<>("student.byParent", 2000, 60_000L);
+
     /**
      * Creates a new student in the database.
      *
@@ -41,6 +50,8 @@ public class StudentDAO {
                 throw new SQLException("Creating student failed, no rows affected.");
             }
 
+            invalidateLists();
+
             try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     return generatedKeys.getInt(1);
@@ -58,6 +69,16 @@ public class StudentDAO {
      * @return An Optional containing the student if found, or empty if not found
      */
     public Optional<Student> getStudentById(int studentId) {
+        return Optional.ofNullable(BY_ID_CACHE.get(studentId, this::loadStudentById)).map(StudentDAO::copy);
+    }
+
+    /**
+     * Loads a student by ID from the database.
+     *
+     * @param studentId The ID of the student to load
+     * @return The student, or null if not found
+     */
+    private Student loadStudentById(int studentId) {
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(SELECT_BY_ID_SQL)) {
 
@@ -65,17 +86,18 @@ public class StudentDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToStudent(rs));
+                    return mapResultSetToStudent(rs);
                 }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving student with ID " + studentId + ": " + e.getMessage());
         }
-        return Optional.empty();
+        return null;
     }
 
     /**
      * Retrieves all students from the database.
+     * Loads the whole table into memory; use {@link #getStudentsPage} or {@link #streamAllStudents} for large tables.
      *
      * @return A list of all students
      */
@@ -96,6 +118,34 @@ public class StudentDAO {
         return students;
     }
 
+    /**
+     * Retrieves one page of students in ID order, using keyset pagination.
+     * Pass 0 for the first page and the last ID of the previous page after that.
+     *
+     * @param afterStudentId Only students with a greater ID are returned
+     * @param limit The maximum number of students to return
+     * @return The page of students; fewer than limit entries means there are no more
+     */
+    public List<Student> getStudentsPage(int afterStudentId, int limit) {
+        try {
+            return CursorSupport.page(SELECT_PAGE_SQL, afterStudentId, limit, this::mapResultSetToStudent);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving students page after ID " + afterStudentId + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all students in ID order without loading the table into memory.
+     * The stream holds a database connection until it is closed, so use it in try-with-resources.
+     *
+     * @return A stream of all students
+     * @throws SQLException If the query cannot be started
+     */
+    public Stream<Student> streamAllStudents() throws SQLException {
+        return CursorSupport.stream(SELECT_ALL_ORDERED_SQL, this::mapResultSetToStudent, "student");
+    }
+
     /**
      * Retrieves all students in a specific class.
      *
@@ -103,6 +153,16 @@ public class StudentDAO {
      * @return A list of students in the specified class
      */
     public List<Student> getStudentsByClass(int classId) {
+        return copyAll(BY_CLASS_CACHE.get(classId, this::loadStudentsByClass));
+    }
+
+    /**
+     * Loads the students of a class from the database.
+     *
+     * @param classId The ID of the class
+     * @return The students, or null if the query failed
+     */
+    private List<Student> loadStudentsByClass(int classId) {
         List<Student> students = new ArrayList<>();
 
         try (Connection connection = DatabaseConnection.getConnection();
@@ -117,6 +177,7 @@ public class StudentDAO {
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving students for class ID " + classId + ": " + e.getMessage());
+            return null;
         }
 
         return students;
@@ -129,6 +190,16 @@ public class StudentDAO {
      * @return A list of students for the specified parent
      */
     public List<Student> getStudentsByParent(int parentId) {
+        return copyAll(BY_PARENT_CACHE.get(parentId, this::loadStudentsByParent));
+    }
+
+    /**
+     * Loads the students of a parent from the database.
+     *
+     * @param parentId The ID of the parent
+     * @return The students, or null if the query failed
+     */
+    private List<Student> loadStudentsByParent(int parentId) {
         List<Student> students = new ArrayList<>();
 
         try (Connection connection = DatabaseConnection.getConnection();
@@ -143,6 +214,7 @@ public class StudentDAO {
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving students for parent ID " + parentId + ": " + e.getMessage());
+            return null;
         }
 
         return students;
@@ -165,7 +237,10 @@ public class StudentDAO {
             ps.setInt(5, student.getParentId());
             ps.setInt(6, student.getStudentId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(student.getStudentId());
+            invalidateLists();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating student with ID " + student.getStudentId() + ": " + e.getMessage());
             return false;
@@ -184,7 +259,10 @@ public class StudentDAO {
 
             ps.setInt(1, studentId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(studentId);
+            invalidateLists();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting student with ID " + studentId + ": " + e.getMessage());
             return false;
@@ -272,6 +350,42 @@ public class StudentDAO {
         }
     }
 
+    /**
+     * Drops cached class and parent lists, and the dashboard counts, after a write that may change them.
+     */
+    private void invalidateLists() {
+        BY_CLASS_CACHE.invalidateAll();
+        BY_PARENT_CACHE.invalidateAll();
+        DashboardStatsDAO.invalidate();
+    }
+
+    /**
+     * Helper method to copy a cached student, so callers cannot change the cached instance.
+     *
+     * @param student The student to copy
+     * @return A new Student with the same values
+     */
+    private static Student copy(Student student) {
+        return new Student(student.getStudentId(), student.getClassId(), student.getFirstName(),
+                student.getLastName(), student.getAddress(), student.getParentId());
+    }
+
+    /**
+     * Helper method to copy a cached list into a new mutable list of copies.
+     *
+     * @param students The cached students, or null if loading failed
+     * @return A new list of copies
+     */
+    private static List<Student> copyAll(List<Student> students) {
+        List<Student> copies = new ArrayList<>();
+        if (students != null) {
+            for (Student student : students) {
+                copies.add(copy(student));
+            }
+        }
+        return copies;
+    }
+
     /**
      * Helper method to map ResultSet to Student object.
      *
@@ -279,7 +393,7 @@ public class StudentDAO {
      * @return A Student object populated with data from the ResultSet
      * @throws SQLException If a database access error occurs
      */
-    private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
+    Student mapResultSetToStudent(ResultSet rs) throws SQLException {
         return new Student(
                 rs.getInt("student_id"),
                 rs.getInt("class_id"),
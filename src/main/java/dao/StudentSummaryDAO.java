@@ -0,0 +1,134 @@
+package dao;
+
+import model.Absence;
+import model.Grade;
+import model.StudentSummaryDTO;
+import util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object for student summaries.
+ * Loads everything the child-details screen shows about a student in one round trip.
+ */
+public class StudentSummaryDAO {
+    // One row per part, told apart by row_type:
+    // 'S' summary (class, teacher name, counts, average), 'G' recent grade, 'A' recent absence.
+    // There is no ORDER BY over the whole union: sorting it would go through a temporary table,
+    // so the mapper puts the recent grades and absences back in newest-first order instead
+    private static final String SUMMARY_SQL =
+            "SELECT 'S' AS row_type, s.class_id AS id, CAST(NULL AS DATE) AS row_date, " +
+                    "(SELECT u.fullName FROM teacher t JOIN user u ON t.user_id = u.user_id " +
+                    "WHERE t.class_id = s.class_id ORDER BY t.teacher_id LIMIT 1) AS text1, " +
+                    "NULL AS text2, NULL AS mark, " +
+                    "(SELECT COUNT(*) FROM grade g WHERE g.student_id = s.student_id) AS n1, " +
+                    "(SELECT COUNT(*) FROM absence a WHERE a.student_id = s.student_id) AS n2, " +
+                    "(SELECT COUNT(*) FROM absence a WHERE a.student_id = s.student_id AND a.status = true) AS n3, " +
+                    "(SELECT AVG(" + GradeDAO.MARK_POINTS_SQL + ") FROM grade g WHERE g.student_id = s.student_id) AS average " +
+                    "FROM student s WHERE s.student_id = ? " +
+            "UNION ALL " +
+            "(SELECT 'G', g.grade_id, g.grade_date, g.subject, g.comment, g.mark, g.teacher_id, NULL, NULL, NULL " +
+                    "FROM grade g WHERE g.student_id = ? ORDER BY g.grade_date DESC, g.grade_id DESC LIMIT ?) " +
+            "UNION ALL " +
+            "(SELECT 'A', a.absence_id, a.absence_date, a.description, NULL, NULL, a.status, NULL, NULL, NULL " +
+                    "FROM absence a WHERE a.student_id = ? ORDER BY a.absence_date DESC, a.absence_id DESC LIMIT ?)";
+
+    /**
+     * Retrieves a student's summary: class teacher, grade and absence statistics and the
+     * most recent grades and absences, with a single query.
+     *
+     * @param studentId The ID of the student
+     * @param recentLimit The maximum number of recent grades and of recent absences to include
+     * @return An Optional containing the summary if the student exists, empty otherwise
+     */
+    public Optional<StudentSummaryDTO> getStudentSummary(int studentId, int recentLimit) {
+        if (recentLimit < 0) {
+            throw new IllegalArgumentException("Recent limit cannot be negative");
+        }
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SUMMARY_SQL)) {
+
+            ps.setInt(1, studentId);
+            ps.setInt(2, studentId);
+            ps.setInt(3, recentLimit);
+            ps.setInt(4, studentId);
+            ps.setInt(5, recentLimit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return Optional.ofNullable(mapResultSetToSummary(studentId, rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving summary for student ID " + studentId + ": " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Helper method to assemble the summary from the rows of SUMMARY_SQL.
+     *
+     * @return The summary, or null if there was no summary row (unknown student)
+     */
+    private StudentSummaryDTO mapResultSetToSummary(int studentId, ResultSet rs) throws SQLException {
+        boolean found = false;
+        int classId = 0;
+        String teacherName = null;
+        int gradeCount = 0;
+        int absenceCount = 0;
+        int excusedCount = 0;
+        double average = 0;
+        List<Grade> grades = new ArrayList<>();
+        List<Absence> absences = new ArrayList<>();
+
+        while (rs.next()) {
+            switch (rs.getString("row_type")) {
+                case "S":
+                    found = true;
+                    classId = rs.getInt("id");
+                    teacherName = rs.getString("text1");
+                    gradeCount = rs.getInt("n1");
+                    absenceCount = rs.getInt("n2");
+                    excusedCount = rs.getInt("n3");
+                    // AVG over no valid grades is NULL, which getDouble reports as 0
+                    average = rs.getDouble("average");
+                    break;
+                case "G":
+                    grades.add(new Grade(
+                            rs.getInt("id"),
+                            rs.getString("mark").charAt(0),
+                            rs.getString("text1"),
+                            studentId,
+                            new Date(rs.getDate("row_date").getTime()),
+                            rs.getString("text2"),
+                            rs.getInt("n1")
+                    ));
+                    break;
+                case "A":
+                    absences.add(new Absence(
+                            rs.getInt("id"),
+                            studentId,
+                            new Date(rs.getDate("row_date").getTime()),
+                            rs.getString("text1"),
+                            rs.getBoolean("n1")
+                    ));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (!found) {
+            return null;
+        }
+        // UNION ALL keeps no order between its parts
+        grades.sort(Comparator.comparing(Grade::getGradeDate).thenComparingInt(Grade::getGradeId).reversed());
+        absences.sort(Comparator.comparing(Absence::getAbsenceDate).thenComparingInt(Absence::getAbsenceId).reversed());
+        return new StudentSummaryDTO(studentId, classId, teacherName, gradeCount, average,
+                absenceCount, excusedCount, grades, absences);
+    }
+}
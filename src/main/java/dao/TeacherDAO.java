@@ -4,6 +4,7 @@ import model.Teacher;
 import model.TeacherDetailsDTO;
 import model.User;
 import util.DatabaseConnection;
+import util.EntityCache;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ public class TeacherDAO {
     private static final String INSERT_SQL = "INSERT INTO Teacher (user_id, class_id) VALUES (?, ?)";
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM Teacher WHERE teacher_id = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM Teacher";
+    static final String SELECT_BY_USER_ID_SQL = "SELECT * FROM Teacher WHERE user_id = ?";
     private static final String SELECT_BY_CLASS_ID_SQL = "SELECT * FROM Teacher WHERE class_id = ?";
     private static final String UPDATE_SQL = "UPDATE Teacher SET user_id = ?, class_id = ? WHERE teacher_id = ?";
     private static final String DELETE_SQL = "DELETE FROM Teacher WHERE teacher_id = ?";
@@ -32,6 +34,11 @@ public class TeacherDAO {
                     "FROM teacher t JOIN user u ON t.user_id = u.user_id WHERE t.class_id = ?";
     private static final String COUNT_TEACHERS_SQL = "SELECT COUNT(*) FROM Teacher";
 
+    // Read-through caches shared by all instances; the write methods invalidate them
+    private static final EntityCache<Integer, Teacher> BY_ID_CACHE = new EntityCache<>("teacher", 1000, 5 * 60_000L);
+    private static final EntityCache<Integer, Teacher> BY_USER_ID_CACHE = new EntityCache<>("teacher.byUser", 1000, 5 * 60_000L);
+    private static final EntityCache<Integer, List<Teacher>> BY_CLASS_CACHE = new EntityCache<>("teacher.byClass", 1000, 5 * 60_000L);
+
     /**
      * Creates a new teacher in the database.
      *
@@ -50,6 +57,7 @@ public class TeacherDAO {
             if (affectedRows == 0) {
                 throw new SQLException("Creating teacher failed, no rows affected.");
             }
+            invalidateAll();
 
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
@@ -68,6 +76,16 @@ public class TeacherDAO {
      * @return An Optional containing the teacher if found, or empty if not found
      */
     public Optional<Teacher> getTeacherById(int teacherId) {
+        return Optional.ofNullable(BY_ID_CACHE.get(teacherId, this::loadTeacherById)).map(TeacherDAO::copy);
+    }
+
+    /**
+     * Loads a teacher by ID from the database.
+     *
+     * @param teacherId The ID of the teacher to load
+     * @return The teacher, or null if not found
+     */
+    private Teacher loadTeacherById(int teacherId) {
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(SELECT_BY_ID_SQL)) {
 
@@ -75,13 +93,13 @@ public class TeacherDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToTeacher(rs));
+                    return mapResultSetToTeacher(rs);
                 }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving teacher with ID " + teacherId + ": " + e.getMessage());
         }
-        return Optional.empty();
+        return null;
     }
 
     /**
@@ -113,6 +131,23 @@ public class TeacherDAO {
      * @return A list of teachers for the specified class
      */
     public List<Teacher> getTeachersByClassId(int classId) {
+        List<Teacher> copies = new ArrayList<>();
+        List<Teacher> cached = BY_CLASS_CACHE.get(classId, this::loadTeachersByClassId);
+        if (cached != null) {
+            for (Teacher teacher : cached) {
+                copies.add(copy(teacher));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Loads the teachers of a class from the database.
+     *
+     * @param classId The ID of the class
+     * @return The teachers, or null if the query failed
+     */
+    private List<Teacher> loadTeachersByClassId(int classId) {
         List<Teacher> teachers = new ArrayList<>();
 
         try (Connection connection = DatabaseConnection.getConnection();
@@ -127,6 +162,7 @@ public class TeacherDAO {
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving teachers by class ID " + classId + ": " + e.getMessage());
+            return null;
         }
 
         return teachers;
@@ -139,26 +175,34 @@ public class TeacherDAO {
      * @return An Optional containing the teacher if found, or empty if not found
      */
     public Optional<Teacher> getTeacherByUserId(int userId) {
-        String sql = "SELECT * FROM Teacher WHERE user_id = ?";
+        return Optional.ofNullable(BY_USER_ID_CACHE.get(userId, this::loadTeacherByUserId)).map(TeacherDAO::copy);
+    }
 
+    /**
+     * Loads a teacher by user ID from the database.
+     *
+     * @param userId The ID of the user associated with the teacher
+     * @return The teacher, or null if not found
+     */
+    private Teacher loadTeacherByUserId(int userId) {
         try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement ps = connection.prepareStatement(sql)) {
+             PreparedStatement ps = connection.prepareStatement(SELECT_BY_USER_ID_SQL)) {
 
             ps.setInt(1, userId);
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(new Teacher(
+                    return new Teacher(
                             rs.getInt("teacher_id"),
                             rs.getInt("user_id"),
                             rs.getInt("class_id")
-                    ));
+                    );
                 }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving teacher with user ID " + userId + ": " + e.getMessage());
         }
-        return Optional.empty();
+        return null;
     }
 
     /**
@@ -175,7 +219,9 @@ public class TeacherDAO {
             ps.setInt(2, teacher.getClassId());
             ps.setInt(3, teacher.getTeacherId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            invalidateAll();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating teacher with ID " + teacher.getTeacherId() + ": " + e.getMessage());
             return false;
@@ -194,7 +240,9 @@ public class TeacherDAO {
 
             ps.setInt(1, teacherId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            invalidateAll();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting teacher with ID " + teacherId + ": " + e.getMessage());
             return false;
@@ -363,6 +411,25 @@ public class TeacherDAO {
         return teacherDetails;
     }
 
+    /**
+     * Drops all cached teachers. Teacher writes are rare, so every write clears all views.
+     */
+    private void invalidateAll() {
+        BY_ID_CACHE.invalidateAll();
+        BY_USER_ID_CACHE.invalidateAll();
+        BY_CLASS_CACHE.invalidateAll();
+    }
+
+    /**
+     * Helper method to copy a cached teacher, so callers cannot change the cached instance.
+     *
+     * @param teacher The teacher to copy
+     * @return A new Teacher with the same values
+     */
+    private static Teacher copy(Teacher teacher) {
+        return new Teacher(teacher.getTeacherId(), teacher.getUserId(), teacher.getClassId());
+    }
+
     /**
      * Helper method to map ResultSet to Teacher object.
      *
@@ -2,12 +2,15 @@ package dao;
 
 import model.User;
 import org.mindrot.jbcrypt.BCrypt;
+import service.AuthenticationService;
 import util.DatabaseConnection;
+import util.EntityCache;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for User entities.
@@ -17,14 +20,21 @@ public class UserDAO {
     // SQL Queries
     private static final String INSERT_USER_SQL = "INSERT INTO User (fullName, email, password, accountType, address, phone_number) VALUES (?, ?, ?, ?, ?, ?)";
     private static final String SELECT_USER_BY_ID = "SELECT * FROM User WHERE user_id = ?";
-    private static final String SELECT_USER_BY_EMAIL = "SELECT * FROM User WHERE email = ?";
+    static final String SELECT_USER_BY_EMAIL = "SELECT * FROM User WHERE email = ?";
     private static final String SELECT_ALL_USERS = "SELECT * FROM User";
+    private static final String SELECT_USERS_PAGE = "SELECT * FROM User WHERE user_id > ? ORDER BY user_id LIMIT ?";
+    private static final String SELECT_ALL_USERS_ORDERED = "SELECT * FROM User ORDER BY user_id";
     private static final String SELECT_USERS_BY_TYPE = "SELECT * FROM User WHERE accountType = ?";
     private static final String UPDATE_USER_SQL = "UPDATE User SET fullName = ?, email = ?, password = ?, accountType = ?, address = ?, phone_number = ? WHERE user_id = ?";
     private static final String DELETE_USER_SQL = "DELETE FROM User WHERE user_id = ?";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE User SET password = ? WHERE user_id = ? AND password = ?";
     private static final String CHECK_EMAIL_EXISTS = "SELECT COUNT(*) FROM User WHERE email = ? AND user_id != ?";
     private static final String COUNT_USERS_SQL = "SELECT COUNT(*) FROM User";
 
+    // Read-through cache shared by all instances; the write methods invalidate it.
+    // Lookups by email are not cached so logins always see the stored password.
+    private static final EntityCache<Integer, User> BY_ID_CACHE = new EntityCache<>("user", 2000, 5 * 60_000L);
+
     /**
      * Creates a new user in the database.
      *
@@ -69,7 +79,7 @@ public class UserDAO {
 
             // Hash the password if requested
             if (hashPassword) {
-                password = BCrypt.hashpw(password, BCrypt.gensalt(12));
+                password = BCrypt.hashpw(password, BCrypt.gensalt(AuthenticationService.BCRYPT_LOG_ROUNDS));
             }
 
             ps.setString(1, user.getFullName());
@@ -95,37 +105,21 @@ public class UserDAO {
     }
 
     /**
-     * Authenticates a user with a username and password
+     * Authenticates a user with a username and password.
+     * Blocks until the check is done, and counts towards the login throttle like any other attempt.
      *
      * @param email The user's email
      * @param password The password to check
      * @return An Optional containing the authenticated user if successful, or empty if authentication failed
+     * @deprecated Use {@link AuthenticationService#authenticate(String, String)}, which does not block the caller
      */
+    @Deprecated
     public Optional<User> authenticateUser(String email, String password) {
-        Optional<User> userOpt = getUserByEmail(email);
-
-        if (!userOpt.isPresent()) {
-            return Optional.empty(); // User not found
-        }
-
-        User user = userOpt.get();
-        String storedPassword = user.getPassword();
-
-        // Check if the password is a BCrypt hash
-        if (storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$")) {
-            // Verify with BCrypt
-            if (BCrypt.checkpw(password, storedPassword)) {
-                return userOpt;
-            }
-        } else {
-            // Legacy plaintext comparison (for transition period)
-            if (password.equals(storedPassword)) {
-                return userOpt;
-            }
-        }
-
-        return Optional.empty(); // Authentication failed
+        AuthenticationService.Result result = AuthenticationService.getInstance().authenticate(email, password).join();
+        return result.getStatus() == AuthenticationService.Status.SUCCESS
+                ? Optional.of(result.getUser()) : Optional.empty();
     }
+
     /**
      * Retrieves a user by their ID.
      *
@@ -133,6 +127,16 @@ public class UserDAO {
      * @return An Optional containing the user if found, or empty if not found
      */
     public Optional<User> getUserById(int userId) {
+        return Optional.ofNullable(BY_ID_CACHE.get(userId, this::loadUserById)).map(UserDAO::copy);
+    }
+
+    /**
+     * Loads a user by ID from the database.
+     *
+     * @param userId The ID of the user to load
+     * @return The user, or null if not found
+     */
+    private User loadUserById(int userId) {
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(SELECT_USER_BY_ID)) {
 
@@ -140,13 +144,13 @@ public class UserDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToUser(rs));
+                    return mapResultSetToUser(rs);
                 }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving user with ID " + userId + ": " + e.getMessage());
         }
-        return Optional.empty();
+        return null;
     }
 
     /**
@@ -174,6 +178,7 @@ public class UserDAO {
 
     /**
      * Retrieves all users from the database.
+     * Loads the whole table into memory; use {@link #getUsersPage} or {@link #streamAllUsers} for large tables.
      *
      * @return A list of all users
      */
@@ -194,6 +199,34 @@ public class UserDAO {
         return users;
     }
 
+    /**
+     * Retrieves one page of users in ID order, using keyset pagination.
+     * Pass 0 for the first page and the last ID of the previous page after that.
+     *
+     * @param afterUserId Only users with a greater ID are returned
+     * @param limit The maximum number of users to return
+     * @return The page of users; fewer than limit entries means there are no more
+     */
+    public List<User> getUsersPage(int afterUserId, int limit) {
+        try {
+            return CursorSupport.page(SELECT_USERS_PAGE, afterUserId, limit, this::mapResultSetToUser);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving users page after ID " + afterUserId + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all users in ID order without loading the table into memory.
+     * The stream holds a database connection until it is closed, so use it in try-with-resources.
+     *
+     * @return A stream of all users
+     * @throws SQLException If the query cannot be started
+     */
+    public Stream<User> streamAllUsers() throws SQLException {
+        return CursorSupport.stream(SELECT_ALL_USERS_ORDERED, this::mapResultSetToUser, "user");
+    }
+
     /**
      * Retrieves users by account type.
      *
@@ -238,13 +271,39 @@ public class UserDAO {
             ps.setString(6, user.getPhoneNumber());
             ps.setInt(7, user.getUserId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(user.getUserId());
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating user with ID " + user.getUserId() + ": " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Replaces a user's stored password, unless it has changed since it was read,
+     * e.g. when a login upgrades a legacy password to a stronger hash.
+     *
+     * @param userId The ID of the user
+     * @param expectedPassword The stored password (or hash) the new one replaces
+     * @param newPassword The new password, already hashed
+     * @return true if the password was replaced, false if the user is gone or the password has changed
+     * @throws SQLException If a database access error occurs
+     */
+    public boolean updatePassword(int userId, String expectedPassword, String newPassword) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(UPDATE_PASSWORD_SQL)) {
+
+            ps.setString(1, newPassword);
+            ps.setInt(2, userId);
+            ps.setString(3, expectedPassword);
+
+            boolean updated = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(userId);
+            return updated;
+        }
+    }
+
     /**
      * Deletes a user from the database.
      *
@@ -257,7 +316,9 @@ public class UserDAO {
 
             ps.setInt(1, userId);
 
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            BY_ID_CACHE.invalidate(userId);
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting user with ID " + userId + ": " + e.getMessage());
             return false;
@@ -331,6 +392,17 @@ public class UserDAO {
         return 0;
     }
 
+    /**
+     * Helper method to copy a cached user, so callers cannot change the cached instance.
+     *
+     * @param user The user to copy
+     * @return A new User with the same values
+     */
+    private static User copy(User user) {
+        return new User(user.getUserId(), user.getFullName(), user.getEmail(), user.getPassword(),
+                user.getAccountType(), user.getAddress(), user.getPhoneNumber());
+    }
+
     /**
      * Helper method to map ResultSet to User object.
      *
@@ -1,23 +1,32 @@
 package gui;
 
 import dao.AbsenceDAO;
+import dao.AsyncDAO;
 import dao.StudentDAO;
 import model.Absence;
 import model.Student;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
 
 /**
- * Form for managing student absences with input validation
+ * Form for managing student absences with input validation.
+ * Offers a single-absence entry tab and a roll-call tab that marks the whole class
+ * at once and saves only the changed rows in one batched transaction.
  */
 public class AbsenceForm extends JFrame implements ActionListener {
     private JComboBox<String> studentCombo;
@@ -31,13 +40,36 @@ public class AbsenceForm extends JFrame implements ActionListener {
     // Store student IDs corresponding to combo box index
     private int[] studentIds;
 
+    // Roll-call mode
+    private final int classGroupId;
+    private JTextField rollCallDateField;
+    private JButton loadRollCallButton;
+    private JButton saveRollCallButton;
+    private JLabel rollCallStatusLabel;
+    private RollCallTableModel rollCallModel;
+    private JTable rollCallTable;
+    private boolean rollCallLoaded;
+    private final BackgroundTasks tasks = new BackgroundTasks(this);
+
     /**
      * Constructor - initializes the form
      */
     public AbsenceForm(int classGroupId) {
+        this(classGroupId, false);
+    }
+
+    /**
+     * Constructor - initializes the form, optionally opening on the roll-call tab
+     *
+     * @param classGroupId The class whose students are listed
+     * @param rollCall Whether to start in roll-call mode
+     */
+    public AbsenceForm(int classGroupId, boolean rollCall) {
+        this.classGroupId = classGroupId;
+
         // Set up the frame
         setTitle("Manage Student Absences");
-        setSize(600, 300);
+        setSize(650, 500);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setLocationRelativeTo(null); // Center on screen
 
@@ -114,8 +146,206 @@ public class AbsenceForm extends JFrame implements ActionListener {
 
         mainPanel.add(topPanel, BorderLayout.NORTH);
 
-        // Add main panel to frame
-        add(mainPanel);
+        // Single entry and roll call share the frame as tabs
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Single Absence", mainPanel);
+        tabs.addTab("Roll Call", createRollCallPanel());
+
+        // The class list is only read once the roll-call tab is first shown
+        tabs.addChangeListener(e -> {
+            if (tabs.getSelectedIndex() == 1 && !rollCallLoaded) {
+                rollCallLoaded = true;
+                loadRollCall();
+            }
+        });
+        if (rollCall) {
+            tabs.setSelectedIndex(1);
+        }
+
+        // Add tabs to frame
+        add(tabs);
+    }
+
+    /**
+     * Creates the roll-call panel listing every student of the class
+     */
+    private JPanel createRollCallPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        // Date selection
+        JPanel datePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        datePanel.add(new JLabel("Date (yyyy-MM-dd):"));
+        rollCallDateField = new JTextField(new SimpleDateFormat("yyyy-MM-dd").format(new Date()), 10);
+        datePanel.add(rollCallDateField);
+        loadRollCallButton = new JButton("Load");
+        loadRollCallButton.addActionListener(this);
+        datePanel.add(loadRollCallButton);
+        panel.add(datePanel, BorderLayout.NORTH);
+
+        // Student grid
+        rollCallModel = new RollCallTableModel();
+        rollCallTable = new JTable(rollCallModel);
+        rollCallTable.setRowHeight(24);
+        rollCallTable.getColumnModel().getColumn(0).setPreferredWidth(200);
+        rollCallTable.getColumnModel().getColumn(3).setPreferredWidth(250);
+        panel.add(new JScrollPane(rollCallTable), BorderLayout.CENTER);
+
+        // Status and buttons
+        rollCallStatusLabel = new JLabel("");
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        saveRollCallButton = new JButton("Save Roll Call");
+        saveRollCallButton.addActionListener(this);
+        buttonPanel.add(saveRollCallButton);
+        JButton rollCallCloseButton = new JButton("Close");
+        rollCallCloseButton.addActionListener(e -> dispose());
+        buttonPanel.add(rollCallCloseButton);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(rollCallStatusLabel, BorderLayout.NORTH);
+        bottomPanel.add(buttonPanel, BorderLayout.SOUTH);
+        panel.add(bottomPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    /**
+     * Loads the class list and the absences already recorded for the selected day off the EDT
+     */
+    private void loadRollCall() {
+        Date date = parseRollCallDate();
+        if (date == null) {
+            return;
+        }
+
+        rollCallStatusLabel.setForeground(Color.DARK_GRAY);
+        rollCallStatusLabel.setText("Loading roll call...");
+        tasks.load("rollCall", date, null, () -> readRollCall(date), rows -> {
+            long marked = rows.stream().filter(row -> row.original != null).count();
+            rollCallModel.setRows(rows);
+            rollCallStatusLabel.setForeground(Color.DARK_GRAY);
+            rollCallStatusLabel.setText(rows.isEmpty()
+                    ? "No students available"
+                    : rows.size() + " students, " + marked + " already marked absent");
+        }, "Error loading roll call");
+    }
+
+    /**
+     * Reads one roll-call row per student of the class; runs on a worker thread
+     *
+     * @param date The day of the roll call
+     * @return The rows, with the absence already stored for each student if any
+     */
+    private List<RollCallRow> readRollCall(Date date) {
+        StudentDAO studentDAO = new StudentDAO();
+        AbsenceDAO absenceDAO = new AbsenceDAO();
+        List<Student> students = studentDAO.getStudentsByClass(classGroupId);
+
+        Map<Integer, Absence> existing = new HashMap<>();
+        for (Absence absence : absenceDAO.getAbsencesByClassAndDate(classGroupId, date)) {
+            existing.putIfAbsent(absence.getStudentId(), absence);
+        }
+
+        List<RollCallRow> rows = new ArrayList<>(students.size());
+        for (Student student : students) {
+            rows.add(new RollCallRow(student, existing.get(student.getStudentId())));
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the changed roll-call rows in a single batched transaction
+     */
+    private void saveRollCall() {
+        // Commit the cell being edited, e.g. a description that is still being typed
+        if (rollCallTable.isEditing() && !rollCallTable.getCellEditor().stopCellEditing()) {
+            return;
+        }
+
+        Date date = parseRollCallDate();
+        if (date == null) {
+            return;
+        }
+
+        List<Absence> upserts = new ArrayList<>();
+        List<Integer> removals = new ArrayList<>();
+        int excusedRemovals = 0;
+        for (RollCallRow row : rollCallModel.getRows()) {
+            if (!row.isChanged()) {
+                continue;
+            }
+            if (row.absent) {
+                String description = row.description == null || row.description.trim().isEmpty()
+                        ? "Absent" : row.description.trim();
+                if (description.length() > 255) {
+                    rollCallStatusLabel.setForeground(Color.RED);
+                    rollCallStatusLabel.setText("Description for " + row.name + " is too long (maximum 255 characters)");
+                    return;
+                }
+                int absenceId = row.original != null ? row.original.getAbsenceId() : 0;
+                upserts.add(new Absence(absenceId, row.studentId, date, description, row.excused));
+            } else {
+                removals.add(row.original.getAbsenceId());
+                if (row.original.isStatus()) {
+                    excusedRemovals++;
+                }
+            }
+        }
+
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            rollCallStatusLabel.setForeground(Color.DARK_GRAY);
+            rollCallStatusLabel.setText("No changes to save");
+            return;
+        }
+
+        // Removing an excused absence also deletes the excuse submitted for it
+        if (excusedRemovals > 0 && JOptionPane.showConfirmDialog(this,
+                excusedRemovals + " of the students no longer marked absent have an excused absence.\n" +
+                        "Their excuses will be deleted as well. Continue?",
+                "Confirm", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        // The transaction runs off the EDT; the button stays disabled so it is not saved twice
+        int changes = upserts.size() + removals.size();
+        saveRollCallButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        AbsenceDAO absenceDAO = new AbsenceDAO();
+        AsyncDAO.run(() -> absenceDAO.upsertAbsences(upserts, removals)).whenCompleteAsync((done, error) -> {
+            setCursor(Cursor.getDefaultCursor());
+            saveRollCallButton.setEnabled(true);
+
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                cause.printStackTrace();
+                rollCallStatusLabel.setForeground(Color.RED);
+                rollCallStatusLabel.setText("Database error: " + cause.getMessage());
+                return;
+            }
+
+            JOptionPane.showMessageDialog(this,
+                    "Roll call saved (" + changes + " changes)",
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
+            loadRollCall();
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Parses the roll-call date field, reporting invalid input in the status label
+     *
+     * @return The parsed date, or null if the field is invalid
+     */
+    private Date parseRollCallDate() {
+        try {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+            sdf.setLenient(false);
+            return sdf.parse(rollCallDateField.getText().trim());
+        } catch (ParseException e) {
+            rollCallStatusLabel.setForeground(Color.RED);
+            rollCallStatusLabel.setText("Invalid date format. Please use YYYY-MM-DD");
+            rollCallDateField.requestFocus();
+            return null;
+        }
     }
 
     /**
@@ -148,6 +378,10 @@ public class AbsenceForm extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent e) {
         if (e.getSource() == addButton) {
             addAbsence();
+        } else if (e.getSource() == loadRollCallButton) {
+            loadRollCall();
+        } else if (e.getSource() == saveRollCallButton) {
+            saveRollCall();
         } else if (e.getSource() == closeButton) {
             dispose();
         }
@@ -247,4 +481,116 @@ public class AbsenceForm extends JFrame implements ActionListener {
         return true;
     }
 
+    /**
+     * One student's line in the roll call, remembering what was stored when it was loaded
+     */
+    private static class RollCallRow {
+        private final int studentId;
+        private final String name;
+        private final Absence original;
+        private boolean absent;
+        private boolean excused;
+        private String description;
+
+        private RollCallRow(Student student, Absence original) {
+            this.studentId = student.getStudentId();
+            this.name = student.getFirstName() + " " + student.getLastName();
+            this.original = original;
+            this.absent = original != null;
+            this.excused = original != null && original.isStatus();
+            this.description = original != null ? original.getDescription() : "";
+        }
+
+        /**
+         * Checks whether the row differs from the stored state
+         */
+        private boolean isChanged() {
+            if (original == null) {
+                return absent;
+            }
+            return !absent
+                    || excused != original.isStatus()
+                    || !Objects.equals(description, original.getDescription());
+        }
+    }
+
+    /**
+     * Table model for the roll-call grid
+     */
+    private static class RollCallTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Student", "Absent", "Excused", "Description"};
+        private List<RollCallRow> rows = new ArrayList<>();
+
+        private void setRows(List<RollCallRow> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        private List<RollCallRow> getRows() {
+            return rows;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 1 || column == 2 ? Boolean.class : String.class;
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            // Excused and description only apply to absent students
+            return column == 1 || (column > 1 && rows.get(row).absent);
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            RollCallRow r = rows.get(row);
+            switch (column) {
+                case 0:
+                    return r.name;
+                case 1:
+                    return r.absent;
+                case 2:
+                    return r.excused;
+                default:
+                    return r.description;
+            }
+        }
+
+        @Override
+        public void setValueAt(Object value, int row, int column) {
+            RollCallRow r = rows.get(row);
+            switch (column) {
+                case 1:
+                    r.absent = (Boolean) value;
+                    if (!r.absent) {
+                        r.excused = false;
+                    }
+                    break;
+                case 2:
+                    r.excused = (Boolean) value;
+                    break;
+                case 3:
+                    r.description = (String) value;
+                    break;
+                default:
+                    return;
+            }
+            fireTableRowsUpdated(row, row);
+        }
+    }
 }
\ No newline at end of file
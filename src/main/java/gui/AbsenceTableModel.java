@@ -0,0 +1,24 @@
+package gui;
+
+import model.Absence;
+
+/**
+ * Table model for lists of absences.
+ */
+final class AbsenceTableModel extends SnapshotTableModel<Absence> {
+    static final Column<Absence> ID = new Column<>("ID", Integer.class, Absence::getAbsenceId);
+    static final Column<Absence> DATE = new Column<>("Absence Date", absence -> formatDate(absence.getAbsenceDate()));
+    static final Column<Absence> DESCRIPTION = new Column<>("Description", Absence::getDescription);
+    static final Column<Absence> STATUS = new Column<>("Status", absence -> absence.isStatus() ? "Excused" : "Unexcused");
+
+    /**
+     * Creates an empty model.
+     *
+     * @param columns The columns to show, in order
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // Forwarded to the base class, which only reads it
+    AbsenceTableModel(Column<Absence>... columns) {
+        super(columns);
+    }
+}
@@ -0,0 +1,265 @@
+package gui;
+
+import dao.AsyncDAO;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs a dashboard's DAO loads off the Event Dispatch Thread and shows their results on it.
+ * Each load has a name (one per table or combo box) and a key describing what it loads,
+ * e.g. the selected student's ID:
+ * <ul>
+ *     <li>A load with a different key cancels the stale one, so a slow earlier load never
+ *     overwrites a newer selection.</li>
+ *     <li>Duplicate requests with the same key are coalesced: a load that has not started yet
+ *     already reads fresh data, and one that is running is repeated once when it finishes,
+ *     so only data read after the last request is shown.</li>
+ *     <li>Loads that show a {@link LoadingOverlay} belong to that overlay's tab. Switching
+ *     tabs cancels the loads of hidden tabs and restarts them when their tab is shown again.</li>
+ * </ul>
+ * All methods must be called on the EDT; results are delivered there in one call per load.
+ * Each run of a load is a {@link PanelLoadEvent} for Flight Recorder.
+ */
+final class BackgroundTasks {
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Component owner;
+    private final Map<String, Task<?>> running = new HashMap<>();
+    private final Map<String, Task<?>> paused = new LinkedHashMap<>();
+    private String activeTab;
+
+    /**
+     * Creates the task runner for a dashboard.
+     *
+     * @param owner The component error dialogs are shown over
+     */
+    BackgroundTasks(Component owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Loads data for a combo box or other component without a loading state.
+     *
+     * @param name The load name, e.g. "studentCombo"
+     * @param query The DAO call; runs on a worker thread
+     * @param onLoaded Shows the result; runs on the EDT
+     * @param errorMessage The start of the message shown if the call fails
+     * @param <T> The result type
+     */
+    <T> void load(String name, Callable<T> query, Consumer<T> onLoaded, String errorMessage) {
+        load(name, null, null, query, onLoaded, errorMessage);
+    }
+
+    /**
+     * Loads data for a table, showing the table's loading state while the call runs.
+     *
+     * @param name The load name, e.g. "grades"
+     * @param key What is loaded, e.g. the student ID, or null if the load has no parameters
+     * @param overlay The loading state of the table, or null for none
+     * @param query The DAO call; runs on a worker thread
+     * @param onLoaded Shows the result; runs on the EDT
+     * @param errorMessage The start of the message shown if the call fails
+     * @param <T> The result type
+     */
+    <T> void load(String name, Object key, LoadingOverlay overlay, Callable<T> query, Consumer<T> onLoaded,
+                  String errorMessage) {
+        Task<?> current = running.get(name);
+        if (current != null && Objects.equals(current.key, key)) {
+            @SuppressWarnings("unchecked")
+            Task<T> same = (Task<T>) current;
+            same.onLoaded = onLoaded;
+            same.rerun |= same.started;
+            return;
+        }
+
+        cancel(name);
+        Task<T> task = new Task<>(name, key, overlay, query, onLoaded, errorMessage);
+        if (new PanelLoadEvent().isEnabled()) {
+            task.requestedBy = STACK_WALKER.walk(frames -> frames
+                    .filter(frame -> !frame.getClassName().equals(BackgroundTasks.class.getName()))
+                    .findFirst()
+                    .map(StackWalker.StackFrame::getMethodName)
+                    .orElse(null));
+        }
+        if (isHidden(overlay)) {
+            paused.put(name, task);
+        } else {
+            start(task);
+        }
+    }
+
+    /**
+     * Cancels a load if it is still running or waiting for its tab.
+     *
+     * @param name The load name
+     */
+    void cancel(String name) {
+        paused.remove(name);
+        Task<?> task = running.remove(name);
+        if (task != null) {
+            stop(task, "cancelled");
+        }
+    }
+
+    /**
+     * Cancels every load, e.g. when the dashboard is closed.
+     */
+    void cancelAll() {
+        paused.clear();
+        for (String name : new ArrayList<>(running.keySet())) {
+            cancel(name);
+        }
+    }
+
+    /**
+     * Pauses the loads of hidden tabs and resumes those of the tab now shown.
+     *
+     * @param tab The name of the tab now shown
+     */
+    void switchTo(String tab) {
+        activeTab = tab;
+        for (Task<?> task : new ArrayList<>(running.values())) {
+            if (isHidden(task.overlay)) {
+                running.remove(task.name);
+                stop(task, "paused");
+                paused.put(task.name, task);
+            }
+        }
+        for (Task<?> task : new ArrayList<>(paused.values())) {
+            if (!isHidden(task.overlay)) {
+                paused.remove(task.name);
+                start(task);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a load is running or waiting for its tab.
+     *
+     * @param name The load name
+     * @return true if the load has not delivered its result yet
+     */
+    boolean isLoading(String name) {
+        return running.containsKey(name) || paused.containsKey(name);
+    }
+
+    private boolean isHidden(LoadingOverlay overlay) {
+        return overlay != null && activeTab != null && !overlay.getTab().equals(activeTab);
+    }
+
+    private <T> void start(Task<T> task) {
+        task.started = false;
+        task.rerun = false;
+        if (task.overlay != null) {
+            task.overlay.start();
+        }
+        running.put(task.name, task);
+        task.event = new PanelLoadEvent();
+        task.event.begin();
+
+        CompletableFuture<T> future = AsyncDAO.supply(() -> {
+            task.started = true;
+            return task.query.call();
+        });
+        task.future = future;
+        future.whenCompleteAsync((result, error) -> finish(task, future, result, error), SwingUtilities::invokeLater);
+    }
+
+    private <T> void finish(Task<T> task, CompletableFuture<T> future, T result, Throwable error) {
+        if (running.get(task.name) != task || task.future != future) {
+            return; // cancelled, paused or superseded
+        }
+        running.remove(task.name);
+        if (task.overlay != null) {
+            task.overlay.stop();
+        }
+
+        if (task.rerun) {
+            // Requested again while running, so this result may predate the latest change
+            commitEvent(task, "repeated");
+            start(task);
+            return;
+        }
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                commitEvent(task, "cancelled");
+                return;
+            }
+            commitEvent(task, "failed");
+            cause.printStackTrace();
+            JOptionPane.showMessageDialog(owner,
+                    task.errorMessage + ": " + cause.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        } else {
+            task.onLoaded.accept(result);
+            commitEvent(task, "shown");
+        }
+    }
+
+    private void stop(Task<?> task, String outcome) {
+        if (task.future != null) {
+            task.future.cancel(true);
+            task.future = null;
+            commitEvent(task, outcome);
+        }
+        if (task.overlay != null) {
+            task.overlay.stop();
+        }
+    }
+
+    private void commitEvent(Task<?> task, String outcome) {
+        PanelLoadEvent event = task.event;
+        task.event = null;
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.dashboard = owner != null ? owner.getClass().getSimpleName() : null;
+            event.load = task.name;
+            event.requestedBy = task.requestedBy;
+            event.key = task.key != null ? String.valueOf(task.key) : null;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * One named load. Only touched on the EDT, except for the started flag.
+     */
+    private static final class Task<T> {
+        private final String name;
+        private final Object key;
+        private final LoadingOverlay overlay;
+        private final Callable<T> query;
+        private final String errorMessage;
+        private Consumer<T> onLoaded;
+        private CompletableFuture<T> future;
+        private PanelLoadEvent event;
+        private String requestedBy;
+        private volatile boolean started;
+        private boolean rerun;
+
+        private Task(String name, Object key, LoadingOverlay overlay, Callable<T> query, Consumer<T> onLoaded,
+                     String errorMessage) {
+            this.name = name;
+            this.key = key;
+            this.overlay = overlay;
+            this.query = query;
+            this.onLoaded = onLoaded;
+            this.errorMessage = errorMessage;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package gui;
+
+import util.ConnectionPool;
+import util.DatabaseConnection;
+import util.QueryStats;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Settings view of the data layer's query statistics: time per SQL statement, connection
+ * waits and the slow-query log. Reading the statistics does not touch the database.
+ */
+final class DatabaseDiagnosticsDialog extends JDialog {
+    private static final Color BACKGROUND_COLOR = new Color(245, 245, 245);
+    private static final Color TEXT_COLOR = new Color(44, 62, 80);
+    private static final String[] COLUMNS = {"SQL", "Calls", "Errors", "Rows", "Avg ms", "p95 ms", "Max ms", "Total ms"};
+
+    private final QueryStats stats;
+    private final JLabel summaryLabel = new JLabel();
+    private final DefaultTableModel templateModel = new DefaultTableModel(COLUMNS, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? String.class : column <= 3 ? Long.class : Double.class;
+        }
+    };
+    private final JTextArea slowQueryArea = new JTextArea();
+
+    private DatabaseDiagnosticsDialog(Window owner, QueryStats stats) {
+        super(owner, "Database Diagnostics", ModalityType.MODELESS);
+        this.stats = stats;
+        initializeUI();
+        refresh();
+    }
+
+    /**
+     * Opens the diagnostics view, or explains that instrumentation is turned off.
+     *
+     * @param owner The dashboard opening the view
+     */
+    static void showFor(Window owner) {
+        Optional<QueryStats> stats = DatabaseConnection.getQueryStats();
+        if (stats.isEmpty()) {
+            JOptionPane.showMessageDialog(owner,
+                    "Query statistics are turned off (-Dsms.db.instrument=false).",
+                    "Database Diagnostics", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        new DatabaseDiagnosticsDialog(owner, stats.get()).setVisible(true);
+    }
+
+    private void initializeUI() {
+        setSize(1000, 650);
+        setLocationRelativeTo(getOwner());
+
+        JPanel mainPanel = new JPanel(new BorderLayout(0, 10));
+        mainPanel.setBackground(BACKGROUND_COLOR);
+        mainPanel.setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        summaryLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        summaryLabel.setForeground(TEXT_COLOR);
+
+        JTable templateTable = new JTable(templateModel);
+        templateTable.setAutoCreateRowSorter(true);
+        templateTable.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        templateTable.getColumnModel().getColumn(0).setPreferredWidth(500);
+
+        slowQueryArea.setEditable(false);
+        slowQueryArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JPanel slowQueryPanel = new JPanel(new BorderLayout(0, 5));
+        slowQueryPanel.setOpaque(false);
+        JLabel slowQueryTitle = new JLabel("Slow queries (newest first, bind values redacted)");
+        slowQueryTitle.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        slowQueryTitle.setForeground(TEXT_COLOR);
+        slowQueryPanel.add(slowQueryTitle, BorderLayout.NORTH);
+        slowQueryPanel.add(new JScrollPane(slowQueryArea), BorderLayout.CENTER);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(templateTable), slowQueryPanel);
+        splitPane.setResizeWeight(0.65);
+
+        // Threshold and actions
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.setOpaque(false);
+
+        JSpinner thresholdSpinner = new JSpinner(
+                new SpinnerNumberModel(Long.valueOf(stats.getSlowQueryThresholdMillis()), Long.valueOf(0),
+                        Long.valueOf(60_000), Long.valueOf(50)));
+        thresholdSpinner.addChangeListener(e ->
+                stats.setSlowQueryThresholdMillis(((Number) thresholdSpinner.getValue()).longValue()));
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> refresh());
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            stats.reset();
+            refresh();
+        });
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dispose());
+
+        buttonPanel.add(new JLabel("Slow query threshold (ms):"));
+        buttonPanel.add(thresholdSpinner);
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(resetButton);
+        buttonPanel.add(closeButton);
+
+        mainPanel.add(summaryLabel, BorderLayout.NORTH);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        setContentPane(mainPanel);
+    }
+
+    /**
+     * Reloads the view from the current statistics.
+     */
+    private void refresh() {
+        ConnectionPool pool = DatabaseConnection.getPool();
+        summaryLabel.setText(String.format(
+                "Statements: %d (%d failed)   Connection waits: %d, avg %.2f ms, max %.1f ms, %d failed   "
+                        + "Pool: %d active, %d idle, %d max",
+                stats.getQueryCount(), stats.getErrorCount(),
+                stats.getConnectionAcquireCount(), stats.getConnectionAcquireAverageMillis(),
+                stats.getConnectionAcquireMaxMillis(), stats.getConnectionAcquireFailures(),
+                pool.getActiveCount(), pool.getIdleCount(), pool.getMaxSize()));
+
+        templateModel.setRowCount(0);
+        for (QueryStats.TemplateSnapshot template : stats.getTemplates()) {
+            templateModel.addRow(new Object[]{
+                    template.getSql(),
+                    template.getCount(),
+                    template.getErrors(),
+                    template.getRows(),
+                    round(template.getAverageMillis()),
+                    round(template.getP95Millis()),
+                    round(template.getMaxMillis()),
+                    round(template.getTotalMillis())
+            });
+        }
+
+        List<String> slowQueries = stats.getSlowQueries();
+        slowQueryArea.setText(slowQueries.isEmpty()
+                ? "No statement has taken " + stats.getSlowQueryThresholdMillis() + " ms or more."
+                : String.join("\n", slowQueries));
+        slowQueryArea.setCaretPosition(0);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+}
@@ -0,0 +1,65 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * Runs an action on the EDT once input has been quiet for a short delay.
+ * Used for search fields, so a burst of keystrokes triggers one filter pass instead of one per key.
+ */
+class Debouncer {
+    // Delay used by the search fields
+    static final int SEARCH_DELAY_MS = 150;
+
+    private final Timer timer;
+
+    /**
+     * Creates a debouncer.
+     *
+     * @param delayMillis How long input must be quiet before the action runs
+     * @param action The action to run on the EDT
+     */
+    Debouncer(int delayMillis, Runnable action) {
+        timer = new Timer(delayMillis, e -> action.run());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Schedules the action, pushing back any run that is still pending.
+     */
+    void trigger() {
+        timer.restart();
+    }
+
+    /**
+     * Cancels a pending run.
+     */
+    void cancel() {
+        timer.stop();
+    }
+
+    /**
+     * Creates a document listener that triggers this debouncer on every edit.
+     *
+     * @return The listener
+     */
+    DocumentListener documentListener() {
+        return new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                trigger();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                trigger();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                trigger();
+            }
+        };
+    }
+}
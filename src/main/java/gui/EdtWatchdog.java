@@ -0,0 +1,280 @@
+package gui;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in watchdog that finds work blocking the Event Dispatch Thread.
+ * Every event dispatch is timed; a sampler thread takes the EDT's stack once a dispatch
+ * has run longer than the threshold, and the stall is recorded under its call site when
+ * the dispatch ends. Stalls whose stack runs through the data layer ({@code dao.*} or
+ * {@code util.DatabaseConnection}) are flagged. A report is printed on exit.
+ * Enable with -Dsms.edt.watchdog=true; -Dsms.edt.stallMs sets the threshold (default 100 ms).
+ */
+final class EdtWatchdog {
+    // Stack frames from these classes mean the EDT is waiting on the database
+    private static final String[] DATABASE_FRAMES = {"dao.", "util.DatabaseConnection"};
+    private static final String[] APPLICATION_FRAMES = {"gui.", "dao.", "service.", "util.", "model."};
+    private static final int REPORT_STACK_DEPTH = 12;
+
+    private final long thresholdNanos;
+    private final long sampleMillis;
+    private final WatchedQueue queue = new WatchedQueue();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "edt-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // The dispatch in progress, written by the EDT; start is 0 while the EDT is idle
+    private volatile Thread edt;
+    private volatile long dispatchStart;
+    private volatile long dispatchId;
+    private long lastDispatchId;
+
+    // The stack the sampler took for a dispatch that ran over the threshold
+    private volatile long stalledDispatchId = -1;
+    private volatile StackTraceElement[] stalledStack;
+
+    private final Map<String, CallSite> callSites = new HashMap<>();
+    private long dispatchCount;
+    private long stallCount;
+    private long stallNanos;
+
+    /**
+     * Creates a watchdog; it does nothing until installed.
+     *
+     * @param thresholdMillis How long a dispatch may run before it counts as a stall
+     */
+    EdtWatchdog(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleMillis = Math.max(5, thresholdMillis / 4);
+    }
+
+    /**
+     * Installs a watchdog that reports on exit, if enabled with -Dsms.edt.watchdog=true.
+     */
+    static void installIfEnabled() {
+        if (!Boolean.getBoolean("sms.edt.watchdog")) {
+            return;
+        }
+        long thresholdMillis = Long.getLong("sms.edt.stallMs", 100L);
+        EdtWatchdog watchdog = new EdtWatchdog(thresholdMillis);
+        watchdog.install();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(watchdog.report()), "edt-watchdog-report"));
+        System.out.println("EDT watchdog reporting dispatches over " + thresholdMillis + " ms");
+    }
+
+    /**
+     * Starts timing dispatches and sampling the EDT.
+     */
+    void install() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+        sampler.scheduleAtFixedRate(this::sample, sampleMillis, sampleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the watchdog and restores the previous event queue.
+     */
+    void uninstall() {
+        sampler.shutdownNow();
+        queue.remove();
+    }
+
+    /**
+     * Takes the EDT's stack if the current dispatch has run over the threshold.
+     */
+    private void sample() {
+        long start = dispatchStart;
+        long id = dispatchId;
+        Thread thread = edt;
+        if (start == 0 || thread == null || stalledDispatchId == id || System.nanoTime() - start < thresholdNanos) {
+            return;
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        // A modal dialog runs a nested event loop; waiting in it is not a stall
+        if (isWaitingForEvents(stack) || dispatchId != id) {
+            return;
+        }
+        stalledStack = stack;
+        stalledDispatchId = id;
+    }
+
+    private void beginDispatch() {
+        edt = Thread.currentThread();
+        dispatchId = ++lastDispatchId;
+        dispatchStart = System.nanoTime();
+    }
+
+    // After nested dispatches the current id and start are those of the stretch since the last one ended,
+    // so work done after a modal dialog closes is timed and matched to its sample on its own
+    private void endDispatch(boolean nested) {
+        long id = dispatchId;
+        long elapsed = System.nanoTime() - dispatchStart;
+        synchronized (callSites) {
+            dispatchCount++;
+            if (stalledDispatchId == id && elapsed >= thresholdNanos) {
+                record(stalledStack, elapsed);
+            }
+        }
+        if (nested) {
+            // The outer dispatch carries on from here as a new stretch of work
+            beginDispatch();
+        } else {
+            dispatchStart = 0;
+        }
+    }
+
+    private void record(StackTraceElement[] stack, long elapsed) {
+        stallCount++;
+        stallNanos += elapsed;
+        String site = callSite(stack);
+        CallSite callSite = callSites.computeIfAbsent(site, key -> new CallSite(key, databaseFrame(stack), stack));
+        callSite.count++;
+        callSite.totalNanos += elapsed;
+        callSite.maxNanos = Math.max(callSite.maxNanos, elapsed);
+    }
+
+    /**
+     * Picks the frame a stall is attributed to: the innermost GUI frame, since that is where the
+     * blocking call has to move off the EDT, else the innermost application frame.
+     *
+     * @param stack The EDT's stack, innermost frame first
+     * @return The call site
+     */
+    static String callSite(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith("gui.") && !frame.getClassName().startsWith(EdtWatchdog.class.getName())) {
+                return frame.toString();
+            }
+        }
+        for (StackTraceElement frame : stack) {
+            if (startsWithAny(frame.getClassName(), APPLICATION_FRAMES)) {
+                return frame.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "(unknown)";
+    }
+
+    /**
+     * Finds the innermost data-layer frame of a stack.
+     *
+     * @param stack The EDT's stack, innermost frame first
+     * @return The frame, or null if the stall did not go through the data layer
+     */
+    static String databaseFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (startsWithAny(frame.getClassName(), DATABASE_FRAMES)) {
+                return frame.toString();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isWaitingForEvents(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if ("java.awt.EventQueue".equals(frame.getClassName()) && "getNextEvent".equals(frame.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithAny(String className, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of stalls recorded so far.
+     *
+     * @return The stall count
+     */
+    long getStallCount() {
+        synchronized (callSites) {
+            return stallCount;
+        }
+    }
+
+    /**
+     * Builds the report of the stalls recorded so far, worst call site first.
+     *
+     * @return The report text
+     */
+    String report() {
+        List<CallSite> sites;
+        StringBuilder report = new StringBuilder();
+        synchronized (callSites) {
+            sites = new ArrayList<>(callSites.values());
+            report.append("EDT watchdog: ").append(dispatchCount).append(" events dispatched, ")
+                    .append(stallCount).append(" stalls over ").append(TimeUnit.NANOSECONDS.toMillis(thresholdNanos))
+                    .append(" ms (").append(TimeUnit.NANOSECONDS.toMillis(stallNanos)).append(" ms in total)\n");
+        }
+        sites.sort(Comparator.comparingLong((CallSite site) -> site.totalNanos).reversed());
+
+        for (CallSite site : sites) {
+            report.append(String.format("  %d stalls, %d ms total, %d ms max at %s%n", site.count,
+                    TimeUnit.NANOSECONDS.toMillis(site.totalNanos), TimeUnit.NANOSECONDS.toMillis(site.maxNanos), site.site));
+            if (site.databaseFrame != null) {
+                report.append("    DATABASE on the EDT: ").append(site.databaseFrame).append('\n');
+            }
+            for (int i = 0; i < Math.min(REPORT_STACK_DEPTH, site.exampleStack.length); i++) {
+                report.append("      at ").append(site.exampleStack[i]).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * The stalls attributed to one call site.
+     */
+    private static final class CallSite {
+        private final String site;
+        private final String databaseFrame;
+        private final StackTraceElement[] exampleStack;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private CallSite(String site, String databaseFrame, StackTraceElement[] exampleStack) {
+            this.site = site;
+            this.databaseFrame = databaseFrame;
+            this.exampleStack = exampleStack;
+        }
+    }
+
+    /**
+     * Event queue that times each dispatch. Dispatches nest when a modal dialog is opened.
+     */
+    private final class WatchedQueue extends EventQueue {
+        private int depth;
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            boolean nested = depth > 0;
+            depth++;
+            beginDispatch();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                depth--;
+                endDispatch(nested);
+            }
+        }
+
+        private void remove() {
+            pop();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package gui;
+
+import model.Grade;
+
+/**
+ * Table model for lists of grades.
+ */
+final class GradeTableModel extends SnapshotTableModel<Grade> {
+    static final Column<Grade> ID = new Column<>("ID", Integer.class, Grade::getGradeId);
+    static final Column<Grade> SUBJECT = new Column<>("Subject", Grade::getSubject);
+    static final Column<Grade> MARK = new Column<>("Grade", grade -> String.valueOf(grade.getMark()));
+    static final Column<Grade> DATE = new Column<>("Date", grade -> formatDate(grade.getGradeDate()));
+    static final Column<Grade> COMMENT = new Column<>("Comments", Grade::getComment);
+
+    /**
+     * Creates an empty model.
+     *
+     * @param columns The columns to show, in order
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // Forwarded to the base class, which only reads it
+    GradeTableModel(Column<Grade>... columns) {
+        super(columns);
+    }
+}
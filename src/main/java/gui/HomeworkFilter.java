@@ -0,0 +1,66 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.table.TableModel;
+
+/**
+ * Row filter for the teacher's homework table: matches a status and a case-insensitive
+ * substring of the description. Works on the rows already in the table model, so
+ * filtering never queries the database and allocates nothing per row.
+ */
+final class HomeworkFilter extends RowFilter<TableModel, Integer> {
+    // Column layout of the homework table: ID, Assignment Date, Due Date, Description, Status
+    static final int DESCRIPTION_COLUMN = 3;
+    static final int STATUS_COLUMN = 4;
+    static final String ALL_STATUSES = "All Assignments";
+
+    private final String status;
+    private final String searchText;
+
+    private HomeworkFilter(String status, String searchText) {
+        this.status = status;
+        this.searchText = searchText;
+    }
+
+    /**
+     * Creates the filter for the current status selection and search text.
+     *
+     * @param status The selected status, or "All Assignments"
+     * @param searchText The search text; surrounding whitespace is ignored
+     * @return The filter, or null if every row should be shown
+     */
+    static HomeworkFilter of(String status, String searchText) {
+        String wantedStatus = status == null || ALL_STATUSES.equals(status) ? null : status;
+        String text = searchText == null ? "" : searchText.trim();
+        if (wantedStatus == null && text.isEmpty()) {
+            return null;
+        }
+        return new HomeworkFilter(wantedStatus, text);
+    }
+
+    @Override
+    public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+        if (status != null && !status.equals(entry.getValue(STATUS_COLUMN))) {
+            return false;
+        }
+        Object description = entry.getValue(DESCRIPTION_COLUMN);
+        return searchText.isEmpty() || (description != null && containsIgnoreCase(description.toString(), searchText));
+    }
+
+    /**
+     * Checks whether text contains search, ignoring case, without creating lower-case copies.
+     *
+     * @param text The text to search in
+     * @param search The text to look for
+     * @return true if search occurs in text
+     */
+    static boolean containsIgnoreCase(String text, String search) {
+        int last = text.length() - search.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, search, 0, search.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package gui;
+
+import model.Homework;
+
+/**
+ * Table model for lists of homework.
+ */
+final class HomeworkTableModel extends SnapshotTableModel<Homework> {
+    private static final long MILLIS_PER_DAY = 1000L * 60 * 60 * 24;
+
+    static final Column<Homework> ID = new Column<>("ID", Integer.class, Homework::getHomeworkId);
+    static final Column<Homework> ASSIGNMENT_DATE =
+            new Column<>("Assignment Date", homework -> formatDate(homework.getAssignmentDate()));
+    static final Column<Homework> DUE_DATE = new Column<>("Due Date", homework -> formatDate(homework.getDueDate()));
+    static final Column<Homework> DESCRIPTION = new Column<>("Description", Homework::getDescription);
+    static final Column<Homework> CLASS = new Column<>("Class", homework -> "Class " + homework.getClassId());
+    // Completed or Active, as the teacher sees it
+    static final Column<Homework> STATUS =
+            new Column<>("Status", homework -> homework.isCompleted() ? "Completed" : "Active");
+    // Completed, Overdue or Pending, as the parent sees it
+    static final Column<Homework> DUE_STATUS = new Column<>("Status", HomeworkTableModel::dueStatus);
+    static final Column<Homework> DAYS_REMAINING = new Column<>("Days Remaining", HomeworkTableModel::daysRemaining);
+
+    /**
+     * Creates an empty model.
+     *
+     * @param columns The columns to show, in order
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // Forwarded to the base class, which only reads it
+    HomeworkTableModel(Column<Homework>... columns) {
+        super(columns);
+    }
+
+    /**
+     * Gets the status of a homework relative to now.
+     *
+     * @param homework The homework
+     * @return "Completed", "Overdue" or "Pending"
+     */
+    static String dueStatus(Homework homework) {
+        if (homework.isStatus()) {
+            return "Completed";
+        } else if (homework.getDueDate().getTime() < System.currentTimeMillis()) {
+            return "Overdue";
+        }
+        return "Pending";
+    }
+
+    /**
+     * Gets the whole days left until a homework is due.
+     *
+     * @param homework The homework
+     * @return The days remaining, negative if overdue
+     */
+    static int daysRemaining(Homework homework) {
+        return (int) ((homework.getDueDate().getTime() - System.currentTimeMillis()) / MILLIS_PER_DAY);
+    }
+}
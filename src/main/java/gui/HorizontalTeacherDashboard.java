@@ -11,18 +11,21 @@ import javax.swing.border.MatteBorder;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 // Import statements
 import java.util.*;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 /**
  * Horizontal teacher dashboard with navigation buttons at the bottom.
@@ -49,7 +52,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
     private JLabel classInfoLabel;
     private JLabel dateTimeLabel;
     private JPanel cardPanel;
-    private CardLayout cardLayout;
+    private LazyCards cards;
     private javax.swing.Timer clockTimer;
 
     // Navigation buttons
@@ -63,11 +66,15 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
     // Dashboard components
     private JPanel dashboardPanel;
+    private JLabel studentCountLabel;
+    private JLabel homeworkCountLabel;
+    private JLabel unexcusedAbsencesLabel;
+    private JLabel recentGradesLabel;
 
     // Students tab components
     private JPanel studentsPanel;
     private JTable studentsTable;
-    private DefaultTableModel studentsTableModel;
+    private StudentTableModel studentsTableModel;
     private JButton addStudentButton;
     private JButton editStudentButton;
     private JButton deleteStudentButton;
@@ -82,6 +89,8 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
     private JTextField searchGradeField;
     private DefaultComboBoxModel<String> studentComboModel;
     private Map<String, Integer> studentIdMap; // Maps display names to student IDs
+    private StudentNameIndex studentIndex = StudentNameIndex.EMPTY; // Shared by the grades and absences panels
+    private final List<StudentComboFilter> studentComboFilters = new ArrayList<>();
 
     // Absences tab components
     private JPanel absencesPanel;
@@ -96,6 +105,13 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
     // Settings components
     private JPanel settingsPanel;
 
+    // Background loads, and the loading state of each table
+    private final BackgroundTasks tasks = new BackgroundTasks(this);
+    private final LoadingOverlay studentsLoading = new LoadingOverlay("students");
+    private final LoadingOverlay gradesLoading = new LoadingOverlay("grades");
+    private final LoadingOverlay absencesLoading = new LoadingOverlay("absences");
+    private final LoadingOverlay homeworkLoading = new LoadingOverlay("homework");
+
     /**
      * Constructor - initializes the teacher dashboard
      *
@@ -103,6 +119,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
      * @throws Exception If teacher profile is not found or cannot be loaded
      */
     public HorizontalTeacherDashboard(User user) throws Exception {
+        StartupTimer startupTimer = new StartupTimer("Teacher dashboard");
         this.currentUser = user;
 
         // Get teacher information and class ID
@@ -124,14 +141,13 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         setLocationRelativeTo(null); // Center on screen
         setBackground(BACKGROUND_COLOR);
 
-        // Initialize UI components
+        // Initialize UI components; each tab loads its data when it is first shown
         initializeUI();
 
-        // Load initial data
-        loadStudentsData();
-
         // Start clock timer
         startClockTimer();
+
+        startupTimer.reportWhenOpened(this, () -> "tabs built: " + cards.getBuiltNames());
     }
 
     /**
@@ -212,31 +228,23 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
         // Create card panel for different views
         cardPanel = new JPanel();
-        cardLayout = new CardLayout();
-        cardPanel.setLayout(cardLayout);
+        cardPanel.setLayout(new CardLayout());
         cardPanel.setBackground(BACKGROUND_COLOR);
 
-        // Create all panels
-        createDashboardPanel();
-        createStudentsPanel();
-        createGradesPanel();
-        createAbsencesPanel();
-        createHomeworkPanel();
-        createSettingsPanel();
-
-        // Add panels to card layout
-        cardPanel.add(dashboardPanel, "dashboard");
-        cardPanel.add(studentsPanel, "students");
-        cardPanel.add(gradesPanel, "grades");
-        cardPanel.add(absencesPanel, "absences");
-        cardPanel.add(homeworkPanel, "homework");
-        cardPanel.add(settingsPanel, "settings");
+        // Register the panels; each one is created on its first visit (see updateActiveTab)
+        cards = new LazyCards(cardPanel);
+        cards.register("dashboard", () -> { createDashboardPanel(); return dashboardPanel; });
+        cards.register("students", () -> { createStudentsPanel(); return studentsPanel; });
+        cards.register("grades", () -> { createGradesPanel(); return gradesPanel; });
+        cards.register("absences", () -> { createAbsencesPanel(); return absencesPanel; });
+        cards.register("homework", () -> { createHomeworkPanel(); return homeworkPanel; });
+        cards.register("settings", () -> { createSettingsPanel(); return settingsPanel; });
 
         // Add card panel to content panel
         contentPanel.add(cardPanel, BorderLayout.CENTER);
 
         // Start with dashboard view
-        cardLayout.show(cardPanel, "dashboard");
+        cards.show("dashboard");
     }
 
     /**
@@ -374,11 +382,17 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
     }
 
     /**
-     * Updates the active tab indicator
+     * Shows a tab and updates the active tab indicator.
+     * The tab's panel is created and its data loaded on the first visit; later visits
+     * show the same panel, with the data it already has.
      *
      * @param activeTab The active tab name
      */
     private void updateActiveTab(String activeTab) {
+        // Loads for tables on hidden tabs wait until their tab is shown again
+        tasks.switchTo(activeTab);
+        cards.show(activeTab);
+
         // Reset all buttons
         dashboardButton.setBackground(Color.WHITE);
         dashboardButton.setBorder(BorderFactory.createCompoundBorder(
@@ -460,9 +474,25 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         welcomePanel.add(welcomeLabel, BorderLayout.NORTH);
 
         // Dashboard content panel
-        JPanel dashboardContent = new JPanel(new GridLayout(1, 3, 20, 0));
+        JPanel dashboardContent = new JPanel(new GridLayout(1, 0, 20, 0));
         dashboardContent.setOpaque(false);
 
+        // Stats cards, filled in by loadDashboardStats
+        StatCard studentCountCard = new StatCard("Students", "0");
+        StatCard homeworkCard = new StatCard("Active / Overdue Homework", "0 / 0");
+        StatCard absencesCard = new StatCard("Unexcused Absences", "0");
+        StatCard gradesCard = new StatCard("Grades in Last " + DashboardStatsDAO.RECENT_DAYS + " Days", "0");
+
+        // Get reference to labels for updating later
+        studentCountLabel = studentCountCard.getValueLabel();
+        homeworkCountLabel = homeworkCard.getValueLabel();
+        unexcusedAbsencesLabel = absencesCard.getValueLabel();
+        recentGradesLabel = gradesCard.getValueLabel();
+
+        dashboardContent.add(studentCountCard);
+        dashboardContent.add(homeworkCard);
+        dashboardContent.add(absencesCard);
+        dashboardContent.add(gradesCard);
 
 
         // Recent activity panel
@@ -530,7 +560,10 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         // Add to dashboard panel
         dashboardPanel.add(welcomePanel, BorderLayout.NORTH);
         dashboardPanel.add(dashboardContent, BorderLayout.CENTER);
-        dashboardPanel.add(bottomPanel, BorderLayout.CENTER);
+        dashboardPanel.add(bottomPanel, BorderLayout.SOUTH);
+
+        // Load the numbers on the stat cards
+        loadDashboardStats();
     }
 
     /**
@@ -620,13 +653,9 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                 BorderFactory.createEmptyBorder(15, 15, 15, 15)));
 
         // Create table model with columns
-        String[] columns = {"ID", "First Name", "Last Name", "Class ID", "Address", "Parent ID"};
-        studentsTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        studentsTableModel = new StudentTableModel(StudentTableModel.ID, StudentTableModel.FIRST_NAME,
+                StudentTableModel.LAST_NAME, StudentTableModel.CLASS_ID, StudentTableModel.ADDRESS,
+                StudentTableModel.PARENT_ID);
 
         // Create table
         studentsTable = new JTable(studentsTableModel);
@@ -675,11 +704,14 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        tablePanel.add(scrollPane, BorderLayout.CENTER);
+        tablePanel.add(studentsLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         // Add all components to students panel
         studentsPanel.add(topPanel, BorderLayout.NORTH);
         studentsPanel.add(tablePanel, BorderLayout.CENTER);
+
+        // Load initial student data
+        loadStudentsData();
     }
 
     /**
@@ -755,7 +787,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         studentLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         studentLabel.setForeground(TEXT_COLOR);
 
-        studentIdMap = new HashMap<>();
+        studentIdMap = studentIndex.getStudentIds();
         studentComboModel = new DefaultComboBoxModel<>();
         studentComboBox = new JComboBox<>(studentComboModel);
         studentComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -763,9 +795,6 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         studentComboBox.setBackground(Color.WHITE);
         studentComboBox.setPreferredSize(new Dimension(250, 35));
 
-        // Load students into combo box
-        loadStudentsIntoComboBox();
-
         // Add change listener to combo box
         studentComboBox.addActionListener(e -> {
             if (studentComboBox.getSelectedIndex() > 0) { // Skip the "Select a student" prompt
@@ -815,23 +844,9 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         searchGradeField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         searchGradeField.setPreferredSize(new Dimension(150, 35));
 
-        // Add search functionality
-        searchGradeField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            @Override
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterStudents();
-            }
-
-            @Override
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterStudents();
-            }
-
-            @Override
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterStudents();
-            }
-        });
+        // Add search functionality and load students into combo box
+        studentComboFilters.add(new StudentComboFilter(studentComboModel, "Select a student...", searchGradeField));
+        requestStudentIndex();
 
         searchPanel.add(searchLabel);
         searchPanel.add(searchGradeField);
@@ -850,17 +865,14 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                 BorderFactory.createEmptyBorder(20, 20, 20, 20)));
         gradesViewPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        // Create table for grades
-        String[] columns = {"Subject", "Grade", "Date", "Comments"};
-        DefaultTableModel gradesTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        // Create table for grades; the grade ID column stays in the model so rows can be addressed by ID
+        GradeTableModel gradesTableModel = new GradeTableModel(GradeTableModel.ID, GradeTableModel.SUBJECT,
+                GradeTableModel.MARK, GradeTableModel.DATE, GradeTableModel.COMMENT);
 
         JTable gradesTable = new JTable(gradesTableModel);
         gradesTable.setName("gradesTable"); // Give it a name for easier lookup
+        gradesTable.removeColumn(gradesTable.getColumnModel().getColumn(0)); // Hide the grade ID
+        gradesTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         gradesTable.setRowHeight(40);
         gradesTable.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         gradesTable.setGridColor(new Color(240, 240, 240));
@@ -890,7 +902,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
 
-        gradesViewPanel.add(scrollPane, BorderLayout.CENTER);
+        gradesViewPanel.add(gradesLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         mainContent.add(gradesViewPanel);
 
@@ -907,28 +919,20 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
         viewGradesButton = createActionButton("Refresh Grades", e -> {
             if (studentComboBox.getSelectedIndex() > 0) {
-                // Show loading indicator
-                setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-
-                try {
-                    // Get the selected student
-                    String selectedItem = (String) studentComboBox.getSelectedItem();
-                    int studentId = studentIdMap.get(selectedItem);
-                    StudentDAO studentDAO = new StudentDAO();
-                    Optional<Student> studentOpt = studentDAO.getStudentById(studentId);
-
-                    if (studentOpt.isPresent()) {
-                        // Find and update the grades table
-                        Component[] components = gradesPanel.getComponents();
-                        for (Component comp : components) {
-                            if (comp instanceof Container) {
-                                findAndUpdateGradesTable((Container) comp, studentOpt.get());
-                            }
+                // Get the selected student
+                String selectedItem = (String) studentComboBox.getSelectedItem();
+                int studentId = studentIdMap.get(selectedItem);
+                StudentDAO studentDAO = new StudentDAO();
+                Optional<Student> studentOpt = studentDAO.getStudentById(studentId);
+
+                if (studentOpt.isPresent()) {
+                    // Find and update the grades table
+                    Component[] components = gradesPanel.getComponents();
+                    for (Component comp : components) {
+                        if (comp instanceof Container) {
+                            findAndUpdateGradesTable((Container) comp, studentOpt.get());
                         }
                     }
-                } finally {
-                    // Restore cursor
-                    setCursor(Cursor.getDefaultCursor());
                 }
             } else {
                 JOptionPane.showMessageDialog(this,
@@ -939,102 +943,82 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
         JButton editGradeButton = createActionButton("Edit Grade", e -> {
             if (studentComboBox.getSelectedIndex() > 0) {
-                // Get the grades table
-                if (gradesTable == null) {
-                    JOptionPane.showMessageDialog(this,
-                            "Could not find grades table",
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-
-                // Get selected row
-                int selectedRow = gradesTable.getSelectedRow();
-                if (selectedRow == -1) {
+                List<Grade> grades = getSelectedGrades(gradesTable);
+                if (grades.isEmpty()) {
                     JOptionPane.showMessageDialog(this,
                             "Please select a grade to edit",
                             "No Selection", JOptionPane.WARNING_MESSAGE);
                     return;
                 }
 
-                // Get grade information from the selected row
-                String subject = (String) gradesTable.getValueAt(selectedRow, 0);
-                String markStr = (String) gradesTable.getValueAt(selectedRow, 1);
-                char mark = markStr.charAt(0);
-                String comment = (String) gradesTable.getValueAt(selectedRow, 3);
-
-                // Get student ID
-                String selectedItem = (String) studentComboBox.getSelectedItem();
-                int studentId = studentIdMap.get(selectedItem);
-
-                // Open edit dialog
-                editGradeDialog(studentId, subject, mark, comment);
+                // One grade opens the edit dialog; several are re-marked together
+                if (grades.size() == 1) {
+                    editGradeDialog(grades.get(0));
+                } else {
+                    remarkGrades(grades);
+                }
             } else {
                 JOptionPane.showMessageDialog(this,
                         "Please select a student first",
                         "Information", JOptionPane.INFORMATION_MESSAGE);
             }
         });
+        editGradeButton.setToolTipText("Edit the selected grade, or give several selected grades the same mark");
 
         deleteGradeButton = createActionButton("Delete Grade", e -> {
             if (studentComboBox.getSelectedIndex() > 0) {
-                // Get the table from the panel
-                JTable currentGradesTable  = findGradesTable(gradesPanel);
-                if (currentGradesTable  != null) {
-                    int selectedRow = currentGradesTable .getSelectedRow();
-                    if (selectedRow == -1) {
-                        JOptionPane.showMessageDialog(this,
-                                "Please select a grade to delete",
-                                "No Selection", JOptionPane.WARNING_MESSAGE);
-                        return;
-                    }
-
-                    // Get grade data from selected row
-                    String subject = (String) currentGradesTable .getValueAt(selectedRow, 0);
-                    String mark = (String) currentGradesTable .getValueAt(selectedRow, 1);
-
-                    // Confirm deletion
-                    int result = JOptionPane.showConfirmDialog(this,
-                            "Are you sure you want to delete the " + subject + " grade (" + mark + ")?",
-                            "Confirm Deletion", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                List<Grade> grades = getSelectedGrades(gradesTable);
+                if (grades.isEmpty()) {
+                    JOptionPane.showMessageDialog(this,
+                            "Please select a grade to delete",
+                            "No Selection", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
 
-                    if (result == JOptionPane.YES_OPTION) {
-                        try {
-                            // Get the grade ID - this requires updating your table model to include grade ID as a hidden column
-                            // For now, we'll need to find the grade by subject and student ID
-                            String selectedItem = (String) studentComboBox.getSelectedItem();
-                            int studentId = studentIdMap.get(selectedItem);
+                // Confirm deletion
+                String question = grades.size() == 1
+                        ? "Are you sure you want to delete the " + grades.get(0).getSubject()
+                                + " grade (" + grades.get(0).getMark() + ")?"
+                        : "Are you sure you want to delete the " + grades.size() + " selected grades?";
+                int result = JOptionPane.showConfirmDialog(this, question,
+                        "Confirm Deletion", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+
+                if (result == JOptionPane.YES_OPTION) {
+                    // The delete runs off the EDT; the button stays disabled so it is not sent twice
+                    deleteGradeButton.setEnabled(false);
+                    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+                    GradeDAO gradeDAO = new GradeDAO();
+                    List<Integer> gradeIds = getGradeIds(grades);
+                    AsyncDAO.supply(() -> gradeDAO.deleteGrades(gradeIds)).whenCompleteAsync((deleted, error) -> {
+                        setCursor(Cursor.getDefaultCursor());
+                        deleteGradeButton.setEnabled(true);
+
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                            cause.printStackTrace();
+                            JOptionPane.showMessageDialog(this,
+                                    "Error deleting grade: " + cause.getMessage(),
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
 
-                            GradeDAO gradeDAO = new GradeDAO();
-                            List<Grade> grades = gradeDAO.getGradesByStudent(studentId);
-
-                            // Find the grade that matches the subject and grade
-                            for (Grade grade : grades) {
-                                if (grade.getSubject().equals(subject) && String.valueOf(grade.getMark()).equals(mark)) {
-                                    // Delete the grade
-                                    boolean deleted = gradeDAO.deleteGrade(grade.getGradeId());
-
-                                    if (deleted) {
-                                        JOptionPane.showMessageDialog(this,
-                                                "Grade deleted successfully.",
-                                                "Success", JOptionPane.INFORMATION_MESSAGE);
-
-                                        // Refresh the grades table
-                                        findAndUpdateGradesTable(gradesPanel, selectedStudent);
-                                    } else {
-                                        JOptionPane.showMessageDialog(this,
-                                                "Failed to delete grade.",
-                                                "Error", JOptionPane.ERROR_MESSAGE);
-                                    }
-                                    break;
-                                }
-                            }
-                        } catch (Exception ex) {
-                            ex.printStackTrace();
+                        if (deleted == Statement.SUCCESS_NO_INFO) {
                             JOptionPane.showMessageDialog(this,
-                                    "Error deleting grade: " + ex.getMessage(),
+                                    "Grades deleted successfully.",
+                                    "Success", JOptionPane.INFORMATION_MESSAGE);
+                        } else if (deleted > 0) {
+                            JOptionPane.showMessageDialog(this,
+                                    deleted == 1 ? "Grade deleted successfully." : deleted + " grades deleted successfully.",
+                                    "Success", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to delete grade.",
                                     "Error", JOptionPane.ERROR_MESSAGE);
                         }
-                    }
+
+                        // Refresh the grades table
+                        findAndUpdateGradesTable(gradesPanel, selectedStudent);
+                    }, SwingUtilities::invokeLater);
                 }
             } else {
                 JOptionPane.showMessageDialog(this,
@@ -1052,10 +1036,72 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         gradesPanel.add(mainContent, BorderLayout.CENTER);
     }
 
+    /**
+     * Gets the grades of the selected rows of a grades table
+     */
+    private List<Grade> getSelectedGrades(JTable gradesTable) {
+        GradeTableModel model = (GradeTableModel) gradesTable.getModel();
+        int[] selectedRows = gradesTable.getSelectedRows();
+        List<Grade> grades = new ArrayList<>(selectedRows.length);
+        for (int row : selectedRows) {
+            grades.add(model.getRow(gradesTable.convertRowIndexToModel(row)));
+        }
+        return grades;
+    }
+
+    private static List<Integer> getGradeIds(List<Grade> grades) {
+        List<Integer> gradeIds = new ArrayList<>(grades.size());
+        for (Grade grade : grades) {
+            gradeIds.add(grade.getGradeId());
+        }
+        return gradeIds;
+    }
+
+    /**
+     * Asks for a mark and gives it to all the selected grades
+     */
+    private void remarkGrades(List<Grade> grades) {
+        String[] marks = {"A", "B", "C", "D", "F"};
+        String newMark = (String) JOptionPane.showInputDialog(this,
+                "New grade for the " + grades.size() + " selected grades:",
+                "Re-mark Grades", JOptionPane.QUESTION_MESSAGE, null, marks, marks[0]);
+        if (newMark == null) {
+            return; // Cancelled
+        }
+
+        // The update runs off the EDT
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        GradeDAO gradeDAO = new GradeDAO();
+        List<Integer> gradeIds = getGradeIds(grades);
+        AsyncDAO.supply(() -> gradeDAO.updateMarks(gradeIds, newMark.charAt(0))).whenCompleteAsync((updated, error) -> {
+            setCursor(Cursor.getDefaultCursor());
+
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                cause.printStackTrace();
+                JOptionPane.showMessageDialog(this,
+                        "Error updating grades: " + cause.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            JOptionPane.showMessageDialog(this,
+                    updated == Statement.SUCCESS_NO_INFO ? "Grades updated successfully!" : updated + " grades updated successfully!",
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
+
+            // Refresh the grades table
+            findAndUpdateGradesTable(gradesPanel, selectedStudent);
+        }, SwingUtilities::invokeLater);
+    }
+
     /**
      * Opens a dialog to edit the selected grade
      */
-    private void editGradeDialog(int studentId, String subject, char currentMark, String currentComment) {
+    private void editGradeDialog(Grade grade) {
+        String subject = grade.getSubject();
+        char currentMark = grade.getMark();
+        String currentComment = grade.getComment();
+
         // Create dialog
         JDialog dialog = new JDialog(this, "Edit Grade", true);
         dialog.setSize(400, 300);
@@ -1127,24 +1173,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
             // Update the grade in the database
             try {
                 GradeDAO gradeDAO = new GradeDAO();
-
-                // Find the grade ID first
-                List<Grade> grades = gradeDAO.getGradesByStudent(studentId);
-                int gradeId = -1;
-
-                for (Grade grade : grades) {
-                    if (grade.getSubject().equals(subject) && grade.getMark() == currentMark) {
-                        gradeId = grade.getGradeId();
-                        break;
-                    }
-                }
-
-                if (gradeId == -1) {
-                    throw new Exception("Could not find the grade in the database");
-                }
-
-                // Update the grade
-                boolean success = gradeDAO.updateGrade(gradeId, newMark, newComment);
+                boolean success = gradeDAO.updateGrade(grade.getGradeId(), newMark, newComment);
 
                 if (success) {
                     JOptionPane.showMessageDialog(dialog,
@@ -1158,7 +1187,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                         String selectedItem = (String) studentComboBox.getSelectedItem();
                         int selectedStudentId = studentIdMap.get(selectedItem);
                         loadGradesForStudent(new Student(selectedStudentId, 0, "", "", "", 0),
-                                (DefaultTableModel) gradesTable.getModel());
+                                (GradeTableModel) gradesTable.getModel());
                     }
                 } else {
                     JOptionPane.showMessageDialog(dialog,
@@ -1208,7 +1237,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         for (Component component : components) {
             if (component instanceof JTable && "gradesTable".equals(component.getName())) {
                 JTable table = (JTable) component;
-                DefaultTableModel model = (DefaultTableModel) table.getModel();
+                GradeTableModel model = (GradeTableModel) table.getModel();
                 loadGradesForStudent(student, model);
                 return;
             } else if (component instanceof JScrollPane) {
@@ -1216,7 +1245,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                 Component view = scrollPane.getViewport().getView();
                 if (view instanceof JTable && "gradesTable".equals(view.getName())) {
                     JTable table = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) table.getModel();
+                    GradeTableModel model = (GradeTableModel) table.getModel();
                     loadGradesForStudent(student, model);
                     return;
                 }
@@ -1237,16 +1266,16 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         for (Component component : components) {
             if (component instanceof JTable && "gradesTable".equals(component.getName())) {
                 JTable table = (JTable) component;
-                DefaultTableModel model = (DefaultTableModel) table.getModel();
-                model.setRowCount(0);
+                GradeTableModel model = (GradeTableModel) table.getModel();
+                model.clear();
                 return;
             } else if (component instanceof JScrollPane) {
                 JScrollPane scrollPane = (JScrollPane) component;
                 Component view = scrollPane.getViewport().getView();
                 if (view instanceof JTable && "gradesTable".equals(view.getName())) {
                     JTable table = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) table.getModel();
-                    model.setRowCount(0);
+                    GradeTableModel model = (GradeTableModel) table.getModel();
+                    model.clear();
                     return;
                 }
             } else if (component instanceof Container) {
@@ -1256,77 +1285,34 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
     }
 
     /**
-     * Loads all students from the class into the combo box
+     * Loads the student index unless it is already loaded or loading, so whichever of the
+     * grades and absences panels is built first loads it for both
      */
-    private void loadStudentsIntoComboBox() {
-        studentComboModel.removeAllElements();
-        studentIdMap.clear();
-
-        try {
-            StudentDAO studentDAO = new StudentDAO();
-            List<Student> students = studentDAO.getStudentsByClass(classId);
-
-            // Add default prompt
-            studentComboModel.addElement("Select a student...");
-
-            // Sort students by last name, then first name
-            Collections.sort(students, (s1, s2) -> {
-                int lastNameComparison = s1.getLastName().compareTo(s2.getLastName());
-                if (lastNameComparison != 0) {
-                    return lastNameComparison;
-                }
-                return s1.getFirstName().compareTo(s2.getFirstName());
-            });
-
-            // Add each student to the combo box
-            for (Student student : students) {
-                String displayName = student.getLastName() + ", " + student.getFirstName() + " (ID: " + student.getStudentId() + ")";
-                studentComboModel.addElement(displayName);
-                studentIdMap.put(displayName, Integer.valueOf(student.getStudentId()));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading students: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+    private void requestStudentIndex() {
+        if (studentIndex == StudentNameIndex.EMPTY && !tasks.isLoading("studentCombo")) {
+            loadStudentsIntoComboBox();
         }
     }
 
     /**
-     * Filters students in the combo box based on search text
+     * Loads all students from the class into the student index shared by the combo boxes
      */
-    private void filterStudents() {
-        String searchText = searchGradeField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            // Reload all students
-            loadStudentsIntoComboBox();
-            return;
-        }
-
-        // Store currently selected item
-        Object selectedItem = studentComboBox.getSelectedItem();
-
-        // Clear combo box
-        studentComboModel.removeAllElements();
-
-        // Add default prompt
-        studentComboModel.addElement("Select a student...");
-
-        // Add matching students
-        for (String displayName : studentIdMap.keySet()) {
-            if (displayName.toLowerCase().contains(searchText)) {
-                studentComboModel.addElement(displayName);
-            }
-        }
+    private void loadStudentsIntoComboBox() {
+        StudentDAO studentDAO = new StudentDAO();
+        tasks.load("studentCombo", () -> new StudentNameIndex(studentDAO.getStudentsByClass(classId)),
+                this::showStudentsInComboBox, "Error loading students");
+    }
 
-        // Restore selection if it exists in filtered results
-        if (selectedItem != null) {
-            for (int i = 0; i < studentComboModel.getSize(); i++) {
-                if (studentComboModel.getElementAt(i).equals(selectedItem)) {
-                    studentComboBox.setSelectedIndex(i);
-                    break;
-                }
-            }
+    /**
+     * Switches the student combo boxes to a newly loaded index
+     *
+     * @param index The index of the class's students
+     */
+    private void showStudentsInComboBox(StudentNameIndex index) {
+        studentIndex = index;
+        studentIdMap = index.getStudentIds();
+        for (StudentComboFilter filter : studentComboFilters) {
+            filter.setIndex(index);
         }
     }
 
@@ -1336,48 +1322,41 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
      * @param student The student to load grades for
      * @param tableModel The table model to load grades into
      */
-    private void loadGradesForStudent(Student student, DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        try {
-            // Get grades for the student from the database
-            GradeDAO gradeDAO = new GradeDAO();
-            List<Grade> grades = gradeDAO.getGradesByStudent(student.getStudentId());
+    private void loadGradesForStudent(Student student, GradeTableModel tableModel) {
+        // Clear existing data; the table shows its loading state until the grades arrive
+        tableModel.clear();
+
+        GradeDAO gradeDAO = new GradeDAO();
+        int studentId = student.getStudentId();
+        tasks.load("grades", studentId, gradesLoading, () -> gradeDAO.getGradesByStudent(studentId),
+                grades -> showGradesForStudent(student, grades, tableModel), "Error loading grades");
+    }
 
-            if (grades.isEmpty()) {
-                // No grades found
-                JOptionPane.showMessageDialog(this,
-                        "No grades found for " + student.getFirstName() + " " + student.getLastName(),
-                        "Information", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                // Format the date
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Add each grade to the table
-                for (Grade grade : grades) {
-                    Object[] rowData = {
-                            grade.getSubject(),
-                            String.valueOf(grade.getMark()),
-                            dateFormat.format(grade.getGradeDate()),
-                            grade.getComment()
-                    };
-                    tableModel.addRow(rowData);
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Shows the loaded grades of a student in the table model
+     *
+     * @param student The student the grades belong to
+     * @param grades The student's grades
+     * @param tableModel The table model to fill
+     */
+    private void showGradesForStudent(Student student, List<Grade> grades, GradeTableModel tableModel) {
+        if (grades.isEmpty()) {
+            // No grades found
             JOptionPane.showMessageDialog(this,
-                    "Error loading grades: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+                    "No grades found for " + student.getFirstName() + " " + student.getLastName(),
+                    "Information", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+
+        tableModel.setRows(grades);
     }
 
     /**
      * Updates the grades view to reflect the currently selected student
      */
     private void updateGradesView() {
-        if (selectedStudent != null) {
+        // The grades panel picks up the selection when it is built
+        if (selectedStudent != null && cards.isBuilt("grades")) {
             // Update button functionality for all buttons that need student selection
             // Remove existing listeners
             for (ActionListener listener : viewGradesButton.getActionListeners()) {
@@ -1531,46 +1510,14 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         studentLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         studentLabel.setForeground(TEXT_COLOR);
 
-        // Reuse the same combo model and studentIdMap from grades panel
+        // Reuse the studentIdMap and student index from grades panel
         JComboBox<String> absenceStudentComboBox = new JComboBox<>(new DefaultComboBoxModel<>());
         absenceStudentComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         absenceStudentComboBox.setBorder(BorderFactory.createLineBorder(new Color(218, 220, 224), 1, true));
         absenceStudentComboBox.setBackground(Color.WHITE);
         absenceStudentComboBox.setPreferredSize(new Dimension(250, 35));
 
-        // Load students into combo box
         DefaultComboBoxModel<String> absenceStudentComboModel = (DefaultComboBoxModel<String>)absenceStudentComboBox.getModel();
-        absenceStudentComboModel.removeAllElements();
-        absenceStudentComboModel.addElement("Select a student...");
-
-        // We'll use the same student map as in the grades panel
-        Map<String, Integer> absenceStudentIdMap = new HashMap<>();
-
-        try {
-            StudentDAO studentDAO = new StudentDAO();
-            List<Student> students = studentDAO.getStudentsByClass(classId);
-
-            // Sort students by last name, then first name
-            Collections.sort(students, (s1, s2) -> {
-                int lastNameComparison = s1.getLastName().compareTo(s2.getLastName());
-                if (lastNameComparison != 0) {
-                    return lastNameComparison;
-                }
-                return s1.getFirstName().compareTo(s2.getFirstName());
-            });
-
-            // Add each student to the combo box
-            for (Student student : students) {
-                String displayName = student.getLastName() + ", " + student.getFirstName() + " (ID: " + student.getStudentId() + ")";
-                absenceStudentComboModel.addElement(displayName);
-                absenceStudentIdMap.put(displayName, Integer.valueOf(student.getStudentId()));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading students: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
 
         dropdownPanel.add(studentLabel);
         dropdownPanel.add(absenceStudentComboBox);
@@ -1590,23 +1537,12 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         searchAbsenceField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         searchAbsenceField.setPreferredSize(new Dimension(150, 35));
 
-        // Add search functionality
-        searchAbsenceField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            @Override
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterAbsenceStudents(searchAbsenceField, absenceStudentComboBox, absenceStudentComboModel, absenceStudentIdMap);
-            }
-
-            @Override
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterAbsenceStudents(searchAbsenceField, absenceStudentComboBox, absenceStudentComboModel, absenceStudentIdMap);
-            }
-
-            @Override
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterAbsenceStudents(searchAbsenceField, absenceStudentComboBox, absenceStudentComboModel, absenceStudentIdMap);
-            }
-        });
+        // Add search functionality; the students come from the index shared with the grades panel
+        StudentComboFilter absenceStudentFilter =
+                new StudentComboFilter(absenceStudentComboModel, "Select a student...", searchAbsenceField);
+        absenceStudentFilter.setIndex(studentIndex);
+        studentComboFilters.add(absenceStudentFilter);
+        requestStudentIndex();
 
         searchPanel.add(searchLabel);
         searchPanel.add(searchAbsenceField);
@@ -1626,13 +1562,8 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         absencesViewPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
         // Create table for absences
-        String[] columns = {"ID","Absence Date", "Description", "Status"};
-        DefaultTableModel absencesTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        AbsenceTableModel absencesTableModel = new AbsenceTableModel(AbsenceTableModel.ID, AbsenceTableModel.DATE,
+                AbsenceTableModel.DESCRIPTION, AbsenceTableModel.STATUS);
 
         JTable absencesTable = new JTable(absencesTableModel);
         absencesTable.setName("absencesTable"); // Give it a name for easier lookup
@@ -1664,7 +1595,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        absencesViewPanel.add(scrollPane, BorderLayout.CENTER);
+        absencesViewPanel.add(absencesLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         mainContent.add(absencesViewPanel);
 
@@ -1672,13 +1603,13 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         absenceStudentComboBox.addActionListener(e -> {
             if (absenceStudentComboBox.getSelectedIndex() > 0) { // Skip the "Select a student" prompt
                 String selectedItem = (String) absenceStudentComboBox.getSelectedItem();
-                if (selectedItem != null && absenceStudentIdMap.containsKey(selectedItem)) {
-                    int studentId = absenceStudentIdMap.get(selectedItem);
+                if (selectedItem != null && studentIdMap.containsKey(selectedItem)) {
+                    int studentId = studentIdMap.get(selectedItem);
                     loadAbsencesForStudent(studentId, absencesTableModel);
                 }
             } else {
                 // Clear the absences table when "Select a student" is chosen
-                absencesTableModel.setRowCount(0);
+                absencesTableModel.clear();
             }
         });
 
@@ -1694,6 +1625,13 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
             form.setVisible(true);
         });
 
+        JButton rollCallButton = createActionButton("Roll Call", e -> {
+            // Show AbsenceForm in whole-class roll-call mode
+            AbsenceForm form = new AbsenceForm(classId, true);
+            form.setTitle("Roll Call");
+            form.setVisible(true);
+        });
+
         JButton changeStatusButton = createActionButton("Change Status", e -> {
             if (absenceStudentComboBox.getSelectedIndex() > 0) {
                 int selectedRow = absencesTable.getSelectedRow();
@@ -1728,8 +1666,8 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
                             // Refresh the table
                             String selectedItem = (String) absenceStudentComboBox.getSelectedItem();
-                            int studentId = absenceStudentIdMap.get(selectedItem);
-                            loadAbsencesForStudent(studentId, (DefaultTableModel) absencesTable.getModel());
+                            int studentId = studentIdMap.get(selectedItem);
+                            loadAbsencesForStudent(studentId, (AbsenceTableModel) absencesTable.getModel());
                         } else {
                             JOptionPane.showMessageDialog(this,
                                     "Failed to update absence status",
@@ -1778,8 +1716,8 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
                         // Refresh the table
                         String selectedItem = (String) absenceStudentComboBox.getSelectedItem();
-                        int studentId = absenceStudentIdMap.get(selectedItem);
-                        loadAbsencesForStudent(studentId, (DefaultTableModel) absencesTable.getModel());
+                        int studentId = studentIdMap.get(selectedItem);
+                        loadAbsencesForStudent(studentId, (AbsenceTableModel) absencesTable.getModel());
 
                     } catch (Exception ex) {
                         JOptionPane.showMessageDialog(this,
@@ -1799,7 +1737,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
             if (absenceStudentComboBox.getSelectedIndex() > 0) {
                 String selectedStudent = (String) absenceStudentComboBox.getSelectedItem();
                 int studentId = studentIdMap.get(selectedStudent);
-                loadAbsencesForStudent(studentId, (DefaultTableModel) absencesTable.getModel());
+                loadAbsencesForStudent(studentId, (AbsenceTableModel) absencesTable.getModel());
             } else {
                 JOptionPane.showMessageDialog(this, "Please select a student", "No Student Selected", JOptionPane.WARNING_MESSAGE);
             }
@@ -1810,6 +1748,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         deleteAbsenceButton.setForeground(Color.WHITE);
         buttonPanel.add(deleteAbsenceButton);
         buttonPanel.add(addAbsenceButton);
+        buttonPanel.add(rollCallButton);
         buttonPanel.add(changeStatusButton);
         buttonPanel.add(refreshAbsencesButton);
 
@@ -1819,91 +1758,38 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         absencesPanel.add(mainContent, BorderLayout.CENTER);
     }
 
-    /**
-     * Filters students in the absence combo box based on search text
-     */
-    private void filterAbsenceStudents(JTextField searchField, JComboBox<String> comboBox,
-                                       DefaultComboBoxModel<String> comboModel, Map<String, Integer> studentIdMap) {
-        String searchText = searchField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            // Reload all students
-            comboModel.removeAllElements();
-            comboModel.addElement("Select a student...");
-            for (String displayName : studentIdMap.keySet()) {
-                comboModel.addElement(displayName);
-            }
-            return;
-        }
-
-        // Store currently selected item
-        Object selectedItem = comboBox.getSelectedItem();
-
-        // Clear combo box
-        comboModel.removeAllElements();
-
-        // Add default prompt
-        comboModel.addElement("Select a student...");
-
-        // Add matching students
-        for (String displayName : studentIdMap.keySet()) {
-            if (displayName.toLowerCase().contains(searchText)) {
-                comboModel.addElement(displayName);
-            }
-        }
-
-        // Restore selection if it exists in filtered results
-        if (selectedItem != null) {
-            for (int i = 0; i < comboModel.getSize(); i++) {
-                if (comboModel.getElementAt(i).equals(selectedItem)) {
-                    comboBox.setSelectedIndex(i);
-                    break;
-                }
-            }
-        }
-    }
-
     /**
      * Loads absences for a specific student into the table model
      *
      * @param studentId The student ID to load absences for
      * @param tableModel The table model to load absences into
      */
-    private void loadAbsencesForStudent(int studentId, DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        try {
-            // Get absences for the student from the database
-            AbsenceDAO absenceDAO = new AbsenceDAO();
-            List<Absence> absences = absenceDAO.getAbsencesByStudent(studentId);
+    private void loadAbsencesForStudent(int studentId, AbsenceTableModel tableModel) {
+        // Clear existing data; the table shows its loading state until the absences arrive
+        tableModel.clear();
 
-            if (absences.isEmpty()) {
-                // No absences found
-                JOptionPane.showMessageDialog(this,
-                        "No absences found for student ID: " + studentId,
-                        "Information", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                // Format the date
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Add each absence to the table
-                for (Absence absence : absences) {
-                    Object[] rowData = {
-                            (Object) absence.getAbsenceId(),  // First column: ID
-                            dateFormat.format(absence.getAbsenceDate()),  // Second column: Date
-                            absence.getDescription(),  // Third column: Description
-                            absence.isStatus() ? "Excused" : "Unexcused"  // Fourth column: Status
-                    };
-                    tableModel.addRow(rowData);
-                }
+        AbsenceDAO absenceDAO = new AbsenceDAO();
+        tasks.load("absences", studentId, absencesLoading, () -> absenceDAO.getAbsencesByStudent(studentId),
+                absences -> showAbsencesForStudent(studentId, absences, tableModel), "Error loading absences");
+    }
 
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Shows the loaded absences of a student in the table model
+     *
+     * @param studentId The student the absences belong to
+     * @param absences The student's absences
+     * @param tableModel The table model to fill
+     */
+    private void showAbsencesForStudent(int studentId, List<Absence> absences, AbsenceTableModel tableModel) {
+        if (absences.isEmpty()) {
+            // No absences found
             JOptionPane.showMessageDialog(this,
-                    "Error loading absences: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+                    "No absences found for student ID: " + studentId,
+                    "Information", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+
+        tableModel.setRows(absences);
     }
 
     /**
@@ -1986,22 +1872,10 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                 BorderFactory.createEmptyBorder(20, 20, 20, 20)));
         homeworkTablePanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        // Create table for homework
-        String[] columns = {"ID", "Assignment Date", "Due Date", "Description", "Status"};
-        DefaultTableModel homeworkTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0) {
-                    return Integer.class;
-                }
-                return String.class;
-            }
-        };
+        // Create table for homework; the column order must match HomeworkFilter
+        HomeworkTableModel homeworkTableModel = new HomeworkTableModel(HomeworkTableModel.ID,
+                HomeworkTableModel.ASSIGNMENT_DATE, HomeworkTableModel.DUE_DATE, HomeworkTableModel.DESCRIPTION,
+                HomeworkTableModel.STATUS);
 
         JTable homeworkTable = new JTable(homeworkTableModel);
         homeworkTable.setName("homeworkTable"); // For easier lookup
@@ -2011,6 +1885,10 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         homeworkTable.setShowVerticalLines(false);
         homeworkTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
+        // Sorting and filtering happen in the view; getValueAt(selectedRow, ...) below uses view indexes
+        TableRowSorter<HomeworkTableModel> homeworkSorter = new TableRowSorter<>(homeworkTableModel);
+        homeworkTable.setRowSorter(homeworkSorter);
+
         // Custom renderer for status column (column 4)
         homeworkTable.getColumnModel().getColumn(4).setCellRenderer(new DefaultTableCellRenderer() {
             @Override
@@ -2060,7 +1938,7 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        homeworkTablePanel.add(scrollPane, BorderLayout.CENTER);
+        homeworkTablePanel.add(homeworkLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         mainContent.add(homeworkTablePanel);
 
@@ -2177,28 +2055,14 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
         mainContent.add(buttonPanel);
 
-        // Add filter functionality
-        statusComboBox.addActionListener(e -> {
-            filterHomeworkByStatus(homeworkTableModel, (String) statusComboBox.getSelectedItem());
-        });
-
-        // Add search functionality
-        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            @Override
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterHomeworkBySearch(homeworkTableModel, searchField.getText());
-            }
-
-            @Override
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterHomeworkBySearch(homeworkTableModel, searchField.getText());
-            }
+        // Add filter functionality; filtering runs over the loaded rows and never queries the database
+        Runnable applyHomeworkFilter = () -> homeworkSorter.setRowFilter(
+                HomeworkFilter.of((String) statusComboBox.getSelectedItem(), searchField.getText()));
+        statusComboBox.addActionListener(e -> applyHomeworkFilter.run());
 
-            @Override
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterHomeworkBySearch(homeworkTableModel, searchField.getText());
-            }
-        });
+        // Add search functionality, debounced so a burst of keystrokes filters once
+        Debouncer searchDebouncer = new Debouncer(Debouncer.SEARCH_DELAY_MS, applyHomeworkFilter);
+        searchField.getDocument().addDocumentListener(searchDebouncer.documentListener());
 
         // Add all to the main homework panel
         homeworkPanel.add(mainContent, BorderLayout.CENTER);
@@ -2212,167 +2076,21 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
      *
      * @param tableModel The table model to load the data into
      */
-    private void loadHomeworkData(DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        try {
-            // Get homework for the current class from the database
-            HomeworkDAO homeworkDAO = new HomeworkDAO();
-            List<Homework> homeworkList = homeworkDAO.getHomeworkByClass(classId);
-
-            /*if (homeworkList.isEmpty()) {
-                JOptionPane.showMessageDialog(this,
-                        "No homework assignments found for this class",
-                        "Information", JOptionPane.INFORMATION_MESSAGE); */
-
-                // Format dates
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Get current date for status checking
-                Date currentDate = new Date();
-
-                // Add each homework to the table
-                for (Homework homework : homeworkList) {
-                    // Determine status
-                    String status;
-                    if (homework.isCompleted()) {
-                        status = "Completed";
-                    } else {
-                        status = "Active";
-                    }
-
-                    Object[] rowData = {
-                            (Object) homework.getHomeworkId(),
-                            dateFormat.format(homework.getAssignmentDate()),
-                            dateFormat.format(homework.getDueDate()),
-                            homework.getDescription(),
-                            status
-                    };
-                    tableModel.addRow(rowData);
-
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading homework: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-
-    /**
-     * Filters homework table by status
-     *
-     * @param tableModel The table model to filter
-     * @param status The status to filter by (All Assignments, Active, Completed)
-     */
-    private void filterHomeworkByStatus(DefaultTableModel tableModel, String status) {
-        if ("All Assignments".equals(status)) {
-            // Reload all homework
-            loadHomeworkData(tableModel);
-        } else {
-            // Filter by the selected status
-            try {
-                HomeworkDAO homeworkDAO = new HomeworkDAO();
-                List<Homework> homeworkList = homeworkDAO.getHomeworkByClass(classId);
-
-                // Clear table
-                tableModel.setRowCount(0);
-
-                // Format dates
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Get current date for status checking
-                Date currentDate = new Date();
-
-                // Add matching homework to the table
-                for (Homework homework : homeworkList) {
-                    // Determine homework status
-                    String homeworkStatus;
-                    if (homework.isCompleted()) {
-                        homeworkStatus = "Completed";
-                    } else {
-                        homeworkStatus = "Active";
-                    }
-
-                    // Add to table if status matches
-                    if (status.equals(homeworkStatus)) {
-                        Object[] rowData = {
-                                (Object) homework.getHomeworkId(),
-                                dateFormat.format(homework.getAssignmentDate()),
-                                dateFormat.format(homework.getDueDate()),
-                                homework.getDescription(),
-                                homeworkStatus
-                        };
-                        tableModel.addRow(rowData);
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this,
-                        "Error filtering homework: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        }
+    private void loadHomeworkData(HomeworkTableModel tableModel) {
+        HomeworkDAO homeworkDAO = new HomeworkDAO();
+        tasks.load("homework", null, homeworkLoading, () -> homeworkDAO.getHomeworkByClass(classId),
+                homeworkList -> showHomework(tableModel, homeworkList), "Error loading homework");
     }
 
     /**
-     * Filters homework table by search text
+     * Replaces the rows of the homework table
      *
-     * @param tableModel The table model to filter
-     * @param searchText The text to search for in the description
+     * @param tableModel The table model to fill
+     * @param homeworkList The homework to show
      */
-    private void filterHomeworkBySearch(DefaultTableModel tableModel, String searchText) {
-        if (searchText.trim().isEmpty()) {
-            // Reload all homework
-            loadHomeworkData(tableModel);
-        } else {
-            // Filter by search text
-            try {
-                HomeworkDAO homeworkDAO = new HomeworkDAO();
-                List<Homework> homeworkList = homeworkDAO.getHomeworkByClass(classId);
-
-                // Clear table
-                tableModel.setRowCount(0);
-
-                // Format dates
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Get current date for status checking
-                Date currentDate = new Date();
-
-                // Convert search text to lowercase for case-insensitive search
-                String lowerSearchText = searchText.toLowerCase();
-
-                // Add matching homework to the table
-                for (Homework homework : homeworkList) {
-                    // Check if description contains search text
-                    if (homework.getDescription().toLowerCase().contains(lowerSearchText)) {
-                        // Determine homework status
-                        String status;
-                        if (homework.isCompleted()) {
-                            status = "Completed";
-                        } else {
-                            status = "Active";
-                        }
-
-                        Object[] rowData = {
-                                (Object) homework.getHomeworkId(),
-                                dateFormat.format(homework.getAssignmentDate()),
-                                dateFormat.format(homework.getDueDate()),
-                                homework.getDescription(),
-                                status
-                        };
-                        tableModel.addRow(rowData);
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this,
-                        "Error searching homework: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        }
+    private void showHomework(HomeworkTableModel tableModel, List<Homework> homeworkList) {
+        // One change event, so the row sorter re-filters once, not once per row
+        tableModel.setRows(homeworkList);
     }
 
     private void createSettingsPanel() {
@@ -2403,8 +2121,15 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                 "Change Password"
         });
 
-        // Add section to content
+        // Query statistics of the data layer
+        JPanel diagnosticsSection = createSettingsSection("Diagnostics", new String[] {
+                "Database Diagnostics"
+        });
+
+        // Add sections to content
         settingsContent.add(profileSection);
+        settingsContent.add(Box.createVerticalStrut(20));
+        settingsContent.add(diagnosticsSection);
 
         contentPanel.add(titleLabel, BorderLayout.NORTH);
         contentPanel.add(settingsContent, BorderLayout.CENTER);
@@ -2465,6 +2190,8 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                     showEditProfileDialog();
                 } else if ("Change Password".equals(option)) {
                     showChangePasswordDialog();
+                } else if ("Database Diagnostics".equals(option)) {
+                    DatabaseDiagnosticsDialog.showFor(this);
                 }
             });
 
@@ -2906,36 +2633,45 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
 
 
+    /**
+     * Loads the numbers on the dashboard's stat cards for the teacher's class
+     */
+    private void loadDashboardStats() {
+        DashboardStatsDAO statsDAO = new DashboardStatsDAO();
+        tasks.load("dashboardStats", () -> statsDAO.getClassStats(classId),
+                this::showDashboardStats, "Error loading dashboard statistics");
+    }
+
+    /**
+     * Shows the dashboard statistics on the stat cards
+     *
+     * @param stats The statistics, or empty if they could not be loaded
+     */
+    private void showDashboardStats(Optional<DashboardStatsDTO> stats) {
+        stats.ifPresent(s -> {
+            studentCountLabel.setText(String.valueOf(s.getStudentCount()));
+            homeworkCountLabel.setText(s.getActiveHomeworkCount() + " / " + s.getOverdueHomeworkCount());
+            unexcusedAbsencesLabel.setText(String.valueOf(s.getUnexcusedAbsenceCount()));
+            recentGradesLabel.setText(String.valueOf(s.getRecentGradeCount()));
+        });
+    }
+
     /**
      * Loads students data into the table
      */
     private void loadStudentsData() {
-        // Clear existing data
-        studentsTableModel.setRowCount(0);
+        StudentDAO studentDAO = new StudentDAO();
+        tasks.load("students", null, studentsLoading, () -> studentDAO.getStudentsByClass(classId), this::showStudents,
+                "Error loading students");
+    }
 
-        // Get students for the current class
-        try {
-            StudentDAO studentDAO = new StudentDAO();
-            List<Student> students = studentDAO.getStudentsByClass(classId);
-
-            // Add each student to the table
-            for (Student student : students) {
-                Object[] rowData = {
-                        (Object) student.getStudentId(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        (Object) student.getClassId(),
-                        student.getAddress(),
-                        (Object) student.getParentId()
-                };
-                studentsTableModel.addRow(rowData);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading students: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+    /**
+     * Replaces the rows of the students table
+     *
+     * @param students The students to show
+     */
+    private void showStudents(List<Student> students) {
+        studentsTableModel.setRows(students);
     }
 
     @Override
@@ -2944,13 +2680,13 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
 
         // Navigation
         if (source == dashboardButton || "dashboard".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "dashboard");
             updateActiveTab("dashboard");
+
+            // Refresh the stat cards; they are cached briefly, so this is cheap
+            loadDashboardStats();
         } else if (source == studentsButton || "students".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "students");
             updateActiveTab("students");
         } else if (source == gradesButton || "grades".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "grades");
             updateActiveTab("grades");
 
             // If student is selected, update the grades view
@@ -2958,19 +2694,17 @@ public class HorizontalTeacherDashboard extends JFrame implements ActionListener
                 updateGradesView();
             }
         } else if (source == absencesButton || "absences".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "absences");
             updateActiveTab("absences");
         } else if (source == homeworkButton || "homework".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "homework");
             updateActiveTab("homework");
         } else if (source == settingsButton || "settings".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "settings");
             updateActiveTab("settings");
         } else if (source == logoutButton) {
             // Stop clock timer
             if (clockTimer != null) {
                 clockTimer.stop();
             }
+            tasks.cancelAll();
 
             // Log out and return to login screen
             LoginForm loginForm = new LoginForm();
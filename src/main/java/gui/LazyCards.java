@@ -0,0 +1,89 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The tabs of a dashboard's card panel, each built the first time it is shown.
+ * Building a tab creates its components and starts its first loads, so opening the dashboard
+ * only pays for the tab shown first. A built tab stays in the card panel, with its data, for
+ * the rest of the session. Build times are reported on standard output with -Dsms.startup.timing=true.
+ * All methods must be called on the EDT.
+ */
+final class LazyCards {
+    private final JPanel cardPanel;
+    private final CardLayout layout;
+    private final Map<String, Supplier<? extends Component>> builders = new HashMap<>();
+    private final Set<String> built = new LinkedHashSet<>();
+
+    /**
+     * Creates the tabs of a card panel.
+     *
+     * @param cardPanel The panel the tabs are added to; it must use a CardLayout
+     */
+    LazyCards(JPanel cardPanel) {
+        this.cardPanel = cardPanel;
+        this.layout = (CardLayout) cardPanel.getLayout();
+    }
+
+    /**
+     * Registers a tab without building it.
+     *
+     * @param name The tab name, as passed to {@link #show(String)}
+     * @param builder Creates the tab's panel and starts its first loads
+     */
+    void register(String name, Supplier<? extends Component> builder) {
+        if (built.contains(name) || builders.putIfAbsent(name, builder) != null) {
+            throw new IllegalArgumentException("Tab already registered: " + name);
+        }
+    }
+
+    /**
+     * Shows a tab, building it first if this is its first visit.
+     *
+     * @param name The tab name
+     * @return true if the tab was built by this call
+     * @throws IllegalArgumentException If no tab has this name
+     */
+    boolean show(String name) {
+        boolean building = !built.contains(name);
+        if (building) {
+            Supplier<? extends Component> builder = builders.remove(name);
+            if (builder == null) {
+                throw new IllegalArgumentException("Unknown tab: " + name);
+            }
+            long start = System.nanoTime();
+            cardPanel.add(builder.get(), name);
+            built.add(name);
+            if (StartupTimer.REPORT) {
+                System.out.println("Built " + name + " tab in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            }
+        }
+        layout.show(cardPanel, name);
+        return building;
+    }
+
+    /**
+     * Checks whether a tab has been built.
+     *
+     * @param name The tab name
+     * @return true if the tab has been shown at least once
+     */
+    boolean isBuilt(String name) {
+        return built.contains(name);
+    }
+
+    /**
+     * Gets the tabs built so far.
+     *
+     * @return The tab names, in the order they were built
+     */
+    List<String> getBuiltNames() {
+        return new ArrayList<>(built);
+    }
+}
@@ -0,0 +1,160 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.plaf.LayerUI;
+import java.awt.*;
+
+/**
+ * Loading state of one table, drawn over its scroll pane while a {@link BackgroundTasks} load runs.
+ * An empty table shows skeleton rows, a table with data is dimmed, and a moving bar along the
+ * top shows progress. The table stays usable, so nothing on the EDT waits for the database.
+ */
+final class LoadingOverlay extends LayerUI<JComponent> {
+    private static final Color VEIL_COLOR = new Color(255, 255, 255, 150);
+    private static final Color SKELETON_COLOR = new Color(232, 234, 237);
+    private static final Color SKELETON_HIGHLIGHT = new Color(243, 244, 246);
+    private static final Color PROGRESS_COLOR = new Color(66, 133, 244);
+    private static final int FRAME_MILLIS = 60;
+    private static final int SKELETON_ROWS = 8;
+
+    private final String tab;
+    private final Timer animation;
+    private JLayer<JComponent> layer;
+    private int activeLoads;
+    private int frame;
+
+    /**
+     * Creates the loading state for a table on a dashboard tab.
+     *
+     * @param tab The name of the tab the table is on, e.g. "grades"
+     */
+    LoadingOverlay(String tab) {
+        this.tab = tab;
+        this.animation = new Timer(FRAME_MILLIS, e -> {
+            frame++;
+            repaint();
+        });
+    }
+
+    /**
+     * Wraps the scroll pane of the table so the loading state can be drawn over it.
+     *
+     * @param scrollPane The scroll pane holding the table
+     * @return The component to add to the panel instead of the scroll pane
+     */
+    JLayer<JComponent> wrap(JScrollPane scrollPane) {
+        layer = new JLayer<>(scrollPane, this);
+        return layer;
+    }
+
+    /**
+     * @return the name of the tab the table is on
+     */
+    String getTab() {
+        return tab;
+    }
+
+    /**
+     * @return true while at least one load for the table is running
+     */
+    boolean isLoading() {
+        return activeLoads > 0;
+    }
+
+    /**
+     * Shows the loading state.
+     */
+    void start() {
+        if (activeLoads++ == 0) {
+            frame = 0;
+            animation.start();
+            repaint();
+        }
+    }
+
+    /**
+     * Hides the loading state once every started load has stopped.
+     */
+    void stop() {
+        if (activeLoads > 0 && --activeLoads == 0) {
+            animation.stop();
+            repaint();
+        }
+    }
+
+    @Override
+    public void paint(Graphics g, JComponent c) {
+        super.paint(g, c);
+        if (activeLoads == 0) {
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            JTable table = findTable(c);
+            if (table != null && table.getRowCount() == 0) {
+                paintSkeleton(g2, c, table);
+            } else {
+                g2.setColor(VEIL_COLOR);
+                g2.fillRect(0, 0, c.getWidth(), c.getHeight());
+            }
+            paintProgress(g2, c.getWidth());
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Draws grey placeholder bars where the table's rows will appear, highlighting one row at a time.
+     */
+    private void paintSkeleton(Graphics2D g2, JComponent c, JTable table) {
+        JViewport viewport = (JViewport) table.getParent();
+        Point origin = SwingUtilities.convertPoint(viewport, 0, 0, c);
+        int rowHeight = Math.max(table.getRowHeight(), 16);
+        int barHeight = Math.max(rowHeight / 3, 6);
+        int highlighted = frame / 3 % SKELETON_ROWS;
+
+        for (int row = 0; row < SKELETON_ROWS; row++) {
+            int y = origin.y + row * rowHeight + (rowHeight - barHeight) / 2;
+            if (y + barHeight > origin.y + viewport.getHeight()) {
+                break;
+            }
+            g2.setColor(row == highlighted ? SKELETON_HIGHLIGHT : SKELETON_COLOR);
+            int x = origin.x;
+            for (int column = 0; column < table.getColumnCount(); column++) {
+                int width = table.getColumnModel().getColumn(column).getWidth();
+                // Vary the bar lengths a little so the rows look like text
+                int barWidth = width * (55 + (row * 7 + column * 13) % 30) / 100;
+                g2.fillRoundRect(x + 8, y, Math.max(barWidth - 16, 8), barHeight, barHeight, barHeight);
+                x += width;
+            }
+        }
+    }
+
+    /**
+     * Draws an indeterminate progress bar along the top edge.
+     */
+    private void paintProgress(Graphics2D g2, int width) {
+        int segment = Math.max(width / 4, 40);
+        int x = (frame * 12) % (width + segment) - segment;
+        g2.setColor(PROGRESS_COLOR);
+        g2.fillRect(x, 0, segment, 3);
+    }
+
+    private void repaint() {
+        if (layer != null) {
+            layer.repaint();
+        }
+    }
+
+    private static JTable findTable(JComponent c) {
+        if (c instanceof JLayer && ((JLayer<?>) c).getView() instanceof JScrollPane) {
+            Component view = ((JScrollPane) ((JLayer<?>) c).getView()).getViewport().getView();
+            if (view instanceof JTable) {
+                return (JTable) view;
+            }
+        }
+        return null;
+    }
+}
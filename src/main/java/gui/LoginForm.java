@@ -1,14 +1,12 @@
 package gui;
 
-import dao.UserDAO;
 import model.User;
-import org.mindrot.jbcrypt.BCrypt;
+import service.AuthenticationService;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Optional;
 
 /**
  * Login form for the School Management System.
@@ -160,63 +158,31 @@ public class LoginForm extends JFrame implements ActionListener {
             return;
         }
 
-        // Show loading cursor
+        // Show loading state; the credentials are checked off the EDT
         setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loginButton.setEnabled(false);
+        statusLabel.setText("Signing in...");
 
-        // Attempt to authenticate
-        UserDAO userDAO = new UserDAO();
-        try {
-            Optional<User> userOptional = userDAO.getUserByEmail(email);
-
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
-
-                // Use secure password verification
-                boolean passwordMatches = BCrypt.checkpw(password, user.getPassword());
-
-                if (passwordMatches) {
-                    // Successful login
-                    openDashboard(user);
-                } else {
-                    statusLabel.setText("Invalid password");
-                    // If stored password is plaintext (for backward compatibility), try direct comparison
-                    if (password.equals(user.getPassword())) {
-                        // Update the password to use hashing for future logins
-                        updatePasswordToHashed(user, password);
-                        openDashboard(user);
-                    }
-                }
-            } else {
-                statusLabel.setText("User not found");
-            }
-        } catch (Exception ex) {
-            statusLabel.setText("Error: " + ex.getMessage());
-            ex.printStackTrace();
-        } finally {
-            // Reset cursor
-            setCursor(Cursor.getDefaultCursor());
-        }
+        AuthenticationService.getInstance().authenticate(email, password)
+                .thenAcceptAsync(this::showLoginResult, SwingUtilities::invokeLater);
     }
 
     /**
-     * Updates a user's password to use hashing
+     * Opens the user's dashboard after a successful login, or shows why the login failed
      *
-     * @param user The user whose password needs to be updated
-     * @param plainPassword The plaintext password to hash
+     * @param result The outcome of the login attempt
      */
-    private void updatePasswordToHashed(User user, String plainPassword) {
-        try {
-            String hashedPassword = BCrypt.hashpw(plainPassword, BCrypt.gensalt(12));
-            user.setPassword(hashedPassword);
-
-            UserDAO userDAO = new UserDAO();
-            boolean updated = userDAO.updateUser(user);
-
-            if (!updated) {
-                System.err.println("Failed to update password to hashed version for user: " + user.getEmail());
-            }
-        } catch (Exception e) {
-            System.err.println("Error updating password to hashed version: " + e.getMessage());
+    private void showLoginResult(AuthenticationService.Result result) {
+        // Reset cursor
+        setCursor(Cursor.getDefaultCursor());
+        loginButton.setEnabled(true);
+
+        if (result.getStatus() == AuthenticationService.Status.SUCCESS) {
+            // Successful login
+            openDashboard(result.getUser());
+        } else {
+            statusLabel.setText(result.getMessage());
+            passwordField.setText("");
         }
     }
 
@@ -0,0 +1,37 @@
+package gui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one dashboard load, from the moment it starts until its result
+ * is shown on the Event Dispatch Thread or the load is cancelled.
+ */
+@Name("sms.PanelLoad")
+@Label("Panel Load")
+@Category({"School Management System", "User Interface"})
+@Description("A dashboard load, from its start until the result is shown or the load is cancelled")
+@StackTrace(false)
+final class PanelLoadEvent extends jdk.jfr.Event {
+    @Label("Dashboard")
+    String dashboard;
+
+    @Label("Load")
+    @Description("The load name, e.g. grades or studentCombo")
+    String load;
+
+    @Label("Requested By")
+    @Description("The dashboard method that asked for the load, e.g. loadStudentsData")
+    String requestedBy;
+
+    @Label("Key")
+    @Description("What was loaded, e.g. the selected student's ID")
+    String key;
+
+    @Label("Outcome")
+    @Description("shown, failed, cancelled, paused or repeated")
+    String outcome;
+}
@@ -8,7 +8,6 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -17,6 +16,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 /**
  * Horizontal parent dashboard with navigation buttons at the bottom.
@@ -32,6 +32,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
     private static final Color TEXT_COLOR = new Color(44, 62, 80); // Dark blue-gray
     private static final Color TEXT_SECONDARY_COLOR = new Color(127, 140, 141); // Gray
 
+    // Number of recent grades and absences shown in the child details dialog
+    private static final int CHILD_DETAILS_RECENT_LIMIT = 20;
+
     private User currentUser;
     private Parent parent;
     private Student selectedChild;
@@ -42,7 +45,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
     private JLabel userInfoLabel;
     private JLabel dateTimeLabel;
     private JPanel cardPanel;
-    private CardLayout cardLayout;
+    private LazyCards cards;
     private javax.swing.Timer clockTimer;
 
     // Navigation buttons
@@ -57,12 +60,15 @@ public class ParentDashboard extends JFrame implements ActionListener {
     // Dashboard components
     private JPanel dashboardPanel;
     private JLabel childrenCountLabel;
+    private JLabel homeworkCountLabel;
+    private JLabel unexcusedAbsencesLabel;
+    private JLabel recentGradesLabel;
     private JLabel upcomingEventsLabel;
 
     // Children tab components
     private JPanel childrenPanel;
     private JTable childrenTable;
-    private DefaultTableModel childrenTableModel;
+    private StudentTableModel childrenTableModel;
     private JButton viewChildButton;
 
 
@@ -72,6 +78,8 @@ public class ParentDashboard extends JFrame implements ActionListener {
     private JTextField searchGradeField;
     private DefaultComboBoxModel<String> childComboModel;
     private Map<String, Integer> childIdMap; // Maps display names to student IDs
+    private StudentNameIndex childIndex = StudentNameIndex.EMPTY; // Shared by the grades and absences panels
+    private final List<StudentComboFilter> childComboFilters = new ArrayList<>();
 
     // Absences tab components
     private JPanel absencesPanel;
@@ -84,12 +92,20 @@ public class ParentDashboard extends JFrame implements ActionListener {
     // Settings components
     private JPanel settingsPanel;
 
+    // Background loads, and the loading state of each table
+    private final BackgroundTasks tasks = new BackgroundTasks(this);
+    private final LoadingOverlay childrenLoading = new LoadingOverlay("children");
+    private final LoadingOverlay gradesLoading = new LoadingOverlay("grades");
+    private final LoadingOverlay absencesLoading = new LoadingOverlay("absences");
+    private final LoadingOverlay homeworkLoading = new LoadingOverlay("homework");
+
     /**
      * Constructor - initializes the parent dashboard
      *
      * @param user The current user
      */
     public ParentDashboard(User user) {
+        StartupTimer startupTimer = new StartupTimer("Parent dashboard");
         this.currentUser = user;
 
         // Get parent information
@@ -112,15 +128,16 @@ public class ParentDashboard extends JFrame implements ActionListener {
         setLocationRelativeTo(null); // Center on screen
         setBackground(BACKGROUND_COLOR);
 
-        // Initialize UI components
+        // Initialize UI components; each tab loads its data when it is first shown
         initializeUI();
 
         // Load initial data
         loadParentData();
-        loadChildrenData();
 
         // Start clock timer
         startClockTimer();
+
+        startupTimer.reportWhenOpened(this, () -> "tabs built: " + cards.getBuiltNames());
     }
 
     /**
@@ -200,31 +217,23 @@ public class ParentDashboard extends JFrame implements ActionListener {
 
         // Create card panel for different views
         cardPanel = new JPanel();
-        cardLayout = new CardLayout();
-        cardPanel.setLayout(cardLayout);
+        cardPanel.setLayout(new CardLayout());
         cardPanel.setBackground(BACKGROUND_COLOR);
 
-        // Create all panels
-        createDashboardPanel();
-        createChildrenPanel();
-        createGradesPanel();
-        createAbsencesPanel();
-        createHomeworkPanel();
-        createSettingsPanel();
-
-        // Add panels to card layout
-        cardPanel.add(dashboardPanel, "dashboard");
-        cardPanel.add(childrenPanel, "children");
-        cardPanel.add(gradesPanel, "grades");
-        cardPanel.add(absencesPanel, "absences");
-        cardPanel.add(homeworkPanel, "homework");
-        cardPanel.add(settingsPanel, "settings");
+        // Register the panels; each one is created on its first visit (see updateActiveTab)
+        cards = new LazyCards(cardPanel);
+        cards.register("dashboard", () -> { createDashboardPanel(); return dashboardPanel; });
+        cards.register("children", () -> { createChildrenPanel(); return childrenPanel; });
+        cards.register("grades", () -> { createGradesPanel(); return gradesPanel; });
+        cards.register("absences", () -> { createAbsencesPanel(); return absencesPanel; });
+        cards.register("homework", () -> { createHomeworkPanel(); return homeworkPanel; });
+        cards.register("settings", () -> { createSettingsPanel(); return settingsPanel; });
 
         // Add card panel to content panel
         contentPanel.add(cardPanel, BorderLayout.CENTER);
 
         // Start with dashboard view
-        cardLayout.show(cardPanel, "dashboard");
+        cards.show("dashboard");
     }
 
     /**
@@ -362,11 +371,17 @@ public class ParentDashboard extends JFrame implements ActionListener {
     }
 
     /**
-     * Updates the active tab indicator
+     * Shows a tab and updates the active tab indicator.
+     * The tab's panel is created and its data loaded on the first visit; later visits
+     * show the same panel, with the data it already has.
      *
      * @param activeTab The active tab name
      */
     private void updateActiveTab(String activeTab) {
+        // Loads for tables on hidden tabs wait until their tab is shown again
+        tasks.switchTo(activeTab);
+        cards.show(activeTab);
+
         // Reset all buttons
         dashboardButton.setBackground(Color.WHITE);
         dashboardButton.setBorder(BorderFactory.createCompoundBorder(
@@ -448,18 +463,27 @@ public class ParentDashboard extends JFrame implements ActionListener {
         welcomePanel.add(welcomeLabel, BorderLayout.NORTH);
 
         // Dashboard content panel
-        JPanel dashboardContent = new JPanel(new GridLayout(1, 3, 20, 0));
+        JPanel dashboardContent = new JPanel(new GridLayout(1, 0, 20, 0));
         dashboardContent.setOpaque(false);
 
-        // Stats cards
-        JPanel childrenCountCard = createStatCard("My Children", "0", "users");
-        JPanel eventsCard = createStatCard("School Events", "No events", "calendar");
+        // Stats cards, filled in by loadDashboardStats
+        StatCard childrenCountCard = new StatCard("My Children", "0");
+        StatCard homeworkCard = new StatCard("Active / Overdue Homework", "0 / 0");
+        StatCard absencesCard = new StatCard("Unexcused Absences", "0");
+        StatCard gradesCard = new StatCard("Grades in Last " + DashboardStatsDAO.RECENT_DAYS + " Days", "0");
+        StatCard eventsCard = new StatCard("School Events", "No events");
 
         // Get reference to labels for updating later
-        childrenCountLabel = (JLabel) ((JPanel) ((JPanel) childrenCountCard.getComponent(0)).getComponent(1)).getComponent(0);
-        upcomingEventsLabel = (JLabel) ((JPanel) ((JPanel) eventsCard.getComponent(0)).getComponent(1)).getComponent(0);
+        childrenCountLabel = childrenCountCard.getValueLabel();
+        homeworkCountLabel = homeworkCard.getValueLabel();
+        unexcusedAbsencesLabel = absencesCard.getValueLabel();
+        recentGradesLabel = gradesCard.getValueLabel();
+        upcomingEventsLabel = eventsCard.getValueLabel();
 
         dashboardContent.add(childrenCountCard);
+        dashboardContent.add(homeworkCard);
+        dashboardContent.add(absencesCard);
+        dashboardContent.add(gradesCard);
         dashboardContent.add(eventsCard);
 
         // Quick Actions panel
@@ -477,22 +501,18 @@ public class ParentDashboard extends JFrame implements ActionListener {
         actionsPanel.setOpaque(false);
 
         actionsPanel.add(createActionButton("View My Children", e -> {
-            cardLayout.show(cardPanel, "children");
             updateActiveTab("children");
         }));
 
         actionsPanel.add(createActionButton("Check Grades", e -> {
-            cardLayout.show(cardPanel, "grades");
             updateActiveTab("grades");
         }));
 
         actionsPanel.add(createActionButton("Manage Absences", e -> {
-            cardLayout.show(cardPanel, "absences");
             updateActiveTab("absences");
         }));
 
         actionsPanel.add(createActionButton("View Homework", e -> {
-            cardLayout.show(cardPanel, "homework");
             updateActiveTab("homework");
         }));
 
@@ -530,52 +550,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
         dashboardPanel.add(welcomePanel, BorderLayout.NORTH);
         dashboardPanel.add(dashboardContent, BorderLayout.CENTER);
         dashboardPanel.add(bottomPanel, BorderLayout.SOUTH);
-    }
-
-    /**
-     * Creates a statistic card for the dashboard
-     *
-     * @param title The card title
-     * @param value The value to display
-     * @param iconName Icon name (not used yet, placeholder for future icon support)
-     * @return The card panel
-     */
-    private JPanel createStatCard(String title, String value, String iconName) {
-        JPanel card = new JPanel(new BorderLayout());
-        card.setBackground(CARD_COLOR);
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(218, 220, 224), 1, true),
-                new EmptyBorder(20, 20, 20, 20)));
-
-        JPanel contentPanel = new JPanel(new BorderLayout(15, 0));
-        contentPanel.setOpaque(false);
-
-        // Icon placeholder (empty now)
-        JPanel iconPanel = new JPanel();
-        iconPanel.setPreferredSize(new Dimension(0, 0));
-        iconPanel.setOpaque(false);
-
-        // Text panel
-        JPanel textPanel = new JPanel(new GridLayout(2, 1));
-        textPanel.setOpaque(false);
-
-        JLabel valueLabel = new JLabel(value);
-        valueLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-        valueLabel.setForeground(TEXT_COLOR);
-
-        JLabel titleLabel = new JLabel(title);
-        titleLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-        titleLabel.setForeground(TEXT_SECONDARY_COLOR);
-
-        textPanel.add(valueLabel);
-        textPanel.add(titleLabel);
 
-        contentPanel.add(iconPanel, BorderLayout.WEST);
-        contentPanel.add(textPanel, BorderLayout.CENTER);
-
-        card.add(contentPanel, BorderLayout.CENTER);
-
-        return card;
+        // Load the numbers on the stat cards
+        loadDashboardStats();
     }
 
     /**
@@ -666,13 +643,8 @@ public class ParentDashboard extends JFrame implements ActionListener {
                 BorderFactory.createEmptyBorder(15, 15, 15, 15)));
 
         // Create table model with columns
-        String[] columns = {"ID", "First Name", "Last Name", "Class", "Address"};
-        childrenTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        childrenTableModel = new StudentTableModel(StudentTableModel.ID, StudentTableModel.FIRST_NAME,
+                StudentTableModel.LAST_NAME, StudentTableModel.CLASS_ID.named("Class"), StudentTableModel.ADDRESS);
 
         // Create table
         childrenTable = new JTable(childrenTableModel);
@@ -720,11 +692,14 @@ public class ParentDashboard extends JFrame implements ActionListener {
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        tablePanel.add(scrollPane, BorderLayout.CENTER);
+        tablePanel.add(childrenLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         // Add all components to children panel
         childrenPanel.add(topPanel, BorderLayout.NORTH);
         childrenPanel.add(tablePanel, BorderLayout.CENTER);
+
+        // Load initial children data
+        loadChildrenData();
     }
 
     /**
@@ -792,7 +767,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
         childLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         childLabel.setForeground(TEXT_COLOR);
 
-        childIdMap = new HashMap<>();
+        childIdMap = childIndex.getStudentIds();
         childComboModel = new DefaultComboBoxModel<>();
         childComboBox = new JComboBox<>(childComboModel);
         childComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -800,9 +775,6 @@ public class ParentDashboard extends JFrame implements ActionListener {
         childComboBox.setBackground(Color.WHITE);
         childComboBox.setPreferredSize(new Dimension(250, 35));
 
-        // Load children into combo box
-        loadChildrenIntoComboBox();
-
         // Add change listener to combo box
         childComboBox.addActionListener(e -> {
             if (childComboBox.getSelectedIndex() > 0) { // Skip the "Select a child" prompt
@@ -852,23 +824,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
         searchGradeField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         searchGradeField.setPreferredSize(new Dimension(150, 35));
 
-        // Add search functionality
-        searchGradeField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            @Override
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterChildren();
-            }
-
-            @Override
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterChildren();
-            }
-
-            @Override
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterChildren();
-            }
-        });
+        // Add search functionality and load children into combo box
+        childComboFilters.add(new StudentComboFilter(childComboModel, "Select a child...", searchGradeField));
+        requestChildIndex();
 
         searchPanel.add(searchLabel);
         searchPanel.add(searchGradeField);
@@ -888,13 +846,8 @@ public class ParentDashboard extends JFrame implements ActionListener {
         gradesViewPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
         // Create table for grades
-        String[] columns = {"Subject", "Grade", "Date", "Comments"};
-        DefaultTableModel gradesTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        GradeTableModel gradesTableModel = new GradeTableModel(GradeTableModel.SUBJECT, GradeTableModel.MARK,
+                GradeTableModel.DATE, GradeTableModel.COMMENT);
 
         JTable gradesTable = new JTable(gradesTableModel);
         gradesTable.setName("gradesTable"); // Give it a name for easier lookup
@@ -924,7 +877,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        gradesViewPanel.add(scrollPane, BorderLayout.CENTER);
+        gradesViewPanel.add(gradesLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         mainContent.add(gradesViewPanel);
 
@@ -952,7 +905,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
         for (Component component : components) {
             if (component instanceof JTable && "gradesTable".equals(component.getName())) {
                 JTable table = (JTable) component;
-                DefaultTableModel model = (DefaultTableModel) table.getModel();
+                GradeTableModel model = (GradeTableModel) table.getModel();
                 loadGradesForStudent(student, model);
                 return;
             } else if (component instanceof JScrollPane) {
@@ -960,7 +913,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
                 Component view = scrollPane.getViewport().getView();
                 if (view instanceof JTable && "gradesTable".equals(view.getName())) {
                     JTable table = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) table.getModel();
+                    GradeTableModel model = (GradeTableModel) table.getModel();
                     loadGradesForStudent(student, model);
                     return;
                 }
@@ -981,16 +934,16 @@ public class ParentDashboard extends JFrame implements ActionListener {
         for (Component component : components) {
             if (component instanceof JTable && "gradesTable".equals(component.getName())) {
                 JTable table = (JTable) component;
-                DefaultTableModel model = (DefaultTableModel) table.getModel();
-                model.setRowCount(0);
+                GradeTableModel model = (GradeTableModel) table.getModel();
+                model.clear();
                 return;
             } else if (component instanceof JScrollPane) {
                 JScrollPane scrollPane = (JScrollPane) component;
                 Component view = scrollPane.getViewport().getView();
                 if (view instanceof JTable && "gradesTable".equals(view.getName())) {
                     JTable table = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) table.getModel();
-                    model.setRowCount(0);
+                    GradeTableModel model = (GradeTableModel) table.getModel();
+                    model.clear();
                     return;
                 }
             } else if (component instanceof Container) {
@@ -1000,79 +953,39 @@ public class ParentDashboard extends JFrame implements ActionListener {
     }
 
     /**
-     * Loads all children into the combo box
+     * Loads the child index unless it is already loaded or loading, so whichever of the
+     * grades and absences panels is built first loads it for both
      */
-    private void loadChildrenIntoComboBox() {
-        childComboModel.removeAllElements();
-        childIdMap.clear();
-
-        try {
-            if (parent != null) {
-                StudentDAO studentDAO = new StudentDAO();
-                List<Student> children = studentDAO.getStudentsByParent(parent.getParentId());
-
-                // Add default prompt
-                childComboModel.addElement("Select a child...");
-
-                // Sort children by last name, then first name
-                Collections.sort(children, (s1, s2) -> {
-                    int lastNameComparison = s1.getLastName().compareTo(s2.getLastName());
-                    if (lastNameComparison != 0) {
-                        return lastNameComparison;
-                    }
-                    return s1.getFirstName().compareTo(s2.getFirstName());
-                });
-
-                // Add each child to the combo box
-                for (Student child : children) {
-                    String displayName = child.getLastName() + ", " + child.getFirstName() + " (ID: " + child.getStudentId() + ")";
-                    childComboModel.addElement(displayName);
-                    childIdMap.put(displayName, Integer.valueOf(child.getStudentId()));
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading children: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+    private void requestChildIndex() {
+        if (childIndex == StudentNameIndex.EMPTY && !tasks.isLoading("childCombo")) {
+            loadChildrenIntoComboBox();
         }
     }
 
     /**
-     * Filters children in the combo box based on search text
+     * Loads all children into the child index shared by the combo boxes
      */
-    private void filterChildren() {
-        String searchText = searchGradeField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            // Reload all children
-            loadChildrenIntoComboBox();
-            return;
-        }
-
-        // Store currently selected item
-        Object selectedItem = childComboBox.getSelectedItem();
-
-        // Clear combo box
-        childComboModel.removeAllElements();
-
-        // Add default prompt
-        childComboModel.addElement("Select a child...");
-
-        // Add matching children
-        for (String displayName : childIdMap.keySet()) {
-            if (displayName.toLowerCase().contains(searchText)) {
-                childComboModel.addElement(displayName);
-            }
+    private void loadChildrenIntoComboBox() {
+        if (parent != null) {
+            StudentDAO studentDAO = new StudentDAO();
+            int parentId = parent.getParentId();
+            tasks.load("childCombo", () -> new StudentNameIndex(studentDAO.getStudentsByParent(parentId)),
+                    this::showChildrenInComboBox, "Error loading children");
+        } else {
+            showChildrenInComboBox(StudentNameIndex.EMPTY);
         }
+    }
 
-        // Restore selection if it exists in filtered results
-        if (selectedItem != null) {
-            for (int i = 0; i < childComboModel.getSize(); i++) {
-                if (childComboModel.getElementAt(i).equals(selectedItem)) {
-                    childComboBox.setSelectedIndex(i);
-                    break;
-                }
-            }
+    /**
+     * Switches the child combo boxes to a newly loaded index
+     *
+     * @param index The index of the parent's children
+     */
+    private void showChildrenInComboBox(StudentNameIndex index) {
+        childIndex = index;
+        childIdMap = index.getStudentIds();
+        for (StudentComboFilter filter : childComboFilters) {
+            filter.setIndex(index);
         }
     }
 
@@ -1082,67 +995,57 @@ public class ParentDashboard extends JFrame implements ActionListener {
      * @param student The student to load grades for
      * @param tableModel The table model to load grades into
      */
-    // For the loadGradesForStudent method in ParentDashboard.java
-// We need to enhance it to include grade statistics and better data presentation
-
-    private void loadGradesForStudent(Student student, DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
+    private void loadGradesForStudent(Student student, GradeTableModel tableModel) {
+        // Clear existing data; the table shows its loading state until the grades arrive
+        tableModel.clear();
+
+        GradeDAO gradeDAO = new GradeDAO();
+        int studentId = student.getStudentId();
+        tasks.load("grades", studentId, gradesLoading, () -> gradeDAO.getGradesByStudent(studentId),
+                grades -> showGradesForStudent(student, grades, tableModel), "Error loading grades");
+    }
 
-        try {
-            // Get grades for the student from the database
-            GradeDAO gradeDAO = new GradeDAO();
-            List<Grade> grades = gradeDAO.getGradesByStudent(student.getStudentId());
+    /**
+     * Shows the loaded grades of a student in the table model, with grade statistics
+     *
+     * @param student The student the grades belong to
+     * @param grades The student's grades
+     * @param tableModel The table model to fill
+     */
+    private void showGradesForStudent(Student student, List<Grade> grades, GradeTableModel tableModel) {
+        if (grades.isEmpty()) {
+            // No grades found
+            JOptionPane.showMessageDialog(this,
+                    "No grades found for " + student.getFirstName() + " " + student.getLastName(),
+                    "Information", JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            tableModel.setRows(grades);
 
-            if (grades.isEmpty()) {
-                // No grades found
-                JOptionPane.showMessageDialog(this,
-                        "No grades found for " + student.getFirstName() + " " + student.getLastName(),
-                        "Information", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                // Format the date
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Calculate statistics
-                double average = 0;
-                char bestGrade = 'F';
-                char worstGrade = 'A';
-
-                // Add each grade to the table and calculate statistics
-                for (Grade grade : grades) {
-                    Object[] rowData = {
-                            grade.getSubject(),
-                            String.valueOf(grade.getMark()),
-                            dateFormat.format(grade.getGradeDate()),
-                            grade.getComment()
-                    };
-                    tableModel.addRow(rowData);
-
-                    // Update statistics
-                    char mark = grade.getMark();
-                    if (mark < bestGrade) bestGrade = mark; // A is "better" than F
-                    if (mark > worstGrade) worstGrade = mark;
-
-                    // Calculate numeric value for average (A=5, B=4, etc.)
-                    int numericValue = calculateNumericGrade(mark);
-                    average += numericValue;
-                }
+            // Calculate statistics
+            double average = 0;
+            char bestGrade = 'F';
+            char worstGrade = 'A';
 
-                // Calculate final average
-                average = average / grades.size();
+            for (Grade grade : grades) {
+                // Update statistics
+                char mark = grade.getMark();
+                if (mark < bestGrade) bestGrade = mark; // A is "better" than F
+                if (mark > worstGrade) worstGrade = mark;
 
-                // Show success message with statistics
-                JOptionPane.showMessageDialog(this,
-                        String.format("Loaded grades for %s %s\nAverage: %.1f\nBest Grade: %c\nWorst Grade: %c",
-                                student.getFirstName(), student.getLastName(),
-                                average, bestGrade, worstGrade),
-                        "Grades Loaded", JOptionPane.INFORMATION_MESSAGE);
+                // Calculate numeric value for average (A=5, B=4, etc.)
+                int numericValue = calculateNumericGrade(mark);
+                average += numericValue;
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+
+            // Calculate final average
+            average = average / grades.size();
+
+            // Show success message with statistics
             JOptionPane.showMessageDialog(this,
-                    "Error loading grades: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+                    String.format("Loaded grades for %s %s\nAverage: %.1f\nBest Grade: %c\nWorst Grade: %c",
+                            student.getFirstName(), student.getLastName(),
+                            average, bestGrade, worstGrade),
+                    "Grades Loaded", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
@@ -1195,48 +1098,14 @@ public class ParentDashboard extends JFrame implements ActionListener {
         childLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         childLabel.setForeground(TEXT_COLOR);
 
-        // Reuse or create new combo model and map for absences
+        // Reuse the childIdMap and child index from grades panel
         JComboBox<String> absenceChildComboBox = new JComboBox<>(new DefaultComboBoxModel<>());
         absenceChildComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         absenceChildComboBox.setBorder(BorderFactory.createLineBorder(new Color(218, 220, 224), 1, true));
         absenceChildComboBox.setBackground(Color.WHITE);
         absenceChildComboBox.setPreferredSize(new Dimension(250, 35));
 
-        // Load children into combo box
         DefaultComboBoxModel<String> absenceChildComboModel = (DefaultComboBoxModel<String>)absenceChildComboBox.getModel();
-        absenceChildComboModel.removeAllElements();
-        absenceChildComboModel.addElement("Select a child...");
-
-        // We'll use the same child map as in the grades panel
-        Map<String, Integer> absenceChildIdMap = new HashMap<>();
-
-        if (parent != null) {
-            try {
-                StudentDAO studentDAO = new StudentDAO();
-                List<Student> children = studentDAO.getStudentsByParent(parent.getParentId());
-
-                // Sort children by last name, then first name
-                Collections.sort(children, (s1, s2) -> {
-                    int lastNameComparison = s1.getLastName().compareTo(s2.getLastName());
-                    if (lastNameComparison != 0) {
-                        return lastNameComparison;
-                    }
-                    return s1.getFirstName().compareTo(s2.getFirstName());
-                });
-
-                // Add each child to the combo box
-                for (Student child : children) {
-                    String displayName = child.getLastName() + ", " + child.getFirstName() + " (ID: " + child.getStudentId() + ")";
-                    absenceChildComboModel.addElement(displayName);
-                    absenceChildIdMap.put(displayName, Integer.valueOf(child.getStudentId()));
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this,
-                        "Error loading children: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        }
 
         dropdownPanel.add(childLabel);
         dropdownPanel.add(absenceChildComboBox);
@@ -1256,23 +1125,12 @@ public class ParentDashboard extends JFrame implements ActionListener {
         searchAbsenceField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         searchAbsenceField.setPreferredSize(new Dimension(150, 35));
 
-        // Add search functionality
-        searchAbsenceField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            @Override
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterAbsenceChildren(searchAbsenceField, absenceChildComboBox, absenceChildComboModel, absenceChildIdMap);
-            }
-
-            @Override
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterAbsenceChildren(searchAbsenceField, absenceChildComboBox, absenceChildComboModel, absenceChildIdMap);
-            }
-
-            @Override
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterAbsenceChildren(searchAbsenceField, absenceChildComboBox, absenceChildComboModel, absenceChildIdMap);
-            }
-        });
+        // Add search functionality; the children come from the index shared with the grades panel
+        StudentComboFilter absenceChildFilter =
+                new StudentComboFilter(absenceChildComboModel, "Select a child...", searchAbsenceField);
+        absenceChildFilter.setIndex(childIndex);
+        childComboFilters.add(absenceChildFilter);
+        requestChildIndex();
 
         searchPanel.add(searchLabel);
         searchPanel.add(searchAbsenceField);
@@ -1292,16 +1150,12 @@ public class ParentDashboard extends JFrame implements ActionListener {
         absencesViewPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
         // Create table for absences
-        String[] columns = {"Absence Date", "Description", "Status"};
-        DefaultTableModel absencesTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        AbsenceTableModel absencesTableModel = new AbsenceTableModel(AbsenceTableModel.DATE,
+                AbsenceTableModel.DESCRIPTION, AbsenceTableModel.STATUS);
 
         JTable absencesTable = new JTable(absencesTableModel);
         absencesTable.setName("absencesTable"); // Give it a name for easier lookup
+        absencesTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         absencesTable.setRowHeight(40);
         absencesTable.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         absencesTable.setGridColor(new Color(240, 240, 240));
@@ -1328,7 +1182,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        absencesViewPanel.add(scrollPane, BorderLayout.CENTER);
+        absencesViewPanel.add(absencesLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         mainContent.add(absencesViewPanel);
 
@@ -1336,13 +1190,13 @@ public class ParentDashboard extends JFrame implements ActionListener {
         absenceChildComboBox.addActionListener(e -> {
             if (absenceChildComboBox.getSelectedIndex() > 0) { // Skip the "Select a child" prompt
                 String selectedItem = (String) absenceChildComboBox.getSelectedItem();
-                if (selectedItem != null && absenceChildIdMap.containsKey(selectedItem)) {
-                    int studentId = absenceChildIdMap.get(selectedItem);
+                if (selectedItem != null && childIdMap.containsKey(selectedItem)) {
+                    int studentId = childIdMap.get(selectedItem);
                     loadAbsencesForStudent(studentId, absencesTableModel);
                 }
             } else {
                 // Clear the absences table when "Select a child" is chosen
-                absencesTableModel.setRowCount(0);
+                absencesTableModel.clear();
             }
         });
 
@@ -1355,30 +1209,36 @@ public class ParentDashboard extends JFrame implements ActionListener {
 
         addExcuseButton = createActionButton("Add Excuse", e -> {
             if (absenceChildComboBox.getSelectedIndex() > 0) {
-                int selectedRow = absencesTable.getSelectedRow();
-                if (selectedRow == -1) {
+                int[] selectedRows = absencesTable.getSelectedRows();
+                if (selectedRows.length == 0) {
                     JOptionPane.showMessageDialog(this,
                             "Please select an absence to add an excuse for",
                             "No Selection", JOptionPane.WARNING_MESSAGE);
                     return;
                 }
 
-                String dateStr = (String) absencesTable.getValueAt(selectedRow, 0);
-                String status = (String) absencesTable.getValueAt(selectedRow, 2);
+                // Only unexcused absences can be excused; several can share one excuse
+                List<Absence> absences = new ArrayList<>(selectedRows.length);
+                for (int row : selectedRows) {
+                    Absence absence = absencesTableModel.getRow(absencesTable.convertRowIndexToModel(row));
+                    if (!absence.isExcused()) {
+                        absences.add(absence);
+                    }
+                }
 
-                if (status.equalsIgnoreCase("Excused")) {
+                if (absences.isEmpty()) {
                     JOptionPane.showMessageDialog(this,
-                            "This absence is already excused",
+                            selectedRows.length == 1 ? "This absence is already excused" : "These absences are already excused",
                             "Information", JOptionPane.INFORMATION_MESSAGE);
                     return;
                 }
 
                 // Get selected child ID
                 String selectedItem = (String) absenceChildComboBox.getSelectedItem();
-                int studentId = absenceChildIdMap.get(selectedItem);
+                int studentId = childIdMap.get(selectedItem);
 
                 // Open excuse form dialog
-                showAddExcuseDialog(studentId, dateStr);
+                showAddExcuseDialog(studentId, absences);
             } else {
                 JOptionPane.showMessageDialog(this,
                         "Please select a child first",
@@ -1395,13 +1255,12 @@ public class ParentDashboard extends JFrame implements ActionListener {
     }
 
     /**
-     * Shows the add excuse dialog for a specific absence
+     * Shows the add excuse dialog for one or more absences
      *
      * @param studentId The student ID
-     * @param dateStr The absence date string
+     * @param absences The unexcused absences to excuse
      */
-    // Enhanced showAddExcuseDialog method in ParentDashboard.java
-    private void showAddExcuseDialog(int studentId, String dateStr) {
+    private void showAddExcuseDialog(int studentId, List<Absence> absences) {
         // Create dialog with improved UI
         JDialog dialog = new JDialog(this, "Add Excuse", true);
         dialog.setSize(500, 400);
@@ -1414,7 +1273,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
         contentPanel.setBackground(BACKGROUND_COLOR);
 
         // Info label with improved visibility
-        JLabel infoLabel = new JLabel("Add excuse for absence on " + dateStr);
+        JLabel infoLabel = new JLabel(absences.size() == 1
+                ? "Add excuse for absence on " + AbsenceTableModel.formatDate(absences.get(0).getAbsenceDate())
+                : "Add excuse for " + absences.size() + " absences");
         infoLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
         infoLabel.setForeground(TEXT_COLOR);
 
@@ -1491,50 +1352,46 @@ public class ParentDashboard extends JFrame implements ActionListener {
                 return;
             }
 
-            // Here's where we'd implement the actual excuse submission logic
-            try {
-                // Example of updating absence status in the database
-                AbsenceDAO absenceDAO = new AbsenceDAO();
-
-                // In a real implementation, we would find the specific absence by date
-                List<Absence> absences = absenceDAO.getAbsencesByStudent(studentId);
-                boolean found = false;
-
-                for (Absence absence : absences) {
-                    SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-                    if (sdf.format(absence.getAbsenceDate()).equals(dateStr)) {
-                        // Update the absence to excused
-                        absence.setStatus(true);
-                        absenceDAO.updateAbsence(absence);
-                        found = true;
-
-                        // In a real application, we would also save the excuse text
-                        // to a related table
+            // Store the excuse and excuse the absences in one transaction
+            String description = typeCombo.getSelectedItem() + ": " + excuseText;
+            Date today = new Date();
+            List<Excuse> excuses = new ArrayList<>(absences.size());
+            for (Absence absence : absences) {
+                excuses.add(new Excuse(today, description, studentId, absence.getAbsenceId()));
+            }
 
-                        break;
-                    }
+            // The transaction runs off the EDT; the button stays disabled so it is not submitted twice
+            submitButton.setEnabled(false);
+            dialog.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            ExcuseDAO excuseDAO = new ExcuseDAO();
+            AsyncDAO.run(() -> {
+                if (excuses.size() == 1) {
+                    excuseDAO.submitExcuse(excuses.get(0));
+                } else {
+                    excuseDAO.submitExcuses(excuses);
                 }
+            }).whenCompleteAsync((done, error) -> {
+                dialog.setCursor(Cursor.getDefaultCursor());
+                submitButton.setEnabled(true);
 
-                if (found) {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    cause.printStackTrace();
                     JOptionPane.showMessageDialog(dialog,
-                            "Excuse submitted successfully!",
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-
-                    dialog.dispose();
-
-                    // Refresh absences table
-                    loadAbsencesForStudent(studentId, (DefaultTableModel) ((JTable) findAbsencesTable(absencesPanel)).getModel());
-                } else {
-                    JOptionPane.showMessageDialog(dialog,
-                            "Could not find the specific absence record",
+                            "Error submitting excuse: " + cause.getMessage(),
                             "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
                 }
-            } catch (Exception ex) {
-                ex.printStackTrace();
+
                 JOptionPane.showMessageDialog(dialog,
-                        "Error submitting excuse: " + ex.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+                        excuses.size() == 1 ? "Excuse submitted successfully!" : "Excuse submitted for " + excuses.size() + " absences!",
+                        "Success", JOptionPane.INFORMATION_MESSAGE);
+
+                dialog.dispose();
+
+                // Refresh absences table
+                loadAbsencesForStudent(studentId, (AbsenceTableModel) findAbsencesTable(absencesPanel).getModel());
+            }, SwingUtilities::invokeLater);
         });
 
         buttonPanel.add(cancelButton);
@@ -1565,118 +1422,56 @@ public class ParentDashboard extends JFrame implements ActionListener {
         dialog.setVisible(true);
     }
 
-    /**
-     * Filters students in the absence combo box based on search text
-     */
-    private void filterAbsenceChildren(JTextField searchField, JComboBox<String> comboBox,
-                                       DefaultComboBoxModel<String> comboModel, Map<String, Integer> childIdMap) {
-        String searchText = searchField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            // Reload all children
-            comboModel.removeAllElements();
-            comboModel.addElement("Select a child...");
-            for (String displayName : childIdMap.keySet()) {
-                comboModel.addElement(displayName);
-            }
-            return;
-        }
-
-        // Store currently selected item
-        Object selectedItem = comboBox.getSelectedItem();
-
-        // Clear combo box
-        comboModel.removeAllElements();
-
-        // Add default prompt
-        comboModel.addElement("Select a child...");
-
-        // Add matching children
-        for (String displayName : childIdMap.keySet()) {
-            if (displayName.toLowerCase().contains(searchText)) {
-                comboModel.addElement(displayName);
-            }
-        }
-
-        // Restore selection if it exists in filtered results
-        if (selectedItem != null) {
-            for (int i = 0; i < comboModel.getSize(); i++) {
-                if (comboModel.getElementAt(i).equals(selectedItem)) {
-                    comboBox.setSelectedIndex(i);
-                    break;
-                }
-            }
-        }
-    }
     // Method to load homework data for a student
-    private void loadHomeworkData(int studentId, DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        try {
-            // Get class ID for the student
-            StudentDAO studentDAO = new StudentDAO();
-            Optional<Student> studentOpt = studentDAO.getStudentById(studentId);
-
-            if (!studentOpt.isPresent()) {
-                JOptionPane.showMessageDialog(this,
-                        "Student not found",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            int classId = studentOpt.get().getClassId();
-
-            // Get homework for the class
-            HomeworkDAO homeworkDAO = new HomeworkDAO();
-            List<Homework> homeworkList = homeworkDAO.getHomeworkByClass(classId);
-
-            if (homeworkList.isEmpty()) {
-                JOptionPane.showMessageDialog(this,
-                        "No homework found for this student",
-                        "Information", JOptionPane.INFORMATION_MESSAGE);
-                return;
-            }
-
-            // Current date for calculating days remaining
-            Date now = new Date();
+    private void loadHomeworkData(int studentId, HomeworkTableModel tableModel) {
+        loadHomeworkData(studentId, null, tableModel);
+    }
 
-            // Format for displaying dates
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    // Method to load the homework of a student with the given status, or all of it if the status is null
+    private void loadHomeworkData(int studentId, String statusFilter, HomeworkTableModel tableModel) {
+        // Clear existing data; the table shows its loading state until the homework arrives
+        tableModel.clear();
 
-            // Add homework to table
-            for (Homework homework : homeworkList) {
-                // Calculate days remaining
-                long diffInMillies = homework.getDueDate().getTime() - now.getTime();
-                int daysRemaining = (int) (diffInMillies / (1000 * 60 * 60 * 24));
+        StudentDAO studentDAO = new StudentDAO();
+        HomeworkDAO homeworkDAO = new HomeworkDAO();
+        tasks.load("homework", studentId, homeworkLoading, () -> {
+            // Get homework for the student's class; null if the student no longer exists
+            Optional<Student> studentOpt = studentDAO.getStudentById(studentId);
+            return studentOpt.isPresent() ? homeworkDAO.getHomeworkByClass(studentOpt.get().getClassId()) : null;
+        }, homeworkList -> showHomeworkData(homeworkList, statusFilter, tableModel), "Error loading homework");
+    }
 
-                // Determine status
-                String status;
-                if (homework.isStatus()) {
-                    status = "Completed";
-                } else if (homework.getDueDate().before(now)) {
-                    status = "Overdue";
-                } else {
-                    status = "Pending";
+    // Method to show the loaded homework of a student
+    private void showHomeworkData(List<Homework> homeworkList, String statusFilter, HomeworkTableModel tableModel) {
+        if (statusFilter != null) {
+            // Keep only matching homework
+            List<Homework> matching = new ArrayList<>();
+            if (homeworkList != null) {
+                for (Homework homework : homeworkList) {
+                    if (statusFilter.equals(HomeworkTableModel.dueStatus(homework))) {
+                        matching.add(homework);
+                    }
                 }
-
-                // Add to table
-                Object[] rowData = {
-                        homework.getDescription(),
-                        dateFormat.format(homework.getDueDate()),
-                        "Class " + classId,
-                        status,
-                        daysRemaining
-                };
-
-                tableModel.addRow(rowData);
             }
+            tableModel.setRows(matching);
+            return;
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (homeworkList == null) {
             JOptionPane.showMessageDialog(this,
-                    "Error loading homework: " + e.getMessage(),
+                    "Student not found",
                     "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        if (homeworkList.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "No homework found for this student",
+                    "Information", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+
+        tableModel.setRows(homeworkList);
     }
     /**
      * Creates the settings panel with only Edit Profile, Change Password, and Manage Child Information
@@ -1710,8 +1505,15 @@ public class ParentDashboard extends JFrame implements ActionListener {
                 "Manage Child Information"
         });
 
-        // Add section to content
+        // Query statistics of the data layer
+        JPanel diagnosticsSection = createSettingsSection("Diagnostics", new String[] {
+                "Database Diagnostics"
+        });
+
+        // Add sections to content
         settingsContent.add(profileSection);
+        settingsContent.add(Box.createVerticalStrut(20));
+        settingsContent.add(diagnosticsSection);
 
         // Add components to panels
         contentPanel.add(titleLabel, BorderLayout.NORTH);
@@ -1725,41 +1527,32 @@ public class ParentDashboard extends JFrame implements ActionListener {
      * @param studentId The student ID to load absences for
      * @param tableModel The table model to load absences into
      */
-    private void loadAbsencesForStudent(int studentId, DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        try {
-            // Get absences for the student from the database
-            AbsenceDAO absenceDAO = new AbsenceDAO();
-            List<Absence> absences = absenceDAO.getAbsencesByStudent(studentId);
+    private void loadAbsencesForStudent(int studentId, AbsenceTableModel tableModel) {
+        // Clear existing data; the table shows its loading state until the absences arrive
+        tableModel.clear();
 
-            if (absences.isEmpty()) {
-                // No absences found
-                JOptionPane.showMessageDialog(this,
-                        "No absences found for student ID: " + studentId,
-                        "Information", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                // Format the date
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-                // Add each absence to the table
-                for (Absence absence : absences) {
-                    Object[] rowData = {
-                            dateFormat.format(absence.getAbsenceDate()),
-                            absence.getDescription(),
-                            absence.isStatus() ? "Excused" : "Unexcused"
-                    };
-                    tableModel.addRow(rowData);
-                }
+        AbsenceDAO absenceDAO = new AbsenceDAO();
+        tasks.load("absences", studentId, absencesLoading, () -> absenceDAO.getAbsencesByStudent(studentId),
+                absences -> showAbsencesForStudent(studentId, absences, tableModel), "Error loading absences");
+    }
 
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Shows the loaded absences of a student in the table model
+     *
+     * @param studentId The student the absences belong to
+     * @param absences The student's absences
+     * @param tableModel The table model to fill
+     */
+    private void showAbsencesForStudent(int studentId, List<Absence> absences, AbsenceTableModel tableModel) {
+        if (absences.isEmpty()) {
+            // No absences found
             JOptionPane.showMessageDialog(this,
-                    "Error loading absences: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+                    "No absences found for student ID: " + studentId,
+                    "Information", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+
+        tableModel.setRows(absences);
     }
 
     /**
@@ -1844,18 +1637,15 @@ public class ParentDashboard extends JFrame implements ActionListener {
         Map<String, Integer> homeworkChildMap = new HashMap<>();
 
         if (parent != null) {
-            try {
-                StudentDAO studentDAO = new StudentDAO();
-                List<Student> children = studentDAO.getStudentsByParent(parent.getParentId());
-
+            StudentDAO homeworkStudentDAO = new StudentDAO();
+            int parentId = parent.getParentId();
+            tasks.load("homeworkChildCombo", () -> homeworkStudentDAO.getStudentsByParent(parentId), children -> {
                 for (Student child : children) {
                     String displayName = child.getLastName() + ", " + child.getFirstName();
                     homeworkChildModel.addElement(displayName);
                     homeworkChildMap.put(displayName, child.getStudentId());
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            }, "Error loading children");
         }
 
         homeworkChildComboBox.setModel(homeworkChildModel);
@@ -1893,13 +1683,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
         homeworkTablePanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
         // Create table for homework
-        String[] columns = {"Assignment", "Due Date", "Class", "Status", "Days Remaining"};
-        DefaultTableModel homeworkTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table non-editable
-            }
-        };
+        HomeworkTableModel homeworkTableModel = new HomeworkTableModel(HomeworkTableModel.DESCRIPTION.named("Assignment"),
+                HomeworkTableModel.DUE_DATE, HomeworkTableModel.CLASS, HomeworkTableModel.DUE_STATUS,
+                HomeworkTableModel.DAYS_REMAINING);
 
         JTable homeworkTable = new JTable(homeworkTableModel);
         homeworkTable.setName("homeworkTable");
@@ -1964,7 +1750,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_COLOR);
 
-        homeworkTablePanel.add(scrollPane, BorderLayout.CENTER);
+        homeworkTablePanel.add(homeworkLoading.wrap(scrollPane), BorderLayout.CENTER);
 
         mainContent.add(homeworkTablePanel);
 
@@ -1976,7 +1762,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
                 loadHomeworkData(studentId, homeworkTableModel);
             } else {
                 // Clear table if "Select a child" is chosen
-                homeworkTableModel.setRowCount(0);
+                homeworkTableModel.clear();
             }
         });
 
@@ -2059,7 +1845,7 @@ public class ParentDashboard extends JFrame implements ActionListener {
                                 "Status Updated", JOptionPane.INFORMATION_MESSAGE);
 
                         // Refresh the homework table
-                        loadHomeworkData(studentId, (DefaultTableModel) homeworkTable.getModel());
+                        loadHomeworkData(studentId, (HomeworkTableModel) homeworkTable.getModel());
                     } else {
                         JOptionPane.showMessageDialog(this,
                                 "Failed to update homework status",
@@ -2079,70 +1865,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
         homeworkPanel.add(mainContent, BorderLayout.CENTER);
     }
     // Method to filter homework by status
-    private void filterHomeworkByStatus(int studentId, String statusFilter, DefaultTableModel tableModel) {
-        // If "All" is selected, just reload all homework
-        if ("All".equals(statusFilter)) {
-            loadHomeworkData(studentId, tableModel);
-            return;
-        }
-
-        // Otherwise, clear the table and add only matching homework
-        tableModel.setRowCount(0);
-
-        try {
-            // Get class ID for the student
-            StudentDAO studentDAO = new StudentDAO();
-            Optional<Student> studentOpt = studentDAO.getStudentById(studentId);
-
-            if (!studentOpt.isPresent()) {
-                return;
-            }
-
-            int classId = studentOpt.get().getClassId();
-
-            // Get homework for the class
-            HomeworkDAO homeworkDAO = new HomeworkDAO();
-            List<Homework> homeworkList = homeworkDAO.getHomeworkByClass(classId);
-
-            // Current date for calculating days remaining and status
-            Date now = new Date();
-
-            // Format for displaying dates
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-            // Add matching homework to table
-            for (Homework homework : homeworkList) {
-                // Calculate days remaining
-                long diffInMillies = homework.getDueDate().getTime() - now.getTime();
-                int daysRemaining = (int) (diffInMillies / (1000 * 60 * 60 * 24));
-
-                // Determine status
-                String status;
-                if (homework.isStatus()) {
-                    status = "Completed";
-                } else if (homework.getDueDate().before(now)) {
-                    status = "Overdue";
-                } else {
-                    status = "Pending";
-                }
-
-                // Add to table if status matches filter
-                if (status.equals(statusFilter)) {
-                    Object[] rowData = {
-                            homework.getDescription(),
-                            dateFormat.format(homework.getDueDate()),
-                            "Class " + classId,
-                            status,
-                            daysRemaining
-                    };
-
-                    tableModel.addRow(rowData);
-                }
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private void filterHomeworkByStatus(int studentId, String statusFilter, HomeworkTableModel tableModel) {
+        // If "All" is selected, just reload all homework; otherwise keep only matching homework
+        loadHomeworkData(studentId, "All".equals(statusFilter) ? null : statusFilter, tableModel);
     }
 
     /**
@@ -2207,6 +1932,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
                     case "Manage Child Information":
                         showManageChildInfoDialog();
                         break;
+                    case "Database Diagnostics":
+                        DatabaseDiagnosticsDialog.showFor(this);
+                        break;
                     default:
                         JOptionPane.showMessageDialog(this,
                                 option + " feature coming soon!",
@@ -2956,38 +2684,55 @@ public class ParentDashboard extends JFrame implements ActionListener {
      * Loads children data into the table
      */
     private void loadChildrenData() {
-        // Clear existing data
-        childrenTableModel.setRowCount(0);
-
         if (parent != null) {
             // Get children for the parent
-            try {
-                StudentDAO studentDAO = new StudentDAO();
-                List<Student> children = studentDAO.getStudentsByParent(parent.getParentId());
+            StudentDAO studentDAO = new StudentDAO();
+            int parentId = parent.getParentId();
+            tasks.load("children", null, childrenLoading, () -> studentDAO.getStudentsByParent(parentId),
+                    this::showChildren, "Error loading children");
+        } else {
+            childrenTableModel.clear();
+        }
+    }
 
-                // Update children count on dashboard
-                childrenCountLabel.setText(String.valueOf(children.size()));
+    /**
+     * Replaces the rows of the children table
+     *
+     * @param children The children to show
+     */
+    private void showChildren(List<Student> children) {
+        // Update children count on dashboard
+        childrenCountLabel.setText(String.valueOf(children.size()));
 
-                // Add each child to the table
-                for (Student child : children) {
-                    Object[] rowData = {
-                            child.getStudentId(),
-                            child.getFirstName(),
-                            child.getLastName(),
-                            child.getClassId(),
-                            child.getAddress()
-                    };
-                    childrenTableModel.addRow(rowData);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this,
-                        "Error loading children: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+        childrenTableModel.setRows(children);
+    }
+
+    /**
+     * Loads the numbers on the dashboard's stat cards for all of the parent's children
+     */
+    private void loadDashboardStats() {
+        if (parent != null) {
+            DashboardStatsDAO statsDAO = new DashboardStatsDAO();
+            int parentId = parent.getParentId();
+            tasks.load("dashboardStats", () -> statsDAO.getParentStats(parentId),
+                    this::showDashboardStats, "Error loading dashboard statistics");
         }
     }
 
+    /**
+     * Shows the dashboard statistics on the stat cards
+     *
+     * @param stats The statistics, or empty if they could not be loaded
+     */
+    private void showDashboardStats(Optional<DashboardStatsDTO> stats) {
+        stats.ifPresent(s -> {
+            childrenCountLabel.setText(String.valueOf(s.getStudentCount()));
+            homeworkCountLabel.setText(s.getActiveHomeworkCount() + " / " + s.getOverdueHomeworkCount());
+            unexcusedAbsencesLabel.setText(String.valueOf(s.getUnexcusedAbsenceCount()));
+            recentGradesLabel.setText(String.valueOf(s.getRecentGradeCount()));
+        });
+    }
+
     /**
      * Updates the actionPerformed method to handle all button clicks and navigation
      */
@@ -2997,31 +2742,32 @@ public class ParentDashboard extends JFrame implements ActionListener {
 
         // Navigation
         if (source == dashboardButton || "dashboard".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "dashboard");
             updateActiveTab("dashboard");
+
+            // Refresh the stat cards; they are cached briefly, so this is cheap
+            loadDashboardStats();
         } else if (source == childrenButton || "children".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "children");
+            boolean built = cards.isBuilt("children");
             updateActiveTab("children");
 
-            // Refresh children data when navigating to this tab
-            loadChildrenData();
+            // Refresh children data when navigating back to this tab; the first visit loads it
+            if (built) {
+                loadChildrenData();
+            }
         } else if (source == gradesButton || "grades".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "grades");
             updateActiveTab("grades");
         } else if (source == absencesButton || "absences".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "absences");
             updateActiveTab("absences");
         } else if (source == homeworkButton || "homework".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "homework");
             updateActiveTab("homework");
         } else if (source == settingsButton || "settings".equals(e.getActionCommand())) {
-            cardLayout.show(cardPanel, "settings");
             updateActiveTab("settings");
         } else if (source == logoutButton) {
             // Stop clock timer
             if (clockTimer != null) {
                 clockTimer.stop();
             }
+            tasks.cancelAll();
 
             // Log out and return to login screen
             LoginForm loginForm = new LoginForm();
@@ -3064,6 +2810,21 @@ public class ParentDashboard extends JFrame implements ActionListener {
      * Enhanced method to show child details with a more informative dialog
      */
     private void showChildDetails(int studentId, String firstName, String lastName, int classId) {
+        // Teacher, stats and recent activity all come from one summary query, run off the EDT
+        StudentSummaryDAO summaryDAO = new StudentSummaryDAO();
+        tasks.load("childDetails", studentId, null,
+                () -> summaryDAO.getStudentSummary(studentId, CHILD_DETAILS_RECENT_LIMIT).orElse(null),
+                summary -> showChildDetails(studentId, firstName, lastName, classId, summary),
+                "Error loading child details");
+    }
+
+    /**
+     * Shows the child details dialog once the student's summary has been loaded
+     *
+     * @param summary The student's summary, or null if the student was not found
+     */
+    private void showChildDetails(int studentId, String firstName, String lastName, int classId,
+                                  StudentSummaryDTO summary) {
         // Create dialog
         JDialog dialog = new JDialog(this, firstName + " " + lastName + " Details", true);
         dialog.setSize(700, 500);
@@ -3112,21 +2873,9 @@ public class ParentDashboard extends JFrame implements ActionListener {
         classLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         classLabel.setBorder(new EmptyBorder(5, 0, 0, 0));
 
-        // Get teacher name for this class
         String teacherName = "Not assigned";
-        try {
-            TeacherDAO teacherDAO = new TeacherDAO();
-            List<Teacher> teachers = teacherDAO.getTeachersByClassId(classId);
-            if (!teachers.isEmpty()) {
-                Teacher teacher = teachers.get(0);
-                UserDAO userDAO = new UserDAO();
-                Optional<User> teacherUser = userDAO.getUserById(teacher.getUserId());
-                if (teacherUser.isPresent()) {
-                    teacherName = teacherUser.get().getFullName();
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (summary != null && summary.getTeacherName() != null) {
+            teacherName = summary.getTeacherName();
         }
 
         // Teacher info
@@ -3142,31 +2891,21 @@ public class ParentDashboard extends JFrame implements ActionListener {
         statsPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         statsPanel.setBorder(BorderFactory.createTitledBorder("Quick Stats"));
 
-        // Get grade average
         String gradeAvg = "N/A";
-        try {
-            GradeDAO gradeDAO = new GradeDAO();
-            double avg = gradeDAO.getAverageGradeForStudent(studentId);
-            if (avg > 0) {
-                gradeAvg = String.format("%.1f", avg);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        // Get absence count
         String absenceCount = "0";
-        try {
-            AbsenceDAO absenceDAO = new AbsenceDAO();
-            int count = absenceDAO.countAbsencesByStudent(studentId);
-            absenceCount = String.valueOf(count);
-        } catch (Exception e) {
-            e.printStackTrace();
+        String unexcusedCount = "0";
+        if (summary != null) {
+            if (summary.getGradeAverage() > 0) {
+                gradeAvg = String.format("%.1f", summary.getGradeAverage());
+            }
+            absenceCount = String.valueOf(summary.getAbsenceCount());
+            unexcusedCount = String.valueOf(summary.getUnexcusedAbsenceCount());
         }
 
         // Add stats to panel
         addStatRow(statsPanel, "Grades Avg:", gradeAvg);
         addStatRow(statsPanel, "Absences:", absenceCount);
+        addStatRow(statsPanel, "Unexcused:", unexcusedCount);
 
         // Add components to info panel
         infoPanel.add(photoPanel);
@@ -3196,27 +2935,14 @@ public class ParentDashboard extends JFrame implements ActionListener {
         JPanel gradesTab = new JPanel(new BorderLayout());
         gradesTab.setBackground(Color.WHITE);
 
-        String[] gradeColumns = {"Subject", "Grade", "Date"};
-        DefaultTableModel gradesModel = new DefaultTableModel(gradeColumns, 0);
+        GradeTableModel gradesModel = new GradeTableModel(GradeTableModel.SUBJECT, GradeTableModel.MARK,
+                GradeTableModel.DATE);
         JTable gradesTable = new JTable(gradesModel);
         gradesTable.setRowHeight(30);
 
-        // Load recent grades - in a real app, would limit to latest few
-        try {
-            GradeDAO gradeDAO = new GradeDAO();
-            List<Grade> grades = gradeDAO.getGradesByStudent(studentId);
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-            for (Grade grade : grades) {
-                Object[] rowData = {
-                        grade.getSubject(),
-                        String.valueOf(grade.getMark()),
-                        dateFormat.format(grade.getGradeDate())
-                };
-                gradesModel.addRow(rowData);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        // Recent grades, newest first
+        if (summary != null) {
+            gradesModel.setRows(summary.getRecentGrades());
         }
 
         gradesTab.add(new JScrollPane(gradesTable), BorderLayout.CENTER);
@@ -3225,27 +2951,14 @@ public class ParentDashboard extends JFrame implements ActionListener {
         JPanel absencesTab = new JPanel(new BorderLayout());
         absencesTab.setBackground(Color.WHITE);
 
-        String[] absenceColumns = {"Date", "Status", "Description"};
-        DefaultTableModel absencesModel = new DefaultTableModel(absenceColumns, 0);
+        AbsenceTableModel absencesModel = new AbsenceTableModel(AbsenceTableModel.DATE.named("Date"),
+                AbsenceTableModel.STATUS, AbsenceTableModel.DESCRIPTION);
         JTable absencesTable = new JTable(absencesModel);
         absencesTable.setRowHeight(30);
 
-        // Load recent absences
-        try {
-            AbsenceDAO absenceDAO = new AbsenceDAO();
-            List<Absence> absences = absenceDAO.getAbsencesByStudent(studentId);
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-            for (Absence absence : absences) {
-                Object[] rowData = {
-                        dateFormat.format(absence.getAbsenceDate()),
-                        absence.isStatus() ? "Excused" : "Unexcused",
-                        absence.getDescription()
-                };
-                absencesModel.addRow(rowData);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        // Recent absences, newest first
+        if (summary != null) {
+            absencesModel.setRows(summary.getRecentAbsences());
         }
 
         absencesTab.add(new JScrollPane(absencesTable), BorderLayout.CENTER);
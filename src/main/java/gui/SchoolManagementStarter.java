@@ -1,13 +1,44 @@
 package gui;
 
+import dao.DataLayerWarmup;
+import util.SchemaMigrator;
+
 import javax.swing.*;
 import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main starter class for the School Management System.
  * Initializes the application and displays the login form.
+ * While the splash screen is shown, the data layer is warmed up and the dashboard classes
+ * are loaded in parallel; the login form opens as soon as both are done, or after
+ * -Dsms.startup.timeoutMs (default 10 s) if the database is slow to answer.
  */
 public class SchoolManagementStarter {
+    private static final long STARTUP_TIMEOUT_MS = Long.getLong("sms.startup.timeoutMs", 10_000L);
+
+    // Classes the login form and the first dashboard need; loading them early keeps the first login fast
+    private static final String[] PRELOADED_CLASSES = {
+            "service.AuthenticationService",
+            "org.mindrot.jbcrypt.BCrypt",
+            "gui.HorizontalTeacherDashboard",
+            "gui.ParentDashboard",
+            "gui.RegistrationForm",
+            "gui.BackgroundTasks",
+            "gui.LoadingOverlay",
+            "gui.LazyCards",
+            "gui.StartupTimer",
+            "gui.StudentNameIndex",
+            "gui.StudentTableModel",
+            "gui.GradeTableModel",
+            "gui.AbsenceTableModel",
+            "gui.HomeworkTableModel",
+            "javax.swing.JTable",
+            "javax.swing.table.TableRowSorter"
+    };
 
     /**
      * Main method to start the application
@@ -15,6 +46,9 @@ public class SchoolManagementStarter {
      * @param args Command line arguments (not used)
      */
     public static void main(String[] args) {
+        // Opt-in report of work blocking the Event Dispatch Thread (-Dsms.edt.watchdog=true)
+        EdtWatchdog.installIfEnabled();
+
         // Set system look and feel
         try {
             UIManager.setLookAndFeel(UIManager.getCrossPlatformLookAndFeelClassName());
@@ -26,22 +60,82 @@ public class SchoolManagementStarter {
         JFrame splashFrame = createSplashScreen();
         splashFrame.setVisible(true);
 
-        // Run the main application startup in a separate thread
-        new Thread(() -> {
-            try {
-                // Simulate initialization time (in a real app, this would be actual initialization)
-                Thread.sleep(2000);
+        // Run the startup work in parallel on background threads
+        CompletableFuture<String> database = CompletableFuture.supplyAsync(SchoolManagementStarter::prepareDatabase,
+                startupThread("startup-warmup"));
+        CompletableFuture<String> classes = CompletableFuture.supplyAsync(SchoolManagementStarter::preloadClasses,
+                startupThread("startup-ui"));
 
-                // Close splash screen and open login form on the Event Dispatch Thread
-                SwingUtilities.invokeLater(() -> {
+        CompletableFuture.allOf(database, classes)
+                .completeOnTimeout(null, STARTUP_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                    // Close splash screen and open login form on the Event Dispatch Thread
                     splashFrame.dispose();
                     LoginForm loginForm = new LoginForm();
                     loginForm.setVisible(true);
-                });
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+
+                    if (StartupTimer.REPORT) {
+                        System.out.println("Login form shown " + millisSinceJvmStart() + " ms after JVM start ("
+                                + database.getNow("database warmup still running") + "; "
+                                + classes.getNow("class preload still running") + ")");
+                    }
+                }));
+    }
+
+    /**
+     * Loads the JDBC driver, brings the schema up to date and warms up the connection pool.
+     *
+     * @return A timing summary for the startup report
+     */
+    private static String prepareDatabase() {
+        long start = System.nanoTime();
+        DataLayerWarmup.loadDriver();
+
+        // Bring the schema (indexes) up to date before anyone logs in
+        SchemaMigrator.migrate();
+
+        int statements = DataLayerWarmup.warmUp();
+        return "database warmup " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                + " ms, " + statements + " statements prepared";
+    }
+
+    /**
+     * Loads and initializes the classes the login and the dashboards need.
+     *
+     * @return A timing summary for the startup report
+     */
+    private static String preloadClasses() {
+        long start = System.nanoTime();
+        ClassLoader loader = SchoolManagementStarter.class.getClassLoader();
+        int loaded = 0;
+        for (String name : PRELOADED_CLASSES) {
+            try {
+                Class.forName(name, true, loader);
+                loaded++;
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Error preloading class " + name + ": " + e);
             }
-        }).start();
+        }
+        return "class preload " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                + " ms, " + loaded + " classes";
+    }
+
+    /**
+     * Runs a startup task on its own daemon thread, named so it can be told apart in thread dumps.
+     *
+     * @param name The thread name
+     * @return An executor that starts one thread per task
+     */
+    private static Executor startupThread(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private static long millisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
     }
 
     /**
@@ -4,8 +4,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 
-import dao.UserDAO;
 import model.User;
+import service.AuthenticationService;
 
 public class SchoolManagementSystem extends JFrame {
     // Cards for different screens
@@ -18,6 +18,7 @@ public class SchoolManagementSystem extends JFrame {
     // Login components
     private JTextField emailField;
     private JPasswordField passwordField;
+    private JButton loginButton;
 
     // Current logged-in user
     private User currentUser;
@@ -58,7 +59,7 @@ public class SchoolManagementSystem extends JFrame {
         JLabel passwordLabel = new JLabel("Password:");
         emailField = new JTextField(20);
         passwordField = new JPasswordField(20);
-        JButton loginButton = new JButton("Login");
+        loginButton = new JButton("Login");
         JButton cancelButton = new JButton("Exit");
 
         // Add components to layout
@@ -222,48 +223,40 @@ public class SchoolManagementSystem extends JFrame {
             return;
         }
 
-        try {
-            UserDAO userDAO = new UserDAO();
-            java.util.Optional<User> userOptional = userDAO.getUserByEmail(email);
-
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
-
-                // In a real application, you would use password hashing
-                if (password.equals(user.getPassword())) {
-                    // Store the current user
-                    currentUser = user;
-
-                    // Reset login fields
-                    emailField.setText("");
-                    passwordField.setText("");
-
-                    // Update the main menu for this user
-                    updateMainMenuForUser(user);
-
-                    // Switch to the main menu panel
-                    cardLayout.show(contentPanel, MAIN_MENU_PANEL);
-
-                    // Update window title to include user info
-                    setTitle("School Management System - " + user.getAccountType() + ": " + user.getFullName());
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Invalid password",
-                            "Login Failed",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "User not found",
-                        "Login Failed",
-                        JOptionPane.ERROR_MESSAGE);
-            }
-        } catch (Exception ex) {
+        // The credentials are checked off the EDT
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loginButton.setEnabled(false);
+        AuthenticationService.getInstance().authenticate(email, password)
+                .thenAcceptAsync(this::showLoginResult, SwingUtilities::invokeLater);
+    }
+
+    private void showLoginResult(AuthenticationService.Result result) {
+        setCursor(Cursor.getDefaultCursor());
+        loginButton.setEnabled(true);
+
+        if (result.getStatus() == AuthenticationService.Status.SUCCESS) {
+            User user = result.getUser();
+
+            // Store the current user
+            currentUser = user;
+
+            // Reset login fields
+            emailField.setText("");
+            passwordField.setText("");
+
+            // Update the main menu for this user
+            updateMainMenuForUser(user);
+
+            // Switch to the main menu panel
+            cardLayout.show(contentPanel, MAIN_MENU_PANEL);
+
+            // Update window title to include user info
+            setTitle("School Management System - " + user.getAccountType() + ": " + user.getFullName());
+        } else {
             JOptionPane.showMessageDialog(this,
-                    "Database error: " + ex.getMessage(),
-                    "System Error",
+                    result.getMessage(),
+                    result.getStatus() == AuthenticationService.Status.ERROR ? "System Error" : "Login Failed",
                     JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
         }
     }
 
@@ -0,0 +1,167 @@
+package gui;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only table model over an immutable snapshot of DAO results.
+ * The rows are the entities themselves, so nothing is copied into per-row Object arrays, and
+ * replacing the snapshot fires a single table event however many rows it has. Cell values are
+ * computed when a row is painted or sorted, so only visible rows pay for formatting.
+ * Subclasses list the columns available for their entity; each table picks the ones it shows.
+ *
+ * @param <T> The entity type of the rows
+ */
+class SnapshotTableModel<T> extends AbstractTableModel {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final List<Column<T>> columns;
+    private List<T> rows = Collections.emptyList();
+
+    /**
+     * Creates an empty model.
+     *
+     * @param columns The columns to show, in order
+     */
+    @SafeVarargs
+    SnapshotTableModel(Column<T>... columns) {
+        List<Column<T>> copy = new ArrayList<>(columns.length);
+        for (Column<T> column : columns) {
+            copy.add(column);
+        }
+        this.columns = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Replaces all rows with one change event.
+     * The list is wrapped, not copied, so the caller must not modify it afterwards.
+     *
+     * @param rows The new rows, e.g. a DAO result list
+     */
+    void setRows(List<T> rows) {
+        this.rows = Collections.unmodifiableList(rows);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Removes all rows.
+     */
+    void clear() {
+        setRows(Collections.emptyList());
+    }
+
+    /**
+     * Gets the entity shown in a row.
+     *
+     * @param modelRow The row index in the model (convert view indexes first if the table is sorted)
+     * @return The entity
+     */
+    T getRow(int modelRow) {
+        return rows.get(modelRow);
+    }
+
+    /**
+     * @return the current rows (unmodifiable)
+     */
+    List<T> getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).type;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns.get(column).value.apply(rows.get(row));
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Make table non-editable
+    }
+
+    /**
+     * Formats a date as yyyy-MM-dd with a shared, thread-safe formatter.
+     *
+     * @param date The date, either a java.sql.Date from the DAOs or a java.util.Date
+     * @return The formatted date, or an empty string for null
+     */
+    static String formatDate(Date date) {
+        if (date == null) {
+            return "";
+        }
+        if (date instanceof java.sql.Date) {
+            // java.sql.Date has no time part and does not support toInstant()
+            return DATE_FORMAT.format(((java.sql.Date) date).toLocalDate());
+        }
+        return DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * One column: its header, its class for sorting and rendering, and how to read a cell.
+     *
+     * @param <T> The entity type of the rows
+     */
+    static final class Column<T> {
+        private final String name;
+        private final Class<?> type;
+        private final Function<? super T, ?> value;
+
+        /**
+         * Creates a column whose values are rendered and sorted as text.
+         *
+         * @param name The column header
+         * @param value Reads the cell value from a row
+         */
+        Column(String name, Function<? super T, ?> value) {
+            this(name, Object.class, value);
+        }
+
+        /**
+         * Creates a column.
+         *
+         * @param name The column header
+         * @param type The class of the cell values
+         * @param value Reads the cell value from a row
+         */
+        Column(String name, Class<?> type, Function<? super T, ?> value) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+        }
+
+        /**
+         * Creates the same column under a different header.
+         *
+         * @param name The column header
+         * @return The renamed column
+         */
+        Column<T> named(String name) {
+            return new Column<>(name, type, value);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gui;
+
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long a window takes to become usable and, with -Dsms.startup.timing=true,
+ * reports it on standard output. The window counts as interactive once it is open and the
+ * events queued while it opened, such as its first layout and paint, have been handled.
+ */
+final class StartupTimer {
+    /** Whether startup and tab build times are reported (-Dsms.startup.timing, default false). */
+    static final boolean REPORT = Boolean.getBoolean("sms.startup.timing");
+
+    private final String name;
+    private final long start = System.nanoTime();
+
+    /**
+     * Starts timing a window; create the timer first thing in the window's constructor.
+     *
+     * @param name The window name used in the report, e.g. "Teacher dashboard"
+     */
+    StartupTimer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the time since the timer was created.
+     *
+     * @return The elapsed time in milliseconds
+     */
+    long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Reports the time to interactive once the window has opened, if reporting is turned on.
+     *
+     * @param window The window being timed
+     * @param details Describes what was built or loaded by then; read when the report is made
+     */
+    void reportWhenOpened(Window window, Supplier<String> details) {
+        if (!REPORT) {
+            return;
+        }
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                window.removeWindowListener(this);
+                // Queued behind the first layout and paint of the window
+                EventQueue.invokeLater(() -> System.out.println(name + " interactive in " + elapsedMillis()
+                        + " ms (" + millisSinceJvmStart() + " ms after JVM start; " + details.get() + ")"));
+            }
+        });
+    }
+
+    private static long millisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
@@ -0,0 +1,69 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+
+/**
+ * Statistic card of the dashboards' home tabs: a large value above a small title.
+ * The dashboards keep the value label to fill it in once their statistics are loaded.
+ */
+final class StatCard extends JPanel {
+    private static final Color CARD_COLOR = Color.WHITE;
+    private static final Color BORDER_COLOR = new Color(218, 220, 224);
+    private static final Color TEXT_COLOR = new Color(44, 62, 80); // Dark blue-gray
+    private static final Color TEXT_SECONDARY_COLOR = new Color(127, 140, 141); // Gray
+
+    private final JLabel valueLabel;
+
+    /**
+     * Creates a statistic card.
+     *
+     * @param title The card title
+     * @param value The value shown until the statistics are loaded
+     */
+    StatCard(String title, String value) {
+        super(new BorderLayout());
+        setBackground(CARD_COLOR);
+        setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(BORDER_COLOR, 1, true),
+                new EmptyBorder(20, 20, 20, 20)));
+
+        JPanel contentPanel = new JPanel(new BorderLayout(15, 0));
+        contentPanel.setOpaque(false);
+
+        // Icon placeholder (empty now)
+        JPanel iconPanel = new JPanel();
+        iconPanel.setPreferredSize(new Dimension(0, 0));
+        iconPanel.setOpaque(false);
+
+        // Text panel
+        JPanel textPanel = new JPanel(new GridLayout(2, 1));
+        textPanel.setOpaque(false);
+
+        valueLabel = new JLabel(value);
+        valueLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        valueLabel.setForeground(TEXT_COLOR);
+
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        titleLabel.setForeground(TEXT_SECONDARY_COLOR);
+
+        textPanel.add(valueLabel);
+        textPanel.add(titleLabel);
+
+        contentPanel.add(iconPanel, BorderLayout.WEST);
+        contentPanel.add(textPanel, BorderLayout.CENTER);
+
+        add(contentPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * Gets the label showing the card's value.
+     *
+     * @return The value label
+     */
+    JLabel getValueLabel() {
+        return valueLabel;
+    }
+}
@@ -0,0 +1,82 @@
+package gui;
+
+import javax.swing.*;
+import java.util.List;
+
+/**
+ * Keeps a student combo box in sync with a search field and a shared {@link StudentNameIndex}.
+ * Search input is debounced, and the combo model is updated in place: entries that still match
+ * stay where they are, so the selection and the open popup are not disturbed while typing.
+ */
+final class StudentComboFilter {
+    private final DefaultComboBoxModel<String> comboModel;
+    private final String prompt;
+    private final JTextField searchField;
+    private StudentNameIndex index = StudentNameIndex.EMPTY;
+
+    /**
+     * Binds a combo model to a search field.
+     *
+     * @param comboModel The model of the student combo box
+     * @param prompt The first entry, e.g. "Select a student..."
+     * @param searchField The search field that filters the entries
+     */
+    StudentComboFilter(DefaultComboBoxModel<String> comboModel, String prompt, JTextField searchField) {
+        this.comboModel = comboModel;
+        this.prompt = prompt;
+        this.searchField = searchField;
+
+        if (comboModel.getSize() == 0 || !prompt.equals(comboModel.getElementAt(0))) {
+            comboModel.removeAllElements();
+            comboModel.addElement(prompt);
+        }
+        Debouncer debouncer = new Debouncer(Debouncer.SEARCH_DELAY_MS, this::refilter);
+        searchField.getDocument().addDocumentListener(debouncer.documentListener());
+    }
+
+    /**
+     * Switches to a newly loaded index and shows its matches for the current search text.
+     *
+     * @param index The index to filter
+     */
+    void setIndex(StudentNameIndex index) {
+        this.index = index;
+        refilter();
+    }
+
+    /**
+     * Shows the entries that match the current search text.
+     */
+    void refilter() {
+        List<String> matches = index.search(searchField.getText());
+
+        // Fall back to the prompt before removing the selected student, so no other student gets selected
+        Object selected = comboModel.getSelectedItem();
+        if (selected != null && !prompt.equals(selected) && !matches.contains(selected)) {
+            comboModel.setSelectedItem(prompt);
+        }
+
+        // Both lists are in index order, so one merge pass turns the current entries into the matches
+        int row = 1;
+        int next = 0;
+        while (row < comboModel.getSize() || next < matches.size()) {
+            if (row >= comboModel.getSize()) {
+                comboModel.addElement(matches.get(next++));
+                row++;
+                continue;
+            }
+            String current = comboModel.getElementAt(row);
+            if (next < matches.size() && current.equals(matches.get(next))) {
+                row++;
+                next++;
+                continue;
+            }
+            int currentPosition = index.indexOf(current);
+            if (next >= matches.size() || currentPosition < index.indexOf(matches.get(next))) {
+                comboModel.removeElementAt(row);
+            } else {
+                comboModel.insertElementAt(matches.get(next++), row++);
+            }
+        }
+    }
+}
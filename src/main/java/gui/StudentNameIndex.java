@@ -0,0 +1,144 @@
+package gui;
+
+import model.Student;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Immutable in-memory index of student display names, built once per class (teacher) or
+ * per parent and shared by every panel that picks a student from a combo box.
+ * Names are listed by last name, then first name. Search matches a case- and accent-insensitive
+ * substring of the display name; queries of three or more characters are narrowed down through
+ * a trigram index first, so a keystroke never scans every name.
+ */
+final class StudentNameIndex {
+    static final StudentNameIndex EMPTY = new StudentNameIndex(Collections.emptyList());
+
+    private static final int GRAM = 3;
+
+    private final List<String> displayNames;
+    private final String[] normalizedNames;
+    private final Map<String, Integer> studentIds;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Map<String, BitSet> trigrams = new HashMap<>();
+
+    /**
+     * Builds the index.
+     *
+     * @param students The students to index; the list is not modified
+     */
+    StudentNameIndex(List<Student> students) {
+        List<Student> sorted = new ArrayList<>(students);
+        sorted.sort(Comparator.comparing(Student::getLastName).thenComparing(Student::getFirstName));
+
+        List<String> names = new ArrayList<>(sorted.size());
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        normalizedNames = new String[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            Student student = sorted.get(i);
+            String displayName = displayName(student);
+            names.add(displayName);
+            ids.put(displayName, student.getStudentId());
+            positions.put(displayName, i);
+
+            String normalized = normalize(displayName);
+            normalizedNames[i] = normalized;
+            for (int j = 0; j + GRAM <= normalized.length(); j++) {
+                trigrams.computeIfAbsent(normalized.substring(j, j + GRAM), gram -> new BitSet()).set(i);
+            }
+        }
+        displayNames = Collections.unmodifiableList(names);
+        studentIds = Collections.unmodifiableMap(ids);
+    }
+
+    /**
+     * Formats the name shown for a student in the combo boxes.
+     *
+     * @param student The student
+     * @return "Last, First (ID: n)"
+     */
+    static String displayName(Student student) {
+        return student.getLastName() + ", " + student.getFirstName() + " (ID: " + student.getStudentId() + ")";
+    }
+
+    /**
+     * Gets all display names in order.
+     *
+     * @return An unmodifiable list of display names
+     */
+    List<String> getDisplayNames() {
+        return displayNames;
+    }
+
+    /**
+     * Gets the mapping from display name to student ID.
+     *
+     * @return An unmodifiable map in display order
+     */
+    Map<String, Integer> getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * Gets the position of a display name in the index.
+     *
+     * @param displayName The display name
+     * @return The position, or -1 if the name is not indexed
+     */
+    int indexOf(String displayName) {
+        Integer position = positions.get(displayName);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Finds the display names that contain the query.
+     *
+     * @param query The search text; blank returns every name
+     * @return The matching display names in index order
+     */
+    List<String> search(String query) {
+        String normalized = query == null ? "" : normalize(query.trim());
+        if (normalized.isEmpty()) {
+            return displayNames;
+        }
+
+        List<String> matches = new ArrayList<>();
+        if (normalized.length() < GRAM) {
+            for (int i = 0; i < normalizedNames.length; i++) {
+                if (normalizedNames[i].contains(normalized)) {
+                    matches.add(displayNames.get(i));
+                }
+            }
+            return matches;
+        }
+
+        BitSet candidates = null;
+        for (int j = 0; j + GRAM <= normalized.length(); j++) {
+            BitSet postings = trigrams.get(normalized.substring(j, j + GRAM));
+            if (postings == null) {
+                return matches;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) postings.clone();
+            } else {
+                candidates.and(postings);
+            }
+        }
+        // Every trigram occurring does not mean they occur in sequence, so confirm each candidate
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (normalizedNames[i].contains(normalized)) {
+                matches.add(displayNames.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lower-cases text and strips accents, so "Ćorić" matches "coric".
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,26 @@
+package gui;
+
+import model.Student;
+
+/**
+ * Table model for lists of students.
+ */
+final class StudentTableModel extends SnapshotTableModel<Student> {
+    static final Column<Student> ID = new Column<>("ID", Integer.class, Student::getStudentId);
+    static final Column<Student> FIRST_NAME = new Column<>("First Name", Student::getFirstName);
+    static final Column<Student> LAST_NAME = new Column<>("Last Name", Student::getLastName);
+    static final Column<Student> CLASS_ID = new Column<>("Class ID", Integer.class, Student::getClassId);
+    static final Column<Student> ADDRESS = new Column<>("Address", Student::getAddress);
+    static final Column<Student> PARENT_ID = new Column<>("Parent ID", Integer.class, Student::getParentId);
+
+    /**
+     * Creates an empty model.
+     *
+     * @param columns The columns to show, in order
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // Forwarded to the base class, which only reads it
+    StudentTableModel(Column<Student>... columns) {
+        super(columns);
+    }
+}
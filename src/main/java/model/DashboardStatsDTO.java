@@ -0,0 +1,96 @@
+package model;
+
+/**
+ * Data Transfer Object (DTO) holding the numbers shown on a dashboard's home cards.
+ *
+ * The numbers cover either a teacher's class or a parent's children and are loaded in a
+ * single query. Homework counts only include assignments that are not completed yet.
+ */
+public class DashboardStatsDTO {
+
+    private final int studentCount;
+    private final int activeHomeworkCount;
+    private final int overdueHomeworkCount;
+    private final int unexcusedAbsenceCount;
+    private final int recentGradeCount;
+    private final int recentDays;
+
+    /**
+     * Constructs a new DashboardStatsDTO.
+     *
+     * @param studentCount          the number of students in the class, or of the parent's children
+     * @param activeHomeworkCount   the number of open homework assignments that are not due yet
+     * @param overdueHomeworkCount  the number of open homework assignments past their due date
+     * @param unexcusedAbsenceCount the number of absences that have not been excused
+     * @param recentGradeCount      the number of grades given in the last {@code recentDays} days
+     * @param recentDays            the number of days counted as recent
+     */
+    public DashboardStatsDTO(int studentCount, int activeHomeworkCount, int overdueHomeworkCount,
+                             int unexcusedAbsenceCount, int recentGradeCount, int recentDays) {
+        this.studentCount = studentCount;
+        this.activeHomeworkCount = activeHomeworkCount;
+        this.overdueHomeworkCount = overdueHomeworkCount;
+        this.unexcusedAbsenceCount = unexcusedAbsenceCount;
+        this.recentGradeCount = recentGradeCount;
+        this.recentDays = recentDays;
+    }
+
+    /**
+     * @return the number of students in the class, or of the parent's children
+     */
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    /**
+     * @return the number of open homework assignments that are not due yet
+     */
+    public int getActiveHomeworkCount() {
+        return activeHomeworkCount;
+    }
+
+    /**
+     * @return the number of open homework assignments past their due date
+     */
+    public int getOverdueHomeworkCount() {
+        return overdueHomeworkCount;
+    }
+
+    /**
+     * @return the number of absences that have not been excused
+     */
+    public int getUnexcusedAbsenceCount() {
+        return unexcusedAbsenceCount;
+    }
+
+    /**
+     * @return the number of grades given in the last {@link #getRecentDays()} days
+     */
+    public int getRecentGradeCount() {
+        return recentGradeCount;
+    }
+
+    /**
+     * @return the number of days counted as recent
+     */
+    public int getRecentDays() {
+        return recentDays;
+    }
+
+    /**
+     * Returns a string representation of the DashboardStatsDTO object.
+     *
+     * @return a string representation of the DashboardStatsDTO object
+     */
+    @Override
+    public String toString() {
+        return "DashboardStatsDTO{" +
+                "studentCount=" + studentCount +
+                ", activeHomeworkCount=" + activeHomeworkCount +
+                ", overdueHomeworkCount=" + overdueHomeworkCount +
+                ", unexcusedAbsenceCount=" + unexcusedAbsenceCount +
+                ", recentGradeCount=" + recentGradeCount +
+                ", recentDays=" + recentDays +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.Date;
+
+/**
+ * Represents a parent's excuse for a student absence in the school management system.
+ */
+public class Excuse {
+    private int excuseId;
+    private Date excuseDate;
+    private String description;
+    private int studentId;
+    private int absenceId;
+
+    /**
+     * Constructor for creating a new excuse.
+     *
+     * @param excuseDate The date the excuse was submitted
+     * @param description The reason given for the absence
+     * @param studentId The ID of the student who was absent
+     * @param absenceId The ID of the absence being excused
+     */
+    public Excuse(Date excuseDate, String description, int studentId, int absenceId) {
+        this.excuseDate = excuseDate;
+        this.description = description;
+        this.studentId = studentId;
+        this.absenceId = absenceId;
+    }
+
+    /**
+     * Constructor for existing excuse records.
+     *
+     * @param excuseId The unique ID of the excuse
+     * @param excuseDate The date the excuse was submitted
+     * @param description The reason given for the absence
+     * @param studentId The ID of the student who was absent
+     * @param absenceId The ID of the absence being excused
+     */
+    public Excuse(int excuseId, Date excuseDate, String description, int studentId, int absenceId) {
+        this.excuseId = excuseId;
+        this.excuseDate = excuseDate;
+        this.description = description;
+        this.studentId = studentId;
+        this.absenceId = absenceId;
+    }
+
+    /**
+     * Gets the excuse ID.
+     *
+     * @return The excuse's unique ID
+     */
+    public int getExcuseId() {
+        return excuseId;
+    }
+
+    /**
+     * Sets the excuse ID.
+     *
+     * @param excuseId The new excuse ID
+     */
+    public void setExcuseId(int excuseId) {
+        this.excuseId = excuseId;
+    }
+
+    /**
+     * Gets the date the excuse was submitted.
+     *
+     * @return The excuse date
+     */
+    public Date getExcuseDate() {
+        return excuseDate;
+    }
+
+    /**
+     * Sets the date the excuse was submitted.
+     *
+     * @param excuseDate The new excuse date
+     */
+    public void setExcuseDate(Date excuseDate) {
+        this.excuseDate = excuseDate;
+    }
+
+    /**
+     * Gets the description.
+     *
+     * @return The description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the description.
+     *
+     * @param description The new description
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the student ID.
+     *
+     * @return The student ID
+     */
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Sets the student ID.
+     *
+     * @param studentId The new student ID
+     */
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    /**
+     * Gets the ID of the excused absence.
+     *
+     * @return The absence ID
+     */
+    public int getAbsenceId() {
+        return absenceId;
+    }
+
+    /**
+     * Sets the ID of the excused absence.
+     *
+     * @param absenceId The new absence ID
+     */
+    public void setAbsenceId(int absenceId) {
+        this.absenceId = absenceId;
+    }
+
+    @Override
+    public String toString() {
+        return "Excuse{" +
+                "excuseId=" + excuseId +
+                ", excuseDate=" + excuseDate +
+                ", description='" + description + '\'' +
+                ", studentId=" + studentId +
+                ", absenceId=" + absenceId +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising one student for the parent's child-details screen.
+ *
+ * This class combines the student's class teacher, grade and absence statistics and the
+ * most recent {@link Grade} and {@link Absence} records, all loaded in a single query.
+ */
+public class StudentSummaryDTO {
+
+    private final int studentId;
+    private final int classId;
+    private final String teacherName;          // null if the class has no teacher
+    private final int gradeCount;
+    private final double gradeAverage;         // 0 if the student has no valid grades
+    private final int absenceCount;
+    private final int excusedAbsenceCount;
+    private final List<Grade> recentGrades;     // newest first
+    private final List<Absence> recentAbsences; // newest first
+
+    /**
+     * Constructs a new StudentSummaryDTO.
+     *
+     * @param studentId           the ID of the student
+     * @param classId             the ID of the student's class
+     * @param teacherName         the full name of the class teacher, or null if none is assigned
+     * @param gradeCount          the total number of grades
+     * @param gradeAverage        the average grade (1-5), or 0 if there are no valid grades
+     * @param absenceCount        the total number of absences
+     * @param excusedAbsenceCount the number of excused absences
+     * @param recentGrades        the most recent grades, newest first
+     * @param recentAbsences      the most recent absences, newest first
+     */
+    public StudentSummaryDTO(int studentId, int classId, String teacherName, int gradeCount, double gradeAverage,
+                             int absenceCount, int excusedAbsenceCount,
+                             List<Grade> recentGrades, List<Absence> recentAbsences) {
+        this.studentId = studentId;
+        this.classId = classId;
+        this.teacherName = teacherName;
+        this.gradeCount = gradeCount;
+        this.gradeAverage = gradeAverage;
+        this.absenceCount = absenceCount;
+        this.excusedAbsenceCount = excusedAbsenceCount;
+        this.recentGrades = Collections.unmodifiableList(recentGrades);
+        this.recentAbsences = Collections.unmodifiableList(recentAbsences);
+    }
+
+    /**
+     * @return the ID of the student
+     */
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * @return the ID of the student's class
+     */
+    public int getClassId() {
+        return classId;
+    }
+
+    /**
+     * @return the full name of the class teacher, or null if none is assigned
+     */
+    public String getTeacherName() {
+        return teacherName;
+    }
+
+    /**
+     * @return the total number of grades
+     */
+    public int getGradeCount() {
+        return gradeCount;
+    }
+
+    /**
+     * @return the average grade (1-5), or 0 if there are no valid grades
+     */
+    public double getGradeAverage() {
+        return gradeAverage;
+    }
+
+    /**
+     * @return the total number of absences
+     */
+    public int getAbsenceCount() {
+        return absenceCount;
+    }
+
+    /**
+     * @return the number of excused absences
+     */
+    public int getExcusedAbsenceCount() {
+        return excusedAbsenceCount;
+    }
+
+    /**
+     * @return the number of unexcused absences
+     */
+    public int getUnexcusedAbsenceCount() {
+        return absenceCount - excusedAbsenceCount;
+    }
+
+    /**
+     * @return the most recent grades, newest first (unmodifiable)
+     */
+    public List<Grade> getRecentGrades() {
+        return recentGrades;
+    }
+
+    /**
+     * @return the most recent absences, newest first (unmodifiable)
+     */
+    public List<Absence> getRecentAbsences() {
+        return recentAbsences;
+    }
+
+    /**
+     * Returns a string representation of the StudentSummaryDTO object.
+     *
+     * @return a string representation of the StudentSummaryDTO object
+     */
+    @Override
+    public String toString() {
+        return "StudentSummaryDTO{" +
+                "studentId=" + studentId +
+                ", classId=" + classId +
+                ", teacherName='" + teacherName + '\'' +
+                ", gradeCount=" + gradeCount +
+                ", gradeAverage=" + gradeAverage +
+                ", absenceCount=" + absenceCount +
+                ", excusedAbsenceCount=" + excusedAbsenceCount +
+                ", recentGrades=" + recentGrades.size() +
+                ", recentAbsences=" + recentAbsences.size() +
+                '}';
+    }
+}
@@ -0,0 +1,342 @@
+package service;
+
+import dao.AsyncDAO;
+import dao.UserDAO;
+import model.User;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies login credentials without blocking the caller.
+ * The user is read with one query on the {@link AsyncDAO} workers and the password is checked on
+ * a separate, bounded pool of BCrypt workers (-Dsms.auth.threads, default the number of CPUs), so
+ * a burst of logins queues for CPU instead of piling up on the EDT. When the queue
+ * (-Dsms.auth.queue) is full, logins are turned away as busy.
+ * Failed logins are throttled per email and per client address (see {@link LoginThrottle}).
+ * Passwords stored as plaintext or with a weaker BCrypt cost are re-hashed after a successful
+ * login, in the background, so the login itself never waits for the extra hash.
+ * Each login and each BCrypt computation is a Flight Recorder event ({@link LoginEvent},
+ * {@link PasswordHashEvent}).
+ */
+public class AuthenticationService {
+    /** BCrypt cost used for new hashes; stored hashes with a lower cost are upgraded on login. */
+    public static final int BCRYPT_LOG_ROUNDS = 12;
+    /** Client address used by the desktop forms, which all log in from this machine. */
+    public static final String LOCAL_SOURCE = "local";
+
+    private static final int THREADS =
+            Integer.getInteger("sms.auth.threads", Math.max(2, Runtime.getRuntime().availableProcessors()));
+    private static final int QUEUE_CAPACITY = Integer.getInteger("sms.auth.queue", 256);
+
+    private static final AuthenticationService INSTANCE = new AuthenticationService(new UserDAO(), THREADS, QUEUE_CAPACITY,
+            new LoginThrottle(Integer.getInteger("sms.auth.maxFailures", 5), 15 * 60_000L, 1_000L, 5 * 60_000L),
+            new LoginThrottle(Integer.getInteger("sms.auth.maxSourceFailures", 50), 15 * 60_000L, 1_000L, 5 * 60_000L));
+
+    private final UserDAO userDAO;
+    private final ThreadPoolExecutor verifier;
+    private final ExecutorService rehasher;
+    private final LoginThrottle emailThrottle;
+    private final LoginThrottle sourceThrottle;
+
+    /**
+     * Gets the shared service used by the login forms, so throttling covers all of them.
+     *
+     * @return The shared service
+     */
+    public static AuthenticationService getInstance() {
+        return INSTANCE;
+    }
+
+    AuthenticationService(UserDAO userDAO, int threads, int queueCapacity,
+                          LoginThrottle emailThrottle, LoginThrottle sourceThrottle) {
+        this.userDAO = userDAO;
+        this.emailThrottle = emailThrottle;
+        this.sourceThrottle = sourceThrottle;
+        this.verifier = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("auth-bcrypt"));
+        this.verifier.allowCoreThreadTimeOut(true);
+        // One thread is enough: re-hashing is rare and must not take CPU from logins in progress
+        ThreadPoolExecutor rehashExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("auth-rehash"));
+        rehashExecutor.allowCoreThreadTimeOut(true);
+        this.rehasher = rehashExecutor;
+    }
+
+    /**
+     * Checks a login from this machine.
+     *
+     * @param email The email entered
+     * @param password The password entered
+     * @return A future completed with the outcome; it never completes exceptionally
+     * @see #authenticate(String, String, String)
+     */
+    public CompletableFuture<Result> authenticate(String email, String password) {
+        return authenticate(email, password, LOCAL_SOURCE);
+    }
+
+    /**
+     * Checks a login. Throttled attempts are answered at once, without a query or a hash.
+     *
+     * @param email The email entered
+     * @param password The password entered
+     * @param source The client address the attempt comes from
+     * @return A future completed with the outcome; it never completes exceptionally
+     */
+    public CompletableFuture<Result> authenticate(String email, String password, String source) {
+        LoginEvent event = new LoginEvent();
+        event.begin();
+
+        String emailKey = email.trim().toLowerCase(Locale.ROOT);
+        long retryAfter = Math.max(emailThrottle.getRetryAfterMillis(emailKey), sourceThrottle.getRetryAfterMillis(source));
+        if (retryAfter > 0) {
+            return recorded(event, source, CompletableFuture.completedFuture(new Result(Status.THROTTLED, null, retryAfter, null)));
+        }
+
+        return recorded(event, source, AsyncDAO.supply(() -> userDAO.getUserByEmail(email.trim()))
+                .thenCompose(user -> verifyAsync(user, password, emailKey, source))
+                .exceptionally(AuthenticationService::failed));
+    }
+
+    // Commits the Flight Recorder event of a login once its outcome is known
+    private static CompletableFuture<Result> recorded(LoginEvent event, String source, CompletableFuture<Result> outcome) {
+        return outcome.whenComplete((result, error) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = source;
+                event.status = result != null ? result.getStatus().name() : Status.ERROR.name();
+                event.commit();
+            }
+        });
+    }
+
+    private CompletableFuture<Result> verifyAsync(Optional<User> userOpt, String password, String emailKey, String source) {
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        try {
+            verifier.execute(() -> {
+                try {
+                    result.complete(verify(userOpt, password, emailKey, source));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.complete(new Result(Status.BUSY, null, 0, null));
+        }
+        return result;
+    }
+
+    private Result verify(Optional<User> userOpt, String password, String emailKey, String source) {
+        if (userOpt.isPresent() && matches(password, userOpt.get().getPassword())) {
+            User user = userOpt.get();
+            emailThrottle.reset(emailKey);
+            if (needsRehash(user.getPassword())) {
+                rehashInBackground(user.getUserId(), user.getPassword(), password);
+            }
+            return new Result(Status.SUCCESS, user, 0, null);
+        }
+
+        if (!userOpt.isPresent()) {
+            // Spend the same time as for a wrong password, so response times do not reveal which emails exist
+            PasswordHashEvent event = new PasswordHashEvent();
+            event.begin();
+            BCrypt.checkpw(password, DummyHash.VALUE);
+            commit(event, "check-unknown-user", DummyHash.VALUE);
+        }
+        emailThrottle.recordFailure(emailKey);
+        sourceThrottle.recordFailure(source);
+        return new Result(Status.INVALID_CREDENTIALS, null, 0, null);
+    }
+
+    private static Result failed(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        System.err.println("Error authenticating user: " + cause.getMessage());
+        return new Result(Status.ERROR, null, 0, cause.getMessage());
+    }
+
+    /**
+     * Stores a stronger hash of a password that was just verified, unless the stored password
+     * has changed in the meantime. Failures are only reported; the next login tries again.
+     */
+    private void rehashInBackground(int userId, String storedPassword, String password) {
+        rehasher.execute(() -> {
+            try {
+                String hashed = hash(password);
+                if (!userDAO.updatePassword(userId, storedPassword, hashed)) {
+                    System.err.println("Password of user ID " + userId + " changed before it could be re-hashed");
+                }
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Error re-hashing password of user ID " + userId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Hashes a password with the current BCrypt cost.
+     *
+     * @param password The plaintext password
+     * @return The BCrypt hash
+     */
+    public static String hash(String password) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        String hashed = BCrypt.hashpw(password, BCrypt.gensalt(BCRYPT_LOG_ROUNDS));
+        commit(event, "hash", hashed);
+        return hashed;
+    }
+
+    /**
+     * Checks a password against a stored BCrypt hash, or against a legacy plaintext password.
+     *
+     * @param password The password entered
+     * @param storedPassword The stored hash or plaintext password
+     * @return true if the password matches
+     */
+    static boolean matches(String password, String storedPassword) {
+        if (storedPassword == null) {
+            return false;
+        }
+        if (isBCryptHash(storedPassword)) {
+            // jBCrypt only reads the $2a$ prefix; $2b$ and $2y$ hashes are computed the same way
+            PasswordHashEvent event = new PasswordHashEvent();
+            event.begin();
+            boolean matched = BCrypt.checkpw(password, "$2a$" + storedPassword.substring(4));
+            commit(event, "check", storedPassword);
+            return matched;
+        }
+        return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether a stored password should be replaced by a new hash.
+     *
+     * @param storedPassword The stored hash or plaintext password
+     * @return true for plaintext passwords and for hashes with a lower cost than {@link #BCRYPT_LOG_ROUNDS}
+     */
+    static boolean needsRehash(String storedPassword) {
+        if (!isBCryptHash(storedPassword)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(storedPassword.substring(4, 6)) < BCRYPT_LOG_ROUNDS;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+
+    // Commits the Flight Recorder event of a BCrypt computation, if a recording wants it
+    private static void commit(PasswordHashEvent event, String operation, String bcryptHash) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            try {
+                event.cost = Integer.parseInt(bcryptHash.substring(4, 6));
+            } catch (NumberFormatException e) {
+                event.cost = 0;
+            }
+            event.commit();
+        }
+    }
+
+    private static boolean isBCryptHash(String storedPassword) {
+        return storedPassword.length() == 60
+                && (storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A hash to check unknown emails against; created on first use so startup does not pay for it.
+     */
+    private static final class DummyHash {
+        private static final String VALUE = hash("not a password");
+    }
+
+    /**
+     * The outcome of a login attempt.
+     */
+    public enum Status {
+        /** The credentials are valid. */
+        SUCCESS,
+        /** The email is unknown or the password is wrong. */
+        INVALID_CREDENTIALS,
+        /** Too many failed attempts; try again after {@link Result#getRetryAfterMillis()}. */
+        THROTTLED,
+        /** Too many logins are waiting to be checked. */
+        BUSY,
+        /** The credentials could not be checked, e.g. because the database is down. */
+        ERROR
+    }
+
+    /**
+     * The result of a login attempt.
+     */
+    public static final class Result {
+        private final Status status;
+        private final User user;
+        private final long retryAfterMillis;
+        private final String errorMessage;
+
+        private Result(Status status, User user, long retryAfterMillis, String errorMessage) {
+            this.status = status;
+            this.user = user;
+            this.retryAfterMillis = retryAfterMillis;
+            this.errorMessage = errorMessage;
+        }
+
+        /**
+         * @return the outcome of the attempt
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the authenticated user, or null unless the status is SUCCESS
+         */
+        public User getUser() {
+            return user;
+        }
+
+        /**
+         * @return how long to wait before the next attempt, in milliseconds, if the status is THROTTLED
+         */
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+
+        /**
+         * Describes a failed attempt for the login form.
+         *
+         * @return a message for the user, or null if the status is SUCCESS
+         */
+        public String getMessage() {
+            switch (status) {
+                case INVALID_CREDENTIALS:
+                    return "Invalid email or password";
+                case THROTTLED:
+                    return "Too many failed attempts, try again in " + ((retryAfterMillis + 999) / 1000) + " s";
+                case BUSY:
+                    return "The server is busy, please try again";
+                case ERROR:
+                    return "Error: " + errorMessage;
+                default:
+                    return null;
+            }
+        }
+    }
+}
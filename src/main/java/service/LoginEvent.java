@@ -0,0 +1,25 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one login attempt, from the request until its outcome is known.
+ * The email is not recorded.
+ */
+@Name("sms.Login")
+@Label("Login")
+@Category({"School Management System", "Authentication"})
+@Description("A login attempt, from the request until its outcome is known")
+@StackTrace(false)
+final class LoginEvent extends jdk.jfr.Event {
+    @Label("Source")
+    @Description("The client address the attempt came from")
+    String source;
+
+    @Label("Status")
+    String status;
+}
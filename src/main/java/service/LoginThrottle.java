@@ -0,0 +1,123 @@
+package service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failed logins per key (an email or a client address) and locks a key out once it
+ * has too many failures within a time window. Each further failure doubles the lockout, up to
+ * a maximum, so guessing passwords gets slower without locking the real user out for long.
+ * A successful login resets its key.
+ */
+public class LoginThrottle {
+    // Keys kept before expired ones are purged, so a flood of random emails cannot grow the map forever
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final int maxFailures;
+    private final long windowMillis;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final LongSupplier clock;
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a throttle that uses the system clock.
+     *
+     * @param maxFailures The failures allowed within the window before the key is locked
+     * @param windowMillis How long a failure counts against the key
+     * @param baseDelayMillis The first lockout; each further failure doubles it
+     * @param maxDelayMillis The longest lockout
+     */
+    public LoginThrottle(int maxFailures, long windowMillis, long baseDelayMillis, long maxDelayMillis) {
+        this(maxFailures, windowMillis, baseDelayMillis, maxDelayMillis, System::currentTimeMillis);
+    }
+
+    LoginThrottle(int maxFailures, long windowMillis, long baseDelayMillis, long maxDelayMillis, LongSupplier clock) {
+        if (maxFailures < 1) {
+            throw new IllegalArgumentException("Max failures must be positive");
+        }
+        this.maxFailures = maxFailures;
+        this.windowMillis = windowMillis;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets how long a key must wait before its next attempt.
+     *
+     * @param key The email or client address
+     * @return The remaining lockout in milliseconds, or 0 if the key may try now
+     */
+    public long getRetryAfterMillis(String key) {
+        Attempts entry = attempts.get(key);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (entry) {
+            return Math.max(0, entry.lockedUntil - clock.getAsLong());
+        }
+    }
+
+    /**
+     * Records a failed attempt, locking the key out once it has too many.
+     *
+     * @param key The email or client address
+     */
+    public void recordFailure(String key) {
+        long now = clock.getAsLong();
+        if (attempts.size() >= PURGE_THRESHOLD) {
+            purgeExpired(now);
+        }
+
+        Attempts entry = attempts.computeIfAbsent(key, k -> new Attempts(now));
+        synchronized (entry) {
+            if (now - entry.windowStart > windowMillis && now >= entry.lockedUntil) {
+                // The earlier failures are too old to count
+                entry.windowStart = now;
+                entry.failures = 0;
+            }
+            entry.failures++;
+            if (entry.failures >= maxFailures) {
+                int doublings = Math.min(entry.failures - maxFailures, 30);
+                entry.lockedUntil = now + Math.min(maxDelayMillis, baseDelayMillis << doublings);
+            }
+        }
+    }
+
+    /**
+     * Forgets the failures of a key, e.g. after a successful login.
+     *
+     * @param key The email or client address
+     */
+    public void reset(String key) {
+        attempts.remove(key);
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Attempts> iterator = attempts.values().iterator();
+        while (iterator.hasNext()) {
+            Attempts entry = iterator.next();
+            synchronized (entry) {
+                if (now - entry.windowStart > windowMillis && now >= entry.lockedUntil) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * The failures of one key in its current window.
+     */
+    private static final class Attempts {
+        private long windowStart;
+        private int failures;
+        private long lockedUntil;
+
+        private Attempts(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one BCrypt computation: hashing a new password or checking one.
+ */
+@Name("sms.PasswordHash")
+@Label("Password Hash")
+@Category({"School Management System", "Authentication"})
+@Description("A BCrypt computation for hashing or checking a password")
+@StackTrace(false)
+final class PasswordHashEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    @Description("hash, check, or check-unknown-user for the constant-time check of an unknown email")
+    String operation;
+
+    @Label("Cost")
+    @Description("The BCrypt log rounds")
+    int cost;
+}
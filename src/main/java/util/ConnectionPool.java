@@ -0,0 +1,510 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded JDBC connection pool.
+ * Connections handed out by {@link #borrow()} are proxies whose close() returns the
+ * physical connection to the pool instead of closing it, so callers keep using the
+ * usual try-with-resources pattern. Each physical connection also keeps an LRU cache of
+ * its prepared statements, so repeated DAO calls skip re-parsing the same SQL.
+ * When given a {@link QueryStats}, the pool records how long each borrow waited and hands
+ * out statements that record their executions.
+ */
+public class ConnectionPool {
+    // Connections used within this window are not re-validated on borrow
+    private static final long VALIDATION_SKIP_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+    private final QueryStats queryStats;
+
+    // Most recently returned connections sit at the head, so hot connections are reused first
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalCount = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService housekeeper;
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /**
+     * Creates a new connection pool and pre-opens {@code minIdle} connections.
+     *
+     * @param url The JDBC URL
+     * @param user The database user
+     * @param password The database password
+     * @param minIdle The number of idle connections kept open after eviction
+     * @param maxSize The maximum number of open connections
+     * @param borrowTimeoutMillis How long borrow() waits for a free connection
+     * @param idleTimeoutMillis How long a connection may sit idle before it is evicted
+     * @param leakThresholdMillis How long a connection may stay borrowed before a leak is reported (0 disables)
+     * @param statementCacheSize The number of prepared statements cached per connection (0 disables)
+     */
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        this(url, user, password, minIdle, maxSize, borrowTimeoutMillis, idleTimeoutMillis, leakThresholdMillis,
+                statementCacheSize, null);
+    }
+
+    /**
+     * Creates a new connection pool whose borrows and statements are recorded in query statistics.
+     *
+     * @param url The JDBC URL
+     * @param user The database user
+     * @param password The database password
+     * @param minIdle The number of idle connections kept open after eviction
+     * @param maxSize The maximum number of open connections
+     * @param borrowTimeoutMillis How long borrow() waits for a free connection
+     * @param idleTimeoutMillis How long a connection may sit idle before it is evicted
+     * @param leakThresholdMillis How long a connection may stay borrowed before a leak is reported (0 disables)
+     * @param statementCacheSize The number of prepared statements cached per connection (0 disables)
+     * @param queryStats Where to record borrows and statement executions, or null to record nothing
+     */
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize, QueryStats queryStats) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool sizing: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.queryStats = queryStats;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, 30_000) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinIdle();
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none are idle.
+     *
+     * @return A pooled connection; closing it returns it to the pool
+     * @throws SQLException If the pool is closed, the borrow times out, or a connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (queryStats == null) {
+            return borrowHandle();
+        }
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            Connection connection = borrowHandle();
+            acquired = true;
+            return connection;
+        } finally {
+            queryStats.recordAcquire(System.nanoTime() - start, acquired);
+        }
+    }
+
+    /**
+     * Waits for a permit and hands out an idle or newly opened connection.
+     *
+     * @return A pooled connection; closing it returns it to the pool
+     * @throws SQLException If the pool is closed, the borrow times out, or a connection cannot be opened
+     */
+    private Connection borrowHandle() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + "ms waiting for a database connection ("
+                        + borrowed.size() + "/" + maxSize + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                // No idle connection, so every open one is borrowed or being opened under a permit: there is room
+                totalCount.incrementAndGet();
+                entry = openEntry();
+            }
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            entry.leakReported = false;
+            borrowed.add(entry);
+            return entry.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeper. Borrowed connections are
+     * closed when they are returned.
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            discard(entry);
+        }
+    }
+
+    /**
+     * Gets the number of connections currently borrowed.
+     *
+     * @return The active connection count
+     */
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * Gets the number of open connections waiting in the pool.
+     *
+     * @return The idle connection count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the number of physical connections currently open.
+     *
+     * @return The total connection count
+     */
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the maximum number of connections the pool will open.
+     *
+     * @return The maximum pool size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of prepareStatement calls served from a statement cache.
+     *
+     * @return The pool-wide statement cache hit count
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    /**
+     * Gets the number of prepareStatement calls that had to prepare a new statement.
+     *
+     * @return The pool-wide statement cache miss count
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Takes idle connections until one passes validation.
+     *
+     * @return A valid idle entry, or null if none are left
+     */
+    private PooledEntry takeValidIdle() {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isUsable(entry)) {
+                return entry;
+            }
+            discard(entry);
+        }
+        return null;
+    }
+
+    /**
+     * Checks that an idle connection is still alive. Recently used connections are trusted.
+     *
+     * @param entry The entry to check
+     * @return true if the connection can be handed out
+     */
+    private boolean isUsable(PooledEntry entry) {
+        if (System.currentTimeMillis() - entry.lastUsed < VALIDATION_SKIP_MILLIS) {
+            return true;
+        }
+        try {
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens a new physical connection for a slot the caller has already counted in totalCount.
+     * The slot is given back if the connection cannot be opened.
+     *
+     * @return The new pool entry
+     * @throws SQLException If the connection cannot be opened
+     */
+    private PooledEntry openEntry() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            physical.setAutoCommit(true);
+            return new PooledEntry(physical);
+        } catch (SQLException | RuntimeException e) {
+            totalCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Counts a new connection in totalCount unless the pool is already at its maximum size.
+     *
+     * @return true if the slot was reserved
+     */
+    private boolean reserveSlot() {
+        for (;;) {
+            int count = totalCount.get();
+            if (count >= maxSize) {
+                return false;
+            }
+            if (totalCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool, resetting any per-borrow state.
+     *
+     * @param entry The entry being returned
+     */
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+        entry.borrowSite = null;
+        try {
+            boolean reusable = !closed.get() && !entry.physical.isClosed();
+            if (reusable) {
+                if (!entry.physical.getAutoCommit()) {
+                    // Never leak an open transaction into the next borrower
+                    entry.physical.rollback();
+                    entry.physical.setAutoCommit(true);
+                }
+                entry.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            } else {
+                discard(entry);
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection after reset failure: " + e.getMessage());
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes the physical connection of an entry that leaves the pool.
+     *
+     * @param entry The entry to discard
+     */
+    private void discard(PooledEntry entry) {
+        totalCount.decrementAndGet();
+        if (entry.statementCache != null) {
+            entry.statementCache.closeAll();
+        }
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Periodic maintenance: evicts long-idle connections, tops the pool back up to
+     * {@code minIdle} and reports connections that look leaked.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Oldest entries sit at the tail of the deque
+        Iterator<PooledEntry> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            PooledEntry entry = it.next();
+            if (now - entry.lastUsed > idleTimeoutMillis && idle.remove(entry)) {
+                discard(entry);
+            }
+        }
+
+        fillToMinIdle();
+
+        if (leakThresholdMillis > 0) {
+            for (PooledEntry entry : borrowed) {
+                if (!entry.leakReported && now - entry.borrowedAt > leakThresholdMillis) {
+                    entry.leakReported = true;
+                    System.err.println("Possible connection leak: connection borrowed "
+                            + (now - entry.borrowedAt) + "ms ago has not been returned");
+                    if (entry.borrowSite != null) {
+                        entry.borrowSite.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens connections until the pool holds at least {@code minIdle} idle connections.
+     */
+    private void fillToMinIdle() {
+        while (!closed.get() && idle.size() < minIdle) {
+            // Opens under a permit like borrow(), so a borrow cannot open a connection into the same slot
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            try {
+                if (!reserveSlot()) {
+                    return;
+                }
+                PooledEntry entry = openEntry();
+                entry.lastUsed = System.currentTimeMillis();
+                idle.offerLast(entry);
+            } catch (SQLException e) {
+                System.err.println("Error pre-opening pooled connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastUsed;
+        private volatile long borrowedAt;
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses)
+                    : null;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        /**
+         * Creates the proxy handed to a borrower for one borrow cycle.
+         *
+         * @return A connection proxy bound to this entry
+         */
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Invocation handler behind a borrowed connection. After close() the handle is dead,
+     * even though the physical connection lives on in the pool.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledEntry entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Handle(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released.get() || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+            if (released.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            Object result = null;
+            if (entry.statementCache != null && "prepareStatement".equals(method.getName())) {
+                if (args.length == 1) {
+                    result = entry.statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS, (Connection) proxy);
+                } else if (args.length == 2 && method.getParameterTypes()[1] == int.class) {
+                    result = entry.statementCache.prepare((String) args[0], (Integer) args[1], (Connection) proxy);
+                }
+            }
+            if (result == null) {
+                try {
+                    result = method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            if (queryStats != null && result instanceof Statement) {
+                // createStatement() has no SQL yet; prepareStatement() and prepareCall() get it first
+                String sql = "createStatement".equals(method.getName()) ? null : (String) args[0];
+                return InstrumentedStatement.wrap((Statement) result, sql, queryStats);
+            }
+            return result;
+        }
+    }
+}
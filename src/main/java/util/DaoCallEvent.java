@@ -0,0 +1,34 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one statement run by a DAO method, from execute until its
+ * results were read. The DAO class and method are given as fields, so the event needs no stack trace.
+ */
+@Name("sms.DaoCall")
+@Label("DAO Call")
+@Category({"School Management System", "Database"})
+@Description("A statement run by a DAO method, from execute until its results were read")
+@StackTrace(false)
+final class DaoCallEvent extends jdk.jfr.Event {
+    @Label("DAO Class")
+    String daoClass;
+
+    @Label("DAO Method")
+    String daoMethod;
+
+    @Label("SQL Template")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows read by a query, or rows affected by an update or batch")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+}
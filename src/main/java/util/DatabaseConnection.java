@@ -1,33 +1,98 @@
 package util;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 public class DatabaseConnection {
-    // Database credentials
-    private static final String URL = "jdbc:mysql://localhost:3306/sms2";
-    private static final String USER = "root";
-    private static final String PASSWORD = "8712GALAfala";
+    // Database credentials, overridable with -Dsms.db.url, -Dsms.db.user and -Dsms.db.password
+    // (the benchmarks point them at an embedded database)
+    // useServerPrepStmts lets cached statements skip parsing and planning on the server;
+    // rewriteBatchedStatements turns batched inserts into multi-row INSERTs;
+    // useCursorFetch makes statements with a fetch size (the DAOs' stream* methods) read through a server-side cursor
+    private static final String URL = System.getProperty("sms.db.url",
+            "jdbc:mysql://localhost:3306/sms2?useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true");
+    private static final String USER = System.getProperty("sms.db.user", "root");
+    private static final String PASSWORD = System.getProperty("sms.db.password", "8712GALAfala");
+
+    // Pool sizing, overridable with -Dsms.pool.* system properties
+    private static final int POOL_MIN_IDLE = Integer.getInteger("sms.pool.minIdle", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("sms.pool.maxSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("sms.pool.borrowTimeoutMs", 5_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("sms.pool.idleTimeoutMs", 300_000L);
+    // Leak tracking records the borrower's stack on every borrow, so it is off unless -Dsms.pool.leakThresholdMs is set
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("sms.pool.leakThresholdMs", 0L);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("sms.pool.statementCacheSize", 64);
+
+    // Query statistics and slow-query log (see QueryStats); -Dsms.db.instrument=false turns them off
+    private static final boolean INSTRUMENT = Boolean.parseBoolean(System.getProperty("sms.db.instrument", "true"));
+    private static final long SLOW_QUERY_MS = Long.getLong("sms.db.slowQueryMs", 250L);
+    private static final int SLOW_QUERY_LOG_SIZE = Integer.getInteger("sms.db.slowQueryLogSize", 100);
+    private static final QueryStats queryStats = createQueryStats();
 
     // ThreadLocal to hold transaction-specific connections
     private static final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+    // Actions deferred until the current transaction commits or rolls back, e.g. cache invalidations
+    private static final ThreadLocal<List<Runnable>> afterTransactionActions = new ThreadLocal<>();
+
+    private static volatile ConnectionPool pool;
 
     // Private constructor to prevent instantiation
     private DatabaseConnection() {}
 
+    /**
+     * Gets the shared connection pool, creating it on first use.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DatabaseConnection.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ConnectionPool(URL, USER, PASSWORD, POOL_MIN_IDLE, POOL_MAX_SIZE,
+                            POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS, STATEMENT_CACHE_SIZE,
+                            queryStats);
+                    pool = p;
+                    Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::shutdown, "connection-pool-shutdown"));
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Gets the statistics of the statements run through the pool.
+     *
+     * @return The query statistics, or empty if instrumentation is turned off
+     */
+    public static Optional<QueryStats> getQueryStats() {
+        return Optional.ofNullable(queryStats);
+    }
+
+    private static QueryStats createQueryStats() {
+        if (!INSTRUMENT) {
+            return null;
+        }
+        QueryStats stats = new QueryStats(SLOW_QUERY_MS, SLOW_QUERY_LOG_SIZE);
+        stats.registerMBean();
+        return stats;
+    }
+
     /**
      * Gets a database connection. Returns existing transaction connection if present.
+     * Non-transactional connections come from the pool and go back to it on close().
      */
     public static Connection getConnection() throws SQLException {
         Connection conn = transactionConnection.get();
         if (conn != null) {
-            return conn; // Return existing transaction connection
+            // DAOs close what they get; the transaction connection must survive until commit/rollback
+            return nonClosing(conn);
         }
-        // Create new non-transactional connection
-        conn = DriverManager.getConnection(URL, USER, PASSWORD);
-        conn.setAutoCommit(true); // Auto-commit enabled by default
-        return conn;
+        return getPool().borrow(); // Auto-commit enabled by default
     }
 
     /**
@@ -37,8 +102,13 @@ public class DatabaseConnection {
         if (transactionConnection.get() != null) {
             throw new SQLException("Transaction already in progress");
         }
-        Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
-        conn.setAutoCommit(false); // Disable auto-commit
+        Connection conn = getPool().borrow();
+        try {
+            conn.setAutoCommit(false); // Disable auto-commit
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
         transactionConnection.set(conn);
     }
 
@@ -74,7 +144,8 @@ public class DatabaseConnection {
     }
 
     /**
-     * Closes transaction connection and removes from ThreadLocal
+     * Returns the transaction connection to the pool, removes it from the ThreadLocal and
+     * runs the actions deferred until the transaction ended
      */
     private static void closeTransactionConnection() {
         Connection conn = transactionConnection.get();
@@ -86,9 +157,65 @@ public class DatabaseConnection {
             }
             transactionConnection.remove();
         }
+
+        List<Runnable> actions = afterTransactionActions.get();
+        if (actions != null) {
+            afterTransactionActions.remove();
+            for (Runnable action : actions) {
+                action.run();
+            }
+        }
     }
 
     public static boolean isInTransaction() {
         return transactionConnection.get() != null;
     }
+
+    /**
+     * Runs an action once the current thread's transaction has ended, or right away outside a transaction.
+     * Actions run after both commit and rollback, once the connection has been returned to the pool.
+     *
+     * @param action The action to run
+     */
+    public static void runAfterTransaction(Runnable action) {
+        if (!isInTransaction()) {
+            action.run();
+            return;
+        }
+        List<Runnable> actions = afterTransactionActions.get();
+        if (actions == null) {
+            actions = new ArrayList<>();
+            afterTransactionActions.set(actions);
+        }
+        actions.add(action);
+    }
+
+    /**
+     * Closes the connection pool. Called automatically on JVM shutdown.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * Wraps a connection so that close() is ignored.
+     */
+    private static Connection nonClosing(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
 }
\ No newline at end of file
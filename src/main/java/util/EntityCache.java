@@ -0,0 +1,255 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache used in front of the DAOs.
+ * Entries are evicted least-recently-used once the cache is full and expire after a
+ * fixed time to live. Caches are named {@code <entity>} or {@code <entity>.<view>}; all caches of
+ * an entity can be switched off with {@code -Dsms.cache.<entity>.enabled=false}, a single one with
+ * {@code -Dsms.cache.<name>.enabled=false}, and all of them with {@code -Dsms.cache.enabled=false}
+ * (the test suite does this so tests always see the database).
+ *
+ * @param <K> The key type
+ * @param <V> The cached value type
+ */
+public class EntityCache<K, V> {
+    private static final List<EntityCache<?, ?>> registry = new CopyOnWriteArrayList<>();
+    private static volatile boolean globallyEnabled =
+            Boolean.parseBoolean(System.getProperty("sms.cache.enabled", "true"));
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private volatile boolean enabled;
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped by every invalidation so loads that raced with a write are not cached
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache and registers it for diagnostics.
+     *
+     * @param name The cache name, e.g. "student" or "student.byClass"
+     * @param maxSize The maximum number of entries
+     * @param ttlMillis How long an entry stays valid after it is loaded
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        String entity = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+        this.enabled = Boolean.parseBoolean(System.getProperty("sms.cache." + entity + ".enabled", "true"))
+                && Boolean.parseBoolean(System.getProperty("sms.cache." + name + ".enabled", "true"));
+        registry.add(this);
+    }
+
+    /**
+     * Gets the value for a key, loading and caching it on a miss.
+     * Null results are returned but not cached.
+     *
+     * @param key The key to look up
+     * @param loader Loads the value from the database
+     * @return The cached or freshly loaded value, or null if the loader found nothing
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (!isEnabled()) {
+            return loader.apply(key);
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits++;
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock so a slow query does not block other lookups
+        V value = loader.apply(key);
+
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                    evictOverflow();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes one key, e.g. after the entity was updated or deleted.
+     * Inside a transaction the key is removed again when the transaction ends, since other
+     * threads still read (and may cache) the old row until the commit.
+     *
+     * @param key The key to remove
+     */
+    public void invalidate(K key) {
+        remove(key);
+        DatabaseConnection.runAfterTransaction(() -> remove(key));
+    }
+
+    /**
+     * Removes every entry, e.g. after a write that affects list results.
+     * Inside a transaction the cache is cleared again when the transaction ends.
+     */
+    public void invalidateAll() {
+        clear();
+        DatabaseConnection.runAfterTransaction(this::clear);
+    }
+
+    /**
+     * Checks whether lookups go through the cache.
+     *
+     * @return true if both this cache and caching in general are enabled
+     */
+    public boolean isEnabled() {
+        return enabled && globallyEnabled;
+    }
+
+    /**
+     * Enables or disables this cache. Disabling also drops its entries.
+     *
+     * @param enabled Whether lookups should go through the cache
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Enables or disables all caches, e.g. to bypass caching in tests.
+     *
+     * @param enabled Whether lookups should go through the caches
+     */
+    public static void setGloballyEnabled(boolean enabled) {
+        globallyEnabled = enabled;
+        if (!enabled) {
+            for (EntityCache<?, ?> cache : registry) {
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Gets all caches created so far.
+     *
+     * @return An unmodifiable view of the registered caches
+     */
+    public static List<EntityCache<?, ?>> getAllCaches() {
+        return Collections.unmodifiableList(new ArrayList<>(registry));
+    }
+
+    /**
+     * Gets the cache name.
+     *
+     * @return The name given at construction
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that went to the database.
+     *
+     * @return The miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries dropped because the cache was full.
+     *
+     * @return The eviction count
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of entries currently cached, including expired ones not yet removed.
+     *
+     * @return The cache size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: size=%d/%d, hits=%d, misses=%d, evictions=%d%s",
+                name, entries.size(), maxSize, hits, misses, evictions, isEnabled() ? "" : " (disabled)");
+    }
+
+    private synchronized void remove(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    private synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Drops expired entries first, then least recently used ones, until the cache fits.
+     */
+    private void evictOverflow() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * A cached value with its expiry time.
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
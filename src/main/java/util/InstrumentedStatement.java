@@ -0,0 +1,286 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps a statement so that every execution is recorded in {@link QueryStats}.
+ * Updates and batches are recorded when they return; queries when their result set is
+ * closed, or when the statement is closed or run again, so the rows read can be counted.
+ * A query's time ends when its first row (or the end of its rows) is read: the caller's
+ * work between rows, e.g. writing an export read through CursorSupport.stream, is not query time.
+ * Bound values are not kept, only their types. Each execution is also a {@link DaoCallEvent}
+ * for Flight Recorder, which costs nothing while no recording is running.
+ */
+final class InstrumentedStatement implements InvocationHandler {
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Statement target;
+    private final String preparedSql;
+    private final QueryStats stats;
+    private final List<String> bindTypes = new ArrayList<>();
+    private ResultSetHandler openQuery;
+
+    private InstrumentedStatement(Statement target, String preparedSql, QueryStats stats) {
+        this.target = target;
+        this.preparedSql = preparedSql;
+        this.stats = stats;
+    }
+
+    /**
+     * Wraps a statement.
+     *
+     * @param target The statement to wrap
+     * @param preparedSql The SQL the statement was prepared with, or null for a plain statement
+     * @param stats Where to record the executions
+     * @return A statement of the same kind (plain, prepared or callable) as the target
+     */
+    static Statement wrap(Statement target, String preparedSql, QueryStats stats) {
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                new InstrumentedStatement(target, preparedSql, stats));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "executeQuery":
+                return executeQuery(proxy, method, args);
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "executeBatch":
+            case "executeLargeBatch":
+            case "execute":
+                return executeUpdate(method, args);
+            case "clearParameters":
+                bindTypes.clear();
+                break;
+            case "close":
+                finishOpenQuery();
+                break;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    recordBind((Integer) args[0], name, args[1]);
+                }
+                break;
+        }
+        return call(target, method, args);
+    }
+
+    private Object executeQuery(Object proxy, Method method, Object[] args) throws Throwable {
+        finishOpenQuery();
+        String sql = templateOf(args);
+        DaoCallEvent event = new DaoCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ResultSet rs;
+        try {
+            rs = (ResultSet) call(target, method, args);
+        } catch (SQLException e) {
+            stats.recordError(sql, System.nanoTime() - start);
+            commit(event, sql, 0, true);
+            throw e;
+        }
+        openQuery = new ResultSetHandler(rs, (Statement) proxy, sql, start, new ArrayList<>(bindTypes), event);
+        return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, openQuery);
+    }
+
+    private Object executeUpdate(Method method, Object[] args) throws Throwable {
+        finishOpenQuery();
+        String sql = templateOf(args);
+        DaoCallEvent event = new DaoCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = call(target, method, args);
+        } catch (SQLException e) {
+            stats.recordError(sql, System.nanoTime() - start);
+            commit(event, sql, 0, true);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        long rows = affectedRows(result);
+        stats.recordQuery(sql, elapsed, rows, bindTypes);
+        commit(event, sql, rows, false);
+        return result;
+    }
+
+    // Plain statements get their SQL with each call; it may hold literal values
+    private String templateOf(Object[] args) {
+        if (preparedSql != null) {
+            return preparedSql;
+        }
+        return args != null && args.length > 0 && args[0] instanceof String
+                ? QueryStats.redactLiterals((String) args[0])
+                : "(unknown statement)";
+    }
+
+    private long affectedRows(Object result) throws SQLException {
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(count, 0);
+            }
+        } else if (Boolean.FALSE.equals(result)) {
+            // execute() returned an update count rather than a result set
+            rows = Math.max(target.getUpdateCount(), 0);
+        }
+        return rows;
+    }
+
+    private void recordBind(int index, String setter, Object value) {
+        while (bindTypes.size() < index) {
+            bindTypes.add("?");
+        }
+        String type = value == null || "setNull".equals(setter) ? "null" : setter.substring(3).toLowerCase();
+        if ("object".equals(type)) {
+            type = value.getClass().getSimpleName().toLowerCase();
+        }
+        bindTypes.set(index - 1, type);
+    }
+
+    private void finishOpenQuery() {
+        if (openQuery != null) {
+            openQuery.finish();
+            openQuery = null;
+        }
+    }
+
+    /**
+     * Commits a Flight Recorder event for an execution, if a recording wants it.
+     * The stack is only walked then, so this costs nothing while no recording is running.
+     */
+    private static void commit(DaoCallEvent event, String sql, long rows, boolean failed) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        StackWalker.StackFrame daoFrame = STACK_WALKER.walk(frames -> {
+            // The outermost frame of the innermost run of DAO frames is the method the caller called
+            StackWalker.StackFrame[] found = new StackWalker.StackFrame[1];
+            frames.dropWhile(frame -> !isDaoFrame(frame))
+                    .takeWhile(InstrumentedStatement::isDaoFrame)
+                    .forEach(frame -> found[0] = frame);
+            return found[0];
+        });
+        event.daoClass = daoFrame != null ? daoFrame.getClassName() : null;
+        event.daoMethod = daoFrame != null ? daoFrame.getMethodName() : null;
+        event.sql = sql;
+        event.rows = rows;
+        event.failed = failed;
+        event.commit();
+    }
+
+    // AsyncDAO only hands DAO calls to its executor
+    private static boolean isDaoFrame(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.startsWith("dao.") && !className.startsWith("dao.AsyncDAO");
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Counts the rows read from a query's result set and records the query once reading ends.
+     */
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet rs;
+        private final Statement owner;
+        private final String sql;
+        private final long start;
+        private final List<String> binds;
+        private final DaoCallEvent event;
+        private long rows;
+        private long elapsed = -1;
+        private boolean finished;
+
+        private ResultSetHandler(ResultSet rs, Statement owner, String sql, long start, List<String> binds,
+                                 DaoCallEvent event) {
+            this.rs = rs;
+            this.owner = owner;
+            this.sql = sql;
+            this.start = start;
+            this.binds = binds;
+            this.event = event;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    try {
+                        boolean hasRow = rs.next();
+                        if (elapsed < 0) {
+                            elapsed = System.nanoTime() - start;
+                        }
+                        if (hasRow) {
+                            rows++;
+                        }
+                        return hasRow;
+                    } catch (SQLException e) {
+                        fail();
+                        throw e;
+                    }
+                case "close":
+                    finish();
+                    break;
+                case "getStatement":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return call(rs, method, args);
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                stats.recordQuery(sql, elapsed >= 0 ? elapsed : System.nanoTime() - start, rows, binds);
+                commit(event, sql, rows, false);
+            }
+        }
+
+        private void fail() {
+            if (!finished) {
+                finished = true;
+                stats.recordError(sql, System.nanoTime() - start);
+                commit(event, sql, rows, true);
+            }
+        }
+    }
+}
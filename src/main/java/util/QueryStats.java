@@ -0,0 +1,362 @@
+package util;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Latency, row and error statistics for the statements the data layer runs, kept per SQL template,
+ * plus the time spent waiting for pooled connections and a log of the slowest statements.
+ * Statements are timed from execute until their result set is closed, so a query's time
+ * includes fetching and mapping its rows. Bind values never reach the statistics or the
+ * log; only their types are kept.
+ * The slow-query threshold and log size can be set with -Dsms.db.slowQueryMs and
+ * -Dsms.db.slowQueryLogSize, and all of it is readable over JMX as {@code sms:type=QueryStats}.
+ */
+public final class QueryStats implements QueryStatsMXBean {
+    /** Upper bounds of the latency histogram buckets in milliseconds; the last bucket is unbounded. */
+    public static final long[] BUCKET_LIMITS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    static final String OBJECT_NAME = "sms:type=QueryStats";
+    // Keeps statements built from literals from growing the map without bound
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OTHER_TEMPLATE = "(other statements)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final DateTimeFormatter LOG_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final LongAdder queryCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong acquireMaxNanos = new AtomicLong();
+    private final LongAdder acquireFailures = new LongAdder();
+
+    private volatile long slowQueryThresholdMillis;
+    private final int slowQueryLogSize;
+    private final ArrayDeque<String> slowQueries = new ArrayDeque<>();
+
+    /**
+     * Creates an empty set of statistics.
+     *
+     * @param slowQueryThresholdMillis The execution time from which a statement is logged as slow
+     * @param slowQueryLogSize The number of slow statements kept
+     */
+    public QueryStats(long slowQueryThresholdMillis, int slowQueryLogSize) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        this.slowQueryLogSize = slowQueryLogSize;
+    }
+
+    /**
+     * Registers these statistics with the platform MBean server.
+     * A failure is reported but does not stop the application.
+     */
+    void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Error registering query statistics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records a statement that completed.
+     *
+     * @param sql The SQL template
+     * @param nanos The time from execute until the results were read
+     * @param rows The rows read or affected
+     * @param bindTypes The types of the bound parameters, in order
+     */
+    void recordQuery(String sql, long nanos, long rows, List<String> bindTypes) {
+        queryCount.increment();
+        template(sql).record(nanos, rows);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= slowQueryThresholdMillis) {
+            String entry = LocalDateTime.now().format(LOG_TIME) + " " + formatMillis(nanos) + " ms, " + rows + " rows: "
+                    + sql + (bindTypes.isEmpty() ? "" : " binds " + bindTypes);
+            System.err.println("Slow query: " + entry);
+            synchronized (slowQueries) {
+                slowQueries.addFirst(entry);
+                while (slowQueries.size() > slowQueryLogSize) {
+                    slowQueries.removeLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a statement that failed.
+     *
+     * @param sql The SQL template
+     * @param nanos The time until it failed
+     */
+    void recordError(String sql, long nanos) {
+        queryCount.increment();
+        errorCount.increment();
+        template(sql).recordError(nanos);
+    }
+
+    /**
+     * Records a connection borrow from the pool.
+     *
+     * @param nanos The time the borrower waited
+     * @param success false if the borrow timed out or no connection could be opened
+     */
+    void recordAcquire(long nanos, boolean success) {
+        acquireCount.increment();
+        acquireNanos.add(nanos);
+        acquireMaxNanos.accumulateAndGet(nanos, Math::max);
+        if (!success) {
+            acquireFailures.increment();
+        }
+    }
+
+    /**
+     * Turns SQL with inline values into a template by replacing the literals with '?'.
+     * Used for plain statements, whose SQL is not a parameterized template already.
+     *
+     * @param sql The SQL text
+     * @return The SQL with string and number literals replaced
+     */
+    static String redactLiterals(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        return NUMBER_LITERAL.matcher(redacted).replaceAll("?");
+    }
+
+    private Template template(String sql) {
+        Template template = templates.get(sql);
+        if (template != null) {
+            return template;
+        }
+        if (templates.size() >= MAX_TEMPLATES) {
+            return templates.computeIfAbsent(OTHER_TEMPLATE, Template::new);
+        }
+        return templates.computeIfAbsent(sql, Template::new);
+    }
+
+    @Override
+    public long getQueryCount() {
+        return queryCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public List<TemplateSnapshot> getTemplates() {
+        List<TemplateSnapshot> snapshots = new ArrayList<>();
+        for (Template template : templates.values()) {
+            snapshots.add(template.snapshot());
+        }
+        snapshots.sort(Comparator.comparingDouble(TemplateSnapshot::getTotalMillis).reversed());
+        return snapshots;
+    }
+
+    @Override
+    public long getConnectionAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    @Override
+    public double getConnectionAcquireAverageMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0 : acquireNanos.sum() / (double) count / 1_000_000;
+    }
+
+    @Override
+    public double getConnectionAcquireMaxMillis() {
+        return acquireMaxNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public long getConnectionAcquireFailures() {
+        return acquireFailures.sum();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long thresholdMillis) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("Slow-query threshold cannot be negative: " + thresholdMillis);
+        }
+        this.slowQueryThresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public List<String> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    @Override
+    public void reset() {
+        templates.clear();
+        queryCount.reset();
+        errorCount.reset();
+        acquireCount.reset();
+        acquireNanos.reset();
+        acquireMaxNanos.set(0);
+        acquireFailures.reset();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Running totals for one SQL template.
+     */
+    private static final class Template {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS_MILLIS.length + 1);
+
+        private Template(String sql) {
+            this.sql = sql;
+        }
+
+        private void record(long nanos, long rowCount) {
+            count.increment();
+            rows.add(rowCount);
+            addTime(nanos);
+        }
+
+        private void recordError(long nanos) {
+            count.increment();
+            errors.increment();
+            addTime(nanos);
+        }
+
+        private void addTime(long nanos) {
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(bucketOf(nanos));
+        }
+
+        private static int bucketOf(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+                if (millis < BUCKET_LIMITS_MILLIS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_LIMITS_MILLIS.length;
+        }
+
+        private TemplateSnapshot snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new TemplateSnapshot(sql, count.sum(), errors.sum(), rows.sum(),
+                    totalNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0, counts);
+        }
+    }
+
+    /**
+     * The statistics of one SQL template at the time they were read.
+     */
+    public static final class TemplateSnapshot {
+        private final String sql;
+        private final long count;
+        private final long errors;
+        private final long rows;
+        private final double totalMillis;
+        private final double maxMillis;
+        private final long[] bucketCounts;
+
+        TemplateSnapshot(String sql, long count, long errors, long rows, double totalMillis, double maxMillis,
+                         long[] bucketCounts) {
+            this.sql = sql;
+            this.count = count;
+            this.errors = errors;
+            this.rows = rows;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+            this.bucketCounts = bucketCounts;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getTotalMillis() {
+            return totalMillis;
+        }
+
+        public double getAverageMillis() {
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * Estimates the 95th percentile from the histogram, as the upper bound of the bucket it falls in.
+         *
+         * @return The estimate in milliseconds, or the maximum if it falls in the unbounded bucket
+         */
+        public double getP95Millis() {
+            long rank = (long) Math.ceil(count * 0.95);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(BUCKET_LIMITS_MILLIS[i], maxMillis);
+                }
+            }
+            return maxMillis;
+        }
+
+        /**
+         * @return The number of executions per latency bucket; see {@link QueryStats#BUCKET_LIMITS_MILLIS}
+         */
+        public long[] getBucketCounts() {
+            return Arrays.copyOf(bucketCounts, bucketCounts.length);
+        }
+    }
+}
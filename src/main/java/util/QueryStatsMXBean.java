@@ -0,0 +1,64 @@
+package util;
+
+import java.util.List;
+
+/**
+ * JMX view of the data layer's query statistics, registered as {@code sms:type=QueryStats}.
+ */
+public interface QueryStatsMXBean {
+
+    /**
+     * @return The number of statements executed since the last reset
+     */
+    long getQueryCount();
+
+    /**
+     * @return The number of statements that failed since the last reset
+     */
+    long getErrorCount();
+
+    /**
+     * @return Statistics per SQL template, slowest total time first
+     */
+    List<QueryStats.TemplateSnapshot> getTemplates();
+
+    /**
+     * @return The number of connections borrowed from the pool since the last reset
+     */
+    long getConnectionAcquireCount();
+
+    /**
+     * @return The average time spent waiting for a pooled connection, in milliseconds
+     */
+    double getConnectionAcquireAverageMillis();
+
+    /**
+     * @return The longest time spent waiting for a pooled connection, in milliseconds
+     */
+    double getConnectionAcquireMaxMillis();
+
+    /**
+     * @return The number of borrows that timed out or failed to open a connection
+     */
+    long getConnectionAcquireFailures();
+
+    /**
+     * @return The execution time from which a statement is written to the slow-query log
+     */
+    long getSlowQueryThresholdMillis();
+
+    /**
+     * @param thresholdMillis The new slow-query threshold in milliseconds
+     */
+    void setSlowQueryThresholdMillis(long thresholdMillis);
+
+    /**
+     * @return The slow-query log, newest first, with bind values redacted
+     */
+    List<String> getSlowQueries();
+
+    /**
+     * Clears all statistics and the slow-query log.
+     */
+    void reset();
+}
@@ -0,0 +1,514 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a synthetic school of any size for performance work: teachers and their classes,
+ * parents, students, grades, absences with excuses, and homework. The same sizes, seed and term
+ * start always produce the same rows. Rows are loaded with multi-row INSERT statements, committed
+ * in chunks; on MySQL, unique and foreign key checks are switched off for the load.
+ * Every generated account can log in with {@link #PASSWORD}.
+ * Run {@link #main} to fill an empty database (see the -Dsms.db.url and -Dsms.data.* properties there).
+ */
+public final class SampleDataGenerator {
+    /** Password of every generated teacher and parent account. */
+    public static final String PASSWORD = "password";
+    /** Subjects the generated grades and homework are spread over. */
+    public static final List<String> SUBJECTS =
+            List.of("Mathematics", "English", "Science", "History", "Art", "Music", "Physical Education");
+
+    // BCrypt hash of PASSWORD at AuthenticationService's cost; fixed so every run writes the same rows
+    private static final String PASSWORD_HASH = "$2a$12$4USPvzGlNIwLJ6VXgRrCBOsBFZtFFR3BcFC1U64LhPkD1goZKRshe";
+
+    // Rows per INSERT statement (-Dsms.data.rowsPerInsert) and per transaction
+    private static final int ROWS_PER_INSERT = Integer.getInteger("sms.data.rowsPerInsert", 1000);
+    private static final int ROWS_PER_COMMIT = 50_000;
+    private static final int TERM_DAYS = 180;
+
+    private static final String[] FIRST_NAMES = {"Emily", "Jacob", "Olivia", "Liam", "Mia", "Noah", "Sophie", "Ethan",
+            "Ana", "Marko", "Ivan", "Lucia", "Wei", "Fatima", "Priya", "Carlos", "Luca", "Amira", "Jonas", "Elena"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Garcia", "Williams", "Lee", "Brown",
+            "Wilson", "Taylor", "Moore", "Anderson", "Hassan", "Chen", "Martin", "Rossi", "Patel", "Horvat", "Novak"};
+    private static final String[] STREETS = {"Maple St", "Oak Rd", "Pine Ave", "Birch Ln", "Cedar Blvd", "Elm St",
+            "School Rd", "Park Ave", "River Ln", "Hill St"};
+    private static final String[] ABSENCE_REASONS = {"Sick with flu", "Dental appointment", "Family trip",
+            "Sports event", "Allergy symptoms", "Doctor's appointment", "Unknown"};
+    private static final String[] EXCUSES = {"Doctor's note", "Parent email", "Coach's note for tournament",
+            "Appointment confirmation", "Prescription copy"};
+
+    // Table definitions for an empty database; existing tables are left as they are
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS user (user_id INT AUTO_INCREMENT PRIMARY KEY, fullName VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(100) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, accountType VARCHAR(20) NOT NULL, "
+                    + "address VARCHAR(255), phone_number VARCHAR(15))",
+            "CREATE TABLE IF NOT EXISTS class_group (class_id INT AUTO_INCREMENT PRIMARY KEY, size INT NOT NULL, "
+                    + "year INT NOT NULL, room_number INT NOT NULL, teacher_id INT)",
+            "CREATE TABLE IF NOT EXISTS parent (parent_id INT AUTO_INCREMENT PRIMARY KEY, user_id INT NOT NULL, "
+                    + "no_children INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS teacher (teacher_id INT AUTO_INCREMENT PRIMARY KEY, user_id INT NOT NULL, class_id INT)",
+            "CREATE TABLE IF NOT EXISTS student (student_id INT AUTO_INCREMENT PRIMARY KEY, class_id INT NOT NULL, "
+                    + "f_name VARCHAR(50) NOT NULL, l_name VARCHAR(50) NOT NULL, address VARCHAR(255), parent_id INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS grade (grade_id INT AUTO_INCREMENT PRIMARY KEY, mark CHAR(1) NOT NULL, "
+                    + "subject VARCHAR(50) NOT NULL, student_id INT NOT NULL, grade_date DATE NOT NULL, comment TEXT, "
+                    + "teacher_id INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS absence (absence_id INT AUTO_INCREMENT PRIMARY KEY, student_id INT NOT NULL, "
+                    + "absence_date DATE NOT NULL, description TEXT, status BOOLEAN NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS homework (homework_id INT AUTO_INCREMENT PRIMARY KEY, assignment_date DATE NOT NULL, "
+                    + "due_date DATE NOT NULL, class_id INT NOT NULL, description TEXT NOT NULL, status BOOLEAN NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS excuse (excuse_id INT AUTO_INCREMENT PRIMARY KEY, e_date DATE NOT NULL, "
+                    + "description TEXT, student_id INT NOT NULL, absence_id INT NOT NULL)"
+    };
+
+    // The tables the generator fills, as created by SCHEMA
+    private static final String[] TABLES =
+            {"user", "class_group", "parent", "teacher", "student", "grade", "absence", "homework", "excuse"};
+
+    private final int classes;
+    private final int students;
+    private final int grades;
+    private final int absences;
+    private final int homework;
+    private final long seed;
+    private final LocalDate termStart;
+
+    /**
+     * Creates a generator for a school of the given size.
+     * Students, grades, absences and homework are spread evenly over the classes and students.
+     *
+     * @param classes The number of classes, each with its own teacher
+     * @param students The number of students; parents are 70% of this, some with several children
+     * @param grades The number of grades
+     * @param absences The number of absences; about half of the excused ones get an excuse
+     * @param homework The number of homework assignments
+     * @param seed The random seed
+     * @param termStart The first day of the term; dates fall in the 180 days after it
+     */
+    public SampleDataGenerator(int classes, int students, int grades, int absences, int homework,
+                               long seed, LocalDate termStart) {
+        if (classes < 1 || students < 1 || grades < 0 || absences < 0 || homework < 0) {
+            throw new IllegalArgumentException("A school needs at least one class and one student");
+        }
+        this.classes = classes;
+        this.students = students;
+        this.grades = grades;
+        this.absences = absences;
+        this.homework = homework;
+        this.seed = seed;
+        this.termStart = termStart;
+    }
+
+    /**
+     * Generates the school configured with -Dsms.data.classes, students, grades, absences, homework,
+     * seed and termStart (an ISO date). The defaults are a large school: 500 classes, 15,000 students,
+     * 2,000,000 grades, 500,000 absences and 100,000 homework assignments, in a term that ends today.
+     * Tables missing from the database are created; the indexes are added by the schema migrations
+     * after the load, which is faster than maintaining them row by row.
+     * <p>
+     * Every generated account has the same known password, so the target database must be chosen on
+     * purpose: with -Dsms.db.url, or with -Dsms.data.confirm=true for the application's own database.
+     * A database that already has rows is refused unless -Dsms.data.append=true is given.
+     *
+     * @param args Ignored
+     */
+    public static void main(String[] args) {
+        if (System.getProperty("sms.db.url") == null && !Boolean.getBoolean("sms.data.confirm")) {
+            System.err.println("Refusing to load sample data into the application's database. Name the target with "
+                    + "-Dsms.db.url, or pass -Dsms.data.confirm=true to use the configured database.");
+            System.exit(2);
+        }
+        // The statistics would log every bulk insert as a slow query
+        if (System.getProperty("sms.db.instrument") == null) {
+            System.setProperty("sms.db.instrument", "false");
+        }
+        String termStart = System.getProperty("sms.data.termStart");
+        SampleDataGenerator generator = new SampleDataGenerator(
+                Integer.getInteger("sms.data.classes", 500),
+                Integer.getInteger("sms.data.students", 15_000),
+                Integer.getInteger("sms.data.grades", 2_000_000),
+                Integer.getInteger("sms.data.absences", 500_000),
+                Integer.getInteger("sms.data.homework", 100_000),
+                Long.getLong("sms.data.seed", 42L),
+                termStart != null ? LocalDate.parse(termStart) : LocalDate.now().minusDays(TERM_DAYS));
+
+        long start = System.nanoTime();
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            if (hasRows(connection) && !Boolean.getBoolean("sms.data.append")) {
+                System.err.println("Refusing to load sample data into a database that already has rows. "
+                        + "Pass -Dsms.data.append=true to add the school after them.");
+                System.exit(2);
+            }
+            createSchema(connection);
+            Map<String, Integer> rows = generator.generate(connection);
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            long total = rows.values().stream().mapToLong(Integer::longValue).sum();
+            rows.forEach((table, count) -> System.out.println(String.format("%,12d %s", count, table)));
+            System.out.println(String.format("Loaded %,d rows in %.1f s (%,d rows/s)",
+                    total, millis / 1000.0, total * 1000 / millis));
+        } catch (SQLException e) {
+            System.err.println("Error generating sample data: " + e.getMessage());
+            System.exit(1);
+        }
+        SchemaMigrator.migrate();
+        System.exit(0);
+    }
+
+    /**
+     * Creates the application's tables that do not exist yet, without indexes beyond the keys.
+     *
+     * @param connection The connection to use
+     * @throws SQLException If a table cannot be created
+     */
+    public static void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Checks whether any of the tables the generator fills exists and has rows.
+     *
+     * @param connection The connection to use
+     * @return true if the database already holds school data
+     * @throws SQLException If a table cannot be read
+     */
+    public static boolean hasRows(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : TABLES) {
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, table, new String[]{"TABLE"})) {
+                if (!tables.next()) {
+                    continue;
+                }
+            }
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT 1 FROM " + table + " LIMIT 1")) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the last day of the term, the day the data is generated "as of": homework due
+     * before it is mostly done.
+     *
+     * @return The term end
+     */
+    public LocalDate termEnd() {
+        return termStart.plusDays(TERM_DAYS);
+    }
+
+    /**
+     * Inserts the school. Rows are added after any already in the tables, so the generated IDs
+     * start after the highest existing ones; in an empty database they start at 1, classes and
+     * teachers share IDs, and the students of class 1 come first.
+     * The connection is left in auto-commit mode. If the load fails, the chunks committed
+     * before the failure stay in the database.
+     *
+     * @param connection The connection to load through
+     * @return The number of rows inserted per table, in load order
+     * @throws SQLException If a database access error occurs
+     */
+    public Map<String, Integer> generate(Connection connection) throws SQLException {
+        boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        boolean autoCommit = connection.getAutoCommit();
+        Loader loader = new Loader(connection);
+        connection.setAutoCommit(false);
+        try {
+            if (mysql) {
+                setChecks(connection, false);
+            }
+            load(loader, new Random(seed));
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            if (mysql) {
+                setChecks(connection, true);
+            }
+            connection.setAutoCommit(autoCommit);
+        }
+        return loader.rows;
+    }
+
+    private void load(Loader loader, Random random) throws SQLException {
+        int firstUser = loader.maxId("user", "user_id") + 1;
+        int firstClass = loader.maxId("class_group", "class_id") + 1;
+        int firstTeacher = loader.maxId("teacher", "teacher_id") + 1;
+        int firstParent = loader.maxId("parent", "parent_id") + 1;
+        int firstStudent = loader.maxId("student", "student_id") + 1;
+        int firstAbsence = loader.maxId("absence", "absence_id") + 1;
+        int firstParentUser = firstUser + classes;
+        int parents = Math.max(1, students * 7 / 10);
+        LocalDate today = termEnd();
+
+        // Every parent has a child; the remaining students are siblings, spread over the school
+        int[] parentOf = new int[students];
+        for (int s = 0; s < students; s++) {
+            parentOf[s] = s < parents ? s : random.nextInt(parents);
+        }
+        for (int s = students - 1; s > 0; s--) {
+            int other = random.nextInt(s + 1);
+            int parent = parentOf[s];
+            parentOf[s] = parentOf[other];
+            parentOf[other] = parent;
+        }
+        int[] children = new int[parents];
+        for (int parent : parentOf) {
+            children[parent]++;
+        }
+        // Children take their parent's last name
+        int[] familyName = new int[parents];
+
+        try (Loader.Insert users = loader.into("user",
+                "user_id", "fullName", "email", "password", "accountType", "address", "phone_number")) {
+            for (int t = 0; t < classes; t++) {
+                addUser(users, random, firstUser + t, random.nextInt(LAST_NAMES.length), "teacher", "school.test",
+                        (100 + t) + " Teachers Blvd");
+            }
+            for (int p = 0; p < parents; p++) {
+                familyName[p] = random.nextInt(LAST_NAMES.length);
+                addUser(users, random, firstParentUser + p, familyName[p], "parent", "home.test", address(p));
+            }
+        }
+
+        try (Loader.Insert classRows = loader.into("class_group", "class_id", "size", "year", "room_number", "teacher_id");
+             Loader.Insert teachers = loader.into("teacher", "teacher_id", "user_id", "class_id")) {
+            for (int c = 0; c < classes; c++) {
+                classRows.add(firstClass + c, share(students, classes, c), termStart.getYear(), 101 + c, firstTeacher + c);
+                teachers.add(firstTeacher + c, firstUser + c, firstClass + c);
+            }
+        }
+
+        try (Loader.Insert parentRows = loader.into("parent", "parent_id", "user_id", "no_children")) {
+            for (int p = 0; p < parents; p++) {
+                parentRows.add(firstParent + p, firstParentUser + p, children[p]);
+            }
+        }
+
+        try (Loader.Insert studentRows = loader.into("student",
+                "student_id", "class_id", "f_name", "l_name", "address", "parent_id")) {
+            int s = 0;
+            for (int c = 0; c < classes; c++) {
+                for (int i = share(students, classes, c); i > 0; i--, s++) {
+                    int parent = parentOf[s];
+                    studentRows.add(firstStudent + s, firstClass + c, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                            LAST_NAMES[familyName[parent]], address(parent), firstParent + parent);
+                }
+            }
+        }
+
+        try (Loader.Insert gradeRows = loader.into("grade",
+                "mark", "subject", "student_id", "grade_date", "comment", "teacher_id")) {
+            int s = 0;
+            for (int c = 0; c < classes; c++) {
+                for (int i = share(students, classes, c); i > 0; i--, s++) {
+                    for (int g = share(grades, students, s); g > 0; g--) {
+                        gradeRows.add(String.valueOf(randomMark(random)), randomSubject(random), firstStudent + s,
+                                randomTermDay(random), random.nextInt(3) == 0 ? null : "Comment on test " + g,
+                                firstTeacher + c);
+                    }
+                }
+            }
+        }
+
+        // Excuses refer to absences, so which absences get one is kept until the absences are in
+        BitSet excused = new BitSet(absences);
+        int[] absenceStudent = new int[absences];
+        int[] absenceDay = new int[absences];
+        try (Loader.Insert absenceRows = loader.into("absence",
+                "absence_id", "student_id", "absence_date", "description", "status")) {
+            int a = 0;
+            for (int s = 0; s < students; s++) {
+                for (int i = share(absences, students, s); i > 0; i--, a++) {
+                    boolean approved = random.nextInt(10) < 6;
+                    absenceStudent[a] = firstStudent + s;
+                    absenceDay[a] = random.nextInt(TERM_DAYS + 1);
+                    excused.set(a, approved && random.nextBoolean());
+                    absenceRows.add(firstAbsence + a, absenceStudent[a], java.sql.Date.valueOf(termStart.plusDays(absenceDay[a])),
+                            ABSENCE_REASONS[random.nextInt(ABSENCE_REASONS.length)], approved);
+                }
+            }
+        }
+
+        try (Loader.Insert excuseRows = loader.into("excuse", "e_date", "description", "student_id", "absence_id")) {
+            for (int a = excused.nextSetBit(0); a >= 0; a = excused.nextSetBit(a + 1)) {
+                excuseRows.add(java.sql.Date.valueOf(termStart.plusDays(absenceDay[a] + 1 + random.nextInt(3))),
+                        EXCUSES[random.nextInt(EXCUSES.length)], absenceStudent[a], firstAbsence + a);
+            }
+        }
+
+        try (Loader.Insert homeworkRows = loader.into("homework",
+                "assignment_date", "due_date", "class_id", "description", "status")) {
+            for (int c = 0; c < classes; c++) {
+                for (int h = share(homework, classes, c); h > 0; h--) {
+                    // Assigned over the term and the next two weeks, due a week later
+                    LocalDate assigned = termStart.plusDays(random.nextInt(TERM_DAYS + 15));
+                    LocalDate due = assigned.plusDays(7);
+                    homeworkRows.add(java.sql.Date.valueOf(assigned), java.sql.Date.valueOf(due), firstClass + c,
+                            randomSubject(random) + " exercises " + h, due.isBefore(today) && random.nextInt(10) < 9);
+                }
+            }
+        }
+    }
+
+    private static void addUser(Loader.Insert users, Random random, int userId, int lastName, String accountType,
+                                String domain, String address) throws SQLException {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        // The user ID keeps the email unique
+        String email = (firstName + "." + LAST_NAMES[lastName] + "." + userId + "@" + domain).toLowerCase();
+        users.add(userId, firstName + " " + LAST_NAMES[lastName], email, PASSWORD_HASH, accountType, address,
+                String.format("555-%04d", random.nextInt(10_000)));
+    }
+
+    private static String address(int parent) {
+        return (1 + parent % 999) + " " + STREETS[(parent / 999) % STREETS.length];
+    }
+
+    // Mostly good marks, as in a real grade book
+    private static char randomMark(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 25 ? 'A' : roll < 55 ? 'B' : roll < 80 ? 'C' : roll < 92 ? 'D' : 'F';
+    }
+
+    private static String randomSubject(Random random) {
+        return SUBJECTS.get(random.nextInt(SUBJECTS.size()));
+    }
+
+    private java.sql.Date randomTermDay(Random random) {
+        return java.sql.Date.valueOf(termStart.plusDays(random.nextInt(TERM_DAYS + 1)));
+    }
+
+    /**
+     * Splits a total evenly over buckets, the first buckets taking the remainder.
+     *
+     * @return The number of items in the given bucket
+     */
+    private static int share(int total, int buckets, int bucket) {
+        return total / buckets + (bucket < total % buckets ? 1 : 0);
+    }
+
+    private static void setChecks(Connection connection, boolean enabled) throws SQLException {
+        int value = enabled ? 1 : 0;
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET unique_checks = " + value + ", foreign_key_checks = " + value);
+        }
+    }
+
+    /**
+     * Sends rows as multi-row INSERT statements and commits every ROWS_PER_COMMIT rows.
+     */
+    private static final class Loader {
+        private final Connection connection;
+        private final Map<String, Integer> rows = new LinkedHashMap<>();
+        private int uncommitted;
+
+        private Loader(Connection connection) {
+            this.connection = connection;
+        }
+
+        private int maxId(String table, String idColumn) throws SQLException {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+
+        private Insert into(String table, String... columns) {
+            return new Insert(table, columns);
+        }
+
+        /**
+         * Buffers the rows of one table and inserts them ROWS_PER_INSERT at a time.
+         */
+        private final class Insert implements AutoCloseable {
+            private final String table;
+            private final String columns;
+            private final int width;
+            private final Object[] values;
+            private PreparedStatement fullStatement;
+            private int buffered;
+
+            private Insert(String table, String[] columns) {
+                this.table = table;
+                this.columns = String.join(", ", columns);
+                this.width = columns.length;
+                this.values = new Object[ROWS_PER_INSERT * width];
+                rows.put(table, 0);
+            }
+
+            void add(Object... row) throws SQLException {
+                System.arraycopy(row, 0, values, buffered * width, width);
+                if (++buffered == ROWS_PER_INSERT) {
+                    flush();
+                }
+            }
+
+            private void flush() throws SQLException {
+                if (buffered == 0) {
+                    return;
+                }
+                if (buffered == ROWS_PER_INSERT) {
+                    if (fullStatement == null) {
+                        fullStatement = connection.prepareStatement(insertSql(buffered));
+                    }
+                    execute(fullStatement);
+                } else {
+                    try (PreparedStatement tail = connection.prepareStatement(insertSql(buffered))) {
+                        execute(tail);
+                    }
+                }
+                rows.merge(table, buffered, Integer::sum);
+                uncommitted += buffered;
+                buffered = 0;
+                if (uncommitted >= ROWS_PER_COMMIT) {
+                    connection.commit();
+                    uncommitted = 0;
+                }
+            }
+
+            private void execute(PreparedStatement ps) throws SQLException {
+                for (int i = 0; i < buffered * width; i++) {
+                    ps.setObject(i + 1, values[i]);
+                }
+                ps.executeUpdate();
+            }
+
+            private String insertSql(int rowCount) {
+                String row = "(" + "?, ".repeat(width - 1) + "?)";
+                StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                        .append(" (").append(columns).append(") VALUES ").append(row);
+                for (int i = 1; i < rowCount; i++) {
+                    sql.append(", ").append(row);
+                }
+                return sql.toString();
+            }
+
+            @Override
+            public void close() throws SQLException {
+                try {
+                    flush();
+                } finally {
+                    if (fullStatement != null) {
+                        fullStatement.close();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package util;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies versioned schema migrations to the database on startup.
+ * Applied versions are recorded in the schema_version table, so each migration runs once.
+ * A MySQL named lock keeps two starting clients from migrating at the same time.
+ * Set -Dsms.migrate=false to skip migrations, e.g. when the database user may not run DDL.
+ */
+public class SchemaMigrator {
+    private static final String LOCK_NAME = "sms_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+    private static final String CREATE_VERSION_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INT NOT NULL PRIMARY KEY, " +
+                    "description VARCHAR(255) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+    private static final String SELECT_VERSION_SQL = "SELECT COALESCE(MAX(version), 0) FROM schema_version";
+    private static final String INSERT_VERSION_SQL = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+    private static final String SELECT_INDEXES_SQL =
+            "SELECT index_name, GROUP_CONCAT(column_name ORDER BY seq_in_index) AS columns " +
+                    "FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = ? GROUP BY index_name";
+
+    // Migrations in version order; append new ones, never edit or reorder applied ones
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Indexes for the DAO access paths",
+                    // Grade lookups by student and teacher also cover AVG(mark) without reading rows
+                    new IndexSpec("grade", "idx_grade_student_mark", "student_id", "mark"),
+                    new IndexSpec("grade", "idx_grade_teacher_mark", "teacher_id", "mark"),
+                    new IndexSpec("grade", "idx_grade_subject", "subject"),
+                    new IndexSpec("absence", "idx_absence_student_date", "student_id", "absence_date"),
+                    new IndexSpec("absence", "idx_absence_status", "status"),
+                    new IndexSpec("homework", "idx_homework_class", "class_id"),
+                    // Equality column first so the overdue query (status = false AND due_date < ?) is one range
+                    new IndexSpec("homework", "idx_homework_status_due", "status", "due_date"),
+                    new IndexSpec("student", "idx_student_class", "class_id"),
+                    new IndexSpec("student", "idx_student_parent", "parent_id"),
+                    new IndexSpec("teacher", "idx_teacher_user", "user_id"),
+                    new IndexSpec("teacher", "idx_teacher_class", "class_id"),
+                    new IndexSpec("parent", "idx_parent_user", "user_id"),
+                    new IndexSpec("class_group", "idx_class_group_teacher", "teacher_id"),
+                    new IndexSpec("user", "idx_user_account_type", "accountType")),
+            new Migration(2, "Indexes for the excuse lookups",
+                    new IndexSpec("excuse", "idx_excuse_absence", "absence_id"),
+                    // Covers the newest-first order of a student's excuses
+                    new IndexSpec("excuse", "idx_excuse_student_date", "student_id", "e_date"))
+    );
+
+    // Private constructor to prevent instantiation
+    private SchemaMigrator() {}
+
+    /**
+     * Brings the schema up to the latest version, unless disabled with -Dsms.migrate=false.
+     * Errors are reported but not thrown, so the application still starts on an older schema.
+     *
+     * @return The number of migrations applied
+     */
+    public static int migrate() {
+        if (!Boolean.parseBoolean(System.getProperty("sms.migrate", "true"))) {
+            return 0;
+        }
+        try {
+            return migrateOrThrow();
+        } catch (SQLException e) {
+            System.err.println("Error migrating database schema: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Brings the schema up to the latest version.
+     *
+     * @return The number of migrations applied
+     * @throws SQLException If a migration fails; migrations before it stay applied
+     */
+    public static int migrateOrThrow() throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            if (!acquireLock(connection)) {
+                throw new SQLException("Timed out waiting for another client to finish migrating");
+            }
+            try {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(CREATE_VERSION_TABLE_SQL);
+                }
+
+                int current = getCurrentVersion(connection);
+                int applied = 0;
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version <= current) {
+                        continue;
+                    }
+                    // MySQL commits DDL implicitly, so each step is made safe to repeat instead
+                    for (IndexSpec index : migration.indexes) {
+                        createIndexIfMissing(connection, index);
+                    }
+                    try (PreparedStatement ps = connection.prepareStatement(INSERT_VERSION_SQL)) {
+                        ps.setInt(1, migration.version);
+                        ps.setString(2, migration.description);
+                        ps.executeUpdate();
+                    }
+                    System.out.println("Applied schema migration " + migration.version + ": " + migration.description);
+                    applied++;
+                }
+                return applied;
+            } finally {
+                releaseLock(connection);
+            }
+        }
+    }
+
+    /**
+     * Gets the latest applied schema version.
+     *
+     * @return The version, or 0 if no migration has been applied yet
+     * @throws SQLException If a database access error occurs
+     */
+    public static int getCurrentVersion() throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            return getCurrentVersion(connection);
+        }
+    }
+
+    /**
+     * Gets the version the migrations in this build bring the schema to.
+     *
+     * @return The latest migration version
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Gets the CREATE INDEX statements of every migration, in order, for a database that is
+     * created from scratch instead of migrated, such as the benchmarks' embedded database.
+     *
+     * @return The statements
+     */
+    public static List<String> getIndexStatements() {
+        List<String> statements = new ArrayList<>();
+        for (Migration migration : MIGRATIONS) {
+            for (IndexSpec index : migration.indexes) {
+                statements.add(createIndexSql(index));
+            }
+        }
+        return statements;
+    }
+
+    private static int getCurrentVersion(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_VERSION_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Creates an index unless one with the same name or the same columns already exists
+     * (a foreign key may already have created an equivalent one).
+     */
+    private static void createIndexIfMissing(Connection connection, IndexSpec index) throws SQLException {
+        String columns = String.join(",", index.columns);
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_INDEXES_SQL)) {
+            ps.setString(1, index.table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (index.name.equalsIgnoreCase(rs.getString("index_name"))
+                            || columns.equalsIgnoreCase(rs.getString("columns"))) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(createIndexSql(index));
+        }
+    }
+
+    private static String createIndexSql(IndexSpec index) {
+        return "CREATE INDEX " + index.name + " ON `" + index.table + "` (" + String.join(",", index.columns) + ")";
+    }
+
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Error releasing schema migration lock: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One schema version: a set of indexes to create.
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<IndexSpec> indexes;
+
+        private Migration(int version, String description, IndexSpec... indexes) {
+            this.version = version;
+            this.description = description;
+            this.indexes = new ArrayList<>(Arrays.asList(indexes));
+        }
+    }
+
+    /**
+     * An index on one table.
+     */
+    private static final class IndexSpec {
+        private final String table;
+        private final String name;
+        private final String[] columns;
+
+        private IndexSpec(String table, String name, String... columns) {
+            this.table = table;
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for a single physical connection.
+ * Statements handed out are proxies whose close() clears their parameters, restores
+ * the fetch size, max rows and query timeout a borrower may have changed, and
+ * parks them back in the cache, so the DAOs' try-with-resources blocks keep working
+ * while the driver (and, with useServerPrepStmts, the server) keeps the parsed plan.
+ */
+final class StatementCache {
+    private final Connection physical;
+    private final int maxSize;
+    private final AtomicLong poolHits;
+    private final AtomicLong poolMisses;
+    private long hits;
+    private long misses;
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a statement cache for one physical connection.
+     *
+     * @param physical The physical connection statements are prepared on
+     * @param maxSize The maximum number of cached statements
+     * @param poolHits Pool-wide hit counter to update alongside this cache's own
+     * @param poolMisses Pool-wide miss counter to update alongside this cache's own
+     */
+    StatementCache(Connection physical, int maxSize, AtomicLong poolHits, AtomicLong poolMisses) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.poolHits = poolHits;
+        this.poolMisses = poolMisses;
+    }
+
+    /**
+     * Gets a prepared statement for the given SQL, reusing a cached one when it is free.
+     *
+     * @param sql The SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @param owner The connection handle that getConnection() on the statement should report
+     * @return A prepared statement; closing it returns it to the cache
+     * @throws SQLException If the statement cannot be prepared
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection owner) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : "N:" + sql;
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse) {
+            hits++;
+            poolHits.incrementAndGet();
+            cached.inUse = true;
+            return cached.newHandle(owner);
+        }
+
+        misses++;
+        poolMisses.incrementAndGet();
+        PreparedStatement ps = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (cached != null) {
+            // Same SQL already checked out on this connection (nested use); hand out an uncached statement
+            return ps;
+        }
+
+        try {
+            cached = new CachedStatement(ps);
+        } catch (SQLException e) {
+            closeQuietly(ps);
+            throw e;
+        }
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.newHandle(owner);
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return The hit count
+     */
+    synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that had to prepare a new statement.
+     *
+     * @return The miss count
+     */
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of statements currently cached.
+     *
+     * @return The cache size
+     */
+    synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes every cached statement. Used when the physical connection leaves the pool.
+     */
+    synchronized void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            closeQuietly(cached.statement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * Drops least recently used statements that are not checked out until the cache fits.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> it = statements.entrySet().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next().getValue();
+            if (eldest.inUse) {
+                // Closed (not cached) when its borrower is done with it
+                eldest.evicted = true;
+            } else {
+                closeQuietly(eldest.statement);
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Called when a borrower closes its statement handle.
+     *
+     * @param cached The statement being given back
+     */
+    private synchronized void giveBack(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            closeQuietly(cached.statement);
+            return;
+        }
+        try {
+            cached.statement.clearParameters();
+            cached.statement.clearBatch();
+            cached.restoreSettings();
+        } catch (SQLException e) {
+            // A statement that cannot be reset is not safe to reuse
+            statements.values().remove(cached);
+            closeQuietly(cached.statement);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A physical prepared statement owned by the cache.
+     */
+    private final class CachedStatement {
+        private final PreparedStatement statement;
+        // The settings the driver prepared it with, so the next borrower does not inherit a change
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        private void restoreSettings() throws SQLException {
+            // Max rows first: some drivers reject a fetch size larger than the current max rows
+            if (statement.getMaxRows() != maxRows) {
+                statement.setMaxRows(maxRows);
+            }
+            if (statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (statement.getQueryTimeout() != queryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+
+        private PreparedStatement newHandle(Connection owner) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Handle(this, owner));
+        }
+    }
+
+    /**
+     * Invocation handler behind a checked-out statement.
+     */
+    private final class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        private boolean closed;
+
+        private Handle(CachedStatement cached, Connection owner) {
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack(cached);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
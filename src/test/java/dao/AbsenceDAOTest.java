@@ -1,12 +1,14 @@
 package dao;
 
 import model.Absence;
+import model.Excuse;
 import org.junit.jupiter.api.*;
 import util.DatabaseConnection;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -109,6 +111,15 @@ public class AbsenceDAOTest {
                 "Absences list should contain test absence");
     }
 
+    @Test
+    public void testGetAbsencesPageAndStream() throws SQLException {
+        // Test that paging and streaming both return every absence once, in ID order
+        List<Absence> paged = PagingAssertions.assertPagingMatchesStream(absenceDAO::getAbsencesPage, absenceDAO::streamAllAbsences,
+                Absence::getAbsenceId, absenceDAO.getAllAbsences().size(), "absences");
+        assertTrue(paged.stream().anyMatch(a -> a.getAbsenceId() == testAbsenceId),
+                "Paged absences should contain test absence");
+    }
+
     @Test
     public void testGetAbsencesByStudent() {
         // Test retrieving absences by student
@@ -216,4 +227,69 @@ public class AbsenceDAOTest {
             fail("Exception while testing absence count: " + e.getMessage());
         }
     }
+
+    @Test
+    public void testAddAbsences() throws SQLException {
+        // Test recording several absences in one batch
+        List<Absence> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new Absence(testStudentId, new Date(), "Sick leave", false));
+        }
+
+        List<Integer> ids = absenceDAO.addAbsences(batch);
+
+        assertEquals(batch.size(), ids.size(), "An ID should be returned for every absence");
+        for (int id : ids) {
+            assertTrue(absenceDAO.getAbsenceById(id).isPresent(), "Batched absence should exist");
+        }
+    }
+
+    @Test
+    public void testUpsertAbsences() throws SQLException {
+        // Test saving a roll call: one new absence, one changed absence and one removal
+        Absence toRemove = new Absence(testStudentId, new Date(), "Sick leave", false);
+        int removeId = absenceDAO.addAbsence(toRemove);
+
+        Absence existing = absenceDAO.getAbsenceById(testAbsenceId).orElseThrow();
+        existing.setStatus(true);
+        Absence added = new Absence(testStudentId, new Date(), "Sick leave", false);
+
+        List<Absence> upserts = new ArrayList<>();
+        upserts.add(existing);
+        upserts.add(added);
+        List<Integer> removals = new ArrayList<>();
+        removals.add(removeId);
+
+        List<Integer> ids = absenceDAO.upsertAbsences(upserts, removals);
+
+        assertEquals(2, ids.size(), "An ID should be returned for every saved absence");
+        assertEquals(testAbsenceId, ids.get(0), "Updated absence should keep its ID");
+        assertTrue(absenceDAO.getAbsenceById(testAbsenceId).orElseThrow().isStatus(), "Existing absence should be excused");
+        assertTrue(absenceDAO.getAbsenceById(ids.get(1)).isPresent(), "New absence should exist");
+        assertFalse(absenceDAO.getAbsenceById(removeId).isPresent(), "Removed absence should be deleted");
+    }
+
+    @Test
+    public void testUpsertAbsencesDeletesExcuses() throws SQLException {
+        // Test that removing an excused absence also removes its excuse
+        ExcuseDAO excuseDAO = new ExcuseDAO();
+        excuseDAO.submitExcuse(new Excuse(new Date(), "Sick leave", testStudentId, testAbsenceId));
+
+        absenceDAO.upsertAbsences(new ArrayList<>(), List.of(testAbsenceId));
+
+        assertFalse(absenceDAO.getAbsenceById(testAbsenceId).isPresent(), "Removed absence should be deleted");
+        assertFalse(excuseDAO.getExcuseByAbsence(testAbsenceId).isPresent(), "Its excuse should be deleted");
+    }
+
+    @Test
+    public void testGetAbsencesByClassAndDate() {
+        // The test absence was recorded yesterday for a student of class 1
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+
+        List<Absence> absences = absenceDAO.getAbsencesByClassAndDate(1, calendar.getTime());
+
+        assertTrue(absences.stream().anyMatch(a -> a.getAbsenceId() == testAbsenceId),
+                "Class roll call should contain test absence");
+    }
 }
\ No newline at end of file
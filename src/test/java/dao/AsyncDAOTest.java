@@ -0,0 +1,93 @@
+package dao;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AsyncDAO.
+ * Uses plain tasks instead of DAO calls, so it does not need a database.
+ */
+public class AsyncDAOTest {
+
+    @Test
+    public void testSupplyReturnsResultFromWorkerThread() throws Exception {
+        String caller = Thread.currentThread().getName();
+        String worker = AsyncDAO.supply(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertNotEquals(caller, worker, "Call should run on a worker thread");
+        assertTrue(worker.startsWith("dao-async-"), "Worker thread should be named after the facade");
+    }
+
+    @Test
+    public void testExceptionCompletesFutureExceptionally() {
+        CompletableFuture<Object> future = AsyncDAO.supply(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause(), "Original exception should be the cause");
+    }
+
+    @Test
+    public void testTimeoutInterruptsRunningCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Object> future = AsyncDAO.supply(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }, 50, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause(), "Future should time out");
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Timed-out call should be interrupted");
+    }
+
+    @Test
+    public void testCancelInterruptsRunningCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Object> future = AsyncDAO.supply(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }, 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Call should start");
+        future.cancel(true);
+
+        assertTrue(future.isCancelled(), "Future should be cancelled");
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Cancelled call should be interrupted");
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() throws Exception {
+        int limit = AsyncDAO.getMaxConcurrency();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[limit * 3];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = AsyncDAO.supply(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return null;
+            });
+        }
+        CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+        assertTrue(maxRunning.get() <= limit, "No more than " + limit + " calls should run at once");
+        assertTrue(maxRunning.get() > 1, "Independent calls should run in parallel");
+    }
+}
@@ -0,0 +1,140 @@
+package dao;
+
+import model.Absence;
+import model.DashboardStatsDTO;
+import model.Grade;
+import model.Homework;
+import model.Student;
+import org.junit.jupiter.api.*;
+import util.DatabaseConnection;
+import util.EntityCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DashboardStatsDAO.
+ * Uses JUnit 5 (Jupiter) for testing the DashboardStatsDAO methods.
+ */
+public class DashboardStatsDAOTest {
+
+    private DashboardStatsDAO dashboardStatsDAO;
+    private GradeDAO gradeDAO;
+    private AbsenceDAO absenceDAO;
+    private HomeworkDAO homeworkDAO;
+    private static int testStudentId = 1; // Assume this student exists
+    private static int testTeacherId = 1; // Assume this teacher exists
+    private static final String TEST_MARKER = "Dashboard stats test";
+
+    private Student testStudent;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        // This method runs before each test
+        dashboardStatsDAO = new DashboardStatsDAO();
+        gradeDAO = new GradeDAO();
+        absenceDAO = new AbsenceDAO();
+        homeworkDAO = new HomeworkDAO();
+        testStudent = new StudentDAO().getStudentById(testStudentId).orElseThrow();
+
+        cleanupTestData(); // Clean any existing test data first
+    }
+
+    @AfterEach
+    public void cleanup() throws SQLException {
+        // This method runs after each test
+        cleanupTestData();
+        EntityCache.setGloballyEnabled(Boolean.parseBoolean(System.getProperty("sms.cache.enabled", "true")));
+    }
+
+    // Helper method to clean up test data
+    private void cleanupTestData() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement grades = conn.prepareStatement("DELETE FROM grade WHERE comment = ?");
+             PreparedStatement absences = conn.prepareStatement("DELETE FROM absence WHERE description = ?");
+             PreparedStatement homework = conn.prepareStatement("DELETE FROM homework WHERE description = ?")) {
+            for (PreparedStatement ps : new PreparedStatement[]{grades, absences, homework}) {
+                ps.setString(1, TEST_MARKER);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    // Helper method to get a date a number of days in the future
+    private static Date daysFromNow(int days) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, days);
+        return calendar.getTime();
+    }
+
+    private DashboardStatsDTO classStats() {
+        Optional<DashboardStatsDTO> stats = dashboardStatsDAO.getClassStats(testStudent.getClassId());
+        assertTrue(stats.isPresent(), "Class stats should be loaded");
+        return stats.get();
+    }
+
+    private DashboardStatsDTO parentStats() {
+        Optional<DashboardStatsDTO> stats = dashboardStatsDAO.getParentStats(testStudent.getParentId());
+        assertTrue(stats.isPresent(), "Parent stats should be loaded");
+        return stats.get();
+    }
+
+    @Test
+    public void testStudentCountsMatchSeparateQueries() {
+        // Test that the combined query agrees with the student lists
+        StudentDAO studentDAO = new StudentDAO();
+        assertEquals(studentDAO.getStudentsByClass(testStudent.getClassId()).size(), classStats().getStudentCount(),
+                "Class student count should match");
+        assertEquals(studentDAO.getStudentsByParent(testStudent.getParentId()).size(), parentStats().getStudentCount(),
+                "Parent's children count should match");
+    }
+
+    @Test
+    public void testCountsIncludeNewRecords() throws SQLException {
+        // Test that each count covers the records it should
+        DashboardStatsDTO classBefore = classStats();
+        DashboardStatsDTO parentBefore = parentStats();
+
+        gradeDAO.addGrade(new Grade('B', "Math", testStudentId, daysFromNow(0), TEST_MARKER, testTeacherId));
+        gradeDAO.addGrade(new Grade('C', "Math", testStudentId, daysFromNow(-DashboardStatsDAO.RECENT_DAYS), TEST_MARKER, testTeacherId));
+        absenceDAO.addAbsence(new Absence(testStudentId, daysFromNow(0), TEST_MARKER, false));
+        absenceDAO.addAbsence(new Absence(testStudentId, daysFromNow(0), TEST_MARKER, true));
+        homeworkDAO.addHomework(new Homework(daysFromNow(-1), daysFromNow(3), testStudent.getClassId(), TEST_MARKER, false));
+        homeworkDAO.addHomework(new Homework(daysFromNow(-5), daysFromNow(-1), testStudent.getClassId(), TEST_MARKER, false));
+        homeworkDAO.addHomework(new Homework(daysFromNow(-5), daysFromNow(-1), testStudent.getClassId(), TEST_MARKER, true));
+
+        for (DashboardStatsDTO[] pair : new DashboardStatsDTO[][]{{classBefore, classStats()}, {parentBefore, parentStats()}}) {
+            DashboardStatsDTO before = pair[0];
+            DashboardStatsDTO after = pair[1];
+            assertEquals(before.getRecentGradeCount() + 1, after.getRecentGradeCount(), "Only today's grade is recent");
+            assertEquals(before.getUnexcusedAbsenceCount() + 1, after.getUnexcusedAbsenceCount(),
+                    "Only the unexcused absence should count");
+            assertEquals(before.getActiveHomeworkCount() + 1, after.getActiveHomeworkCount(),
+                    "Open homework due later should be active");
+            assertEquals(before.getOverdueHomeworkCount() + 1, after.getOverdueHomeworkCount(),
+                    "Open homework past its due date should be overdue");
+        }
+    }
+
+    @Test
+    public void testWritesInvalidateCachedStats() throws SQLException {
+        // Test that a cached result is dropped when an absence is recorded
+        EntityCache.setGloballyEnabled(true);
+        DashboardStatsDTO before = classStats();
+        assertSame(before, classStats(), "Second load should come from the cache");
+
+        int absenceId = absenceDAO.addAbsence(new Absence(testStudentId, daysFromNow(0), TEST_MARKER, false));
+        assertEquals(before.getUnexcusedAbsenceCount() + 1, classStats().getUnexcusedAbsenceCount(),
+                "New absence should be counted right away");
+
+        absenceDAO.updateAbsenceStatus(absenceId, true);
+        assertEquals(before.getUnexcusedAbsenceCount(), classStats().getUnexcusedAbsenceCount(),
+                "Excused absence should no longer be counted");
+    }
+}
@@ -0,0 +1,117 @@
+package dao;
+
+import model.Absence;
+import model.Excuse;
+import org.junit.jupiter.api.*;
+import util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ExcuseDAO.
+ * Uses JUnit 5 (Jupiter) for testing the ExcuseDAO methods.
+ */
+public class ExcuseDAOTest {
+
+    private ExcuseDAO excuseDAO;
+    private AbsenceDAO absenceDAO;
+    private static int testStudentId = 1; // Assume this student exists
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        // This method runs before each test
+        excuseDAO = new ExcuseDAO();
+        absenceDAO = new AbsenceDAO();
+        cleanupTestData(); // Clean any existing test data first
+    }
+
+    @AfterEach
+    public void cleanup() throws SQLException {
+        // This method runs after each test
+        cleanupTestData();
+    }
+
+    // Helper method to create an unexcused test absence
+    private int createTestAbsence() throws SQLException {
+        int absenceId = absenceDAO.addAbsence(new Absence(testStudentId, new Date(), "Excuse test", false));
+        assertNotEquals(0, absenceId, "Failed to create test absence");
+        return absenceId;
+    }
+
+    // Helper method to clean up test data
+    private void cleanupTestData() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement deleteExcuses = conn.prepareStatement(
+                     "DELETE e FROM excuse e JOIN absence a ON e.absence_id = a.absence_id " +
+                             "WHERE a.description = ? AND a.student_id = ?");
+             PreparedStatement deleteAbsences = conn.prepareStatement(
+                     "DELETE FROM absence WHERE description = ? AND student_id = ?")) {
+            for (PreparedStatement ps : new PreparedStatement[]{deleteExcuses, deleteAbsences}) {
+                ps.setString(1, "Excuse test");
+                ps.setInt(2, testStudentId);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    public void testSubmitExcuse() throws SQLException {
+        // Test storing an excuse and excusing its absence together
+        int absenceId = createTestAbsence();
+
+        int excuseId = excuseDAO.submitExcuse(new Excuse(new Date(), "Illness: flu", testStudentId, absenceId));
+        assertNotEquals(0, excuseId, "An excuse ID should be returned");
+
+        Optional<Excuse> excuse = excuseDAO.getExcuseByAbsence(absenceId);
+        assertTrue(excuse.isPresent(), "Excuse should be stored");
+        assertEquals("Illness: flu", excuse.get().getDescription(), "Description should match");
+        assertTrue(absenceDAO.getAbsenceById(absenceId).get().isExcused(), "Absence should be excused");
+    }
+
+    @Test
+    public void testSubmitExcuseTwiceFails() throws SQLException {
+        // Test that an excused absence cannot be excused again
+        int absenceId = createTestAbsence();
+        excuseDAO.submitExcuse(new Excuse(new Date(), "First", testStudentId, absenceId));
+
+        assertThrows(SQLException.class,
+                () -> excuseDAO.submitExcuse(new Excuse(new Date(), "Second", testStudentId, absenceId)));
+        assertEquals("First", excuseDAO.getExcuseByAbsence(absenceId).get().getDescription(),
+                "Second excuse should not be stored");
+    }
+
+    @Test
+    public void testSubmitExcuses() throws SQLException {
+        // Test excusing several absences in one transaction
+        int firstId = createTestAbsence();
+        int secondId = createTestAbsence();
+
+        List<Integer> ids = excuseDAO.submitExcuses(List.of(
+                new Excuse(new Date(), "Family trip", testStudentId, firstId),
+                new Excuse(new Date(), "Family trip", testStudentId, secondId)));
+
+        assertEquals(2, ids.size(), "An ID should be returned for every excuse");
+        assertTrue(absenceDAO.getAbsenceById(firstId).get().isExcused(), "First absence should be excused");
+        assertTrue(absenceDAO.getAbsenceById(secondId).get().isExcused(), "Second absence should be excused");
+    }
+
+    @Test
+    public void testSubmitExcusesRollsBackOnMissingAbsence() throws SQLException {
+        // Test that one unknown absence leaves every absence unchanged
+        int absenceId = createTestAbsence();
+
+        assertThrows(SQLException.class, () -> excuseDAO.submitExcuses(List.of(
+                new Excuse(new Date(), "Family trip", testStudentId, absenceId),
+                new Excuse(new Date(), "Family trip", testStudentId, -1))));
+
+        assertFalse(absenceDAO.getAbsenceById(absenceId).get().isExcused(), "Absence should stay unexcused");
+        assertFalse(excuseDAO.getExcuseByAbsence(absenceId).isPresent(), "No excuse should be stored");
+    }
+}
@@ -7,8 +7,10 @@ import util.DatabaseConnection;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -108,6 +110,15 @@ public class GradeDAOTest {
                 "Grades list should contain test grade");
     }
 
+    @Test
+    public void testGetGradesPageAndStream() throws SQLException {
+        // Test that paging and streaming both return every grade once, in ID order
+        List<Grade> paged = PagingAssertions.assertPagingMatchesStream(gradeDAO::getGradesPage, gradeDAO::streamAllGrades,
+                Grade::getGradeId, gradeDAO.getAllGrades().size(), "grades");
+        assertTrue(paged.stream().anyMatch(g -> g.getGradeId() == testGradeId),
+                "Paged grades should contain test grade");
+    }
+
     @Test
     public void testGetGradesByStudent() {
         // Test retrieving grades by student
@@ -150,6 +161,28 @@ public class GradeDAOTest {
         assertFalse(deletedGradeOptional.isPresent(), "Grade should not exist after deletion");
     }
 
+    @Test
+    public void testDeleteAndRemarkGrades() throws SQLException {
+        // Test changing and removing several grades with one batch each
+        List<Integer> ids = gradeDAO.addGrades(List.of(
+                new Grade('C', "Mathematics", testStudentId, new Date(), "Quiz 1", testTeacherId),
+                new Grade('D', "Mathematics", testStudentId, new Date(), "Quiz 2", testTeacherId)));
+
+        assertEquals(2, gradeDAO.updateMarks(ids, 'B'), "Both grades should be re-marked");
+        for (int id : ids) {
+            Optional<Grade> grade = gradeDAO.getGradeById(id);
+            assertTrue(grade.isPresent(), "Re-marked grade should exist");
+            assertEquals('B', grade.get().getMark(), "Mark should be updated");
+        }
+        assertEquals("Quiz 1", gradeDAO.getGradeById(ids.get(0)).get().getComment(), "Comment should be unchanged");
+
+        assertEquals(2, gradeDAO.deleteGrades(ids), "Both grades should be deleted");
+        for (int id : ids) {
+            assertFalse(gradeDAO.getGradeById(id).isPresent(), "Grade should not exist after deletion");
+        }
+        assertTrue(gradeDAO.getGradeById(testGradeId).isPresent(), "Unselected grade should be kept");
+    }
+
     @Test
     public void testIsValidMark() {
         // Test validating grade marks
@@ -191,4 +224,49 @@ public class GradeDAOTest {
             fail("Exception while testing average grade: " + e.getMessage());
         }
     }
+
+    @Test
+    public void testAddGrades() throws SQLException {
+        // Test adding grades for several students in one batch
+        List<Grade> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(new Grade('B', "Mathematics", testStudentId, new Date(), "Batch entry " + i, testTeacherId));
+        }
+
+        // Use a small chunk size so the batch is split across several round trips
+        List<Integer> ids = gradeDAO.addGrades(batch, 2);
+
+        assertEquals(batch.size(), ids.size(), "An ID should be returned for every grade");
+        for (int i = 0; i < ids.size(); i++) {
+            Optional<Grade> grade = gradeDAO.getGradeById(ids.get(i));
+            assertTrue(grade.isPresent(), "Batched grade should exist");
+            assertEquals("Batch entry " + i, grade.get().getComment(), "IDs should follow input order");
+        }
+    }
+
+    @Test
+    public void testGetAverageGradesByClass() {
+        // The test student belongs to class 1 and has the 'A' test grade
+        Map<Integer, Double> averages = gradeDAO.getAverageGradesByClass(1);
+
+        assertTrue(averages.containsKey(testStudentId), "Class averages should include the test student");
+        assertEquals(gradeDAO.getAverageGradeForStudent(testStudentId), averages.get(testStudentId), 0.01,
+                "Grouped average should match the single-student average");
+    }
+
+    @Test
+    public void testGetAverageGradesBySubject() {
+        Map<String, Double> averages = gradeDAO.getAverageGradesBySubject(1);
+
+        assertTrue(averages.containsKey("Mathematics"), "Subject averages should include Mathematics");
+        assertTrue(averages.get("Mathematics") >= 1 && averages.get("Mathematics") <= 5,
+                "Subject average should be on the 1-5 scale");
+    }
+
+    @Test
+    public void testGetAverageGradesByTeacher() {
+        Map<Integer, Double> averages = gradeDAO.getAverageGradesByTeacher();
+
+        assertTrue(averages.containsKey(testTeacherId), "Teacher averages should include the test teacher");
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import util.DatabaseConnection;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -113,6 +114,15 @@ public class HomeworkDAOTest {
                 "Homework list should contain test homework");
     }
 
+    @Test
+    public void testGetHomeworkPageAndStream() throws SQLException {
+        // Test that paging and streaming both return every homework once, in ID order
+        List<Homework> paged = PagingAssertions.assertPagingMatchesStream(homeworkDAO::getHomeworkPage, homeworkDAO::streamAllHomework,
+                Homework::getHomeworkId, homeworkDAO.getAllHomework().size(), "homework");
+        assertTrue(paged.stream().anyMatch(h -> h.getHomeworkId() == testHomeworkId),
+                "Paged homework should contain test homework");
+    }
+
     @Test
     public void testGetHomeworkByClass() {
         // Test retrieving homework by class
@@ -228,4 +238,23 @@ public class HomeworkDAOTest {
         Optional<Homework> deletedHomeworkOptional = homeworkDAO.getHomeworkById(testHomeworkId);
         assertFalse(deletedHomeworkOptional.isPresent(), "Homework should not exist after deletion");
     }
+
+    @Test
+    public void testAddHomeworkBatch() throws SQLException {
+        // Test creating several homework assignments in one batch
+        Calendar dueCal = Calendar.getInstance();
+        dueCal.add(Calendar.DAY_OF_MONTH, 7);
+
+        List<Homework> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new Homework(new Date(), dueCal.getTime(), testClassId, "Math problems chapter 5", false));
+        }
+
+        List<Integer> ids = homeworkDAO.addHomework(batch);
+
+        assertEquals(batch.size(), ids.size(), "An ID should be returned for every assignment");
+        for (int id : ids) {
+            assertTrue(homeworkDAO.getHomeworkById(id).isPresent(), "Batched homework should exist");
+        }
+    }
 }
\ No newline at end of file
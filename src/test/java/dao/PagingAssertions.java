@@ -0,0 +1,67 @@
+package dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared checks for the DAOs' keyset-paginated and streaming reads.
+ */
+final class PagingAssertions {
+
+    /**
+     * Opens a DAO's stream over all rows.
+     *
+     * @param <T> The entity type
+     */
+    interface StreamSource<T> {
+        Stream<T> open() throws SQLException;
+    }
+
+    private PagingAssertions() {}
+
+    /**
+     * Reads every page of two rows, checks that paging visits all rows once in ascending ID
+     * order, and that streaming returns the same rows in the same order.
+     *
+     * @param pages Reads the page after an ID, e.g. {@code gradeDAO::getGradesPage}
+     * @param streamAll Opens the stream over all rows, e.g. {@code gradeDAO::streamAllGrades}
+     * @param idOf Gets an entity's ID
+     * @param total The number of rows the getAll* method returns
+     * @param name The plural entity name used in assertion messages, e.g. "grades"
+     * @param <T> The entity type
+     * @return The paged entities, for entity-specific checks
+     * @throws SQLException If the stream cannot be opened
+     */
+    static <T> List<T> assertPagingMatchesStream(BiFunction<Integer, Integer, List<T>> pages,
+                                                 StreamSource<T> streamAll, ToIntFunction<T> idOf,
+                                                 int total, String name) throws SQLException {
+        List<T> paged = new ArrayList<>();
+        List<T> page;
+        int afterId = 0;
+        do {
+            page = pages.apply(afterId, 2);
+            for (T item : page) {
+                assertTrue(idOf.applyAsInt(item) > afterId, "Pages should be in ascending ID order");
+                afterId = idOf.applyAsInt(item);
+                paged.add(item);
+            }
+        } while (page.size() == 2);
+
+        assertEquals(total, paged.size(), "Paging should visit all " + name);
+
+        try (Stream<T> stream = streamAll.open()) {
+            List<T> streamed = stream.collect(Collectors.toList());
+            assertEquals(paged.size(), streamed.size(), "Stream should return all " + name);
+            assertEquals(idOf.applyAsInt(paged.get(0)), idOf.applyAsInt(streamed.get(0)),
+                    "Stream should start at the lowest ID");
+        }
+        return paged;
+    }
+}
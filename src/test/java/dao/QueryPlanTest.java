@@ -0,0 +1,143 @@
+package dao;
+
+import org.junit.jupiter.api.*;
+import util.DatabaseConnection;
+import util.SchemaMigrator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on every SQL constant of the DAOs and fails if any of them reads a whole table.
+ * Runs against the same database as the other DAO tests, after applying the schema migrations.
+ * <p>
+ * Only {@code static final String} fields of the classes in {@code DAOS} are checked. SQL written
+ * inline at the call, such as the user-type lookups in TeacherDAO and UserDAO.countUsersByType,
+ * or built at run time is not, so new queries should be constants.
+ * <p>
+ * Needs MySQL: the migrations take a named lock with GET_LOCK and the test reads MySQL's
+ * EXPLAIN output, so it cannot run on H2 like SampleDataGeneratorTest and the benchmarks.
+ */
+public class QueryPlanTest {
+
+    private static final Class<?>[] DAOS = {
+            AbsenceDAO.class, ClassGroupDAO.class, DashboardStatsDAO.class, ExcuseDAO.class, GradeDAO.class,
+            HomeworkDAO.class, ParentDAO.class, StudentDAO.class, StudentSummaryDAO.class, TeacherDAO.class,
+            UserDAO.class
+    };
+
+    // Queries that read the whole table on purpose
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "SELECT_ALL_SQL",            // getAll* methods
+            "SELECT_ALL_USERS",          // UserDAO.getAllUsers
+            "SELECT_ALL_ORDERED_SQL",    // streamAll* methods
+            "SELECT_ALL_USERS_ORDERED",  // UserDAO.streamAllUsers
+            // AbsenceDAO/HomeworkDAO get*ByStatus: a boolean matches a large share of the rows,
+            // so the optimizer rightly prefers a scan and an index on status would not be used
+            "SELECT_BY_STATUS_SQL"
+    );
+
+    private static final Pattern PARAMETER_CONTEXT = Pattern.compile("(\\w+)\\W*$");
+    private static final Pattern FORMAT_SPECIFIER = Pattern.compile("%(\\d+\\$)?s");
+
+    @BeforeAll
+    public static void setupDatabase() throws SQLException {
+        SchemaMigrator.migrateOrThrow();
+    }
+
+    @Test
+    public void testSchemaIsAtLatestVersion() throws SQLException {
+        assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.getCurrentVersion(),
+                "All schema migrations should be applied");
+        assertEquals(0, SchemaMigrator.migrateOrThrow(), "Migrating again should apply nothing");
+    }
+
+    @Test
+    public void testNoDaoQueryScansWholeTable() throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        int checked = 0;
+
+        for (Class<?> dao : DAOS) {
+            for (Field field : dao.getDeclaredFields()) {
+                String sql = sqlConstant(field);
+                if (sql == null || FULL_SCAN_ALLOWED.contains(field.getName())) {
+                    continue;
+                }
+                checked++;
+                for (String table : fullScanTables(sql)) {
+                    fullScans.add(dao.getSimpleName() + "." + field.getName() + " scans " + table + ": " + sql);
+                }
+            }
+        }
+
+        assertTrue(checked > 0, "Should have found DAO queries to check");
+        assertTrue(fullScans.isEmpty(), "Queries falling back to a full table scan:\n" + String.join("\n", fullScans));
+    }
+
+    // Returns the statement if the field is a static final String holding a SELECT, UPDATE or DELETE
+    private static String sqlConstant(Field field) throws IllegalAccessException {
+        int modifiers = field.getModifiers();
+        if (field.getType() != String.class || !Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) {
+            return null;
+        }
+        field.setAccessible(true);
+        String sql = (String) field.get(null);
+        String verb = sql.trim().split("\\s+")[0].toUpperCase(Locale.ROOT);
+        // INSERTs have no access path; fragments such as GradeDAO.MARK_POINTS_SQL are not statements,
+        // and templates such as DashboardStatsDAO.STATS_SQL are checked through the constants built from them
+        if (FORMAT_SPECIFIER.matcher(sql).find()) {
+            return null;
+        }
+        return verb.equals("SELECT") || verb.equals("UPDATE") || verb.equals("DELETE") ? sql : null;
+    }
+
+    // Runs EXPLAIN and returns the tables whose access type is ALL. Internal temporary tables such as
+    // <subquery2> or <derived2> are skipped: they hold the rows of the plan's other steps, whose access
+    // to the real tables is checked on their own rows
+    private static List<String> fullScanTables(String sql) throws SQLException {
+        List<String> tables = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            bindSampleParameters(ps, sql);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if ("ALL".equals(rs.getString("type")) && !(table != null && table.startsWith("<"))) {
+                        tables.add(table);
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+
+    // Binds a plausible value to each placeholder, based on the word in front of it
+    private static void bindSampleParameters(PreparedStatement ps, String sql) throws SQLException {
+        int index = 0;
+        for (int pos = sql.indexOf('?'); pos >= 0; pos = sql.indexOf('?', pos + 1)) {
+            index++;
+            Matcher m = PARAMETER_CONTEXT.matcher(sql.substring(0, pos));
+            String word = m.find() ? m.group(1).toLowerCase(Locale.ROOT) : "";
+            if (word.equals("limit")) {
+                ps.setInt(index, 10);
+            } else if (word.endsWith("date")) {
+                ps.setString(index, "2025-01-01");
+            } else {
+                ps.setString(index, "1");
+            }
+        }
+    }
+}
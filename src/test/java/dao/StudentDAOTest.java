@@ -105,6 +105,15 @@ public class StudentDAOTest {
                 "Students list should contain test student");
     }
 
+    @Test
+    public void testGetStudentsPageAndStream() throws SQLException {
+        // Test that paging and streaming both return every student once, in ID order
+        List<Student> paged = PagingAssertions.assertPagingMatchesStream(studentDAO::getStudentsPage, studentDAO::streamAllStudents,
+                Student::getStudentId, studentDAO.getAllStudents().size(), "students");
+        assertTrue(paged.stream().anyMatch(s -> s.getStudentId() == testStudentId),
+                "Paged students should contain test student");
+    }
+
     @Test
     public void testGetStudentsByClass() {
         // Test retrieving students by class
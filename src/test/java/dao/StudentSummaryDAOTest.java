@@ -0,0 +1,116 @@
+package dao;
+
+import model.Absence;
+import model.Grade;
+import model.StudentSummaryDTO;
+import org.junit.jupiter.api.*;
+import util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StudentSummaryDAO.
+ * Uses JUnit 5 (Jupiter) for testing the StudentSummaryDAO methods.
+ */
+public class StudentSummaryDAOTest {
+
+    private StudentSummaryDAO studentSummaryDAO;
+    private GradeDAO gradeDAO;
+    private AbsenceDAO absenceDAO;
+    private static int testStudentId = 1; // Assume this student exists
+    private static int testTeacherId = 1; // Assume this teacher exists
+    private static final String TEST_MARKER = "Summary test";
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        // This method runs before each test
+        studentSummaryDAO = new StudentSummaryDAO();
+        gradeDAO = new GradeDAO();
+        absenceDAO = new AbsenceDAO();
+
+        cleanupTestData(); // Clean any existing test data first
+    }
+
+    @AfterEach
+    public void cleanup() throws SQLException {
+        // This method runs after each test
+        cleanupTestData();
+    }
+
+    // Helper method to clean up test data
+    private void cleanupTestData() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement grades = conn.prepareStatement("DELETE FROM grade WHERE comment = ? AND student_id = ?");
+             PreparedStatement absences = conn.prepareStatement("DELETE FROM absence WHERE description = ? AND student_id = ?")) {
+            grades.setString(1, TEST_MARKER);
+            grades.setInt(2, testStudentId);
+            grades.executeUpdate();
+            absences.setString(1, TEST_MARKER);
+            absences.setInt(2, testStudentId);
+            absences.executeUpdate();
+        }
+    }
+
+    // Helper method to get a date a number of days in the future
+    private static Date daysFromNow(int days) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, days);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void testGetStudentSummaryMatchesSeparateQueries() throws SQLException {
+        // Test that the combined query agrees with the individual DAO methods
+        gradeDAO.addGrade(new Grade('A', "Math", testStudentId, daysFromNow(0), TEST_MARKER, testTeacherId));
+        absenceDAO.addAbsence(new Absence(testStudentId, daysFromNow(0), TEST_MARKER, true));
+
+        Optional<StudentSummaryDTO> summaryOptional = studentSummaryDAO.getStudentSummary(testStudentId, 1000);
+
+        assertTrue(summaryOptional.isPresent(), "Summary should exist for the test student");
+        StudentSummaryDTO summary = summaryOptional.get();
+        assertEquals(gradeDAO.getGradesByStudent(testStudentId).size(), summary.getGradeCount(),
+                "Grade count should match");
+        assertEquals(gradeDAO.getAverageGradeForStudent(testStudentId), summary.getGradeAverage(), 0.001,
+                "Grade average should match");
+        assertEquals(absenceDAO.countAbsencesByStudent(testStudentId), summary.getAbsenceCount(),
+                "Absence count should match");
+        assertEquals(summary.getGradeCount(), summary.getRecentGrades().size(),
+                "A large limit should return every grade");
+        assertTrue(summary.getRecentAbsences().stream().anyMatch(a -> TEST_MARKER.equals(a.getDescription()) && a.isExcused()),
+                "Recent absences should contain the test absence");
+    }
+
+    @Test
+    public void testRecentActivityIsLimitedAndNewestFirst() throws SQLException {
+        // Test that only the newest grades and absences are returned, newest first
+        for (int i = 0; i < 3; i++) {
+            gradeDAO.addGrade(new Grade('B', "Math", testStudentId, daysFromNow(100 + i), TEST_MARKER, testTeacherId));
+            absenceDAO.addAbsence(new Absence(testStudentId, daysFromNow(100 + i), TEST_MARKER, false));
+        }
+
+        StudentSummaryDTO summary = studentSummaryDAO.getStudentSummary(testStudentId, 2).orElseThrow();
+
+        List<Grade> grades = summary.getRecentGrades();
+        assertEquals(2, grades.size(), "Recent grades should be limited");
+        assertFalse(grades.get(0).getGradeDate().before(grades.get(1).getGradeDate()), "Grades should be newest first");
+        assertEquals(TEST_MARKER, grades.get(0).getComment(), "Newest grade should be a test grade");
+
+        List<Absence> absences = summary.getRecentAbsences();
+        assertEquals(2, absences.size(), "Recent absences should be limited");
+        assertFalse(absences.get(0).getAbsenceDate().before(absences.get(1).getAbsenceDate()), "Absences should be newest first");
+    }
+
+    @Test
+    public void testGetStudentSummaryForUnknownStudent() {
+        // Test that an unknown student has no summary
+        assertFalse(studentSummaryDAO.getStudentSummary(-1, 5).isPresent(), "Unknown student should have no summary");
+    }
+}
@@ -106,6 +106,15 @@ public class UserDAOTest {
                 "Users list should contain test user");
     }
 
+    @Test
+    public void testGetUsersPageAndStream() throws SQLException {
+        // Test that paging and streaming both return every user once, in ID order
+        List<User> paged = PagingAssertions.assertPagingMatchesStream(userDAO::getUsersPage, userDAO::streamAllUsers,
+                User::getUserId, userDAO.getAllUsers().size(), "users");
+        assertTrue(paged.stream().anyMatch(user -> user.getEmail().equals("test@example.com")),
+                "Paged users should contain test user");
+    }
+
     @Test
     public void testGetUsersByType() {
         // Test retrieving users by account type
@@ -178,6 +187,7 @@ public class UserDAOTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void testUserAuthentication() {
         // Test user authentication
         Optional<User> authenticatedUser = userDAO.authenticateUser("test@example.com", "password123");
@@ -0,0 +1,109 @@
+package gui;
+
+import org.junit.jupiter.api.*;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BackgroundTasks.
+ * The tasks are driven from the EDT, as in the dashboards.
+ */
+public class BackgroundTasksTest {
+
+    private BackgroundTasks tasks;
+    private List<String> results;
+    private CountDownLatch delivered;
+
+    @BeforeEach
+    public void setup() {
+        tasks = new BackgroundTasks(null);
+        results = new CopyOnWriteArrayList<>();
+        delivered = new CountDownLatch(1);
+    }
+
+    private void onEdt(Runnable action) throws Exception {
+        SwingUtilities.invokeAndWait(action);
+    }
+
+    private void show(String result) {
+        results.add(result);
+        delivered.countDown();
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Timed out");
+    }
+
+    @Test
+    public void testNewKeyCancelsStaleLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        onEdt(() -> tasks.load("grades", 1, null, () -> {
+            release.await();
+            return "student 1";
+        }, this::show, "Error"));
+        onEdt(() -> tasks.load("grades", 2, null, () -> "student 2", this::show, "Error"));
+        release.countDown();
+
+        await(delivered);
+        Thread.sleep(100);
+        onEdt(() -> { });
+        assertEquals(List.of("student 2"), results, "Only the latest selection should be shown");
+    }
+
+    @Test
+    public void testDuplicateRequestsAreCoalesced() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        onEdt(() -> tasks.load("students", null, null, () -> {
+            int call = calls.incrementAndGet();
+            running.countDown();
+            release.await();
+            return "run " + call;
+        }, this::show, "Error"));
+        await(running);
+
+        // Three refreshes while the first load runs cause exactly one more run
+        for (int i = 0; i < 3; i++) {
+            onEdt(() -> tasks.load("students", null, null, () -> {
+                int call = calls.incrementAndGet();
+                release.await();
+                return "run " + call;
+            }, this::show, "Error"));
+        }
+        release.countDown();
+
+        await(delivered);
+        onEdt(() -> { });
+        assertEquals(2, calls.get(), "Duplicates should be coalesced into one re-run");
+        assertEquals(List.of("run 2"), results, "Only the result read after the last request should be shown");
+    }
+
+    @Test
+    public void testHiddenTabLoadWaitsUntilShown() throws Exception {
+        LoadingOverlay homework = new LoadingOverlay("homework");
+        AtomicInteger calls = new AtomicInteger();
+
+        onEdt(() -> {
+            tasks.switchTo("grades");
+            tasks.load("homework", null, homework, () -> "call " + calls.incrementAndGet(), this::show, "Error");
+        });
+        Thread.sleep(100);
+        assertEquals(0, calls.get(), "Load for a hidden tab should not run");
+        assertTrue(tasks.isLoading("homework"));
+
+        onEdt(() -> tasks.switchTo("homework"));
+        await(delivered);
+        assertEquals(List.of("call 1"), results);
+        onEdt(() -> assertFalse(homework.isLoading(), "Loading state should end with the load"));
+    }
+}
@@ -0,0 +1,123 @@
+package gui;
+
+import org.junit.jupiter.api.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EdtWatchdog.
+ */
+public class EdtWatchdogTest {
+
+    private EdtWatchdog watchdog;
+
+    @BeforeAll
+    public static void warmUp() throws Exception {
+        // Load the Swing classes first, so the first test dispatch is not slowed by class loading
+        SwingUtilities.invokeAndWait(() -> new JLabel("warm up").getPreferredSize());
+    }
+
+    @BeforeEach
+    public void setup() {
+        watchdog = new EdtWatchdog(50);
+        watchdog.install();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        watchdog.uninstall();
+    }
+
+    private void blockEdt() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    // invokeAndWait returns before the dispatch has ended; the next one starts after it
+    private static void awaitDispatchEnd() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    public void testLongDispatchIsReported() throws Exception {
+        // Test that blocking the EDT is recorded under the blocking method
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                blockEdt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        awaitDispatchEnd();
+
+        assertEquals(1, watchdog.getStallCount(), "The blocked dispatch should be a stall");
+        String report = watchdog.report();
+        assertTrue(report.contains("1 stalls"), "Report should count the stall: " + report);
+        assertTrue(report.contains("EdtWatchdogTest.blockEdt"), "Report should show the blocking method: " + report);
+        assertFalse(report.contains("DATABASE"), "Sleeping is not database work: " + report);
+    }
+
+    @Test
+    public void testStallAfterNestedLoopIsReported() throws Exception {
+        // Test that work after a modal loop closes (a confirm dialog, then a DAO call) is a stall,
+        // timed from when the loop closed rather than from when the outer event started
+        SwingUtilities.invokeAndWait(() -> {
+            SecondaryLoop loop = Toolkit.getDefaultToolkit().getSystemEventQueue().createSecondaryLoop();
+            // Events dispatched inside the loop, then 150 ms of waiting for the user before it closes
+            SwingUtilities.invokeLater(() -> new JLabel("nested").getPreferredSize());
+            Timer close = new Timer(150, e -> loop.exit());
+            close.setRepeats(false);
+            close.start();
+            loop.enter();
+            try {
+                blockEdt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        awaitDispatchEnd();
+
+        assertEquals(1, watchdog.getStallCount(), "The work after the loop should be one stall");
+        String report = watchdog.report();
+        assertTrue(report.contains("EdtWatchdogTest.lambda$testStallAfterNestedLoopIsReported")
+                || report.contains("EdtWatchdogTest.blockEdt"), "Report should show the blocking code: " + report);
+        Matcher max = Pattern.compile("(\\d+) ms max").matcher(report);
+        assertTrue(max.find(), "Report should show the stall time: " + report);
+        assertTrue(Integer.parseInt(max.group(1)) < 330, "Waiting in the loop should not count: " + report);
+    }
+
+    @Test
+    public void testShortDispatchesAreNotReported() throws Exception {
+        // Test that ordinary events do not count as stalls
+        for (int i = 0; i < 20; i++) {
+            SwingUtilities.invokeAndWait(() -> new JLabel("quick").getPreferredSize());
+        }
+        awaitDispatchEnd();
+
+        assertEquals(0, watchdog.getStallCount(), "Quick dispatches should not be stalls");
+        String report = watchdog.report();
+        assertTrue(report.contains("events dispatched, 0 stalls over 50 ms"), "Report should show no stalls: " + report);
+    }
+
+    @Test
+    public void testDatabaseFramesAreFlagged() {
+        // Test the call-site attribution of a stall inside a DAO
+        StackTraceElement[] stack = {
+                new StackTraceElement("java.net.SocketInputStream", "read", "SocketInputStream.java", 1),
+                new StackTraceElement("util.DatabaseConnection", "getConnection", "DatabaseConnection.java", 80),
+                new StackTraceElement("dao.GradeDAO", "getGradesByStudent", "GradeDAO.java", 190),
+                new StackTraceElement("gui.HorizontalTeacherDashboard", "loadGrades", "HorizontalTeacherDashboard.java", 1200),
+                new StackTraceElement("java.awt.EventQueue", "dispatchEvent", "EventQueue.java", 700)
+        };
+
+        assertEquals("gui.HorizontalTeacherDashboard.loadGrades(HorizontalTeacherDashboard.java:1200)",
+                EdtWatchdog.callSite(stack), "Stall should be attributed to the GUI caller");
+        assertEquals("util.DatabaseConnection.getConnection(DatabaseConnection.java:80)",
+                EdtWatchdog.databaseFrame(stack), "Innermost data-layer frame should be flagged");
+        assertNull(EdtWatchdog.databaseFrame(new StackTraceElement[]{stack[0], stack[3]}), "No data-layer frame");
+    }
+}
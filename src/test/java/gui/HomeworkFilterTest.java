@@ -0,0 +1,66 @@
+package gui;
+
+import org.junit.jupiter.api.*;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HomeworkFilter.
+ */
+public class HomeworkFilterTest {
+
+    private DefaultTableModel model;
+    private TableRowSorter<DefaultTableModel> sorter;
+
+    @BeforeEach
+    public void setup() {
+        model = new DefaultTableModel(new String[]{"ID", "Assignment Date", "Due Date", "Description", "Status"}, 0);
+        model.addRow(new Object[]{1, "2025-01-01", "2025-01-08", "Math exercises page 12", "Active"});
+        model.addRow(new Object[]{2, "2025-01-02", "2025-01-09", "English essay", "Completed"});
+        model.addRow(new Object[]{3, "2025-01-03", "2025-01-10", "MATH quiz preparation", "Completed"});
+        sorter = new TableRowSorter<>(model);
+        // The table forwards model changes to its sorter, as in the dashboard
+        new JTable(model).setRowSorter(sorter);
+    }
+
+    @Test
+    public void testNoFilterForAllAndEmptySearch() {
+        assertNull(HomeworkFilter.of(HomeworkFilter.ALL_STATUSES, ""), "Nothing to filter should show every row");
+        assertNull(HomeworkFilter.of(HomeworkFilter.ALL_STATUSES, "   "), "Blank search should show every row");
+    }
+
+    @Test
+    public void testSearchIgnoresCase() {
+        sorter.setRowFilter(HomeworkFilter.of(HomeworkFilter.ALL_STATUSES, "math"));
+
+        assertEquals(2, sorter.getViewRowCount(), "Both math assignments should match");
+    }
+
+    @Test
+    public void testStatusAndSearchCombine() {
+        sorter.setRowFilter(HomeworkFilter.of("Completed", "Math"));
+
+        assertEquals(1, sorter.getViewRowCount(), "Only the completed math assignment should match");
+        assertEquals(3, model.getValueAt(sorter.convertRowIndexToModel(0), 0));
+    }
+
+    @Test
+    public void testFilterIsReappliedWhenRowsChange() {
+        sorter.setRowFilter(HomeworkFilter.of("Active", ""));
+        model.addRow(new Object[]{4, "2025-01-04", "2025-01-11", "History reading", "Active"});
+
+        assertEquals(2, sorter.getViewRowCount(), "New active row should pass the existing filter");
+    }
+
+    @Test
+    public void testContainsIgnoreCase() {
+        assertTrue(HomeworkFilter.containsIgnoreCase("Math exercises", "EXER"));
+        assertTrue(HomeworkFilter.containsIgnoreCase("Math", "math"));
+        assertFalse(HomeworkFilter.containsIgnoreCase("Math", "maths"));
+        assertFalse(HomeworkFilter.containsIgnoreCase("", "a"));
+    }
+}
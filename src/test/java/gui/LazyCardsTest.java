@@ -0,0 +1,68 @@
+package gui;
+
+import org.junit.jupiter.api.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LazyCards.
+ */
+public class LazyCardsTest {
+
+    private JPanel cardPanel;
+    private LazyCards cards;
+    private AtomicInteger gradesBuilds;
+
+    @BeforeEach
+    public void setup() {
+        cardPanel = new JPanel(new CardLayout());
+        cards = new LazyCards(cardPanel);
+        gradesBuilds = new AtomicInteger();
+        cards.register("dashboard", () -> new JLabel("dashboard"));
+        cards.register("grades", () -> {
+            gradesBuilds.incrementAndGet();
+            return new JLabel("grades");
+        });
+    }
+
+    @Test
+    public void testTabIsBuiltOnFirstShow() {
+        // Test that registering a tab does not build it
+        assertEquals(0, gradesBuilds.get(), "Registering should not build the tab");
+        assertFalse(cards.isBuilt("grades"), "Tab should not be built yet");
+        assertEquals(0, cardPanel.getComponentCount(), "No card should be added yet");
+
+        assertTrue(cards.show("grades"), "First show should build the tab");
+        assertEquals(1, gradesBuilds.get(), "Tab should be built once");
+        assertTrue(cards.isBuilt("grades"), "Tab should be built");
+        assertEquals(1, cardPanel.getComponentCount(), "Only the shown tab should be added");
+    }
+
+    @Test
+    public void testTabIsKeptAfterwards() {
+        // Test that later visits show the same panel without building it again
+        cards.show("grades");
+        Component grades = cardPanel.getComponent(0);
+        cards.show("dashboard");
+
+        assertFalse(cards.show("grades"), "Second show should not build the tab");
+        assertEquals(1, gradesBuilds.get(), "Tab should be built once");
+        assertSame(grades, cardPanel.getComponent(0), "The first panel should be kept");
+        assertTrue(grades.isVisible(), "The tab should be shown");
+        assertEquals(List.of("grades", "dashboard"), cards.getBuiltNames(), "Tabs should be listed in build order");
+    }
+
+    @Test
+    public void testUnknownOrDuplicateTab() {
+        // Test that tab names are checked
+        assertThrows(IllegalArgumentException.class, () -> cards.show("missing"));
+        assertThrows(IllegalArgumentException.class, () -> cards.register("grades", JPanel::new));
+        cards.show("grades");
+        assertThrows(IllegalArgumentException.class, () -> cards.register("grades", JPanel::new));
+    }
+}
@@ -0,0 +1,100 @@
+package gui;
+
+import model.Grade;
+import org.junit.jupiter.api.*;
+
+import javax.swing.event.TableModelEvent;
+import java.sql.Date;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SnapshotTableModel, using the grade model.
+ */
+public class SnapshotTableModelTest {
+
+    private static final int ROWS = 10_000;
+
+    private List<Grade> grades;
+
+    @BeforeEach
+    public void setup() {
+        grades = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            grades.add(new Grade(i, (char) ('A' + i % 5), "Subject " + i % 12, i % 500,
+                    Date.valueOf("2024-03-01"), "Comment " + i, 1));
+        }
+    }
+
+    @Test
+    public void testCellsReadFromEntities() {
+        GradeTableModel model = new GradeTableModel(GradeTableModel.ID, GradeTableModel.MARK,
+                GradeTableModel.DATE.named("Graded"));
+        model.setRows(grades);
+
+        assertEquals(ROWS, model.getRowCount());
+        assertEquals(3, model.getColumnCount());
+        assertEquals("Graded", model.getColumnName(2));
+        assertEquals(7, model.getValueAt(6, 0));
+        assertEquals("C", model.getValueAt(6, 1));
+        assertEquals("2024-03-01", model.getValueAt(6, 2));
+        assertSame(grades.get(6), model.getRow(6));
+        assertFalse(model.isCellEditable(0, 0));
+    }
+
+    @Test
+    public void testSetRowsFiresOneEvent() {
+        GradeTableModel model = new GradeTableModel(GradeTableModel.SUBJECT);
+        AtomicInteger events = new AtomicInteger();
+        model.addTableModelListener(e -> events.incrementAndGet());
+
+        model.setRows(grades);
+        assertEquals(1, events.get());
+
+        model.clear();
+        assertEquals(2, events.get());
+        assertEquals(0, model.getRowCount());
+    }
+
+    @Test
+    public void testFormatDate() {
+        assertEquals("", SnapshotTableModel.formatDate(null));
+        assertEquals("2024-02-29", SnapshotTableModel.formatDate(Date.valueOf("2024-02-29")));
+        java.util.Date now = new java.util.Date();
+        assertEquals(new SimpleDateFormat("yyyy-MM-dd").format(now), SnapshotTableModel.formatDate(now));
+    }
+
+    @Test
+    public void testLargeSnapshotIsOneFullChange() {
+        // Test that swapping in ten thousand rows is one whole-table event and every row is readable
+        GradeTableModel model = new GradeTableModel(GradeTableModel.SUBJECT, GradeTableModel.MARK,
+                GradeTableModel.DATE, GradeTableModel.COMMENT);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        model.setRows(grades);
+
+        assertEquals(1, events.size(), "One event whatever the row count");
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(Integer.MAX_VALUE, events.get(0).getLastRow(), "Event should cover the whole table");
+        assertEquals(ROWS, model.getRowCount());
+        assertEquals("Subject " + ROWS % 12, model.getValueAt(ROWS - 1, 0));
+        assertEquals("A", model.getValueAt(ROWS - 1, 1));
+        assertEquals("2024-03-01", model.getValueAt(ROWS - 1, 2));
+        assertEquals("Comment " + ROWS, model.getValueAt(ROWS - 1, 3));
+    }
+
+    @Test
+    public void testIdColumnsSortAsNumbers() {
+        // Test that ID columns are typed as integers in every model, so they sort numerically
+        assertEquals(Integer.class, new GradeTableModel(GradeTableModel.ID).getColumnClass(0));
+        assertEquals(Integer.class, new HomeworkTableModel(HomeworkTableModel.ID).getColumnClass(0));
+        assertEquals(Integer.class, new AbsenceTableModel(AbsenceTableModel.ID).getColumnClass(0));
+        assertEquals(Integer.class, new StudentTableModel(StudentTableModel.ID).getColumnClass(0));
+    }
+}
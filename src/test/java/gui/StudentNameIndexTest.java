@@ -0,0 +1,104 @@
+package gui;
+
+import model.Student;
+import org.junit.jupiter.api.*;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StudentNameIndex and StudentComboFilter.
+ */
+public class StudentNameIndexTest {
+
+    private StudentNameIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new StudentNameIndex(Arrays.asList(
+                new Student(3, 1, "Ana", "Horvat", "Address 3", 1),
+                new Student(1, 1, "Marko", "Ćorić", "Address 1", 1),
+                new Student(2, 1, "Ivan", "Babić", "Address 2", 2)));
+    }
+
+    @Test
+    public void testNamesAreSortedByLastName() {
+        assertEquals(Arrays.asList("Babić, Ivan (ID: 2)", "Horvat, Ana (ID: 3)", "Ćorić, Marko (ID: 1)"),
+                index.getDisplayNames());
+        assertEquals(Integer.valueOf(3), index.getStudentIds().get("Horvat, Ana (ID: 3)"));
+    }
+
+    @Test
+    public void testSearchIgnoresCaseAndAccents() {
+        assertEquals(List.of("Ćorić, Marko (ID: 1)"), index.search("CORIC"));
+        assertEquals(List.of("Babić, Ivan (ID: 2)"), index.search("ić, i"));
+    }
+
+    @Test
+    public void testShortAndBlankQueries() {
+        assertEquals(2, index.search("an").size(), "Two-character queries should scan every name");
+        assertEquals(3, index.search("  ").size(), "Blank query should return every name");
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    public void testTrigramsMustBeAdjacent() {
+        // "horrva" shares the trigrams "hor" and "rva" with "horvat" but is not part of it
+        assertEquals(1, index.search("horva").size());
+        assertTrue(index.search("horrva").isEmpty());
+    }
+
+    @Test
+    public void testComboIsUpdatedInPlace() {
+        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
+        JTextField searchField = new JTextField();
+        StudentComboFilter filter = new StudentComboFilter(model, "Select a student...", searchField);
+        filter.setIndex(index);
+        assertEquals(4, model.getSize(), "Prompt plus every student");
+
+        model.setSelectedItem("Horvat, Ana (ID: 3)");
+        List<String> removed = new ArrayList<>();
+        model.addListDataListener(new javax.swing.event.ListDataListener() {
+            @Override
+            public void intervalAdded(javax.swing.event.ListDataEvent e) {
+            }
+
+            @Override
+            public void intervalRemoved(javax.swing.event.ListDataEvent e) {
+                removed.add("row " + e.getIndex0());
+            }
+
+            @Override
+            public void contentsChanged(javax.swing.event.ListDataEvent e) {
+            }
+        });
+
+        searchField.setText("a");
+        filter.refilter();
+        assertEquals(Arrays.asList("Select a student...", "Babić, Ivan (ID: 2)", "Horvat, Ana (ID: 3)", "Ćorić, Marko (ID: 1)"),
+                elements(model), "Every name contains an 'a', so nothing should change");
+        assertTrue(removed.isEmpty());
+
+        searchField.setText("horvat");
+        filter.refilter();
+        assertEquals(Arrays.asList("Select a student...", "Horvat, Ana (ID: 3)"), elements(model));
+        assertEquals("Horvat, Ana (ID: 3)", model.getSelectedItem(), "Matching selection should be kept");
+
+        searchField.setText("babic");
+        filter.refilter();
+        assertEquals(Arrays.asList("Select a student...", "Babić, Ivan (ID: 2)"), elements(model));
+        assertEquals("Select a student...", model.getSelectedItem(), "Filtered-out selection should fall back to the prompt");
+    }
+
+    private static List<String> elements(DefaultComboBoxModel<String> model) {
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < model.getSize(); i++) {
+            elements.add(model.getElementAt(i));
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,106 @@
+package service;
+
+import dao.UserDAO;
+import model.User;
+import org.junit.jupiter.api.*;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AuthenticationService.
+ * The users come from an in-memory UserDAO, so no database is needed.
+ */
+public class AuthenticationServiceTest {
+
+    private Map<String, User> users;
+    private CountDownLatch rehashed;
+    private String rehashedPassword;
+    private AuthenticationService service;
+
+    @BeforeEach
+    public void setup() {
+        users = new HashMap<>();
+        rehashed = new CountDownLatch(1);
+        UserDAO userDAO = new UserDAO() {
+            @Override
+            public Optional<User> getUserByEmail(String email) {
+                return Optional.ofNullable(users.get(email));
+            }
+
+            @Override
+            public boolean updatePassword(int userId, String expectedPassword, String newPassword) {
+                rehashedPassword = newPassword;
+                rehashed.countDown();
+                return true;
+            }
+        };
+        service = new AuthenticationService(userDAO, 2, 16,
+                new LoginThrottle(2, 60_000L, 60_000L, 60_000L), new LoginThrottle(100, 60_000L, 60_000L, 60_000L));
+    }
+
+    private void addUser(String email, String storedPassword) {
+        users.put(email, new User(users.size() + 1, "Test User", email, storedPassword,
+                User.AccountType.PARENT, "Address", "123"));
+    }
+
+    private AuthenticationService.Result login(String email, String password) throws Exception {
+        return service.authenticate(email, password).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCurrentHashLogsInWithoutRehash() throws Exception {
+        addUser("parent@example.com", AuthenticationService.hash("secret"));
+
+        AuthenticationService.Result result = login("parent@example.com", "secret");
+
+        assertEquals(AuthenticationService.Status.SUCCESS, result.getStatus());
+        assertEquals("parent@example.com", result.getUser().getEmail());
+        assertFalse(rehashed.await(200, TimeUnit.MILLISECONDS), "A current hash should not be replaced");
+    }
+
+    @Test
+    public void testLegacyPasswordsAreRehashedInBackground() throws Exception {
+        addUser("plain@example.com", "secret");
+
+        assertEquals(AuthenticationService.Status.SUCCESS, login("plain@example.com", "secret").getStatus());
+        assertTrue(rehashed.await(30, TimeUnit.SECONDS), "Plaintext password should be re-hashed");
+        assertTrue(BCrypt.checkpw("secret", rehashedPassword), "New hash should match the password");
+        assertFalse(AuthenticationService.needsRehash(rehashedPassword), "New hash should use the current cost");
+
+        assertTrue(AuthenticationService.needsRehash(BCrypt.hashpw("secret", BCrypt.gensalt(4))),
+                "A weaker hash should be upgraded");
+    }
+
+    @Test
+    public void testWrongPasswordAndUnknownEmailLookAlike() throws Exception {
+        addUser("parent@example.com", AuthenticationService.hash("secret"));
+
+        AuthenticationService.Result wrongPassword = login("parent@example.com", "guess");
+        AuthenticationService.Result unknownEmail = login("nobody@example.com", "guess");
+
+        assertEquals(AuthenticationService.Status.INVALID_CREDENTIALS, wrongPassword.getStatus());
+        assertEquals(AuthenticationService.Status.INVALID_CREDENTIALS, unknownEmail.getStatus());
+        assertEquals(wrongPassword.getMessage(), unknownEmail.getMessage());
+        assertNull(wrongPassword.getUser());
+    }
+
+    @Test
+    public void testRepeatedFailuresAreThrottled() throws Exception {
+        addUser("parent@example.com", AuthenticationService.hash("secret"));
+
+        login("parent@example.com", "guess");
+        login("PARENT@example.com", "guess");
+        AuthenticationService.Result result = login("parent@example.com", "secret");
+
+        assertEquals(AuthenticationService.Status.THROTTLED, result.getStatus(),
+                "Even the right password should wait out the lockout");
+        assertTrue(result.getRetryAfterMillis() > 0);
+    }
+}
@@ -0,0 +1,65 @@
+package service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LoginThrottle, using a manual clock.
+ */
+public class LoginThrottleTest {
+
+    private AtomicLong now;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    public void setup() {
+        now = new AtomicLong(1_000_000L);
+        // 3 failures per minute, then 1 s doubling up to 4 s
+        throttle = new LoginThrottle(3, 60_000L, 1_000L, 4_000L, now::get);
+    }
+
+    @Test
+    public void testLocksOutAfterMaxFailures() {
+        throttle.recordFailure("a@example.com");
+        throttle.recordFailure("a@example.com");
+        assertEquals(0, throttle.getRetryAfterMillis("a@example.com"), "Two failures should not lock the key");
+
+        throttle.recordFailure("a@example.com");
+        assertEquals(1_000L, throttle.getRetryAfterMillis("a@example.com"), "Third failure should lock for 1 s");
+        assertEquals(0, throttle.getRetryAfterMillis("b@example.com"), "Other keys should not be affected");
+
+        now.addAndGet(400L);
+        assertEquals(600L, throttle.getRetryAfterMillis("a@example.com"), "Lockout should count down");
+    }
+
+    @Test
+    public void testLockoutDoublesUpToMaximum() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("a@example.com");
+        }
+        throttle.recordFailure("a@example.com");
+        assertEquals(2_000L, throttle.getRetryAfterMillis("a@example.com"), "Fourth failure should double the lockout");
+
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("a@example.com");
+        }
+        assertEquals(4_000L, throttle.getRetryAfterMillis("a@example.com"), "Lockout should be capped");
+    }
+
+    @Test
+    public void testOldFailuresExpireAndResetClears() {
+        throttle.recordFailure("a@example.com");
+        throttle.recordFailure("a@example.com");
+        now.addAndGet(61_000L);
+        throttle.recordFailure("a@example.com");
+        assertEquals(0, throttle.getRetryAfterMillis("a@example.com"), "Failures outside the window should not count");
+
+        throttle.recordFailure("a@example.com");
+        throttle.reset("a@example.com");
+        throttle.recordFailure("a@example.com");
+        assertEquals(0, throttle.getRetryAfterMillis("a@example.com"), "Reset should forget earlier failures");
+    }
+}
@@ -0,0 +1,170 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ConnectionPool.
+ * Runs against an H2 in-memory database so it does not need a MySQL server.
+ */
+public class ConnectionPoolTest {
+
+    private static final String URL = "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ConnectionPool(URL, "sa", "", 1, 2, 200, 60_000, 0, 4);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Test
+    public void testMinIdleIsPreOpened() {
+        assertEquals(1, pool.getIdleCount(), "Pool should pre-open minIdle connections");
+        assertEquals(0, pool.getActiveCount(), "No connections should be borrowed yet");
+    }
+
+    @Test
+    public void testCloseReturnsConnectionToPool() throws SQLException {
+        Connection conn = pool.borrow();
+        assertEquals(1, pool.getActiveCount(), "Borrowed connection should be active");
+
+        conn.close();
+        assertTrue(conn.isClosed(), "Handle should report closed after close()");
+        assertEquals(0, pool.getActiveCount(), "Connection should no longer be active");
+        assertEquals(1, pool.getTotalCount(), "Physical connection should stay open in the pool");
+
+        // The same physical connection is handed out again
+        try (Connection again = pool.borrow()) {
+            assertEquals(1, pool.getTotalCount(), "Pool should reuse the idle connection");
+        }
+    }
+
+    @Test
+    public void testClosedHandleCannotBeUsed() throws SQLException {
+        Connection conn = pool.borrow();
+        conn.close();
+
+        assertThrows(SQLException.class, conn::createStatement, "Returned handle should reject further use");
+    }
+
+    @Test
+    public void testBorrowTimesOutWhenExhausted() throws SQLException {
+        try (Connection first = pool.borrow();
+             Connection second = pool.borrow()) {
+            assertEquals(2, pool.getActiveCount(), "Both connections should be borrowed");
+            assertThrows(SQLException.class, pool::borrow, "Borrow beyond maxSize should time out");
+        }
+        assertEquals(0, pool.getActiveCount(), "All connections should be returned");
+    }
+
+    @Test
+    public void testOpenTransactionIsRolledBackOnReturn() throws SQLException {
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS pool_test (id INT)");
+            stmt.execute("DELETE FROM pool_test");
+        }
+
+        Connection conn = pool.borrow();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO pool_test VALUES (1)");
+        }
+        conn.close(); // returned without commit
+
+        try (Connection next = pool.borrow();
+             Statement stmt = next.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM pool_test")) {
+            assertTrue(next.getAutoCommit(), "Returned connection should be back in auto-commit mode");
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1), "Uncommitted insert should have been rolled back");
+        }
+    }
+
+    @Test
+    public void testPreparedStatementsAreCachedPerConnection() throws SQLException {
+        long hitsBefore = pool.getStatementCacheHits();
+        long missesBefore = pool.getStatementCacheMisses();
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.borrow();
+                 PreparedStatement ps = conn.prepareStatement("SELECT ? + 1")) {
+                ps.setInt(1, i);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(i + 1, rs.getInt(1), "Cached statement should use the new parameter");
+                }
+                assertSame(conn, ps.getConnection(), "Statement should report the pooled handle as its connection");
+            }
+        }
+
+        assertEquals(1, pool.getStatementCacheMisses() - missesBefore, "Only the first prepare should miss");
+        assertEquals(2, pool.getStatementCacheHits() - hitsBefore, "Later prepares should hit the cache");
+    }
+
+    @Test
+    public void testCachedStatementSettingsAreRestored() throws SQLException {
+        // Test that a borrower's fetch size, row limit and timeout do not carry over to the next borrower
+        int fetchSize;
+        int maxRows;
+        int queryTimeout;
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement("SELECT X FROM SYSTEM_RANGE(1, 5)")) {
+            fetchSize = ps.getFetchSize();
+            maxRows = ps.getMaxRows();
+            queryTimeout = ps.getQueryTimeout();
+            ps.setFetchSize(fetchSize + 100);
+            ps.setMaxRows(2);
+            ps.setQueryTimeout(queryTimeout + 30);
+        }
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement("SELECT X FROM SYSTEM_RANGE(1, 5)")) {
+            assertEquals(fetchSize, ps.getFetchSize(), "Fetch size should be restored");
+            assertEquals(maxRows, ps.getMaxRows(), "Max rows should be restored");
+            assertEquals(queryTimeout, ps.getQueryTimeout(), "Query timeout should be restored");
+            int rows = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+            assertEquals(5, rows, "The earlier row limit should not apply");
+        }
+        assertEquals(1, pool.getStatementCacheHits(), "The second prepare should reuse the cached statement");
+    }
+
+    @Test
+    public void testNestedUseOfSameSqlGetsSeparateStatement() throws SQLException {
+        try (Connection conn = pool.borrow();
+             PreparedStatement outer = conn.prepareStatement("SELECT ?");
+             PreparedStatement inner = conn.prepareStatement("SELECT ?")) {
+            assertNotSame(outer, inner, "Checked-out statement must not be handed out twice");
+            outer.setInt(1, 1);
+            inner.setInt(1, 2);
+            try (ResultSet rs = outer.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1), "Outer statement should keep its own parameter");
+            }
+        }
+    }
+
+    @Test
+    public void testBorrowAfterCloseFails() {
+        pool.close();
+        assertThrows(SQLException.class, pool::borrow, "Closed pool should refuse to lend connections");
+    }
+}
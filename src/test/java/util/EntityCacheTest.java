@@ -0,0 +1,155 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EntityCache.
+ * The build disables caching globally for the DAO tests, so these tests switch it back on.
+ */
+public class EntityCacheTest {
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setup() {
+        EntityCache.setGloballyEnabled(true);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        EntityCache.setGloballyEnabled(Boolean.parseBoolean(System.getProperty("sms.cache.enabled", "true")));
+    }
+
+    private String load(Integer key) {
+        loads.incrementAndGet();
+        return "value" + key;
+    }
+
+    @Test
+    public void testSecondLookupIsAHit() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.hits", 10, 60_000);
+
+        assertEquals("value1", cache.get(1, this::load));
+        assertEquals("value1", cache.get(1, this::load));
+
+        assertEquals(1, loads.get(), "Second lookup should not reload");
+        assertEquals(1, cache.getHits(), "Second lookup should count as a hit");
+        assertEquals(1, cache.getMisses(), "First lookup should count as a miss");
+    }
+
+    @Test
+    public void testNullIsNotCached() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.nulls", 10, 60_000);
+
+        assertNull(cache.get(1, key -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.get(1, key -> { loads.incrementAndGet(); return null; }));
+
+        assertEquals(2, loads.get(), "Missing values should be looked up again");
+        assertEquals(0, cache.size(), "Null results should not be stored");
+    }
+
+    @Test
+    public void testExpiredEntryIsReloaded() throws InterruptedException {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.ttl", 10, 20);
+
+        cache.get(1, this::load);
+        Thread.sleep(50);
+        cache.get(1, this::load);
+
+        assertEquals(2, loads.get(), "Expired entry should be reloaded");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.lru", 2, 60_000);
+
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load); // 2 is now the least recently used
+        cache.get(3, this::load);
+
+        assertEquals(2, cache.size(), "Cache should not grow beyond its maximum size");
+        assertEquals(1, cache.getEvictions(), "One entry should have been evicted");
+
+        loads.set(0);
+        cache.get(1, this::load);
+        assertEquals(0, loads.get(), "Recently used entry should still be cached");
+        cache.get(2, this::load);
+        assertEquals(1, loads.get(), "Least recently used entry should have been evicted");
+    }
+
+    @Test
+    public void testInvalidateForcesReload() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.invalidate", 10, 60_000);
+
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.invalidate(1);
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        assertEquals(3, loads.get(), "Only the invalidated key should be reloaded");
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size(), "invalidateAll should clear the cache");
+    }
+
+    @Test
+    public void testLoadRacingWithInvalidateIsNotCached() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.race", 10, 60_000);
+
+        // A write invalidates the key while the value is being loaded
+        cache.get(1, key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals(0, cache.size(), "Value loaded before the invalidation should not be cached");
+    }
+
+    @Test
+    public void testInvalidateInTransactionRepeatsAfterCommit() throws SQLException {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.transaction", 10, 60_000);
+
+        // Needs the database: a write invalidates the key, then a read caches the uncommitted value
+        DatabaseConnection.beginTransaction();
+        try {
+            cache.invalidate(1);
+            cache.get(1, this::load);
+            assertEquals(1, cache.size(), "Value loaded after the invalidation should be cached");
+        } finally {
+            DatabaseConnection.commitTransaction();
+        }
+
+        assertEquals(0, cache.size(), "Invalidation should be repeated when the transaction ends");
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysLoads() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.disabled", 10, 60_000);
+        cache.setEnabled(false);
+
+        cache.get(1, this::load);
+        cache.get(1, this::load);
+
+        assertEquals(2, loads.get(), "Disabled cache should go to the loader every time");
+        assertEquals(0, cache.size(), "Disabled cache should not store values");
+    }
+
+    @Test
+    public void testGlobalSwitchBypassesAllCaches() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test.global", 10, 60_000);
+        cache.get(1, this::load);
+
+        EntityCache.setGloballyEnabled(false);
+        cache.get(1, this::load);
+
+        assertEquals(2, loads.get(), "Globally disabled cache should go to the loader");
+        assertFalse(cache.isEnabled(), "Cache should report itself as disabled");
+    }
+}
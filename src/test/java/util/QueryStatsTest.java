@@ -0,0 +1,193 @@
+package util;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for QueryStats and the statements the pool instruments with it.
+ * Runs against an H2 in-memory database so it does not need a MySQL server.
+ */
+public class QueryStatsTest {
+
+    private static final String URL = "jdbc:h2:mem:querystatstest;DB_CLOSE_DELAY=-1";
+    private static final String SELECT_SQL = "SELECT id, name FROM stats_test WHERE name <> ?";
+
+    private QueryStats stats;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        // A threshold of 0 logs every statement as slow
+        stats = new QueryStats(0, 10);
+        pool = new ConnectionPool(URL, "sa", "", 1, 1, 200, 60_000, 0, 4, stats);
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS stats_test (id INT, name VARCHAR(50))");
+            stmt.execute("DELETE FROM stats_test");
+            stmt.execute("INSERT INTO stats_test VALUES (1, 'Ana'), (2, 'Marko'), (3, 'Ivan')");
+        }
+        stats.reset();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        pool.close();
+    }
+
+    private QueryStats.TemplateSnapshot template(String sql) {
+        return stats.getTemplates().stream()
+                .filter(t -> t.getSql().equals(sql))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statistics for " + sql));
+    }
+
+    @Test
+    public void testQueryIsRecordedWithRowsRead() throws SQLException {
+        // Test that a query is recorded once its result set is closed
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(SELECT_SQL)) {
+            ps.setString(1, "Marko");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    assertNotEquals("Marko", rs.getString("name"));
+                }
+                assertEquals(0, stats.getQueryCount(), "Query should be recorded when its results are closed");
+            }
+        }
+
+        QueryStats.TemplateSnapshot select = template(SELECT_SQL);
+        assertEquals(1, select.getCount(), "One execution should be recorded");
+        assertEquals(2, select.getRows(), "Rows read should be counted");
+        assertEquals(0, select.getErrors(), "No error should be recorded");
+        assertEquals(1, Arrays.stream(select.getBucketCounts()).sum(), "Execution should be in the histogram");
+    }
+
+    @Test
+    public void testTimeBetweenRowsIsNotQueryTime() throws SQLException, InterruptedException {
+        // Test that a slow reader, such as a streamed export, does not make the query look slow
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(SELECT_SQL)) {
+            ps.setString(1, "Marko");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Thread.sleep(200);
+                }
+            }
+        }
+
+        QueryStats.TemplateSnapshot select = template(SELECT_SQL);
+        assertEquals(2, select.getRows(), "Rows read should still be counted");
+        assertTrue(select.getMaxMillis() < 200, "Query time should end at the first row: " + select.getMaxMillis());
+    }
+
+    @Test
+    public void testSlowQueryLogRedactsBindValues() throws SQLException {
+        // Test that the slow-query log keeps the template and bind types, not the values
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement("UPDATE stats_test SET name = ? WHERE id = ?")) {
+            ps.setString(1, "Secret Name");
+            ps.setInt(2, 1);
+            assertEquals(1, ps.executeUpdate());
+        }
+
+        List<String> slowQueries = stats.getSlowQueries();
+        assertEquals(1, slowQueries.size(), "Update should be logged with a zero threshold");
+        String entry = slowQueries.get(0);
+        assertTrue(entry.contains("UPDATE stats_test SET name = ? WHERE id = ?"), "Entry should show the template: " + entry);
+        assertTrue(entry.contains("[string, int]"), "Entry should show the bind types: " + entry);
+        assertFalse(entry.contains("Secret"), "Entry should not show bound values: " + entry);
+        assertEquals(1, template("UPDATE stats_test SET name = ? WHERE id = ?").getRows(), "Updated rows should be counted");
+    }
+
+    @Test
+    public void testPlainStatementLiteralsAreRedacted() throws SQLException {
+        // Test that inline values in plain SQL do not reach the statistics
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE stats_test SET name = 'Secret' WHERE id = 42");
+        }
+
+        template("UPDATE stats_test SET name = ? WHERE id = ?");
+        assertFalse(stats.getSlowQueries().get(0).contains("Secret"), "Log should not show literals");
+    }
+
+    @Test
+    public void testFailedStatementCountsAsError() throws SQLException {
+        // Test that a failing statement is recorded as an error
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement()) {
+            assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT * FROM missing_table"));
+        }
+
+        assertEquals(1, stats.getErrorCount(), "Failed execution should be counted");
+        assertEquals(1, template("SELECT * FROM missing_table").getErrors(), "Error should be kept per template");
+    }
+
+    @Test
+    public void testConnectionWaitsAreRecorded() throws SQLException {
+        // Test that borrows and borrow timeouts are recorded
+        try (Connection conn = pool.borrow()) {
+            assertThrows(SQLException.class, pool::borrow, "Borrow beyond maxSize should time out");
+        }
+
+        assertEquals(2, stats.getConnectionAcquireCount(), "Both borrows should be recorded");
+        assertEquals(1, stats.getConnectionAcquireFailures(), "The timed-out borrow should count as a failure");
+        assertTrue(stats.getConnectionAcquireMaxMillis() >= 150, "Timed-out borrow waited for the timeout");
+    }
+
+    @Test
+    public void testExecutionsAreFlightRecorderEvents() throws SQLException, IOException {
+        // Test that a recording receives one DAO call event per execution
+        Path file = Files.createTempFile("querystats", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("sms.DaoCall");
+            recording.start();
+            try (Connection conn = pool.borrow();
+                 PreparedStatement ps = conn.prepareStatement(SELECT_SQL)) {
+                ps.setString(1, "Ana");
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getInt("id");
+                    }
+                }
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size(), "One event per execution");
+            assertEquals(SELECT_SQL, events.get(0).getString("sql"));
+            assertEquals(2, events.get(0).getLong("rows"), "Rows read should be recorded");
+            assertFalse(events.get(0).getBoolean("failed"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testPercentileComesFromHistogram() {
+        // Test the 95th percentile estimate: 19 fast executions and one slow one
+        long[] buckets = new long[QueryStats.BUCKET_LIMITS_MILLIS.length + 1];
+        buckets[0] = 19;
+        buckets[8] = 1;
+        QueryStats.TemplateSnapshot snapshot = new QueryStats.TemplateSnapshot("SELECT 1", 20, 0, 20, 320, 300, buckets);
+
+        assertEquals(1, snapshot.getP95Millis(), "95% of executions took under 1 ms");
+        assertEquals(16, snapshot.getAverageMillis(), 0.001);
+    }
+}
@@ -0,0 +1,151 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SampleDataGenerator.
+ * Runs against H2 in-memory databases in MySQL mode so it does not need a MySQL server.
+ */
+public class SampleDataGeneratorTest {
+
+    private static final String URL = "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,YEAR";
+    private static final LocalDate TERM_START = LocalDate.of(2025, 1, 6);
+
+    private static SampleDataGenerator school(long seed) {
+        return new SampleDataGenerator(4, 103, 2_500, 700, 90, seed, TERM_START);
+    }
+
+    private static Connection emptyDatabase(String name) throws SQLException {
+        Connection connection = DriverManager.getConnection(String.format(URL, name), "sa", "");
+        SampleDataGenerator.createSchema(connection);
+        return connection;
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+
+    // Folds every generated value into one number, so two databases can be compared
+    private static long fingerprint(Connection connection) throws SQLException {
+        long hash = 0;
+        String[] queries = {
+                "SELECT user_id, fullName, email, address, phone_number FROM user ORDER BY user_id",
+                "SELECT student_id, class_id, f_name, l_name, parent_id FROM student ORDER BY student_id",
+                "SELECT grade_id, mark, subject, student_id, grade_date, comment FROM grade ORDER BY grade_id",
+                "SELECT absence_id, absence_date, description, status FROM absence ORDER BY absence_id",
+                "SELECT excuse_id, e_date, absence_id FROM excuse ORDER BY excuse_id",
+                "SELECT homework_id, due_date, class_id, status FROM homework ORDER BY homework_id"
+        };
+        for (String sql : queries) {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        hash = 31 * hash + String.valueOf(rs.getObject(i)).hashCode();
+                    }
+                }
+            }
+        }
+        return hash;
+    }
+
+    @Test
+    public void testGeneratesTheRequestedSizes() throws SQLException {
+        // Test that every table gets the configured number of rows and the teachers and parents to match
+        try (Connection connection = emptyDatabase("generator_sizes")) {
+            Map<String, Integer> rows = school(42).generate(connection);
+
+            assertEquals(103, rows.get("student"));
+            assertEquals(2_500, rows.get("grade"));
+            assertEquals(700, rows.get("absence"));
+            assertEquals(90, rows.get("homework"));
+            assertEquals(4, rows.get("teacher"));
+            assertEquals(4, rows.get("class_group"));
+            assertEquals(103 * 7 / 10, rows.get("parent"));
+            assertEquals(4 + 103 * 7 / 10, rows.get("user"));
+            assertEquals(2_500, count(connection, "SELECT COUNT(*) FROM grade"));
+            assertTrue(connection.getAutoCommit(), "Auto-commit should be restored");
+        }
+    }
+
+    @Test
+    public void testHasRowsOnlyAfterLoad() throws SQLException {
+        // Test the check that keeps the generator from loading into a database in use
+        try (Connection connection = DriverManager.getConnection(String.format(URL, "generator_has_rows"), "sa", "")) {
+            assertFalse(SampleDataGenerator.hasRows(connection), "A database without the tables should count as empty");
+            SampleDataGenerator.createSchema(connection);
+            assertFalse(SampleDataGenerator.hasRows(connection), "Empty tables should count as empty");
+            school(42).generate(connection);
+            assertTrue(SampleDataGenerator.hasRows(connection), "A loaded database should have rows");
+        }
+    }
+
+    @Test
+    public void testRowsReferToEachOther() throws SQLException {
+        // Test that the generated keys hang together
+        try (Connection connection = emptyDatabase("generator_references")) {
+            school(42).generate(connection);
+
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM student s LEFT JOIN parent p "
+                    + "ON p.parent_id = s.parent_id WHERE p.parent_id IS NULL"), "Every student should have a parent");
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM parent p WHERE p.no_children <> "
+                    + "(SELECT COUNT(*) FROM student s WHERE s.parent_id = p.parent_id)"), "no_children should match");
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM grade g JOIN student s ON s.student_id = g.student_id "
+                    + "JOIN teacher t ON t.teacher_id = g.teacher_id WHERE t.class_id <> s.class_id"),
+                    "Grades should be given by the class teacher");
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM excuse e JOIN absence a ON a.absence_id = e.absence_id "
+                    + "WHERE a.status = FALSE OR a.student_id <> e.student_id OR e.e_date <= a.absence_date"),
+                    "Excuses should follow excused absences of the same student");
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM teacher t JOIN user u ON u.user_id = t.user_id "
+                    + "WHERE u.accountType <> 'teacher'"));
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSameData() throws SQLException {
+        // Test that generation is deterministic for a seed and differs between seeds
+        try (Connection first = emptyDatabase("generator_first");
+             Connection second = emptyDatabase("generator_second");
+             Connection other = emptyDatabase("generator_other")) {
+            school(7).generate(first);
+            school(7).generate(second);
+            school(8).generate(other);
+
+            assertEquals(fingerprint(first), fingerprint(second), "Same seed should give the same rows");
+            assertNotEquals(fingerprint(first), fingerprint(other), "Another seed should give other rows");
+        }
+    }
+
+    @Test
+    public void testAppendsAfterExistingRows() throws SQLException {
+        // Test that a second school is added after the first and that later inserts get fresh IDs
+        try (Connection connection = emptyDatabase("generator_append")) {
+            school(1).generate(connection);
+            school(2).generate(connection);
+
+            assertEquals(206, count(connection, "SELECT COUNT(DISTINCT student_id) FROM student"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM student s JOIN class_group c ON c.class_id = s.class_id "
+                    + "WHERE s.student_id > 103 AND c.class_id <= 4"), "Second school's students should be in its own classes");
+            try (Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate("INSERT INTO student (class_id, f_name, l_name, parent_id) VALUES (1, 'New', 'Student', 1)");
+            }
+            assertEquals(207, count(connection, "SELECT MAX(student_id) FROM student"));
+        }
+    }
+}